@@ -72,6 +72,10 @@ public interface TypeDB {
 
         String ruleSchema();
 
+        Arguments.Storage.Profile storageProfile();
+
+        void storageProfile(Arguments.Storage.Profile profile);
+
         void delete();
     }
 
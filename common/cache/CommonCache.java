@@ -21,6 +21,7 @@ package com.vaticle.typedb.core.common.cache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 
 import static java.util.concurrent.TimeUnit.MINUTES;
@@ -49,6 +50,14 @@ public class CommonCache<KEY, VALUE> {
 
     public void invalidate(KEY key) { cache.invalidate(key); }
 
+    public void invalidateIf(BiPredicate<KEY, VALUE> predicate) {
+        cache.asMap().entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()));
+    }
+
+    public boolean remove(KEY key, VALUE value) {
+        return cache.asMap().remove(key, value);
+    }
+
     public void put(KEY key, VALUE value) {
         cache.put(key, value);
     }
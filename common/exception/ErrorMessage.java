@@ -182,6 +182,8 @@ public abstract class ErrorMessage extends com.vaticle.typedb.common.exception.E
                 new Database(10, "Background RocksDB properties logger shutdown timed out.");
         public static final Database STATISTICS_CORRECTOR_SHUTDOWN_TIMEOUT =
                 new Database(11, "Background statistics corrector shutdown timed out.");
+        public static final Database DATABASE_READ_ONLY =
+                new Database(12, "The database '%s' is served from read-only storage and cannot be modified.");
 
         private static final String codePrefix = "DBS";
         private static final String messagePrefix = "Invalid Database Operation";
@@ -246,6 +248,12 @@ public abstract class ErrorMessage extends com.vaticle.typedb.common.exception.E
                 new Transaction(17, "RPC answer streaming prefetch size must be at least 1, is set to: %d.");
         public static final Transaction TRANSACTION_TIMEOUT_NOT_CONFIGURABLE =
                 new Transaction(18, "Transaction timeout cannot be configured at the '%s' level.");
+        public static final Transaction QUERY_CANCELLED =
+                new Transaction(19, "The query was cancelled.");
+        public static final Transaction QUERY_TIMEOUT_EXCEEDED =
+                new Transaction(20, "The query did not complete within its timeout of %d milliseconds, and was cancelled.");
+        public static final Transaction SCHEMA_CHANGE_NOT_ADDITIVE =
+                new Transaction(21, "The schema session was opened for online changes, which may only add to the schema, but the existing type or rule '%s' was changed or removed.");
 
         private static final String codePrefix = "TXN";
         private static final String messagePrefix = "Invalid Transaction Operation";
@@ -363,6 +371,10 @@ public abstract class ErrorMessage extends com.vaticle.typedb.common.exception.E
                 new ThingRead(10, "The variable '%s' cannot be used to calculate aggregate functions, as it contains non-numeric values.");
         public static final ThingRead NUMERIC_IS_NOT_NUMBER =
                 new ThingRead(11, "The numeric value is not a valid number (NaN).");
+        public static final ThingRead PROJECTED_VARIABLE_NOT_THING =
+                new ThingRead(12, "The variable '%s' cannot be projected onto its attributes, as it is not a thing.");
+        public static final ThingRead PROJECTED_VARIABLE_NOT_FOUND =
+                new ThingRead(13, "The variable '%s' cannot be projected onto its attributes, as it is not returned by the query.");
 
         private static final String codePrefix = "THR";
         private static final String messagePrefix = "Invalid Thing Read";
@@ -447,6 +459,12 @@ public abstract class ErrorMessage extends com.vaticle.typedb.common.exception.E
                 new ThingWrite(36, "Illegal value constraint found in the insert query on variable '%s'. Value variables are only permitted to specify attribute values.");
         public static final ThingWrite ILLEGAL_UNBOUND_TYPE_VAR_IN_INSERT =
                 new ThingWrite(37, "Type variable '%s' found in the insert query must retrieved by the match previously.");
+        public static final ThingWrite INSERT_TEMPLATE_WITH_MATCH =
+                new ThingWrite(38, "An insert query with a match clause cannot be inserted from rows of attributes.");
+        public static final ThingWrite INSERT_TEMPLATE_PARAMETER_MISSING =
+                new ThingWrite(39, "The row of attributes does not bind the variable '%s' of the insert query.");
+        public static final ThingWrite INSERT_TEMPLATE_PARAMETER_UNKNOWN =
+                new ThingWrite(40, "The row of attributes binds '%s', which is not a variable of an owned attribute in the insert query.");
 
         private static final String codePrefix = "THW";
         private static final String messagePrefix = "Invalid Thing Write";
@@ -725,6 +743,12 @@ public abstract class ErrorMessage extends com.vaticle.typedb.common.exception.E
                 new Migrator(10, "The data being imported is invalid - the header is missing.");
         public static final Migrator IMPORT_CHECKSUM_MISMATCH =
                 new Migrator(11, "The import has finished but mismatches the required checksums: '%s");
+        public static final Migrator INGEST_NOT_OPENED =
+                new Migrator(12, "The ingest must first be opened with the database and the insert query to ingest with.");
+        public static final Migrator INGEST_ALREADY_OPENED =
+                new Migrator(13, "The ingest has already been opened.");
+        public static final Migrator INGEST_VALUE_MISMATCH =
+                new Migrator(14, "The value of '%s' cannot be inserted as an attribute of type '%s'.");
 
         private static final String codePrefix = "MIG";
         private static final String messagePrefix = "Migrator failure";
@@ -18,6 +18,10 @@
 
 package com.vaticle.typedb.core.common.parameters;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 public class Arguments {
 
     public static class Session {
@@ -74,6 +78,42 @@ public class Arguments {
         }
     }
 
+    public static class Storage {
+
+        public enum Profile {
+            BALANCED("balanced"),
+            BULK_LOAD("bulk-load"),
+            OLTP("oltp"),
+            READ_MOSTLY("read-mostly");
+
+            private final String name;
+
+            Profile(String name) {
+                this.name = name;
+            }
+
+            public static Profile of(String name) {
+                for (Profile p : values()) {
+                    if (p.name.equals(name)) return p;
+                }
+                return null;
+            }
+
+            public static List<String> names() {
+                return Arrays.stream(values()).map(p -> p.name).collect(Collectors.toList());
+            }
+
+            public boolean isBulkLoad() {
+                return this == BULK_LOAD;
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        }
+    }
+
     public static class Query {
 
         public enum Producer {
@@ -99,5 +139,28 @@ public class Arguments {
 
             public boolean isExhaustive() { return isExhaustive; }
         }
+
+        public enum Priority {
+            HIGH(0),
+            NORMAL(1),
+            LOW(2);
+
+            private final int id;
+
+            Priority(int id) {
+                this.id = id;
+            }
+
+            public static Priority of(int value) {
+                for (Priority p : values()) {
+                    if (p.id == value) return p;
+                }
+                return null;
+            }
+
+            public boolean isLow() {
+                return this == LOW;
+            }
+        }
     }
 }
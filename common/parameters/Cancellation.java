@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.common.parameters;
+
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.QUERY_CANCELLED;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.QUERY_TIMEOUT_EXCEEDED;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A cooperative cancellation token, with an optional deadline. Long-running loops in traversal, producers and
+ * reasoning check the token at cheap points, and stop once it is cancelled, rather than running to completion.
+ *
+ * A token is also cancelled once its parent is, so that closing a transaction cancels all of its queries.
+ * An expired deadline or a cancelled parent is only observed when the token is checked, whereas cancelling the
+ * token directly also runs its hooks immediately, to release the resources of the query.
+ */
+@ThreadSafe
+public class Cancellation {
+
+    @Nullable
+    private final Cancellation parent;
+    private final long timeoutMillis;
+    private final long deadlineNanos;
+    private final ConcurrentLinkedQueue<Runnable> onCancel;
+    private volatile TypeDBException cause;
+
+    private Cancellation(@Nullable Cancellation parent, long timeoutMillis) {
+        assert timeoutMillis >= 0;
+        this.parent = parent;
+        this.timeoutMillis = timeoutMillis;
+        this.deadlineNanos = timeoutMillis > 0 ? System.nanoTime() + MILLISECONDS.toNanos(timeoutMillis) : 0;
+        this.onCancel = new ConcurrentLinkedQueue<>();
+        this.cause = null;
+    }
+
+    public static Cancellation create() {
+        return new Cancellation(null, 0);
+    }
+
+    /**
+     * @param timeoutMillis the time from now after which the child is cancelled, or 0 for no deadline
+     */
+    public Cancellation child(long timeoutMillis) {
+        return new Cancellation(this, timeoutMillis);
+    }
+
+    public boolean isCancelled() {
+        if (cause != null) return true;
+        else if (deadlineNanos != 0 && System.nanoTime() - deadlineNanos >= 0) {
+            cancel(TypeDBException.of(QUERY_TIMEOUT_EXCEEDED, timeoutMillis));
+            return true;
+        } else if (parent != null && parent.isCancelled()) {
+            cancel(parent.cause);
+            return true;
+        } else return false;
+    }
+
+    public void check() {
+        if (isCancelled()) throw cause;
+    }
+
+    public Optional<TypeDBException> cause() {
+        if (isCancelled()) return Optional.of(cause);
+        else return Optional.empty();
+    }
+
+    public void cancel() {
+        cancel(TypeDBException.of(QUERY_CANCELLED));
+    }
+
+    public void cancel(TypeDBException cause) {
+        synchronized (this) {
+            if (this.cause != null) return;
+            this.cause = cause;
+        }
+        Runnable hook;
+        while ((hook = onCancel.poll()) != null) hook.run();
+    }
+
+    /**
+     * Registers a hook to run once the token is cancelled, or immediately if it already is.
+     */
+    public void onCancel(Runnable hook) {
+        onCancel.add(hook);
+        if (cause != null && onCancel.remove(hook)) hook.run();
+    }
+}
@@ -19,9 +19,11 @@
 package com.vaticle.typedb.core.common.parameters;
 
 import com.vaticle.typedb.common.collection.Either;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
 import com.vaticle.typeql.lang.query.TypeQLQuery;
 
 import javax.annotation.Nullable;
+import java.util.Optional;
 
 import static com.vaticle.typedb.core.common.parameters.Arguments.Query.Producer.INCREMENTAL;
 
@@ -74,8 +76,11 @@ public class Context<PARENT extends Context<?, ?>, OPTIONS extends Options<?, ?>
 
     public static class Transaction extends Context<Context.Session, Options.Transaction> {
 
+        private final Cancellation cancellation;
+
         public Transaction(Context.Session context, Options.Transaction options) {
             super(context, options.parent(context.options()));
+            this.cancellation = Cancellation.create();
         }
 
         public Transaction type(Arguments.Transaction.Type transactionType) {
@@ -91,20 +96,30 @@ public class Context<PARENT extends Context<?, ?>, OPTIONS extends Options<?, ?>
         public long id() {
             return transactionId;
         }
+
+        public Cancellation cancellation() {
+            return cancellation;
+        }
     }
 
     public static class Query extends Context<Context.Transaction, Options.Query> {
 
         private Either<Arguments.Query.Producer, Long> producerCtx;
+        private final Cancellation cancellation;
+        private final QueryProfile profile;
         private static final Either<Arguments.Query.Producer, Long> DEFAULT_PRODUCER = Either.first(INCREMENTAL);
 
         public Query(Transaction context, Options.Query options) {
             super(context, options.parent(context.options()));
+            this.cancellation = context.cancellation().child(options().queryTimeoutMillis());
+            this.profile = options().profile() ? new QueryProfile() : null;
         }
 
         public Query(Transaction context, Options.Query options, TypeQLQuery query) {
             super(context, options.parent(context.options()));
             options.query(query);
+            this.cancellation = context.cancellation().child(options().queryTimeoutMillis());
+            this.profile = options().profile() ? new QueryProfile() : null;
         }
 
         public Either<Arguments.Query.Producer, Long> producer() {
@@ -116,5 +131,17 @@ public class Context<PARENT extends Context<?, ?>, OPTIONS extends Options<?, ?>
             this.producerCtx = producerCtx;
             return this;
         }
+
+        /**
+         * The token with which the query is cancelled, either explicitly, once it exceeds its timeout,
+         * or once its transaction closes. The query timeout starts when the context is created.
+         */
+        public Cancellation cancellation() {
+            return cancellation;
+        }
+
+        public Optional<QueryProfile> profile() {
+            return Optional.ofNullable(profile);
+        }
     }
 }
@@ -21,6 +21,11 @@ import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typeql.lang.query.TypeQLQuery;
 
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
@@ -38,32 +43,50 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     public static final long DEFAULT_SESSION_IDLE_TIMEOUT_MILLIS = SECONDS.toMillis(30);
     public static final long DEFAULT_TRANSACTION_TIMEOUT_MILLIS = MINUTES.toMillis(5);
     public static final long DEFAULT_SCHEMA_LOCK_ACQUIRE_TIMEOUT_MILLIS = SECONDS.toMillis(10);
+    public static final boolean DEFAULT_ONLINE_SCHEMA = false;
+    public static final long DEFAULT_QUERY_TIMEOUT_MILLIS = 0;
     public static final boolean DEFAULT_INFER = false;
     public static final boolean DEFAULT_TRACE_INFERENCE = false;
     public static final boolean DEFAULT_EXPLAIN = false;
     public static final boolean DEFAULT_REASONER_PERF_COUNTERS = false;
+    public static final boolean DEFAULT_PROFILE = false;
     public static final boolean DEFAULT_PARALLEL = true;
     public static final boolean DEFAULT_QUERY_READ_PREFETCH = true;
     public static final boolean DEFAULT_QUERY_WRITE_PREFETCH = false;
     public static final boolean DEFAULT_READ_ANY_REPLICA = false;
+    public static final double DEFAULT_TRAVERSAL_REPLAN_FACTOR = 0;
+    public static final int DEFAULT_QUERY_CACHE_SIZE = 0;
+    public static final boolean DEFAULT_STORAGE_READ_ONLY = false;
+    public static final int DEFAULT_STORAGE_STRING_INLINE_MAX_SIZE = 256;
+    public static final Arguments.Storage.Profile DEFAULT_STORAGE_PROFILE = Arguments.Storage.Profile.BALANCED;
+    public static final Arguments.Query.Priority DEFAULT_PRIORITY = Arguments.Query.Priority.NORMAL;
 
     private PARENT parent;
     private Boolean infer = null;
     private Boolean traceInference = null;
     private Boolean explain = null;
     private Boolean reasonerPerfCounters = null;
+    private Boolean profile = null;
     private Boolean parallel = null;
     private Integer prefetchSize = null;
     private Long sessionIdleTimeoutMillis = null;
     private Long transactionTimeoutMillis = null;
     private Long schemaLockAcquireTimeoutMillis = null;
+    private Boolean onlineSchema = null;
+    private Long queryTimeoutMillis = null;
     private Boolean readAnyReplica = null;
+    private Arguments.Query.Priority priority = null;
     protected Boolean prefetch = null;
     protected Path typeDBDir = null;
     protected Path dataDir = null;
     protected Path reasonerDebuggerDir = null;
     protected Long storageDataCacheSize = null;
     protected Long storageIndexCacheSize = null;
+    protected Double traversalReplanFactor = null;
+    protected Integer queryCacheSize = null;
+    protected Set<String> storageReadOnly = null;
+    protected Integer storageStringInlineMaxSize = null;
+    protected Arguments.Storage.Profile storageProfile = null;
 
     abstract SELF getThis();
 
@@ -116,6 +139,20 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    /**
+     * Collect per-operator runtime statistics of each query, available from its context as a query profile.
+     */
+    public boolean profile() {
+        if (profile != null) return profile;
+        else if (parent != null) return parent.profile();
+        else return DEFAULT_PROFILE;
+    }
+
+    public SELF profile(boolean profile) {
+        this.profile = profile;
+        return getThis();
+    }
+
     public int prefetchSize() {
         if (prefetchSize != null) return prefetchSize;
         else if (parent != null) return parent.prefetchSize();
@@ -171,6 +208,38 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    /**
+     * A schema session opened online does not take the exclusive schema lock, so data transactions keep running while
+     * it is open. Its write transactions may only make additive changes, which are checked when they commit: data
+     * transactions opened after the commit see the new schema, while those already open finish on the previous one.
+     */
+    public boolean onlineSchema() {
+        if (onlineSchema != null) return onlineSchema;
+        else if (parent != null) return parent.onlineSchema();
+        else return DEFAULT_ONLINE_SCHEMA;
+    }
+
+    public SELF onlineSchema(boolean onlineSchema) {
+        this.onlineSchema = onlineSchema;
+        return getThis();
+    }
+
+    /**
+     * The time a single query may run for before it is cancelled, independently of the transaction timeout.
+     * A timeout of 0 lets queries run for as long as their transaction is open. The client protocol has no field
+     * for it, so it can only be set when TypeDB is embedded, and queries sent over the network are never timed out.
+     */
+    public long queryTimeoutMillis() {
+        if (queryTimeoutMillis != null) return queryTimeoutMillis;
+        else if (parent != null) return parent.queryTimeoutMillis();
+        else return DEFAULT_QUERY_TIMEOUT_MILLIS;
+    }
+
+    public SELF queryTimeoutMillis(long timeoutMillis) {
+        this.queryTimeoutMillis = timeoutMillis;
+        return getThis();
+    }
+
     public boolean readAnyReplica() {
         if (readAnyReplica != null) return readAnyReplica;
         else if (parent != null) return parent.readAnyReplica();
@@ -182,6 +251,21 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    /**
+     * The priority with which the server schedules requests, relative to those of other transactions. Unless set,
+     * reasoning queries run at low priority, and all others at normal priority.
+     */
+    public Arguments.Query.Priority priority() {
+        if (priority != null) return priority;
+        else if (parent != null) return parent.priority();
+        else return infer() ? Arguments.Query.Priority.LOW : DEFAULT_PRIORITY;
+    }
+
+    public SELF priority(Arguments.Query.Priority priority) {
+        this.priority = priority;
+        return getThis();
+    }
+
     public Path typeDBDir() {
         if (typeDBDir != null) return typeDBDir;
         else if (parent != null) return parent.typeDBDir();
@@ -212,6 +296,36 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         else throw TypeDBException.of(ILLEGAL_STATE);
     }
 
+    public double traversalReplanFactor() {
+        if (traversalReplanFactor != null) return traversalReplanFactor;
+        else if (parent != null) return parent.traversalReplanFactor();
+        else return DEFAULT_TRAVERSAL_REPLAN_FACTOR;
+    }
+
+    public int queryCacheSize() {
+        if (queryCacheSize != null) return queryCacheSize;
+        else if (parent != null) return parent.queryCacheSize();
+        else return DEFAULT_QUERY_CACHE_SIZE;
+    }
+
+    public boolean storageReadOnly(String database) {
+        if (storageReadOnly != null) return storageReadOnly.contains(database);
+        else if (parent != null) return parent.storageReadOnly(database);
+        else return DEFAULT_STORAGE_READ_ONLY;
+    }
+
+    public int storageStringInlineMaxSize() {
+        if (storageStringInlineMaxSize != null) return storageStringInlineMaxSize;
+        else if (parent != null) return parent.storageStringInlineMaxSize();
+        else return DEFAULT_STORAGE_STRING_INLINE_MAX_SIZE;
+    }
+
+    public Arguments.Storage.Profile storageProfile() {
+        if (storageProfile != null) return storageProfile;
+        else if (parent != null) return parent.storageProfile();
+        else return DEFAULT_STORAGE_PROFILE;
+    }
+
     public static class Database extends Options<Options<?, ?>, Database> {
 
         @Override
@@ -247,6 +361,51 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
             this.storageIndexCacheSize = size;
             return this;
         }
+
+        /**
+         * A traversal re-plans once the fan-out observed at a vertex exceeds its estimate by this factor.
+         * Runtime re-planning is disabled by default, with a factor of 0.
+         */
+        public Database traversalReplanFactor(double factor) {
+            this.traversalReplanFactor = factor;
+            return this;
+        }
+
+        /**
+         * The number of match query results that each database caches for reuse by later read transactions, until
+         * a commit writes any of the types a result was read from. A size of 0 disables the cache.
+         */
+        public Database queryCacheSize(int size) {
+            this.queryCacheSize = size;
+            return this;
+        }
+
+        /**
+         * Serve the named databases from immutable, memory-mapped storage: they cannot be created or deleted, and only
+         * read transactions may be opened against them. Other databases are opened for writing as usual.
+         */
+        public Database storageReadOnly(Set<String> databases) {
+            this.storageReadOnly = databases;
+            return this;
+        }
+
+        /**
+         * String attributes whose value is longer than this many bytes are keyed by a hash of their value, which
+         * keeps long values out of every edge key. Applies to databases created from now on.
+         */
+        public Database storageStringInlineMaxSize(int size) {
+            this.storageStringInlineMaxSize = size;
+            return this;
+        }
+
+        /**
+         * The storage tuning profile that databases are opened with. A database can be switched to another profile
+         * while it is open, which only retunes its write buffers and compaction triggers until it is reopened.
+         */
+        public Database storageProfile(Arguments.Storage.Profile profile) {
+            this.storageProfile = profile;
+            return this;
+        }
     }
 
     public static class Session extends Options<Database, Session> {
@@ -273,6 +432,7 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     public static class Query extends Options<Transaction, Query> {
 
         private TypeQLQuery query = null;
+        private final Map<String, Set<Label>> projections = new HashMap<>();
 
         @Override
         Query getThis() {
@@ -313,5 +473,18 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
             this.prefetch = prefetch;
             return this;
         }
+
+        public Map<String, Set<Label>> projections() {
+            return projections;
+        }
+
+        /**
+         * Attach to each answer of a match query the attributes of the given types that the concept variable owns,
+         * rather than matching them with extra variables, which multiplies the answers by the attributes of each.
+         */
+        public Query projection(String variable, Label... attributeTypes) {
+            projections.computeIfAbsent(variable, v -> new HashSet<>()).addAll(Arrays.asList(attributeTypes));
+            return this;
+        }
     }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.common.perfcounter;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Runtime statistics of a single query, collected when the query runs with the profile option.
+ *
+ * For every traversal procedure the query runs, the profile holds the plan and, per procedure vertex, the candidates
+ * scanned, the answers produced, the time spent and the storage reads made finding them, along with the planner's
+ * estimated fan-out against the observed one. For reasoning queries, it also holds the answers output by each
+ * reasoner controller while the query ran.
+ */
+@ThreadSafe
+public class QueryProfile {
+
+    private final long startNanos;
+    private final Map<Object, Procedure> procedures;
+    private final ConcurrentLinkedQueue<Procedure> procedureOrder;
+    private volatile Supplier<Map<String, Long>> controllerAnswers;
+    private volatile Map<String, Long> controllerAnswersBaseline;
+
+    public QueryProfile() {
+        this.startNanos = System.nanoTime();
+        this.procedures = new ConcurrentHashMap<>();
+        this.procedureOrder = new ConcurrentLinkedQueue<>();
+        this.controllerAnswers = null;
+        this.controllerAnswersBaseline = null;
+    }
+
+    public <P> Procedure procedure(P procedure, Function<P, Procedure> profileFn) {
+        return procedures.computeIfAbsent(procedure, p -> {
+            Procedure profile = profileFn.apply(procedure);
+            procedureOrder.add(profile);
+            return profile;
+        });
+    }
+
+    public Collection<Procedure> procedures() {
+        return procedureOrder;
+    }
+
+    /**
+     * Reasoner controllers are shared by the queries of a transaction and count answers cumulatively,
+     * so the profile reports the difference from the counts at the start of the query.
+     */
+    public void controllerAnswers(Supplier<Map<String, Long>> controllerAnswers) {
+        this.controllerAnswersBaseline = controllerAnswers.get();
+        this.controllerAnswers = controllerAnswers;
+    }
+
+    public Map<String, Long> controllerAnswers() {
+        Map<String, Long> answers = new TreeMap<>();
+        if (controllerAnswers == null) return answers;
+        controllerAnswers.get().forEach((controller, count) -> {
+            long delta = count - controllerAnswersBaseline.getOrDefault(controller, 0L);
+            if (delta > 0) answers.put(controller, delta);
+        });
+        return answers;
+    }
+
+    public long elapsedMillis() {
+        return NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+        str.append(String.format("Query profile, %d ms elapsed\n", elapsedMillis()));
+        for (Procedure procedure : procedureOrder) str.append(procedure);
+        Map<String, Long> answers = controllerAnswers();
+        if (!answers.isEmpty()) {
+            str.append("Reasoner answers by controller:\n");
+            answers.forEach((controller, count) -> str.append(String.format("    %-64s %12d\n", controller, count)));
+        }
+        return str.toString();
+    }
+
+    public static class Procedure {
+
+        private final String plan;
+        private final Vertex[] vertices;
+
+        /**
+         * @param vertices the profiles of the procedure vertices, in the order the procedure visits them
+         */
+        public Procedure(String plan, List<Vertex> vertices) {
+            this.plan = plan;
+            this.vertices = vertices.toArray(new Vertex[0]);
+        }
+
+        public String plan() {
+            return plan;
+        }
+
+        public Vertex vertex(int order) {
+            return vertices[order];
+        }
+
+        public List<Vertex> vertices() {
+            return List.of(vertices);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder str = new StringBuilder();
+            str.append(plan).append("\n");
+            str.append(String.format("    %-5s %-24s %10s %12s %12s %12s %12s %10s %10s %12s\n",
+                    "order", "vertex", "scans", "candidates", "answers", "est.fan-out", "fan-out",
+                    "seeks", "nexts", "bytes read"));
+            for (int i = 0; i < vertices.length; i++) {
+                Vertex v = vertices[i];
+                str.append(String.format("    %-5d %-24s %10d %12d %12d %12.2f %12.2f %10d %10d %12d  %d ms\n",
+                        i, v.id, v.scans(), v.candidates(), v.answers(), v.estimatedFanOut, v.fanOut(),
+                        v.seeks(), v.nexts(), v.bytesRead(), NANOSECONDS.toMillis(v.nanos())));
+            }
+            return str.toString();
+        }
+    }
+
+    public static class Vertex {
+
+        private final String id;
+        private final double estimatedFanOut;
+        private final LongAdder scans;
+        private final LongAdder candidates;
+        private final LongAdder answers;
+        private final LongAdder nanos;
+        private final LongAdder seeks;
+        private final LongAdder nexts;
+        private final LongAdder bytesRead;
+
+        /**
+         * @param estimatedFanOut the candidates the planner expects per scan, or a negative value if it has no estimate
+         */
+        public Vertex(String id, double estimatedFanOut) {
+            this.id = id;
+            this.estimatedFanOut = estimatedFanOut;
+            this.scans = new LongAdder();
+            this.candidates = new LongAdder();
+            this.answers = new LongAdder();
+            this.nanos = new LongAdder();
+            this.seeks = new LongAdder();
+            this.nexts = new LongAdder();
+            this.bytesRead = new LongAdder();
+        }
+
+        public void scanned() {
+            scans.increment();
+        }
+
+        public void record(long candidates, boolean answered, long nanos, StorageReads reads) {
+            this.candidates.add(candidates);
+            if (answered) answers.increment();
+            this.nanos.add(nanos);
+            seeks.add(reads.seeks());
+            nexts.add(reads.nexts());
+            bytesRead.add(reads.bytes());
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public double estimatedFanOut() {
+            return estimatedFanOut;
+        }
+
+        public double fanOut() {
+            long scans = scans();
+            return scans == 0 ? 0 : (double) candidates() / scans;
+        }
+
+        public long scans() {
+            return scans.sum();
+        }
+
+        public long candidates() {
+            return candidates.sum();
+        }
+
+        public long answers() {
+            return answers.sum();
+        }
+
+        public long nanos() {
+            return nanos.sum();
+        }
+
+        public long seeks() {
+            return seeks.sum();
+        }
+
+        public long nexts() {
+            return nexts.sum();
+        }
+
+        public long bytesRead() {
+            return bytesRead.sum();
+        }
+    }
+}
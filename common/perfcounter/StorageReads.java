@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.common.perfcounter;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the storage reads made by the current thread while it is recording, to attribute them to the operation
+ * being profiled. Recordings may nest, in which case the reads of the inner recording are also added to the outer.
+ * While no thread is recording, counting a read costs a single volatile read.
+ */
+public class StorageReads {
+
+    private static final AtomicInteger recordings = new AtomicInteger(0);
+    private static final ThreadLocal<StorageReads> current = new ThreadLocal<>();
+
+    @Nullable
+    private final StorageReads outer;
+    private long seeks;
+    private long nexts;
+    private long bytes;
+
+    private StorageReads(@Nullable StorageReads outer) {
+        this.outer = outer;
+        this.seeks = 0;
+        this.nexts = 0;
+        this.bytes = 0;
+    }
+
+    public static StorageReads record() {
+        StorageReads reads = new StorageReads(current.get());
+        current.set(reads);
+        recordings.incrementAndGet();
+        return reads;
+    }
+
+    public void stop() {
+        assert current.get() == this;
+        recordings.decrementAndGet();
+        if (outer != null) {
+            outer.seeks += seeks;
+            outer.nexts += nexts;
+            outer.bytes += bytes;
+            current.set(outer);
+        } else {
+            current.remove();
+        }
+    }
+
+    public static void seek(int bytes) {
+        if (recordings.get() == 0) return;
+        StorageReads reads = current.get();
+        if (reads != null) {
+            reads.seeks++;
+            reads.bytes += bytes;
+        }
+    }
+
+    public static void next(int bytes) {
+        if (recordings.get() == 0) return;
+        StorageReads reads = current.get();
+        if (reads != null) {
+            reads.nexts++;
+            reads.bytes += bytes;
+        }
+    }
+
+    public static void read(int bytes) {
+        if (recordings.get() == 0) return;
+        StorageReads reads = current.get();
+        if (reads != null) reads.bytes += bytes;
+    }
+
+    public long seeks() {
+        return seeks;
+    }
+
+    public long nexts() {
+        return nexts;
+    }
+
+    public long bytes() {
+        return bytes;
+    }
+}
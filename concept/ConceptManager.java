@@ -47,14 +47,22 @@ import com.vaticle.typedb.core.encoding.iid.VertexIID;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.vertex.ThingVertex;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
+import com.vaticle.typedb.core.graph.vertex.Vertex;
 import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
 import com.vaticle.typedb.core.traversal.common.VertexMap;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -108,15 +116,15 @@ public final class ConceptManager {
     }
 
     private Map<Retrievable, Concept> toConcepts(VertexMap vertexMap) {
-        Map<Retrievable, Concept> map = new HashMap<>();
-        vertexMap.forEach((id, vertex) -> {
-            if (vertex.isThing()) map.put(id, ThingImpl.of(this, vertex.asThing()));
-            else if (vertex.isType() && vertex.asType().isRoleType()) map.put(id, convertRoleType(vertex.asType()));
-            else if (vertex.isType()) map.put(id, convertThingType(vertex.asType()));
-            else if (vertex.isValue()) map.put(id, ValueImpl.of(this, vertex.asValue()));
-            else throw exception(TypeDBException.of(ILLEGAL_STATE));
-        });
-        return map;
+        return new VertexConcepts(this, vertexMap);
+    }
+
+    private Concept toConcept(Vertex<?, ?> vertex) {
+        if (vertex.isThing()) return ThingImpl.of(this, vertex.asThing());
+        else if (vertex.isType() && vertex.asType().isRoleType()) return convertRoleType(vertex.asType());
+        else if (vertex.isType()) return convertThingType(vertex.asType());
+        else if (vertex.isValue()) return ValueImpl.of(this, vertex.asValue());
+        else throw exception(TypeDBException.of(ILLEGAL_STATE));
     }
 
     public GraphManager graph() {
@@ -213,6 +221,26 @@ public final class ConceptManager {
         else return null;
     }
 
+    /**
+     * Resolve in one batched storage read whether each of the given values already exists as an attribute
+     * of this type, ahead of putting or getting them individually.
+     */
+    public void prefetchAttributes(AttributeType attributeType, Collection<?> values) {
+        graphMgr.data().prefetch(((AttributeTypeImpl) attributeType).vertex, values);
+    }
+
+    public void clearPrefetchedAttributes() {
+        graphMgr.data().clearPrefetched();
+    }
+
+    /**
+     * Delete every instance of the given entity type, excluding instances of its subtypes, scanning the type's
+     * instances in storage rather than retrieving each of them as a concept.
+     */
+    public long deleteInstances(EntityType entityType) {
+        return graphMgr.data().deleteAll(((EntityTypeImpl) entityType).vertex);
+    }
+
     public Type getType(Label label) {
         TypeVertex vertex = graphMgr.schema().getType(label);
         if (vertex != null) {
@@ -233,6 +261,25 @@ public final class ConceptManager {
         else return null;
     }
 
+    /**
+     * Converts the IID of a thing that is known to exist in this transaction into a thing, without reading storage.
+     */
+    public Thing convertThing(ByteArray iid) {
+        return ThingImpl.of(this, graphMgr.data().convertToReadable(VertexIID.Thing.of(iid)));
+    }
+
+    /**
+     * Looks up many things by IID with a single batched storage read.
+     *
+     * @return the thing of each IID, in order, or null where there is no such thing
+     */
+    public List<Thing> getThings(List<ByteArray> iids) {
+        List<ThingVertex> vertices = graphMgr.data().getReadable(iterate(iids).map(VertexIID.Thing::of).toList());
+        List<Thing> things = new ArrayList<>(vertices.size());
+        for (ThingVertex vertex : vertices) things.add(vertex != null ? ThingImpl.of(this, vertex) : null);
+        return things;
+    }
+
     public Entity getEntity(ByteArray iid) {
         Thing thing = getThing(iid);
         if (thing != null) return thing.asEntity();
@@ -394,4 +441,97 @@ public final class ConceptManager {
     public TypeDBException exception(Exception exception) {
         return graphMgr.exception(exception);
     }
+
+    /**
+     * A read-only view of a VertexMap that only wraps each vertex into a Concept the first time it is read.
+     * Equality and hashing are delegated to the underlying vertices, which is consistent with Concept equality.
+     * Concurrent readers may race to wrap the same vertex, which is harmless as the wrappers are equal.
+     */
+    private static class VertexConcepts extends AbstractMap<Retrievable, Concept> {
+
+        private final ConceptManager conceptMgr;
+        private final VertexMap vertexMap;
+        private final Concept[] concepts;
+        private Set<Entry<Retrievable, Concept>> entrySet;
+
+        private VertexConcepts(ConceptManager conceptMgr, VertexMap vertexMap) {
+            this.conceptMgr = conceptMgr;
+            this.vertexMap = vertexMap;
+            this.concepts = new Concept[vertexMap.size()];
+        }
+
+        private Concept concept(int slot) {
+            Concept concept = concepts[slot];
+            if (concept == null) concepts[slot] = concept = conceptMgr.toConcept(vertexMap.vertex(slot));
+            return concept;
+        }
+
+        @Override
+        public int size() {
+            return concepts.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Retrievable && vertexMap.containsKey((Retrievable) key);
+        }
+
+        @Override
+        public Concept get(Object key) {
+            if (!(key instanceof Retrievable)) return null;
+            int slot = vertexMap.layout().slot((Retrievable) key);
+            return slot < 0 ? null : concept(slot);
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super Retrievable, ? super Concept> action) {
+            for (int slot = 0; slot < concepts.length; slot++) {
+                action.accept(vertexMap.layout().id(slot), concept(slot));
+            }
+        }
+
+        @Override
+        public Set<Entry<Retrievable, Concept>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new AbstractSet<Entry<Retrievable, Concept>>() {
+                    @Override
+                    public Iterator<Entry<Retrievable, Concept>> iterator() {
+                        return new Iterator<Entry<Retrievable, Concept>>() {
+                            private int slot = 0;
+
+                            @Override
+                            public boolean hasNext() {
+                                return slot < concepts.length;
+                            }
+
+                            @Override
+                            public Entry<Retrievable, Concept> next() {
+                                if (!hasNext()) throw new NoSuchElementException();
+                                Entry<Retrievable, Concept> entry = new SimpleImmutableEntry<>(vertexMap.layout().id(slot), concept(slot));
+                                slot++;
+                                return entry;
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return concepts.length;
+                    }
+                };
+            }
+            return entrySet;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o instanceof VertexConcepts) return vertexMap.equals(((VertexConcepts) o).vertexMap);
+            else return super.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return vertexMap.hashCode();
+        }
+    }
 }
@@ -33,23 +33,25 @@ import com.vaticle.typeql.lang.pattern.variable.Reference;
 import com.vaticle.typeql.lang.pattern.variable.UnboundVariable;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.iterator.Iterators.link;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
 
 public class ConceptMap implements Answer {
 
     private final Map<Retrievable, ? extends Concept> concepts;
     private final Explainables explainables;
-    private final int hash;
+    private final Map<Retrievable, List<? extends Attribute>> projections;
+    private int hash;
 
     public ConceptMap() {
         this(new HashMap<>());
@@ -60,9 +62,15 @@ public class ConceptMap implements Answer {
     }
 
     public ConceptMap(Map<Retrievable, ? extends Concept> concepts, Explainables explainables) {
+        this(concepts, explainables, emptyMap());
+    }
+
+    private ConceptMap(Map<Retrievable, ? extends Concept> concepts, Explainables explainables,
+                       Map<Retrievable, List<? extends Attribute>> projections) {
         this.concepts = concepts;
         this.explainables = explainables;
-        this.hash = Objects.hash(this.concepts, this.explainables);
+        this.projections = projections;
+        this.hash = 0;
     }
 
     public boolean contains(Reference.Name variable) {
@@ -118,6 +126,22 @@ public class ConceptMap implements Answer {
         return explainables;
     }
 
+    /**
+     * @return the attributes projected from the concept of the variable by the query's projection option, which
+     * are only present if that option selects this variable
+     */
+    public Optional<List<? extends Attribute>> projection(String variable) {
+        return Optional.ofNullable(projections.get(Identifier.Variable.namedConcept(variable)));
+    }
+
+    public Map<Retrievable, List<? extends Attribute>> projections() {
+        return projections;
+    }
+
+    public ConceptMap withProjections(Map<Retrievable, List<? extends Attribute>> projections) {
+        return new ConceptMap(concepts, explainables, projections);
+    }
+
     public void forEach(BiConsumer<Retrievable, Concept> consumer) {
         concepts.forEach(consumer);
     }
@@ -131,9 +155,12 @@ public class ConceptMap implements Answer {
     }
 
     static Map<Retrievable, ? extends Concept> filteredMap(Map<Retrievable, ? extends Concept> concepts, Set<? extends Retrievable> vars) {
-        return concepts.entrySet().stream()
-                .filter(e -> vars.contains(e.getKey()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Map<Retrievable, Concept> filtered = new HashMap<>();
+        for (Retrievable var : vars) {
+            Concept concept = concepts.get(var);
+            if (concept != null) filtered.put(var, concept);
+        }
+        return filtered;
     }
 
     public ConceptMap withExplainableConcept(Retrievable id, Conjunction conjunction) {
@@ -164,6 +191,7 @@ public class ConceptMap implements Answer {
 
     @Override
     public int hashCode() {
+        if (hash == 0) hash = Objects.hash(concepts, explainables);
         return hash;
     }
 
@@ -103,6 +103,14 @@ public interface Thing extends Concept, Comparable<Thing> {
 
     FunctionalIterator<? extends Attribute> getHas(AttributeType attributeType);
 
+    /**
+     * Get the {@code Attribute} instances owned by this {@code Thing} whose types are any of the given types or
+     * their subtypes.
+     *
+     * @return an iterator of {@code Attribute} instances owned by this {@code Thing}
+     */
+    FunctionalIterator<? extends Attribute> getHas(AttributeType... attributeTypes);
+
     FunctionalIterator<? extends Attribute.Boolean> getHas(AttributeType.Boolean attributeType);
 
     FunctionalIterator<? extends Attribute.Long> getHas(AttributeType.Long attributeType);
@@ -206,7 +206,8 @@ public abstract class ThingImpl extends ConceptImpl implements Thing {
         return getAttributeVertices(list(attributeType)).map(v -> AttributeImpl.of(conceptMgr, v).asDateTime());
     }
 
-    private FunctionalIterator<AttributeImpl<?>> getHas(AttributeType... attributeTypes) {
+    @Override
+    public FunctionalIterator<AttributeImpl<?>> getHas(AttributeType... attributeTypes) {
         return getAttributeVertices(Arrays.asList(attributeTypes)).map(v -> AttributeImpl.of(conceptMgr, v));
     }
 
@@ -25,11 +25,14 @@ import io.netty.channel.nio.NioEventLoopGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_ARGUMENT;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public class Executors {
 
@@ -39,27 +42,35 @@ public class Executors {
 
     private static final Logger LOG = LoggerFactory.getLogger(Executors.class);
     private static final String TYPEDB_CORE_SERVICE_THREAD_NAME = "typedb-service";
+    private static final String TYPEDB_CORE_BLOCKING_THREAD_NAME = "typedb-blocking";
     private static final String TYPEDB_CORE_ASYNC_THREAD_1_NAME = "typedb-async-1";
     private static final String TYPEDB_CORE_ASYNC_THREAD_2_NAME = "typedb-async-2";
     private static final String TYPEDB_CORE_NETWORK_THREAD_NAME = "typedb-network";
     private static final String TYPEDB_CORE_ACTOR_THREAD_NAME = "typedb-actor";
     private static final String TYPEDB_CORE_SERIAL_THREAD_NAME = "typedb-serial";
     private static final String TYPEDB_CORE_SCHEDULED_THREAD_NAME = "typedb-scheduled";
+    private static final String TYPEDB_CORE_PLANNING_THREAD_NAME = "typedb-planning";
     private static final int TYPEDB_CORE_SCHEDULED_THREAD_SIZE = 1;
+    private static final int TYPEDB_CORE_PLANNING_THREAD_RATIO = 4;
+    private static final int TYPEDB_CORE_PLANNING_QUEUE_SIZE = 256;
 
     private static Executors singleton = null;
 
     private final ParallelThreadPoolExecutor serviceExecutorService;
+    private final ExecutorService blockingService;
     private final ParallelThreadPoolExecutor asyncExecutorService1;
     private final ParallelThreadPoolExecutor asyncExecutorService2;
     private final ActorExecutorGroup actorExecutorService;
     private final NioEventLoopGroup networkExecutorService;
     private final ScheduledThreadPoolExecutor scheduledThreadPool;
     private final ExecutorService serialService;
+    private final ThreadPoolExecutor planningExecutorService;
 
     private Executors(int parallelisation) {
         if (parallelisation <= 0) throw TypeDBException.of(ILLEGAL_ARGUMENT);
         serviceExecutorService = new ParallelThreadPoolExecutor(parallelisation, threadFactory(TYPEDB_CORE_SERVICE_THREAD_NAME));
+        // blocking work waits rather than computes, so it gets a thread each instead of a share of the cores
+        blockingService = java.util.concurrent.Executors.newCachedThreadPool(threadFactory(TYPEDB_CORE_BLOCKING_THREAD_NAME));
         asyncExecutorService1 = new ParallelThreadPoolExecutor(parallelisation, threadFactory(TYPEDB_CORE_ASYNC_THREAD_1_NAME));
         asyncExecutorService2 = new ParallelThreadPoolExecutor(parallelisation, threadFactory(TYPEDB_CORE_ASYNC_THREAD_2_NAME));
         actorExecutorService = new ActorExecutorGroup(parallelisation, threadFactory(TYPEDB_CORE_ACTOR_THREAD_NAME));
@@ -67,6 +78,13 @@ public class Executors {
         scheduledThreadPool = new ScheduledThreadPoolExecutor(TYPEDB_CORE_SCHEDULED_THREAD_SIZE,
                                                               threadFactory(TYPEDB_CORE_SCHEDULED_THREAD_NAME));
         serialService = java.util.concurrent.Executors.newSingleThreadExecutor(threadFactory(TYPEDB_CORE_SERIAL_THREAD_NAME));
+        // planning gets a bounded share of the cores and a bounded queue, so that bursts of new queries cannot starve
+        // query execution: submissions beyond the queue size are rejected, and callers keep their current plan
+        int planningThreads = Math.max(1, parallelisation / TYPEDB_CORE_PLANNING_THREAD_RATIO);
+        planningExecutorService = new ThreadPoolExecutor(
+                planningThreads, planningThreads, 0, MILLISECONDS,
+                new ArrayBlockingQueue<>(TYPEDB_CORE_PLANNING_QUEUE_SIZE), threadFactory(TYPEDB_CORE_PLANNING_THREAD_NAME)
+        );
         scheduledThreadPool.setRemoveOnCancelPolicy(true);
     }
 
@@ -89,6 +107,11 @@ public class Executors {
         return singleton.serviceExecutorService;
     }
 
+    public static ExecutorService blocking() {
+        assert isInitialised();
+        return singleton.blockingService;
+    }
+
     public static ParallelThreadPoolExecutor async1() {
         assert isInitialised();
         return singleton.asyncExecutorService1;
@@ -118,4 +141,9 @@ public class Executors {
         assert isInitialised();
         return singleton.serialService;
     }
+
+    public static ThreadPoolExecutor planning() {
+        assert isInitialised();
+        return singleton.planningExecutorService;
+    }
 }
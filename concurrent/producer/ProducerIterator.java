@@ -21,6 +21,7 @@ package com.vaticle.typedb.core.concurrent.producer;
 import com.vaticle.typedb.common.collection.Either;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.AbstractFunctionalIterator;
+import com.vaticle.typedb.core.common.parameters.Cancellation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +44,8 @@ public class ProducerIterator<T> extends AbstractFunctionalIterator<T> {
     private final ConcurrentLinkedQueue<Producer<T>> producers;
     private final Executor executor;
     private final Queue queue;
+    @Nullable
+    private final Cancellation cancellation;
     private final int batchSize;
     private final long limit;
     private long requested;
@@ -52,6 +55,15 @@ public class ProducerIterator<T> extends AbstractFunctionalIterator<T> {
     private State state;
 
     public ProducerIterator(List<Producer<T>> producers, int batchSize, long limit, Executor executor) {
+        this(producers, batchSize, limit, executor, null);
+    }
+
+    /**
+     * Once the cancellation token is cancelled, the producers are recycled at once, and the consumer is woken up
+     * with the cause of the cancellation, even if it is waiting on answers that will no longer come.
+     */
+    public ProducerIterator(List<Producer<T>> producers, int batchSize, long limit, Executor executor,
+                            @Nullable Cancellation cancellation) {
         // TODO: Could we optimise IterableProducer by accepting FunctionalIterator<Producer<T>> instead?
         assert !producers.isEmpty() && batchSize < Integer.MAX_VALUE / 2;
         this.producers = new ConcurrentLinkedQueue<>(producers);
@@ -59,9 +71,11 @@ public class ProducerIterator<T> extends AbstractFunctionalIterator<T> {
         this.batchSize = batchSize;
         this.limit = limit;
         this.executor = executor;
+        this.cancellation = cancellation;
         this.requested = 0;
         this.consumed = 0;
         this.state = State.EMPTY;
+        if (cancellation != null) cancellation.onCancel(this::cancel);
     }
 
     private void mayProduceBatch() {
@@ -71,7 +85,7 @@ public class ProducerIterator<T> extends AbstractFunctionalIterator<T> {
     private void mayProduce() {
         if (requested == limit) return;
         synchronized (queue) {
-            if (producers.isEmpty()) return;
+            if (producers.isEmpty() || queue.isCancelled) return;
             final int request = batchSize < (limit - requested) ? batchSize : (int) (limit - requested);
             requested += request;
             Producer<T> producer = producers.peek();
@@ -85,7 +99,11 @@ public class ProducerIterator<T> extends AbstractFunctionalIterator<T> {
     public boolean hasNext() {
         if (state == State.COMPLETED || consumed == limit) return false;
         else if (state == State.FETCHED) return true;
-        else mayProduceBatch();
+        else if (cancellation != null && cancellation.isCancelled()) {
+            cancel();
+            state = State.COMPLETED;
+            throw cancellation.cause().get();
+        } else mayProduceBatch();
 
         Either<Result<T>, Done> result = queue.take();
 
@@ -120,6 +138,12 @@ public class ProducerIterator<T> extends AbstractFunctionalIterator<T> {
         producers.forEach(Producer::recycle);
     }
 
+    private void cancel() {
+        assert cancellation != null;
+        recycle();
+        cancellation.cause().ifPresent(queue::cancel);
+    }
+
     private static class Result<T> {
 
         @Nullable
@@ -160,13 +184,16 @@ public class ProducerIterator<T> extends AbstractFunctionalIterator<T> {
     private class Queue implements Producer.Queue<T> {
 
         private final LinkedBlockingQueue<Either<Result<T>, Done>> blockingQueue;
+        private volatile boolean isCancelled;
 
         private Queue() {
             this.blockingQueue = new LinkedBlockingQueue<>();
+            this.isCancelled = false;
         }
 
         @Override
         public synchronized void put(T item) {
+            if (isCancelled) return;
             try {
                 blockingQueue.put(Either.first(new Result<>(item)));
             } catch (InterruptedException e) {
@@ -184,6 +211,7 @@ public class ProducerIterator<T> extends AbstractFunctionalIterator<T> {
             assert !producers.isEmpty();
             producers.remove();
             requested = 0;
+            if (isCancelled) return;
             try {
                 if (error != null) blockingQueue.put(Either.second(Done.error(error)));
                 else if (producers.isEmpty()) blockingQueue.put(Either.second(Done.success()));
@@ -193,6 +221,16 @@ public class ProducerIterator<T> extends AbstractFunctionalIterator<T> {
             }
         }
 
+        private synchronized void cancel(Throwable cause) {
+            if (isCancelled) return;
+            isCancelled = true;
+            try {
+                blockingQueue.put(Either.second(Done.error(cause)));
+            } catch (InterruptedException e) {
+                throw TypeDBException.of(UNEXPECTED_INTERRUPTION);
+            }
+        }
+
         private Either<Result<T>, Done> take() {
             try {
                 return blockingQueue.take();
@@ -22,6 +22,7 @@ import com.vaticle.typedb.common.collection.Either;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.Iterators;
 import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Context;
 
 import java.util.List;
 import java.util.concurrent.Executor;
@@ -49,8 +50,27 @@ public class Producers {
     }
 
     public static <T> ProducerIterator<T> produce(List<Producer<T>> producers, Either<Arguments.Query.Producer, Long> context, Executor executor) {
-        int batchSize = context.isSecond() || context.first().isIncremental() ? BATCH_SIZE_DEFAULT : BATCH_SIZE_MAX;
-        long limit = context.isSecond() ? context.second() : LIMIT_DEFAULT;
-        return new ProducerIterator<>(producers, batchSize, limit, executor);
+        return new ProducerIterator<>(producers, batchSize(context), limit(context), executor);
+    }
+
+    public static <T> ProducerIterator<T> produce(Producer<T> producer, Context.Query context, Executor executor) {
+        return produce(list(producer), context, executor);
+    }
+
+    /**
+     * Produces with the producer arguments of the query context, and stops producing once the query is cancelled.
+     */
+    public static <T> ProducerIterator<T> produce(List<Producer<T>> producers, Context.Query context, Executor executor) {
+        return new ProducerIterator<>(
+                producers, batchSize(context.producer()), limit(context.producer()), executor, context.cancellation()
+        );
+    }
+
+    private static int batchSize(Either<Arguments.Query.Producer, Long> context) {
+        return context.isSecond() || context.first().isIncremental() ? BATCH_SIZE_DEFAULT : BATCH_SIZE_MAX;
+    }
+
+    private static long limit(Either<Arguments.Query.Producer, Long> context) {
+        return context.isSecond() ? context.second() : LIMIT_DEFAULT;
     }
 }
@@ -39,11 +39,13 @@ import com.vaticle.typedb.core.graph.vertex.AttributeVertex;
 import com.vaticle.typedb.core.graph.vertex.ThingVertex;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typedb.core.logic.LogicCache;
+import com.vaticle.typedb.core.query.QueryCache;
 import com.vaticle.typedb.core.traversal.TraversalCache;
 import com.vaticle.typeql.lang.TypeQL;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,6 +74,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Stream;
 
@@ -81,6 +84,7 @@ import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.collection.ByteArray.encodeLong;
 import static com.vaticle.typedb.core.common.collection.ByteArray.encodeLongs;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_CLOSED;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_READ_ONLY;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.INCOMPATIBLE_ENCODING;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.INVALID_DATABASE_DIRECTORIES;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.ROCKS_LOGGER_SHUTDOWN_TIMEOUT;
@@ -100,9 +104,13 @@ import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Ty
 import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.WRITE;
 import static com.vaticle.typedb.core.concurrent.executor.Executors.serial;
 import static com.vaticle.typedb.core.encoding.Encoding.ENCODING_VERSION;
+import static com.vaticle.typedb.core.encoding.Encoding.ENCODING_VERSION_HASHED_STRINGS;
 import static com.vaticle.typedb.core.encoding.Encoding.ROCKS_DATA;
 import static com.vaticle.typedb.core.encoding.Encoding.ROCKS_SCHEMA;
 import static com.vaticle.typedb.core.encoding.Encoding.System.ENCODING_VERSION_KEY;
+import static com.vaticle.typedb.core.encoding.Encoding.System.STRING_INLINE_MAX_SIZE_KEY;
+import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_MAX_SIZE;
+import static java.lang.Math.min;
 import static java.util.Comparator.reverseOrder;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -119,19 +127,24 @@ public class CoreDatabase implements TypeDB.Database {
     private final AtomicLong nextTransactionID;
     private final AtomicInteger schemaLockWriteRequests;
     private final StampedLock schemaLock;
+    private final Lock onlineSchemaLock;
     protected final ConcurrentMap<UUID, Pair<CoreSession, Long>> sessions;
     protected final RocksConfiguration rocksConfiguration;
     protected final KeyGenerator.Schema.Persisted schemaKeyGenerator;
     protected final KeyGenerator.Data.Persisted dataKeyGenerator;
     private final IsolationManager isolationMgr;
     private final StatisticsCorrector statisticsCorrector;
-    protected OptimisticTransactionDB rocksSchema;
-    protected OptimisticTransactionDB rocksData;
+    private final QueryCache.Writes queryCacheWrites;
+    protected RocksDB rocksSchema;
+    protected RocksDB rocksData;
     protected CorePartitionManager.Schema rocksSchemaPartitionMgr;
     protected CorePartitionManager.Data rocksDataPartitionMgr;
     protected CoreSession.Data statisticsBackgroundCounterSession;
     protected ScheduledExecutorService scheduledPropertiesLogger;
-    private Cache cache;
+    private volatile Cache cache;
+    private int stringInlineMaxSize;
+    private volatile boolean hasHashedStrings;
+    private volatile Arguments.Storage.Profile storageProfile;
 
     protected CoreDatabase(CoreDatabaseManager databaseMgr, String name, Factory.Session sessionFactory) {
         this.databaseMgr = databaseMgr;
@@ -141,10 +154,13 @@ public class CoreDatabase implements TypeDB.Database {
         dataKeyGenerator = new KeyGenerator.Data.Persisted();
         isolationMgr = new IsolationManager();
         statisticsCorrector = createStatisticsCorrector();
+        queryCacheWrites = new QueryCache.Writes();
         sessions = new ConcurrentHashMap<>();
-        rocksConfiguration = new RocksConfiguration(options().storageDataCacheSize(),
-                options().storageIndexCacheSize(), LOG.isDebugEnabled() || LOG.isTraceEnabled(), ROCKS_LOG_PERIOD);
+        storageProfile = options().storageProfile();
+        rocksConfiguration = new RocksConfiguration(options().storageDataCacheSize(), options().storageIndexCacheSize(),
+                storageProfile, LOG.isDebugEnabled() || LOG.isTraceEnabled(), ROCKS_LOG_PERIOD);
         schemaLock = new StampedLock();
+        onlineSchemaLock = new StampedLock().asReadWriteLock().writeLock();
         schemaLockWriteRequests = new AtomicInteger(0);
         nextTransactionID = new AtomicLong(0);
         isOpen = new AtomicBoolean(false);
@@ -175,6 +191,7 @@ public class CoreDatabase implements TypeDB.Database {
     protected void initialise() {
         openSchema();
         initialiseEncodingVersion();
+        initialiseStringInlineMaxSize();
         openData();
         isOpen.set(true);
         try (CoreSession.Schema session = createAndOpenSession(SCHEMA, new Options.Session()).asSchema()) {
@@ -192,12 +209,21 @@ public class CoreDatabase implements TypeDB.Database {
         try {
             List<ColumnFamilyDescriptor> schemaDescriptors = CorePartitionManager.Schema.descriptors(rocksConfiguration.schema());
             List<ColumnFamilyHandle> schemaHandles = new ArrayList<>();
-            rocksSchema = OptimisticTransactionDB.open(
-                    rocksConfiguration.schema().dbOptions(),
-                    directory().resolve(Encoding.ROCKS_SCHEMA).toString(),
-                    schemaDescriptors,
-                    schemaHandles
-            );
+            if (isReadOnly()) {
+                rocksSchema = RocksDB.openReadOnly(
+                        rocksConfiguration.schema().readOnlyDBOptions(),
+                        directory().resolve(Encoding.ROCKS_SCHEMA).toString(),
+                        schemaDescriptors,
+                        schemaHandles
+                );
+            } else {
+                rocksSchema = OptimisticTransactionDB.open(
+                        rocksConfiguration.schema().dbOptions(),
+                        directory().resolve(Encoding.ROCKS_SCHEMA).toString(),
+                        schemaDescriptors,
+                        schemaHandles
+                );
+            }
             rocksSchemaPartitionMgr = createPartitionMgrSchema(schemaDescriptors, schemaHandles);
         } catch (RocksDBException e) {
             throw TypeDBException.of(e);
@@ -237,6 +263,7 @@ public class CoreDatabase implements TypeDB.Database {
         validateDirectories();
         loadSchema();
         validateEncodingVersion();
+        loadStringInlineMaxSize();
         loadData();
         isOpen.set(true);
         try (CoreSession.Schema session = createAndOpenSession(SCHEMA, new Options.Session()).asSchema()) {
@@ -245,6 +272,7 @@ public class CoreDatabase implements TypeDB.Database {
                 dataKeyGenerator.sync(txn.schemaStorage(), txn.dataStorage());
             }
         }
+        if (isReadOnly()) return;
         statisticsCorrector.markReactivating();
         statisticsCorrector.doReactivate();
     }
@@ -265,12 +293,21 @@ public class CoreDatabase implements TypeDB.Database {
         try {
             List<ColumnFamilyDescriptor> dataDescriptors = CorePartitionManager.Data.descriptors(rocksConfiguration.data());
             List<ColumnFamilyHandle> dataHandles = new ArrayList<>();
-            rocksData = OptimisticTransactionDB.open(
-                    rocksConfiguration.data().dbOptions(),
-                    directory().resolve(Encoding.ROCKS_DATA).toString(),
-                    dataDescriptors,
-                    dataHandles
-            );
+            if (isReadOnly()) {
+                rocksData = RocksDB.openReadOnly(
+                        rocksConfiguration.data().readOnlyDBOptions(),
+                        directory().resolve(Encoding.ROCKS_DATA).toString(),
+                        dataDescriptors,
+                        dataHandles
+                );
+            } else {
+                rocksData = OptimisticTransactionDB.open(
+                        rocksConfiguration.data().dbOptions(),
+                        directory().resolve(Encoding.ROCKS_DATA).toString(),
+                        dataDescriptors,
+                        dataHandles
+                );
+            }
             assert dataDescriptors.size() == dataHandles.size();
             rocksDataPartitionMgr = createPartitionMgrData(dataDescriptors, dataHandles);
         } catch (RocksDBException e) {
@@ -310,7 +347,8 @@ public class CoreDatabase implements TypeDB.Database {
                     ENCODING_VERSION_KEY.bytes().getBytes()
             );
             int encoding = encodingBytes == null || encodingBytes.length == 0 ? 0 : ByteArray.of(encodingBytes).decodeInt();
-            if (encoding != ENCODING_VERSION) {
+            hasHashedStrings = encoding == ENCODING_VERSION_HASHED_STRINGS;
+            if (encoding != ENCODING_VERSION && !hasHashedStrings) {
                 throw TypeDBException.of(INCOMPATIBLE_ENCODING, name(), directory().toAbsolutePath(), encoding, ENCODING_VERSION);
             }
         } catch (RocksDBException e) {
@@ -318,6 +356,89 @@ public class CoreDatabase implements TypeDB.Database {
         }
     }
 
+    /**
+     * The inline size of string attributes is fixed when a database is created, as it decides the IID of every
+     * string attribute. Databases created before it was introduced keep every string inline.
+     */
+    protected void initialiseStringInlineMaxSize() {
+        stringInlineMaxSize = min(options().storageStringInlineMaxSize(), STRING_MAX_SIZE);
+        try {
+            rocksSchema.put(
+                    rocksSchemaPartitionMgr.get(Key.Partition.DEFAULT),
+                    STRING_INLINE_MAX_SIZE_KEY.bytes().getBytes(),
+                    ByteArray.encodeInt(stringInlineMaxSize).getBytes()
+            );
+        } catch (RocksDBException e) {
+            throw TypeDBException.of(e);
+        }
+    }
+
+    protected void loadStringInlineMaxSize() {
+        try {
+            byte[] sizeBytes = rocksSchema.get(
+                    rocksSchemaPartitionMgr.get(Key.Partition.DEFAULT),
+                    STRING_INLINE_MAX_SIZE_KEY.bytes().getBytes()
+            );
+            stringInlineMaxSize = sizeBytes == null ? STRING_MAX_SIZE : ByteArray.of(sizeBytes).decodeInt();
+        } catch (RocksDBException e) {
+            throw TypeDBException.of(e);
+        }
+    }
+
+    public int stringInlineMaxSize() {
+        return stringInlineMaxSize;
+    }
+
+    /**
+     * Must be called before the first string attribute keyed by a hash of its value is committed. It raises the
+     * encoding version of the database, which earlier versions then refuse to open, as they would misread such keys.
+     */
+    synchronized void hashedStringsCommitting() {
+        if (hasHashedStrings) return;
+        try {
+            rocksSchema.put(
+                    rocksSchemaPartitionMgr.get(Key.Partition.DEFAULT),
+                    ENCODING_VERSION_KEY.bytes().getBytes(),
+                    ByteArray.encodeInt(ENCODING_VERSION_HASHED_STRINGS).getBytes()
+            );
+        } catch (RocksDBException e) {
+            throw TypeDBException.of(e);
+        }
+        hasHashedStrings = true;
+    }
+
+    boolean hasHashedStrings() {
+        return hasHashedStrings;
+    }
+
+    @Override
+    public Arguments.Storage.Profile storageProfile() {
+        return storageProfile;
+    }
+
+    /**
+     * Retune the data storage of this open database for another workload, such as a bulk load, without reopening it.
+     * Only the write buffers and compaction triggers of each partition can be changed while RocksDB is open: the
+     * compression and bloom filters of the new profile take effect when the database is next opened with it.
+     *
+     * @param profile the storage profile to switch to
+     */
+    @Override
+    public synchronized void storageProfile(Arguments.Storage.Profile profile) {
+        if (isReadOnly()) throw TypeDBException.of(DATABASE_READ_ONLY, name);
+        if (profile == storageProfile) return;
+        try {
+            for (Key.Partition partition : rocksDataPartitionMgr.partitions()) {
+                rocksData.setOptions(rocksDataPartitionMgr.get(partition),
+                        rocksConfiguration.data().mutableCFOptions(partition, profile));
+            }
+        } catch (RocksDBException e) {
+            throw TypeDBException.of(e);
+        }
+        LOG.info("Database '{}' switched from storage profile '{}' to '{}'", name, storageProfile, profile);
+        storageProfile = profile;
+    }
+
     public CoreSession createAndOpenSession(Arguments.Session.Type type, Options.Session options) {
         if (!isOpen.get()) throw TypeDBException.of(DATABASE_CLOSED, name);
 
@@ -325,14 +446,16 @@ public class CoreDatabase implements TypeDB.Database {
         CoreSession session;
 
         if (type.isSchema()) {
-            try {
-                schemaLockWriteRequests.incrementAndGet();
-                lock = schemaLock().tryWriteLock(options.schemaLockTimeoutMillis(), MILLISECONDS);
-                if (lock == 0) throw TypeDBException.of(SCHEMA_ACQUIRE_LOCK_TIMEOUT);
-            } catch (InterruptedException e) {
-                throw TypeDBException.of(e);
-            } finally {
-                schemaLockWriteRequests.decrementAndGet();
+            if (!options.onlineSchema()) {
+                try {
+                    schemaLockWriteRequests.incrementAndGet();
+                    lock = schemaLock().tryWriteLock(options.schemaLockTimeoutMillis(), MILLISECONDS);
+                    if (lock == 0) throw TypeDBException.of(SCHEMA_ACQUIRE_LOCK_TIMEOUT);
+                } catch (InterruptedException e) {
+                    throw TypeDBException.of(e);
+                } finally {
+                    schemaLockWriteRequests.decrementAndGet();
+                }
             }
             session = sessionFactory.sessionSchema(this, options);
         } else if (type.isData()) {
@@ -345,24 +468,36 @@ public class CoreDatabase implements TypeDB.Database {
         return session;
     }
 
-    synchronized Cache cacheBorrow() {
+    /**
+     * Borrowing the cache does not lock the database: a borrow only fails if it races with the cache being
+     * invalidated, in which case it retries against the cache that replaces it.
+     */
+    Cache cacheBorrow() {
         if (!isOpen.get()) throw TypeDBException.of(DATABASE_CLOSED, name);
 
+        while (true) {
+            Cache current = cache;
+            if (current == null) current = cacheCreate();
+            if (current.borrow()) return current;
+        }
+    }
+
+    private synchronized Cache cacheCreate() {
         if (cache == null) cache = new Cache(this);
-        cache.borrow();
         return cache;
     }
 
-    synchronized void cacheUnborrow(Cache cache) {
+    void cacheUnborrow(Cache cache) {
         cache.unborrow();
     }
 
     public synchronized void cacheInvalidate() {
         if (!isOpen.get()) throw TypeDBException.of(DATABASE_CLOSED, name);
 
-        if (cache != null) {
-            cache.invalidate();
+        Cache current = cache;
+        if (current != null) {
             cache = null;
+            current.invalidate();
         }
     }
 
@@ -398,12 +533,24 @@ public class CoreDatabase implements TypeDB.Database {
         return statisticsCorrector;
     }
 
+    /**
+     * A read-only database is opened without RocksDB transactions, so it never receives writes: its statistics are
+     * never corrected, and only read transactions can be opened against it.
+     *
+     * @return true if this database is served from immutable storage
+     */
+    public boolean isReadOnly() {
+        return options().storageReadOnly(name);
+    }
+
     /**
      * Get the lock that guarantees that the schema is not modified at the same
      * time as data being written to the database. When a schema session is
      * opened (to modify the schema), all write transaction need to wait until
      * the schema session is completed. If there is a write transaction opened,
      * a schema session needs to wait until those transactions are completed.
+     * Online schema sessions do not take this lock: instead, each of their write
+     * transactions holds it for reading, like a data write transaction.
      *
      * @return a {@code StampedLock} to protect data writes from concurrent schema modification
      */
@@ -411,6 +558,16 @@ public class CoreDatabase implements TypeDB.Database {
         return schemaLock;
     }
 
+    /**
+     * Get the lock that allows a single write transaction across all online schema
+     * sessions, as they do not exclude each other through the schema lock.
+     *
+     * @return a {@code Lock} to serialise online schema writes
+     */
+    protected Lock onlineSchemaLock() {
+        return onlineSchemaLock;
+    }
+
     @Override
     public String name() {
         return name;
@@ -463,7 +620,7 @@ public class CoreDatabase implements TypeDB.Database {
     void closed(CoreSession session) {
         if (session != statisticsBackgroundCounterSession) {
             long lock = sessions.remove(session.uuid()).second();
-            if (session.type().isSchema()) schemaLock().unlockWrite(lock);
+            if (session.type().isSchema() && lock != 0) schemaLock().unlockWrite(lock);
         }
     }
 
@@ -497,6 +654,7 @@ public class CoreDatabase implements TypeDB.Database {
 
     @Override
     public void delete() {
+        if (isReadOnly()) throw TypeDBException.of(DATABASE_READ_ONLY, name);
         close();
         databaseMgr.remove(this);
         try {
@@ -876,19 +1034,20 @@ public class CoreDatabase implements TypeDB.Database {
 
         private final TraversalCache traversalCache;
         private final LogicCache logicCache;
+        private final QueryCache queryCache;
         private final TypeGraph typeGraph;
         private final RocksStorage schemaStorage;
         private final AtomicLong statisticsVersion;
-        private long borrowerCount;
-        private boolean invalidated;
+        // twice the number of borrowers, plus one once the cache has been invalidated
+        private final AtomicLong borrowState;
 
         private Cache(CoreDatabase database) {
             schemaStorage = new RocksStorage.Cache(database.rocksSchema, database.rocksSchemaPartitionMgr);
             typeGraph = new TypeGraph(schemaStorage, true);
-            traversalCache = new TraversalCache();
+            traversalCache = new TraversalCache(database.options().traversalReplanFactor());
             logicCache = new LogicCache();
-            borrowerCount = 0L;
-            invalidated = false;
+            queryCache = new QueryCache(database.options().queryCacheSize(), database.queryCacheWrites);
+            borrowState = new AtomicLong(0);
             statisticsVersion = new AtomicLong(0);
         }
 
@@ -900,28 +1059,33 @@ public class CoreDatabase implements TypeDB.Database {
             return logicCache;
         }
 
+        public QueryCache query() {
+            return queryCache;
+        }
+
         public TypeGraph typeGraph() {
             return typeGraph;
         }
 
-        private void borrow() {
-            borrowerCount++;
+        private boolean borrow() {
+            long state;
+            do {
+                state = borrowState.get();
+                if (isInvalidated(state)) return false;
+            } while (!borrowState.compareAndSet(state, state + 2));
+            return true;
         }
 
         private void unborrow() {
-            borrowerCount--;
-            mayClose();
+            if (borrowState.addAndGet(-2) == 1) schemaStorage.close();
         }
 
         private void invalidate() {
-            invalidated = true;
-            mayClose();
+            if (borrowState.getAndUpdate(state -> state | 1) == 0) schemaStorage.close();
         }
 
-        private void mayClose() {
-            if (borrowerCount == 0 && invalidated) {
-                schemaStorage.close();
-            }
+        private static boolean isInvalidated(long state) {
+            return (state & 1) == 1;
         }
 
         AtomicLong statisticsVersion() {
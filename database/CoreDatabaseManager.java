@@ -40,6 +40,7 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DAT
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_MANAGER_CLOSED;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_NAME_RESERVED;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_NOT_FOUND;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_READ_ONLY;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.TYPEDB_CLOSED;
 
 public class CoreDatabaseManager implements TypeDB.DatabaseManager {
@@ -107,6 +108,7 @@ public class CoreDatabaseManager implements TypeDB.DatabaseManager {
         if (!isOpen.get()) throw TypeDBException.of(DATABASE_MANAGER_CLOSED);
         if (isReservedName(name)) throw TypeDBException.of(DATABASE_NAME_RESERVED);
         if (databases.containsKey(name)) throw TypeDBException.of(DATABASE_EXISTS, name);
+        if (options().storageReadOnly(name)) throw TypeDBException.of(DATABASE_READ_ONLY, name);
 
         CoreDatabase database = databaseFactory.databaseCreateAndOpen(this, name);
         databases.put(name, database);
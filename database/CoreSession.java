@@ -32,6 +32,7 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.StampedLock;
 
 import static com.vaticle.typedb.common.util.Objects.className;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_READ_ONLY;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNEXPECTED_INTERRUPTION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Session.SCHEMA_ACQUIRE_LOCK_TIMEOUT;
@@ -155,6 +156,8 @@ public abstract class CoreSession implements TypeDB.Session {
         @Override
         public CoreTransaction.Schema transaction(Arguments.Transaction.Type type, Options.Transaction options) {
             if (!isOpen.get()) throw TypeDBException.of(SESSION_CLOSED);
+            if (type.isWrite() && database().isReadOnly()) throw TypeDBException.of(DATABASE_READ_ONLY, database().name());
+            long lock = 0;
             if (type.isWrite()) {
                 try {
                     if (!writeLock.tryLock(options.schemaLockTimeoutMillis(), MILLISECONDS)) {
@@ -163,17 +166,47 @@ public abstract class CoreSession implements TypeDB.Session {
                 } catch (InterruptedException e) {
                     throw TypeDBException.of(e);
                 }
+                if (context().options().onlineSchema()) lock = acquireOnlineLocks(options);
             }
             CoreTransaction.Schema transaction = txSchemaFactory.transaction(this, type, options);
-            transactions.put(transaction, 0L);
+            transactions.put(transaction, lock);
             return transaction;
 
         }
 
+        /**
+         * An online schema write transaction excludes other online schema writes, and holds the schema lock for
+         * reading so that it can run alongside data write transactions, but not alongside an exclusive schema session.
+         */
+        private long acquireOnlineLocks(Options.Transaction options) {
+            long timeout = options.schemaLockTimeoutMillis();
+            try {
+                if (!database().onlineSchemaLock().tryLock(timeout, MILLISECONDS)) {
+                    writeLock.unlock();
+                    throw TypeDBException.of(SCHEMA_ACQUIRE_LOCK_TIMEOUT);
+                }
+                long lock = database().schemaLock().tryReadLock(timeout, MILLISECONDS);
+                if (lock == 0) {
+                    database().onlineSchemaLock().unlock();
+                    writeLock.unlock();
+                    throw TypeDBException.of(SCHEMA_ACQUIRE_LOCK_TIMEOUT);
+                }
+                return lock;
+            } catch (InterruptedException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
         @Override
         void closed(CoreTransaction transaction) {
-            transactions.remove(transaction);
-            if (transaction.type().isWrite()) writeLock.unlock();
+            long lock = transactions.remove(transaction);
+            if (transaction.type().isWrite()) {
+                if (lock != 0) {
+                    database().schemaLock().unlockRead(lock);
+                    database().onlineSchemaLock().unlock();
+                }
+                writeLock.unlock();
+            }
         }
     }
 
@@ -204,6 +237,7 @@ public abstract class CoreSession implements TypeDB.Session {
         @Override
         public CoreTransaction.Data transaction(Arguments.Transaction.Type type, Options.Transaction options) {
             if (!isOpen.get()) throw TypeDBException.of(SESSION_CLOSED);
+            if (type.isWrite() && database().isReadOnly()) throw TypeDBException.of(DATABASE_READ_ONLY, database().name());
             long lock = 0;
             if (type == Arguments.Transaction.Type.WRITE) {
                 try {
@@ -25,6 +25,7 @@ import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Context;
+import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.graph.GraphManager;
@@ -32,12 +33,14 @@ import com.vaticle.typedb.core.graph.ThingGraph;
 import com.vaticle.typedb.core.graph.TypeGraph;
 import com.vaticle.typedb.core.logic.LogicCache;
 import com.vaticle.typedb.core.logic.LogicManager;
+import com.vaticle.typedb.core.query.QueryCache;
 import com.vaticle.typedb.core.query.QueryManager;
 import com.vaticle.typedb.core.reasoner.Reasoner;
 import com.vaticle.typedb.core.traversal.TraversalCache;
 import com.vaticle.typedb.core.traversal.TraversalEngine;
 import org.rocksdb.RocksDBException;
 
+import javax.annotation.Nullable;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -47,8 +50,10 @@ import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.ILLEGAL_COMMIT;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.SESSION_DATA_VIOLATION;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.SCHEMA_CHANGE_NOT_ADDITIVE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.SESSION_SCHEMA_VIOLATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_CLOSED;
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 
 public abstract class CoreTransaction implements TypeDB.Transaction {
 
@@ -69,12 +74,13 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
                 .id(this.session.database().nextTransactionID());
     }
 
-    void initialise(GraphManager graphMgr, TraversalCache traversalCache, LogicCache logicCache) {
+    void initialise(GraphManager graphMgr, TraversalCache traversalCache, LogicCache logicCache,
+                    @Nullable QueryCache.View resultCache) {
         traversalEng = new TraversalEngine(graphMgr, traversalCache);
         conceptMgr = new ConceptManager(graphMgr);
         logicMgr = new LogicManager(graphMgr, conceptMgr, traversalEng, logicCache);
         reasoner = new Reasoner(conceptMgr, logicMgr, traversalEng, context);
-        queryMgr = new QueryManager(conceptMgr, logicMgr, reasoner, context);
+        queryMgr = new QueryManager(conceptMgr, logicMgr, reasoner, context, resultCache);
         isOpen = new AtomicBoolean(true);
     }
 
@@ -139,6 +145,7 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
     abstract void delete();
 
     protected void closeResources() {
+        context.cancellation().cancel(TypeDBException.of(TRANSACTION_CLOSED));
         reasoner.close();
     }
 
@@ -175,7 +182,7 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
             ThingGraph thingGraph = new ThingGraph(dataStorage, typeGraph, statistics);
 
             graphMgr = new GraphManager(typeGraph, thingGraph);
-            initialise(graphMgr, new TraversalCache(), new LogicCache());
+            initialise(graphMgr, new TraversalCache(), new LogicCache(), null);
         }
 
         @Override
@@ -232,6 +239,10 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
 
                     conceptMgr.validateTypes();
                     logicMgr.revalidateAndReindexRules();
+                    if (session.context().options().onlineSchema()) {
+                        Optional<String> nonAdditive = graphMgr.schema().schemaChanges().nonAdditiveChange();
+                        if (nonAdditive.isPresent()) throw TypeDBException.of(SCHEMA_CHANGE_NOT_ADDITIVE, nonAdditive.get());
+                    }
                     graphMgr.schema().commit();
                     schemaStorage.commit();
                     session.database().cacheInvalidate();
@@ -287,7 +298,9 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
             this.graphMgr = new GraphManager(cache.typeGraph(), thingGraph);
 
             if (type().isWrite()) session.database().isolationMgr().opened(this);
-            initialise(graphMgr, cache.traversal(), cache.logic());
+            QueryCache.View resultCache = type().isRead() && cache.query().isEnabled() ?
+                    cache.query().view(dataStorage.snapshotStart()) : null;
+            initialise(graphMgr, cache.traversal(), cache.logic(), resultCache);
         }
 
         @Override
@@ -326,11 +339,16 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
 
                     conceptMgr.validateThings();
                     graphMgr.data().commit();
+                    if (!session.database().hasHashedStrings() && iterate(graphMgr.data().attributesCreated()).anyMatch(
+                            attribute -> attribute.isString() && attribute.iid().asString().isHashed()
+                    )) {
+                        session.database().hashedStringsCommitting();
+                    }
 
                     Set<CoreTransaction.Data> overlapping =
                             session.database().isolationMgr().validateOverlappingAndStartCommit(this);
                     session.database().statisticsCorrector().recordCorrectionMetadata(this, overlapping);
-                    dataStorage.commit();
+                    commitStorage();
                     session.database().isolationMgr().committed(this);
                     session.database().statisticsCorrector().committed(this);
                     if (graphMgr.data().stats().statisticsPersisted()) cache.incrementStatisticsVersion();
@@ -349,6 +367,27 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
             }
         }
 
+        /**
+         * Commits the storage, having first marked the types that it writes as being committed in the query cache,
+         * so that no transaction reuses cached answers of those types from the moment the commit may be visible.
+         */
+        private void commitStorage() throws RocksDBException {
+            if (!cache.query().isEnabled()) {
+                dataStorage.commit();
+                return;
+            }
+            Set<Label> modifiedTypes = iterate(graphMgr.data().modifiedTypes())
+                    .map(type -> graphMgr.schema().convert(type).properLabel()).toSet();
+            cache.query().committing(modifiedTypes);
+            try {
+                dataStorage.commit();
+            } catch (RocksDBException | RuntimeException e) {
+                cache.query().aborted(modifiedTypes);
+                throw e;
+            }
+            cache.query().committed(modifiedTypes, dataStorage.snapshotEnd().get());
+        }
+
         @Override
         public void rollback() {
             try {
@@ -18,21 +18,31 @@
 
 package com.vaticle.typedb.core.database;
 
+import com.vaticle.typedb.core.common.parameters.Arguments.Storage.Profile;
 import com.vaticle.typedb.core.encoding.key.Key;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.BloomFilter;
 import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionOptions;
 import org.rocksdb.DBOptions;
 import org.rocksdb.IndexType;
 import org.rocksdb.LRUCache;
+import org.rocksdb.MutableColumnFamilyOptions;
 import org.rocksdb.Statistics;
 import org.rocksdb.UInt64AddOperator;
 
 import static com.vaticle.typedb.common.collection.Collections.list;
+import static com.vaticle.typedb.core.common.collection.Bytes.GB;
 import static com.vaticle.typedb.core.common.collection.Bytes.KB;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.encoding.key.Key.Partition.DEFAULT;
+import static com.vaticle.typedb.core.encoding.key.Key.Partition.FIXED_START_EDGE;
+import static com.vaticle.typedb.core.encoding.key.Key.Partition.METADATA;
+import static com.vaticle.typedb.core.encoding.key.Key.Partition.OPTIMISATION_EDGE;
+import static com.vaticle.typedb.core.encoding.key.Key.Partition.VARIABLE_START_EDGE;
 import static org.rocksdb.CompressionType.LZ4_COMPRESSION;
 import static org.rocksdb.CompressionType.NO_COMPRESSION;
+import static org.rocksdb.CompressionType.ZSTD_COMPRESSION;
 
 public class RocksConfiguration {
 
@@ -40,9 +50,10 @@ public class RocksConfiguration {
     private final Data dataOptions;
     private final boolean loggingEnabled;
 
-    public RocksConfiguration(long dataCacheSize, long indexCacheSize, boolean loggingEnabled, int logStatisticsPeriodSec) {
+    public RocksConfiguration(long dataCacheSize, long indexCacheSize, Profile profile, boolean loggingEnabled,
+                              int logStatisticsPeriodSec) {
         this.schemaOptions = new Schema();
-        this.dataOptions = new Data(dataCacheSize, indexCacheSize, loggingEnabled, logStatisticsPeriodSec);
+        this.dataOptions = new Data(dataCacheSize, indexCacheSize, profile, loggingEnabled, logStatisticsPeriodSec);
         this.loggingEnabled = loggingEnabled;
     }
 
@@ -64,6 +75,10 @@ public class RocksConfiguration {
             return new DBOptions().setCreateIfMissing(true);
         }
 
+        public org.rocksdb.DBOptions readOnlyDBOptions() {
+            return new DBOptions().setAllowMmapReads(true);
+        }
+
         /**
          * WARNING: we can break backward compatibility or corrupt user data by changing these options and using them
          * with existing databases
@@ -88,12 +103,16 @@ public class RocksConfiguration {
 
     static class Data {
 
+        private static final int ZSTD_DICTIONARY_SIZE = (int) (16 * KB);
+
         private final LRUCache blockCache;
+        private final Profile profile;
         private final boolean logStatistics;
         private final int logStatisticsPeriodSec;
 
-        Data(long dataCacheSize, long indexCacheSize, boolean logStatistics, int logStatisticsPeriodSec) {
+        Data(long dataCacheSize, long indexCacheSize, Profile profile, boolean logStatistics, int logStatisticsPeriodSec) {
             this.blockCache = lruCache(dataCacheSize, indexCacheSize);
+            this.profile = profile;
             this.logStatistics = logStatistics;
             this.logStatisticsPeriodSec = logStatisticsPeriodSec;
         }
@@ -131,6 +150,17 @@ public class RocksConfiguration {
             return dbOptions;
         }
 
+        /**
+         * An immutable database never flushes or compacts, so it needs no background write concurrency. Its SST files
+         * are memory-mapped, so that point lookups and scans read pages shared through the OS page cache rather than
+         * copying them through pread() into RocksDB-owned buffers.
+         */
+        org.rocksdb.DBOptions readOnlyDBOptions() {
+            DBOptions dbOptions = new DBOptions().setAllowMmapReads(true);
+            if (logStatistics) configureStatistics(dbOptions);
+            return dbOptions;
+        }
+
         /**
          * By default RocksDB uses 1 thread for flush and 1 thread for compaction. We can give RocksDB permission to use many threads
          * for background jobs (eg. compaction and flush) with `maxBackgroundJobs`.
@@ -172,7 +202,7 @@ public class RocksConfiguration {
          */
         org.rocksdb.ColumnFamilyOptions defaultCFOptions() {
             org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
-            writeOptimisedWriteBuffers(options);
+            configureWriteBuffersAndL1(options, DEFAULT);
             configureSST(options);
             configureCompression(options);
             options.setTableFormatConfig(tableOptions(true, true));
@@ -186,7 +216,7 @@ public class RocksConfiguration {
          */
         public ColumnFamilyOptions variableStartEdgeCFOptions() {
             org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
-            writeOptimisedWriteBuffers(options);
+            configureWriteBuffersAndL1(options, VARIABLE_START_EDGE);
             configureSST(options);
             configureCompression(options);
             options.setTableFormatConfig(tableOptions(false, false));
@@ -199,7 +229,7 @@ public class RocksConfiguration {
          */
         org.rocksdb.ColumnFamilyOptions fixedStartEdgeCFOptions() {
             org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
-            writeOptimisedWriteBuffers(options);
+            configureWriteBuffersAndL1(options, FIXED_START_EDGE);
             configureSST(options);
             configureCompression(options);
             configurePrefixExtractor(options, Key.Partition.FIXED_START_EDGE.fixedStartBytes().get());
@@ -209,7 +239,7 @@ public class RocksConfiguration {
 
         org.rocksdb.ColumnFamilyOptions optimisationEdgeCFOptions() {
             org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
-            readOptimisedWriteBuffers(options);
+            configureWriteBuffersAndL1(options, OPTIMISATION_EDGE);
             configureSST(options);
             configureCompression(options);
             configurePrefixExtractor(options, Key.Partition.OPTIMISATION_EDGE.fixedStartBytes().get());
@@ -219,7 +249,7 @@ public class RocksConfiguration {
 
         org.rocksdb.ColumnFamilyOptions metadataCFOptions() {
             org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
-            readOptimisedWriteBuffers(options);
+            configureWriteBuffersAndL1(options, METADATA);
             configureSST(options);
             configureCompression(options);
             configureMergeOperator(options);
@@ -271,22 +301,107 @@ public class RocksConfiguration {
          * With 4x128MB write buffers, with concurrent memtable writes and adaptive yield, during a bulk load we saw only
          * 25 seconds of stalling in 8 hours of data loading. Stalls are also only really seen when doing straight writes,
          * without mixed reads (the norm).
+         *
+         * The write buffers, and the L0 file counts that trigger compaction or throttle writes, are set by the profile and
+         * are the only settings RocksDB lets us change on an open column family, so they are the ones that
+         * `mutableCFOptions()` re-applies when the profile is switched at runtime.
          */
-        private void writeOptimisedWriteBuffers(ColumnFamilyOptions options) {
-            configureWriteBuffersAndL1(options, 128 * MB, 4);
+        private void configureWriteBuffersAndL1(ColumnFamilyOptions options, Key.Partition partition) {
+            MemtableTuning tuning = new MemtableTuning(profile, partition);
+            options.setWriteBufferSize(tuning.writeBufferSize)
+                    .setMaxWriteBufferNumber(tuning.writeBuffersMaxCount)
+                    // don't maintain any old write buffers since we handle key conflict detection ourselves
+                    .setMaxWriteBufferNumberToMaintain(0)
+                    // L1 should match L0 size for best performance, since L0 -> L1 compaction is single threaded
+                    .setMaxBytesForLevelBase(tuning.writeBufferSize * tuning.writeBuffersMaxCount)
+                    .setLevel0FileNumCompactionTrigger(tuning.level0CompactionTrigger)
+                    .setLevel0SlowdownWritesTrigger(tuning.level0SlowdownTrigger)
+                    .setLevel0StopWritesTrigger(tuning.level0StopTrigger)
+                    .setSoftPendingCompactionBytesLimit(tuning.softPendingCompactionBytes)
+                    .setHardPendingCompactionBytesLimit(tuning.hardPendingCompactionBytes);
         }
 
-        private void readOptimisedWriteBuffers(ColumnFamilyOptions options) {
-            configureWriteBuffersAndL1(options, 64 * MB, 2);
+        /**
+         * The subset of a profile that can be applied to an open column family with `RocksDB.setOptions()`. Every
+         * setting is given explicitly, so that switching back to a profile undoes the profile it replaces.
+         */
+        MutableColumnFamilyOptions mutableCFOptions(Key.Partition partition, Profile profile) {
+            MemtableTuning tuning = new MemtableTuning(profile, partition);
+            return MutableColumnFamilyOptions.builder()
+                    .setWriteBufferSize(tuning.writeBufferSize)
+                    .setMaxWriteBufferNumber(tuning.writeBuffersMaxCount)
+                    .setMaxBytesForLevelBase(tuning.writeBufferSize * tuning.writeBuffersMaxCount)
+                    .setLevel0FileNumCompactionTrigger(tuning.level0CompactionTrigger)
+                    .setLevel0SlowdownWritesTrigger(tuning.level0SlowdownTrigger)
+                    .setLevel0StopWritesTrigger(tuning.level0StopTrigger)
+                    .setSoftPendingCompactionBytesLimit(tuning.softPendingCompactionBytes)
+                    .setHardPendingCompactionBytesLimit(tuning.hardPendingCompactionBytes)
+                    .build();
         }
 
-        private void configureWriteBuffersAndL1(ColumnFamilyOptions options, long writeBufferSize, int writeBuffersMaxCount) {
-            options.setWriteBufferSize(writeBufferSize)
-                    .setMaxWriteBufferNumber(writeBuffersMaxCount)
-                    // don't maintain any old write buffers since we handle key conflict detection ourselves
-                    .setMaxWriteBufferNumberToMaintain(0)
-                    // L1 should match L0 size for best performance, since L0 -> L1 compaction is single threaded
-                    .setMaxBytesForLevelBase(writeBufferSize * writeBuffersMaxCount);
+        /**
+         * Vertices and the edges from and to attributes take most writes, so they get the larger write buffers. The
+         * optimisation edges and metadata are small and mostly read.
+         *
+         * A bulk load doubles the write buffers and lets many more files pile up in L0 before compacting them or
+         * throttling writes, deferring compaction work until after the load. An OLTP workload keeps fewer, smaller
+         * write buffers and compacts L0 early, since every read has to check each buffer and each L0 file.
+         * A read-mostly workload does the same with the smallest write buffers.
+         */
+        private static class MemtableTuning {
+
+            private final long writeBufferSize;
+            private final int writeBuffersMaxCount;
+            private final int level0CompactionTrigger;
+            private final int level0SlowdownTrigger;
+            private final int level0StopTrigger;
+            private final long softPendingCompactionBytes;
+            private final long hardPendingCompactionBytes;
+
+            private MemtableTuning(Profile profile, Key.Partition partition) {
+                boolean writeOptimised = partition == DEFAULT || partition == VARIABLE_START_EDGE ||
+                        partition == FIXED_START_EDGE;
+                switch (profile) {
+                    case BULK_LOAD:
+                        writeBufferSize = writeOptimised ? 256 * MB : 64 * MB;
+                        writeBuffersMaxCount = writeOptimised ? 6 : 2;
+                        level0CompactionTrigger = 8;
+                        level0SlowdownTrigger = 48;
+                        level0StopTrigger = 64;
+                        softPendingCompactionBytes = 256 * GB;
+                        hardPendingCompactionBytes = 1024 * GB;
+                        break;
+                    case OLTP:
+                        writeBufferSize = 64 * MB;
+                        writeBuffersMaxCount = writeOptimised ? 3 : 2;
+                        level0CompactionTrigger = 2;
+                        level0SlowdownTrigger = 20;
+                        level0StopTrigger = 36;
+                        softPendingCompactionBytes = 64 * GB;
+                        hardPendingCompactionBytes = 256 * GB;
+                        break;
+                    case READ_MOSTLY:
+                        writeBufferSize = writeOptimised ? 64 * MB : 32 * MB;
+                        writeBuffersMaxCount = 2;
+                        level0CompactionTrigger = 2;
+                        level0SlowdownTrigger = 20;
+                        level0StopTrigger = 36;
+                        softPendingCompactionBytes = 64 * GB;
+                        hardPendingCompactionBytes = 256 * GB;
+                        break;
+                    case BALANCED:
+                    default:
+                        writeBufferSize = writeOptimised ? 128 * MB : 64 * MB;
+                        writeBuffersMaxCount = writeOptimised ? 4 : 2;
+                        // RocksDB defaults, set explicitly to undo other profiles
+                        level0CompactionTrigger = 4;
+                        level0SlowdownTrigger = 20;
+                        level0StopTrigger = 36;
+                        softPendingCompactionBytes = 64 * GB;
+                        hardPendingCompactionBytes = 256 * GB;
+                        break;
+                }
+            }
         }
 
         /**
@@ -330,12 +445,30 @@ public class RocksConfiguration {
          *
          * Following RocksDB advise at https://github.com/facebook/rocksdb/wiki/Space-Tuning, we should disable
          * index compression, to make sure indexes are always rapidly accessible (at the expense of some CPU and memory).
+         *
+         * A bulk load also leaves L2 uncompressed, since it is rewritten by nearly every compaction during the load.
+         * A read-mostly database compresses its bottommost level, which holds most of the data and is rarely rewritten,
+         * with ZSTD using a dictionary trained on samples of each SST. Our keys share long prefixes, so a dictionary
+         * compresses the small blocks of the bottommost level much better than LZ4, and ZSTD decompression is fast.
+         * Compression is fixed once a column family is open, so it only follows the profile a database is opened with.
          */
         private void configureCompression(ColumnFamilyOptions options) {
-            options
-                    // best performance-space tradeoff: apply lightweight LZ4 compression to levels that change less
-                    .setCompressionPerLevel(list(NO_COMPRESSION, NO_COMPRESSION, LZ4_COMPRESSION, LZ4_COMPRESSION,
-                            LZ4_COMPRESSION, LZ4_COMPRESSION, LZ4_COMPRESSION));
+            if (profile.isBulkLoad()) {
+                options.setCompressionPerLevel(list(NO_COMPRESSION, NO_COMPRESSION, NO_COMPRESSION, LZ4_COMPRESSION,
+                        LZ4_COMPRESSION, LZ4_COMPRESSION, LZ4_COMPRESSION));
+            } else {
+                options
+                        // best performance-space tradeoff: apply lightweight LZ4 compression to levels that change less
+                        .setCompressionPerLevel(list(NO_COMPRESSION, NO_COMPRESSION, LZ4_COMPRESSION, LZ4_COMPRESSION,
+                                LZ4_COMPRESSION, LZ4_COMPRESSION, LZ4_COMPRESSION));
+            }
+            if (profile == Profile.READ_MOSTLY) {
+                options.setBottommostCompressionType(ZSTD_COMPRESSION)
+                        .setBottommostCompressionOptions(new CompressionOptions()
+                                .setMaxDictBytes(ZSTD_DICTIONARY_SIZE)
+                                .setZStdMaxTrainBytes(ZSTD_DICTIONARY_SIZE * 100)
+                                .setEnabled(true));
+            }
         }
 
         /**
@@ -406,10 +539,13 @@ public class RocksConfiguration {
          * *Prefix filter*: we see a solid performance increase (> 10%) when enabling bloom filters for prefixes compared
          * to just full-key filters.
          * Note: prefix extractors are defined directly on Options, not tableOptions
+         *
+         * Workloads dominated by point lookups spend 12 bits per key, for a false positive rate of about 0.5%. Filters
+         * are built per SST, so changing the profile only affects files written after the database is reopened.
          */
         private void configureBloomFilter(BlockBasedTableConfig rocksDBTableOptions) {
             // bloom filter is important for good random-read performance
-            rocksDBTableOptions.setFilterPolicy(new BloomFilter(10, false));
+            rocksDBTableOptions.setFilterPolicy(new BloomFilter(bloomBitsPerKey(), false));
             // partition bloom filters to avoid needing to have all bloom filters reside in memory - only index over blooms must
             rocksDBTableOptions.setPartitionFilters(true);
             // WARNING: this must be set to make partitioned filters take effect
@@ -425,5 +561,9 @@ public class RocksConfiguration {
             // WARNING: must configure block cache with a reserved region for high priority blocks
             rocksDBTableOptions.setCacheIndexAndFilterBlocksWithHighPriority(true);
         }
+
+        private double bloomBitsPerKey() {
+            return profile == Profile.OLTP || profile == Profile.READ_MOSTLY ? 12 : 10;
+        }
     }
 }
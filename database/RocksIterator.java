@@ -25,6 +25,7 @@ import com.vaticle.typedb.core.common.iterator.sorted.AbstractSortedIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterators;
 import com.vaticle.typedb.core.common.parameters.Order;
+import com.vaticle.typedb.core.common.perfcounter.StorageReads;
 import com.vaticle.typedb.core.encoding.key.Key;
 
 import java.util.NoSuchElementException;
@@ -131,7 +132,9 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
             recycle();
             return false;
         }
-        next = KeyValue.of(prefix.builder().build(key), ByteArray.of(internalRocksIterator.value()));
+        ByteArray value = ByteArray.of(internalRocksIterator.value());
+        StorageReads.read(key.length() + value.length());
+        next = KeyValue.of(prefix.builder().build(key), value);
         state = State.FETCHED;
         return true;
     }
@@ -216,6 +219,7 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
         synchronized boolean seekToFirst() {
             assert state == State.OPENED;
             this.internalRocksIterator.seek(prefix.bytes().getBytes());
+            StorageReads.seek(0);
             return true;
         }
 
@@ -223,6 +227,7 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
         synchronized boolean fetchAndCheck() {
             if (state != State.COMPLETED) {
                 internalRocksIterator.next();
+                StorageReads.next(0);
                 return hasValidNext();
             } else {
                 return false;
@@ -245,6 +250,7 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
             if (!target.key().bytes().hasPrefix(prefix.bytes())) close();
             else {
                 internalRocksIterator.seek(target.key().bytes().getBytes());
+                StorageReads.seek(0);
                 last = target;
                 state = State.FORWARDED;
             }
@@ -263,6 +269,7 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
             if (lastKey == null) return false;
             else {
                 this.internalRocksIterator.seek(lastKey.bytes().getBytes());
+                StorageReads.seek(0);
                 return true;
             }
         }
@@ -271,6 +278,7 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
         synchronized boolean fetchAndCheck() {
             if (state != State.COMPLETED) {
                 internalRocksIterator.prev();
+                StorageReads.next(0);
                 return hasValidNext();
             } else {
                 return false;
@@ -293,6 +301,7 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
             if (!target.key().bytes().hasPrefix(prefix.bytes())) close();
             else {
                 internalRocksIterator.seekForPrev(target.key().bytes().getBytes());
+                StorageReads.seek(0);
                 last = target;
                 state = State.FORWARDED;
             }
@@ -19,7 +19,7 @@
 package com.vaticle.typedb.core.database;
 
 import org.rocksdb.ColumnFamilyHandle;
-import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.TableProperties;
 import org.slf4j.LoggerFactory;
@@ -74,19 +74,19 @@ public class RocksProperties {
             this.applicablePerColumnFamily = applicablePerColumnFamily;
         }
 
-        long get(OptimisticTransactionDB rocksDB) throws RocksDBException {
+        long get(RocksDB rocksDB) throws RocksDBException {
             assert !applicablePerColumnFamily;
             return rocksDB.getLongProperty(property);
         }
 
-        long get(OptimisticTransactionDB rocksDB, ColumnFamilyHandle cf) throws RocksDBException {
+        long get(RocksDB rocksDB, ColumnFamilyHandle cf) throws RocksDBException {
             assert applicablePerColumnFamily;
             return rocksDB.getLongProperty(cf, property);
         }
 
-        abstract String getFormatted(OptimisticTransactionDB rocksDB) throws RocksDBException;
+        abstract String getFormatted(RocksDB rocksDB) throws RocksDBException;
 
-        abstract String getFormatted(OptimisticTransactionDB rocksDB, List<ColumnFamilyHandle> cfHandles) throws RocksDBException;
+        abstract String getFormatted(RocksDB rocksDB, List<ColumnFamilyHandle> cfHandles) throws RocksDBException;
 
         public String label() {
             return label;
@@ -103,13 +103,13 @@ public class RocksProperties {
             }
 
             @Override
-            String getFormatted(OptimisticTransactionDB rocksDB) throws RocksDBException {
+            String getFormatted(RocksDB rocksDB) throws RocksDBException {
                 assert !isApplicablePerColumnFamily();
                 return format("%s mb", toMbString(get(rocksDB)));
             }
 
             @Override
-            String getFormatted(OptimisticTransactionDB rocksDB, List<ColumnFamilyHandle> cfHandles) throws RocksDBException {
+            String getFormatted(RocksDB rocksDB, List<ColumnFamilyHandle> cfHandles) throws RocksDBException {
                 assert isApplicablePerColumnFamily();
                 long[] bytes = new long[cfHandles.size()];
                 for (int i = 0; i < cfHandles.size(); i++) {
@@ -126,13 +126,13 @@ public class RocksProperties {
             }
 
             @Override
-            String getFormatted(OptimisticTransactionDB rocksDB) throws RocksDBException {
+            String getFormatted(RocksDB rocksDB) throws RocksDBException {
                 assert !isApplicablePerColumnFamily();
                 return "" + get(rocksDB);
             }
 
             @Override
-            String getFormatted(OptimisticTransactionDB rocksDB, List<ColumnFamilyHandle> cfHandles) throws RocksDBException {
+            String getFormatted(RocksDB rocksDB, List<ColumnFamilyHandle> cfHandles) throws RocksDBException {
                 assert isApplicablePerColumnFamily();
                 List<String> formatted = new ArrayList<>();
                 long sum = 0;
@@ -152,13 +152,13 @@ public class RocksProperties {
             }
 
             @Override
-            String getFormatted(OptimisticTransactionDB rocksDB) throws RocksDBException {
+            String getFormatted(RocksDB rocksDB) throws RocksDBException {
                 assert !isApplicablePerColumnFamily();
                 return String.format("%s sec", format(get(rocksDB)));
             }
 
             @Override
-            String getFormatted(OptimisticTransactionDB rocksDB, List<ColumnFamilyHandle> cfHandles) throws RocksDBException {
+            String getFormatted(RocksDB rocksDB, List<ColumnFamilyHandle> cfHandles) throws RocksDBException {
                 assert isApplicablePerColumnFamily();
                 List<String> formatted = new ArrayList<>();
                 long sum = 0;
@@ -198,11 +198,11 @@ public class RocksProperties {
 
         private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(RocksProperties.class);
 
-        private final OptimisticTransactionDB rocksDB;
+        private final RocksDB rocksDB;
         private final List<ColumnFamilyHandle> cfHandles;
         private final String database;
 
-        Logger(OptimisticTransactionDB rocksDB, List<ColumnFamilyHandle> cfHandles, String database) {
+        Logger(RocksDB rocksDB, List<ColumnFamilyHandle> cfHandles, String database) {
             this.rocksDB = rocksDB;
             this.cfHandles = cfHandles;
             this.database = database;
@@ -25,14 +25,17 @@ import com.vaticle.typedb.core.common.exception.ErrorMessage;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator;
 import com.vaticle.typedb.core.common.parameters.Order;
+import com.vaticle.typedb.core.common.perfcounter.StorageReads;
 import com.vaticle.typedb.core.encoding.Storage;
 import com.vaticle.typedb.core.encoding.key.Key;
 import com.vaticle.typedb.core.encoding.key.Key.Partition;
 import com.vaticle.typedb.core.encoding.key.KeyGenerator;
 import org.rocksdb.AbstractImmutableNativeReference;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.OptimisticTransactionOptions;
 import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Snapshot;
 import org.rocksdb.Transaction;
@@ -41,7 +44,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -64,6 +69,7 @@ public abstract class RocksStorage implements Storage {
 
     private static final Logger LOG = LoggerFactory.getLogger(RocksStorage.class);
 
+    protected final RocksDB rocksDB;
     protected final Transaction rocksTransaction;
     // TODO: use a single read options when 'setAutoPrefixMode(true)' is available on ReadOptions API
     protected final ReadOptions readOptions;
@@ -76,24 +82,47 @@ public abstract class RocksStorage implements Storage {
     protected final ConcurrentMap<Partition, ConcurrentLinkedQueue<org.rocksdb.RocksIterator>> recycled;
     protected final ConcurrentMap<Partition, ConcurrentLinkedQueue<org.rocksdb.RocksIterator>> recycledWithPrefixBloom;
     protected final boolean isReadOnly;
+    protected final boolean isImmutable;
     private final OptimisticTransactionOptions transactionOptions;
     private final WriteOptions writeOptions;
     private final AtomicBoolean isOpen;
 
-    private RocksStorage(OptimisticTransactionDB rocksDB, CorePartitionManager partitionMgr, boolean isReadOnly) {
-        this.isReadOnly = isReadOnly;
+    /**
+     * A RocksDB opened with {@code openReadOnly()} is immutable, so every read already observes a consistent state:
+     * we read from it directly, without beginning a RocksDB transaction or taking a snapshot. Any other read-only
+     * storage only needs a consistent view of the RocksDB, so it reads from it directly at a snapshot, without the
+     * cost of beginning a RocksDB transaction. Only writable storage begins a RocksDB transaction.
+     */
+    private RocksStorage(RocksDB rocksDB, CorePartitionManager partitionMgr, boolean isReadOnly) {
+        this.rocksDB = rocksDB;
+        this.isImmutable = !(rocksDB instanceof OptimisticTransactionDB);
+        this.isReadOnly = isReadOnly || isImmutable;
         this.partitionMgr = partitionMgr;
         iterators = new ConcurrentSet<>();
         recycled = new ConcurrentHashMap<>();
         recycledWithPrefixBloom = new ConcurrentHashMap<>();
-        partitionMgr.partitions().forEach(partition -> recycled.put(partition, new ConcurrentLinkedQueue<>()));
-        partitionMgr.partitions().forEach(partition -> recycledWithPrefixBloom.put(partition, new ConcurrentLinkedQueue<>()));
-        writeOptions = new WriteOptions();
-        transactionOptions = new OptimisticTransactionOptions().setSetSnapshot(true);
-        rocksTransaction = rocksDB.beginTransaction(writeOptions, transactionOptions);
-        snapshot = rocksTransaction.getSnapshot();
-        readOptions = new ReadOptions().setSnapshot(snapshot).setTotalOrderSeek(true);
-        readOptionsWithPrefixBloom = new ReadOptions().setSnapshot(snapshot).setTotalOrderSeek(false);
+        if (isImmutable) {
+            writeOptions = null;
+            transactionOptions = null;
+            rocksTransaction = null;
+            snapshot = null;
+            readOptions = new ReadOptions().setTotalOrderSeek(true);
+            readOptionsWithPrefixBloom = new ReadOptions().setTotalOrderSeek(false);
+        } else if (this.isReadOnly) {
+            writeOptions = null;
+            transactionOptions = null;
+            rocksTransaction = null;
+            snapshot = rocksDB.getSnapshot();
+            readOptions = new ReadOptions().setSnapshot(snapshot).setTotalOrderSeek(true);
+            readOptionsWithPrefixBloom = new ReadOptions().setSnapshot(snapshot).setTotalOrderSeek(false);
+        } else {
+            writeOptions = new WriteOptions();
+            transactionOptions = new OptimisticTransactionOptions().setSetSnapshot(true);
+            rocksTransaction = ((OptimisticTransactionDB) rocksDB).beginTransaction(writeOptions, transactionOptions);
+            snapshot = rocksTransaction.getSnapshot();
+            readOptions = new ReadOptions().setSnapshot(snapshot).setTotalOrderSeek(true);
+            readOptionsWithPrefixBloom = new ReadOptions().setSnapshot(snapshot).setTotalOrderSeek(false);
+        }
         deleteCloseSchemaWriteLock = new StampedLock().asReadWriteLock();
         isOpen = new AtomicBoolean(true);
     }
@@ -132,18 +161,54 @@ public abstract class RocksStorage implements Storage {
         return LOG;
     }
 
-    org.rocksdb.RocksIterator getInternalRocksIterator(Partition partition, boolean usePrefixBloom) {
-        if (usePrefixBloom) {
-            org.rocksdb.RocksIterator iterator = recycledWithPrefixBloom.get(partition).poll();
-            if (iterator != null) return iterator;
-            else return rocksTransaction.getIterator(readOptionsWithPrefixBloom, partitionMgr.get(partition));
-        } else {
-            org.rocksdb.RocksIterator iterator = recycled.get(partition).poll();
-            if (iterator != null) return iterator;
-            else return rocksTransaction.getIterator(readOptions, partitionMgr.get(partition));
+    @Override
+    public List<ByteArray> getAll(List<? extends Key> keys) {
+        try {
+            deleteCloseSchemaWriteLock.readLock().lock();
+            if (!isOpen()) throw TypeDBException.of(RESOURCE_CLOSED);
+            List<ColumnFamilyHandle> handles = new ArrayList<>(keys.size());
+            List<byte[]> keyBytes = new ArrayList<>(keys.size());
+            for (Key key : keys) {
+                handles.add(partitionMgr.get(key.partition()));
+                keyBytes.add(key.bytes().getBytes());
+            }
+            List<byte[]> values = rocksTransaction == null
+                    ? rocksDB.multiGetAsList(readOptions, handles, keyBytes)
+                    : rocksTransaction.multiGetAsList(readOptions, handles, keyBytes);
+            List<ByteArray> results = new ArrayList<>(values.size());
+            for (byte[] value : values) {
+                StorageReads.seek(value == null ? 0 : value.length);
+                results.add(value == null ? null : ByteArray.of(value));
+            }
+            return results;
+        } catch (RocksDBException e) {
+            throw exception(e);
+        } finally {
+            deleteCloseSchemaWriteLock.readLock().unlock();
         }
     }
 
+    byte[] getValue(Key key) throws RocksDBException {
+        ColumnFamilyHandle handle = partitionMgr.get(key.partition());
+        byte[] value;
+        if (rocksTransaction == null) value = rocksDB.get(handle, readOptions, key.bytes().getBytes());
+        else value = rocksTransaction.get(handle, readOptions, key.bytes().getBytes());
+        StorageReads.seek(value == null ? 0 : value.length);
+        return value;
+    }
+
+    org.rocksdb.RocksIterator newInternalRocksIterator(ReadOptions options, Partition partition) {
+        if (rocksTransaction == null) return rocksDB.newIterator(partitionMgr.get(partition), options);
+        else return rocksTransaction.getIterator(options, partitionMgr.get(partition));
+    }
+
+    org.rocksdb.RocksIterator getInternalRocksIterator(Partition partition, boolean usePrefixBloom) {
+        ConcurrentLinkedQueue<org.rocksdb.RocksIterator> queue = (usePrefixBloom ? recycledWithPrefixBloom : recycled).get(partition);
+        org.rocksdb.RocksIterator iterator = queue == null ? null : queue.poll();
+        if (iterator != null) return iterator;
+        else return newInternalRocksIterator(usePrefixBloom ? readOptionsWithPrefixBloom : readOptions, partition);
+    }
+
     <T extends Key, ORDER extends Order> RocksIterator<T, ORDER> createIterator(Key.Prefix<T> prefix, ORDER order) {
         RocksIterator<T, ORDER> iterator;
         // TODO how else can we convert an enumerated data tag ('order') into the type without casting
@@ -154,12 +219,13 @@ public abstract class RocksStorage implements Storage {
         return iterator;
     }
 
+    /**
+     * The queue of recycled iterators of a partition is only allocated once an iterator over it is first recycled.
+     */
     void recycle(RocksIterator<?, ?> rocksIterator) {
-        if (rocksIterator.usePrefixBloom()) {
-            recycledWithPrefixBloom.get(rocksIterator.partition()).add(rocksIterator.internalRocksIterator);
-        } else {
-            recycled.get(rocksIterator.partition()).add(rocksIterator.internalRocksIterator);
-        }
+        (rocksIterator.usePrefixBloom() ? recycledWithPrefixBloom : recycled)
+                .computeIfAbsent(rocksIterator.partition(), partition -> new ConcurrentLinkedQueue<>())
+                .add(rocksIterator.internalRocksIterator);
     }
 
     void remove(RocksIterator<?, ?> iterator) {
@@ -197,12 +263,16 @@ public abstract class RocksStorage implements Storage {
                 recycledWithPrefixBloom.clear();
                 recycled.values().forEach(iters -> iters.forEach(AbstractImmutableNativeReference::close));
                 recycled.clear();
-                rocksTransaction.close();
-                snapshot.close();
-                transactionOptions.close();
+                if (rocksTransaction != null) {
+                    rocksTransaction.close();
+                    snapshot.close();
+                    transactionOptions.close();
+                    writeOptions.close();
+                } else if (snapshot != null) {
+                    rocksDB.releaseSnapshot(snapshot);
+                }
                 readOptionsWithPrefixBloom.close();
                 readOptions.close();
-                writeOptions.close();
             }
         } finally {
             deleteCloseSchemaWriteLock.writeLock().unlock();
@@ -211,7 +281,7 @@ public abstract class RocksStorage implements Storage {
 
     static class Cache extends RocksStorage {
 
-        Cache(OptimisticTransactionDB rocksDB, CorePartitionManager partitionMgr) {
+        Cache(RocksDB rocksDB, CorePartitionManager partitionMgr) {
             super(rocksDB, partitionMgr, true);
         }
 
@@ -220,7 +290,7 @@ public abstract class RocksStorage implements Storage {
             try {
                 deleteCloseSchemaWriteLock.readLock().lock();
                 if (!isOpen()) throw TypeDBException.of(RESOURCE_CLOSED);
-                byte[] value = rocksTransaction.get(partitionMgr.get(key.partition()), readOptions, key.bytes().getBytes());
+                byte[] value = getValue(key);
                 if (value == null) return null;
                 else return ByteArray.of(value);
             } catch (RocksDBException e) {
@@ -246,7 +316,7 @@ public abstract class RocksStorage implements Storage {
 
         protected final CoreTransaction transaction;
 
-        TransactionBounded(OptimisticTransactionDB rocksDB, CorePartitionManager partitionMgr, CoreTransaction transaction) {
+        TransactionBounded(RocksDB rocksDB, CorePartitionManager partitionMgr, CoreTransaction transaction) {
             super(rocksDB, partitionMgr, transaction.type().isRead());
             this.transaction = transaction;
         }
@@ -256,7 +326,7 @@ public abstract class RocksStorage implements Storage {
             try {
                 deleteCloseSchemaWriteLock.readLock().lock();
                 if (!isOpen()) throw TypeDBException.of(RESOURCE_CLOSED);
-                byte[] value = rocksTransaction.get(partitionMgr.get(key.partition()), readOptions, key.bytes().getBytes());
+                byte[] value = getValue(key);
                 if (value == null) return null;
                 else return ByteArray.of(value);
             } catch (RocksDBException e) {
@@ -275,9 +345,9 @@ public abstract class RocksStorage implements Storage {
 
             org.rocksdb.RocksIterator iterator;
             if (prefix.isFixedStartInPartition()) {
-                iterator = rocksTransaction.getIterator(readOptionsWithPrefixBloom, partitionMgr.get(prefix.partition()));
+                iterator = newInternalRocksIterator(readOptionsWithPrefixBloom, prefix.partition());
             } else {
-                iterator = rocksTransaction.getIterator(readOptions, partitionMgr.get(prefix.partition()));
+                iterator = newInternalRocksIterator(readOptions, prefix.partition());
             }
             try {
                 deleteCloseSchemaWriteLock.readLock().lock();
@@ -339,6 +409,7 @@ public abstract class RocksStorage implements Storage {
         }
 
         public void commit() throws RocksDBException {
+            if (rocksTransaction == null) throw exception(ILLEGAL_OPERATION);
             // We disable RocksDB indexing of uncommitted writes, as we're only about to write and never again reading
             // TODO: We should benchmark this
             rocksTransaction.disableIndexing();
@@ -346,6 +417,7 @@ public abstract class RocksStorage implements Storage {
         }
 
         public void rollback() throws RocksDBException {
+            if (rocksTransaction == null) return;
             rocksTransaction.rollback();
         }
     }
@@ -400,7 +472,7 @@ public abstract class RocksStorage implements Storage {
             super(database.rocksData, database.rocksDataPartitionMgr, transaction);
             this.database = database;
             this.dataKeyGenerator = database.dataKeyGenerator();
-            this.snapshotStart = snapshot.getSequenceNumber();
+            this.snapshotStart = isImmutable ? rocksDB.getLatestSequenceNumber() : snapshot.getSequenceNumber();
             this.modifiedKeys = new ConcurrentSkipListSet<>();
             this.deletedKeys = new ConcurrentSkipListSet<>();
             this.exclusiveBytes = new ConcurrentSkipListSet<>();
@@ -413,6 +485,11 @@ public abstract class RocksStorage implements Storage {
             return dataKeyGenerator;
         }
 
+        @Override
+        public int stringInlineMaxSize() {
+            return database.stringInlineMaxSize();
+        }
+
         @Override
         public void putTracked(Key key) {
             putTracked(key, ByteArray.empty());
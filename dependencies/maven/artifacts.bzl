@@ -46,3 +46,9 @@ artifacts = [
     "org.slf4j:slf4j-api",
     "org.zeroturnaround:zt-exec",
 ]
+
+# Artifacts that are not versioned by @vaticle_dependencies, pinned to the version used in this repository
+artifacts_repo = {
+    "org.openjdk.jmh:jmh-core": "1.37",
+    "org.openjdk.jmh:jmh-generator-annprocess": "1.37",
+}
@@ -56,6 +56,9 @@ public class Encoding {
     public static final String ROCKS_DATA = "data";
     public static final String ROCKS_SCHEMA = "schema";
     public static final int ENCODING_VERSION = 2;
+    // written over ENCODING_VERSION once a database stores a string attribute keyed by a hash of its value,
+    // so that versions that cannot read such attributes refuse to open it, while other databases stay readable by them
+    public static final int ENCODING_VERSION_HASHED_STRINGS = 3;
 
     public enum Partition {
         DEFAULT(0),
@@ -260,6 +263,7 @@ public class Encoding {
         PROPERTY_THEN(6),
         PROPERTY_VALUE(7),
         PROPERTY_VALUE_REF(8),
+        PROPERTY_DEPENDENCIES(9),
         EDGE_OWNS_PROPERTY_ANNOTATION_UNIQUE(20),
         EDGE_ISA_BACKWARD(-40), // EDGE_ISA_FORWARD does not exist by design
         EDGE_SUB_FORWARD(50),
@@ -291,6 +295,7 @@ public class Encoding {
                 pair(PROPERTY_THEN.key, PROPERTY_THEN),
                 pair(PROPERTY_VALUE.key, PROPERTY_VALUE),
                 pair(PROPERTY_VALUE_REF.key, PROPERTY_VALUE_REF),
+                pair(PROPERTY_DEPENDENCIES.key, PROPERTY_DEPENDENCIES),
                 pair(EDGE_ISA_BACKWARD.key, EDGE_ISA_BACKWARD),
                 pair(EDGE_SUB_FORWARD.key, EDGE_SUB_FORWARD),
                 pair(EDGE_SUB_BACKWARD.key, EDGE_SUB_BACKWARD),
@@ -393,7 +398,8 @@ public class Encoding {
         public enum Structure {
             LABEL(Infix.PROPERTY_LABEL),
             WHEN(Infix.PROPERTY_WHEN),
-            THEN(Infix.PROPERTY_THEN);
+            THEN(Infix.PROPERTY_THEN),
+            DEPENDENCIES(Infix.PROPERTY_DEPENDENCIES);
 
             private final Infix infix;
 
@@ -416,6 +422,10 @@ public class Encoding {
         public static final Charset STRING_ENCODING = UTF_8;
         public static final int STRING_SIZE_ENCODING = SHORT_SIZE;
         public static final int STRING_MAX_SIZE = SHORT_UNSIGNED_MAX_VALUE;
+        public static final int STRING_HASH_SIZE = 16;
+        public static final int STRING_HASH_DISCRIMINATOR_MAX = 255;
+        // takes the place of the value type key in the IID of a string attribute that is keyed by a hash of its value
+        public static final byte STRING_HASHED_KEY = 41;
         public static final double DOUBLE_PRECISION = 0.000001d;
 
         public static final ValueType<Object> OBJECT = new ValueType<>(
@@ -1145,7 +1155,8 @@ public class Encoding {
 
         // WARNING: do not change encoding version key, or compatibility checks may break
         ENCODING_VERSION_KEY(0),
-        TRANSACTION_DUMMY_WRITE(1);
+        TRANSACTION_DUMMY_WRITE(1),
+        STRING_INLINE_MAX_SIZE_KEY(2);
 
         private final ByteArray bytes;
 
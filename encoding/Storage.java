@@ -27,6 +27,8 @@ import com.vaticle.typedb.core.common.parameters.Order;
 import com.vaticle.typedb.core.encoding.key.Key;
 import com.vaticle.typedb.core.encoding.key.KeyGenerator;
 
+import java.util.List;
+
 import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 
@@ -38,6 +40,12 @@ public interface Storage {
 
     ByteArray get(Key key);
 
+    /**
+     * Look up many keys in a single batched read. The returned list is aligned with the given keys,
+     * and holds a null value for every key that does not exist.
+     */
+    List<ByteArray> getAll(List<? extends Key> keys);
+
     <T extends Key> T getLastKey(Key.Prefix<T> key);
 
     void deleteUntracked(Key key);
@@ -81,6 +89,11 @@ public interface Storage {
 
         KeyGenerator.Data dataKeyGenerator();
 
+        /**
+         * @return the size in bytes above which string attributes are keyed by a hash of their value
+         */
+        int stringInlineMaxSize();
+
         void putTracked(Key key);
 
         void putTracked(Key key, ByteArray value);
@@ -26,6 +26,10 @@ import com.vaticle.typedb.core.encoding.Encoding;
 import com.vaticle.typedb.core.encoding.key.Key;
 import com.vaticle.typedb.core.encoding.key.KeyGenerator;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
 import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.collection.ByteArray.encodeDateTimeAsSorted;
 import static com.vaticle.typedb.core.common.collection.ByteArray.encodeDoubleAsSorted;
@@ -37,6 +41,7 @@ import static com.vaticle.typedb.core.common.collection.Bytes.DOUBLE_SIZE;
 import static com.vaticle.typedb.core.common.collection.Bytes.LONG_SIZE;
 import static com.vaticle.typedb.core.common.collection.Bytes.booleanToByte;
 import static com.vaticle.typedb.core.common.collection.Bytes.byteToBoolean;
+import static com.vaticle.typedb.core.common.collection.Bytes.unsignedByte;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNRECOGNISED_VALUE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingRead.INVALID_THING_IID_CASTING;
@@ -47,6 +52,9 @@ import static com.vaticle.typedb.core.encoding.Encoding.ValueType.DOUBLE;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.LONG;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_ENCODING;
+import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_HASHED_KEY;
+import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_HASH_DISCRIMINATOR_MAX;
+import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_HASH_SIZE;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_MAX_SIZE;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_SIZE_ENCODING;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.TIME_ZONE_ID;
@@ -225,18 +233,19 @@ public abstract class VertexIID extends PartitionedIID {
 
         private Attribute(ByteArray bytes, Encoding.ValueType<VALUE> valueType) {
             super(bytes);
-            assert bytes.get(PREFIX_W_TYPE_LENGTH) == valueType.key();
+            assert bytes.get(PREFIX_W_TYPE_LENGTH) == valueType.key() || String.isHashed(bytes, 0);
             this.valueType = valueType;
         }
 
         private Attribute(ByteArray bytes, Encoding.ValueType<VALUE> valueType, VALUE value) {
             super(bytes);
-            assert bytes.get(PREFIX_W_TYPE_LENGTH) == valueType.key();
+            assert bytes.get(PREFIX_W_TYPE_LENGTH) == valueType.key() || String.isHashed(bytes, 0);
             this.valueType = valueType;
             this.value = value;
         }
 
         public static VertexIID.Attribute<?> of(ByteArray bytes) {
+            if (String.isHashed(bytes, 0)) return new String(bytes);
             Encoding.ValueType<?> valueType = Encoding.ValueType.of(bytes.get(PREFIX_W_TYPE_LENGTH));
             if (valueType == BOOLEAN) return new Boolean(bytes);
             else if (valueType == LONG) return new Long(bytes);
@@ -248,6 +257,7 @@ public abstract class VertexIID extends PartitionedIID {
         }
 
         public static VertexIID.Attribute<?> extract(ByteArray bytes, int from) {
+            if (String.isHashed(bytes, from)) return String.extract(bytes, from);
             Encoding.ValueType<?> valueType = Encoding.ValueType.of(bytes.get(from + VALUE_TYPE_INDEX));
             if (valueType == BOOLEAN) return Boolean.extract(bytes, from);
             else if (valueType == LONG) return Long.extract(bytes, from);
@@ -385,26 +395,92 @@ public abstract class VertexIID extends PartitionedIID {
 
         public static class String extends Attribute<java.lang.String> {
 
+            static final int HASHED_LENGTH = PREFIX_W_TYPE_LENGTH + VALUE_TYPE_LENGTH + STRING_HASH_SIZE + 1;
+
             private String(ByteArray bytes) {
                 super(bytes, STRING);
             }
 
+            private String(ByteArray bytes, java.lang.String value) {
+                super(bytes, STRING, value);
+            }
+
             public String(VertexIID.Type typeIID, java.lang.String value) throws TypeDBCheckedException {
                 super(STRING, typeIID, encodeStringAsSorted(value, STRING_ENCODING), value);
                 assert bytes.length() <= STRING_MAX_SIZE + STRING_SIZE_ENCODING;
             }
 
+            /**
+             * Returns the IID of a string attribute that is keyed by a hash of its value, rather than by the value
+             * itself. The hash is followed by a discriminator, which tells apart the values of an attribute type
+             * whose hashes collide. The value itself is stored once, against the attribute vertex.
+             *
+             * @param typeIID       of the attribute type
+             * @param value         of the attribute
+             * @param discriminator between 0 and 255, unique among the values of this type with the same hash
+             * @return the hashed IID of the attribute
+             */
+            public static VertexIID.Attribute.String hashed(VertexIID.Type typeIID, java.lang.String value, int discriminator) {
+                assert discriminator >= 0 && discriminator <= STRING_HASH_DISCRIMINATOR_MAX;
+                return new VertexIID.Attribute.String(join(
+                        hashedPrefixBytes(typeIID, value), ByteArray.of(new byte[]{unsignedByte(discriminator)})
+                ), value);
+            }
+
+            public static Key.Prefix<VertexIID.Attribute.String> hashedPrefix(VertexIID.Type typeIID, java.lang.String value) {
+                return new Key.Prefix<>(hashedPrefixBytes(typeIID, value), PARTITION, VertexIID.Attribute.String::new);
+            }
+
+            private static ByteArray hashedPrefixBytes(VertexIID.Type typeIID, java.lang.String value) {
+                byte[] digest;
+                try {
+                    digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(STRING_ENCODING));
+                } catch (NoSuchAlgorithmException e) {
+                    throw TypeDBException.of(e);
+                }
+                return join(ATTRIBUTE.prefix().bytes(), typeIID.bytes, ByteArray.of(new byte[]{STRING_HASHED_KEY}),
+                        ByteArray.of(Arrays.copyOf(digest, STRING_HASH_SIZE)));
+            }
+
+            static boolean isHashed(ByteArray bytes, int from) {
+                return bytes.get(from + VALUE_TYPE_INDEX) == STRING_HASHED_KEY;
+            }
+
             public static VertexIID.Attribute.String extract(ByteArray bytes, int from) {
+                if (isHashed(bytes, from)) return new VertexIID.Attribute.String(bytes.view(from, from + HASHED_LENGTH));
                 int attValIndex = from + VALUE_INDEX;
                 int strValLen = bytes.view(attValIndex, attValIndex + STRING_SIZE_ENCODING).decodeUnsignedShort();
                 int stringEnd = from + PREFIX_W_TYPE_LENGTH + VALUE_TYPE_LENGTH + STRING_SIZE_ENCODING + strValLen;
                 return new VertexIID.Attribute.String(bytes.view(from, stringEnd));
             }
 
+            public boolean isHashed() {
+                return isHashed(bytes, 0);
+            }
+
+            public int discriminator() {
+                assert isHashed();
+                return bytes.get(bytes.length() - 1) & 0xff;
+            }
+
+            /**
+             * A hashed IID read back from a key does not carry its value: it is loaded from storage, and then set here.
+             */
+            public boolean hasValue() {
+                return value != null;
+            }
+
+            public void value(java.lang.String value) {
+                assert isHashed();
+                this.value = value;
+            }
+
             @Override
             public java.lang.String value() {
-                if (value == null)
+                if (value == null) {
+                    if (isHashed()) throw TypeDBException.of(ILLEGAL_STATE);
                     value = bytes.view(VALUE_INDEX, bytes.length()).decodeSortedAsString(STRING_ENCODING);
+                }
                 return value;
             }
 
@@ -412,6 +488,20 @@ public abstract class VertexIID extends PartitionedIID {
             public String asString() {
                 return this;
             }
+
+            @Override
+            public java.lang.String toString() {
+                if (!isHashed()) return super.toString();
+                if (readableString == null) {
+                    readableString = "[" + PrefixIID.LENGTH + ": " + ATTRIBUTE.toString() + "]" +
+                            "[" + VertexIID.Type.LENGTH + ": " + type().toString() + "]" +
+                            "[" + VALUE_TYPE_LENGTH + ": " + valueType().toString() + " (hashed)]" +
+                            "[" + STRING_HASH_SIZE + ": " + bytes.view(VALUE_INDEX, VALUE_INDEX + STRING_HASH_SIZE).toHexString() + "]" +
+                            "[1: " + discriminator() + "]" +
+                            "[partition: " + partition() + "]";
+                }
+                return readableString;
+            }
         }
 
         public static class DateTime extends Attribute<java.time.LocalDateTime> {
@@ -25,16 +25,20 @@ import com.vaticle.typedb.core.common.collection.KeyValue;
 import com.vaticle.typedb.core.common.exception.TypeDBCheckedException;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.iterator.Iterators;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
 import com.vaticle.typedb.core.common.parameters.Concept.Existence;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.common.parameters.Order;
 import com.vaticle.typedb.core.encoding.Encoding;
 import com.vaticle.typedb.core.encoding.Storage;
+import com.vaticle.typedb.core.encoding.iid.EdgeViewIID;
 import com.vaticle.typedb.core.encoding.iid.PartitionedIID;
 import com.vaticle.typedb.core.encoding.iid.VertexIID;
+import com.vaticle.typedb.core.encoding.key.Key;
 import com.vaticle.typedb.core.encoding.key.KeyGenerator;
 import com.vaticle.typedb.core.encoding.key.StatisticsKey;
+import com.vaticle.typedb.core.graph.adjacency.impl.ThingEdgeIndex;
 import com.vaticle.typedb.core.graph.edge.ThingEdge;
 import com.vaticle.typedb.core.graph.vertex.AttributeVertex;
 import com.vaticle.typedb.core.graph.vertex.ThingVertex;
@@ -43,8 +47,12 @@ import com.vaticle.typedb.core.graph.vertex.impl.AttributeVertexImpl;
 import com.vaticle.typedb.core.graph.vertex.impl.ThingVertexImpl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -53,6 +61,7 @@ import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
 import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.common.collection.Collections.pair;
@@ -60,6 +69,8 @@ import static com.vaticle.typedb.core.common.collection.ByteArray.empty;
 import static com.vaticle.typedb.core.common.collection.ByteArray.encodeLong;
 import static com.vaticle.typedb.core.common.collection.ByteArray.join;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Encoding.ILLEGAL_STRING_SIZE;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Encoding.UNENCODABLE_STRING;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.iterator.Iterators.link;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.iterateSorted;
@@ -73,24 +84,27 @@ import static com.vaticle.typedb.core.encoding.Encoding.ValueType.DATETIME;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.DOUBLE;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.LONG;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING;
+import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_ENCODING;
+import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_HASH_DISCRIMINATOR_MAX;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_MAX_SIZE;
 import static com.vaticle.typedb.core.encoding.Encoding.Vertex.Thing.ATTRIBUTE;
 import static com.vaticle.typedb.core.encoding.iid.VertexIID.Thing.generate;
+import static java.util.Collections.emptySet;
 
 public class ThingGraph {
 
+    private static final int DELETE_ALL_CHUNK_SIZE = 10_000;
+
     private final Storage.Data storage;
     private final TypeGraph typeGraph;
     private final KeyGenerator.Data.Buffered keyGenerator;
     private final AttributesByIID attributesByIID;
     private final ConcurrentMap<VertexIID.Thing, ThingVertex.Write> thingsByIID;
     private final ConcurrentMap<VertexIID.Type, ConcurrentSkipListSet<ThingVertex.Write>> thingsByTypeIID;
-    private final Map<VertexIID.Thing, VertexIID.Thing> committedIIDs;
+    private final ThingEdgeIndex bufferedEdges;
     private final Statistics statistics;
-    private final ConcurrentSet<AttributeVertex.Write<?>> attributesCreated;
-    private final ConcurrentSet<AttributeVertex<?>> attributesDeleted;
-    private final ConcurrentSet<ThingEdge> hasEdgeCreated;
-    private final ConcurrentSet<ThingEdge> hasEdgeDeleted;
+    private final ConcurrentMap<VertexIID.Attribute<?>, Boolean> attributesPrefetched;
+    private volatile Changes changes;
     private boolean isModified;
 
     public ThingGraph(Storage.Data storage, TypeGraph typeGraph, Statistics statistics) {
@@ -101,11 +115,19 @@ public class ThingGraph {
         thingsByIID = new ConcurrentHashMap<>();
         attributesByIID = new AttributesByIID();
         thingsByTypeIID = new ConcurrentHashMap<>();
-        committedIIDs = new HashMap<>();
-        attributesCreated = new ConcurrentSet<>();
-        attributesDeleted = new ConcurrentSet<>();
-        hasEdgeCreated = new ConcurrentSet<>();
-        hasEdgeDeleted = new ConcurrentSet<>();
+        bufferedEdges = new ThingEdgeIndex();
+        attributesPrefetched = new ConcurrentHashMap<>();
+        changes = null;
+    }
+
+    private Changes changes() {
+        Changes current = changes;
+        if (current == null) {
+            synchronized (this) {
+                if ((current = changes) == null) changes = current = new Changes();
+            }
+        }
+        return current;
     }
 
     public Storage.Data storage() {
@@ -120,6 +142,10 @@ public class ThingGraph {
         return statistics;
     }
 
+    public ThingEdgeIndex bufferedEdges() {
+        return bufferedEdges;
+    }
+
     public FunctionalIterator<ThingVertex.Write> vertices() {
         return link(thingsByIID.values().iterator(), attributesByIID.valuesIterator());
     }
@@ -134,8 +160,38 @@ public class ThingGraph {
         return convertToReadable(iid);
     }
 
+    /**
+     * Reads many thing vertices with a single batched storage lookup for those not buffered in this transaction,
+     * rather than a lookup per vertex.
+     *
+     * @return the vertex of each IID, in order, or null where there is no such thing
+     */
+    public List<ThingVertex> getReadable(List<VertexIID.Thing> iids) {
+        assert storage.isOpen();
+        List<VertexIID.Thing> unbuffered = new ArrayList<>();
+        for (VertexIID.Thing iid : iids) {
+            if (!isBuffered(iid)) unbuffered.add(iid);
+        }
+        Set<VertexIID.Thing> missing = new HashSet<>();
+        if (!unbuffered.isEmpty()) {
+            List<ByteArray> stored = storage.getAll(unbuffered);
+            for (int i = 0; i < unbuffered.size(); i++) {
+                if (stored.get(i) == null) missing.add(unbuffered.get(i));
+            }
+        }
+        List<ThingVertex> vertices = new ArrayList<>(iids.size());
+        for (VertexIID.Thing iid : iids) vertices.add(missing.contains(iid) ? null : convertToReadable(iid));
+        return vertices;
+    }
+
+    private boolean isBuffered(VertexIID.Thing iid) {
+        if (iid.encoding().equals(ATTRIBUTE)) {
+            return attributesByIID.forValueType(iid.asAttribute().valueType()).containsKey(iid.asAttribute());
+        } else return thingsByIID.containsKey(iid);
+    }
+
     public AttributeVertex<?> getReadable(VertexIID.Attribute<?> iid, boolean maybeInvalid) {
-        if (!attributesByIID.forValueType(iid.valueType()).containsKey(iid) && (maybeInvalid || !storage.isReadOnly()) && storage.get(iid) == null) {
+        if (!attributesByIID.forValueType(iid.valueType()).containsKey(iid) && (maybeInvalid || !storage.isReadOnly()) && !isStored(iid)) {
             // if maybeInvalid or storage is writable, we must check the storage layer
             return null;
         }
@@ -222,10 +278,64 @@ public class ThingGraph {
     private <VAL, IID extends VertexIID.Attribute<VAL>, VERTEX extends AttributeVertex<VAL>> VERTEX getOrReadFromStorage(
             Map<IID, ? extends VERTEX> map, IID attIID, Function<IID, VERTEX> vertexConstructor) {
         VERTEX vertex = map.get(attIID);
-        if (vertex == null && storage.get(attIID) != null) return vertexConstructor.apply(attIID);
+        if (vertex == null && isStored(attIID)) return vertexConstructor.apply(attIID);
         else return vertex;
     }
 
+    /**
+     * Checks whether an attribute exists in storage, using the result of a previous {@code prefetch()} if there is one.
+     * A prefetched result is only used once, and is dropped when the attribute is created or deleted, so that it cannot
+     * outlive writes made later in this transaction.
+     */
+    public boolean isStored(VertexIID.Attribute<?> attIID) {
+        Boolean prefetched = attributesPrefetched.remove(attIID);
+        if (prefetched != null) return prefetched;
+        else return storage.get(attIID) != null;
+    }
+
+    /**
+     * Checks the storage existence of many attributes of one type with a single batched read, so that the following
+     * {@code getReadable()} or {@code put()} of each attribute does not need its own storage lookup.
+     */
+    public void prefetch(TypeVertex type, Collection<?> values) {
+        assert storage.isOpen();
+        assert type.isAttributeType();
+        List<VertexIID.Attribute<?>> iids = new ArrayList<>(values.size());
+        for (Object value : values) {
+            VertexIID.Attribute<?> iid = attributeIID(type, value);
+            if (iid != null && !attributesByIID.forValueType(iid.valueType()).containsKey(iid)) iids.add(iid);
+        }
+        if (iids.isEmpty()) return;
+        List<ByteArray> stored = storage.getAll(iids);
+        for (int i = 0; i < iids.size(); i++) {
+            attributesPrefetched.put(iids.get(i), stored.get(i) != null);
+        }
+    }
+
+    /**
+     * Drops the prefetched results that were not used, once the operation that prefetched them has completed.
+     */
+    public void clearPrefetched() {
+        attributesPrefetched.clear();
+    }
+
+    @Nullable
+    private VertexIID.Attribute<?> attributeIID(TypeVertex type, Object value) {
+        Encoding.ValueType<?> valueType = type.valueType();
+        try {
+            if (valueType == BOOLEAN) return new VertexIID.Attribute.Boolean(type.iid(), (Boolean) value);
+            else if (valueType == LONG) return new VertexIID.Attribute.Long(type.iid(), (Long) value);
+            else if (valueType == DOUBLE) return new VertexIID.Attribute.Double(type.iid(), (Double) value);
+            else if (valueType == STRING) return isInline((String) value) ? new VertexIID.Attribute.String(type.iid(), (String) value) : null;
+            else if (valueType == DATETIME) return new VertexIID.Attribute.DateTime(type.iid(), (LocalDateTime) value);
+        } catch (TypeDBCheckedException e) {
+            // values that cannot be encoded are rejected when they are actually read or written
+            return null;
+        }
+        assert false;
+        return null;
+    }
+
     public FunctionalIterator<ThingVertex> getReadable(TypeVertex typeVertex) {
         return getReadable(typeVertex, ASC);
     }
@@ -292,7 +402,7 @@ public class ThingGraph {
 
         VertexIID.Attribute.String attIID;
         try {
-            attIID = new VertexIID.Attribute.String(type.iid(), value);
+            attIID = stringIID(type, value);
         } catch (TypeDBCheckedException e) {
             if (e.code().isPresent() && e.code().get().equals(ILLEGAL_STRING_SIZE.code())) return null;
             else throw storage().exception(TypeDBException.of(e));
@@ -304,6 +414,46 @@ public class ThingGraph {
         );
     }
 
+    private boolean isInline(String value) {
+        int maxSize = storage.stringInlineMaxSize();
+        // a UTF-16 char never takes more than 3 bytes in UTF-8, so most strings are classified without encoding them
+        return value.length() * 3L <= maxSize || (value.length() <= maxSize && value.getBytes(STRING_ENCODING).length <= maxSize);
+    }
+
+    /**
+     * Returns the IID of a string attribute. A value longer than the database's inline size is keyed by a hash of its
+     * value, followed by the discriminator of the attribute that already holds this value, or else the first
+     * discriminator that is not taken by a colliding value of the same type.
+     */
+    private VertexIID.Attribute.String stringIID(TypeVertex type, String value) throws TypeDBCheckedException {
+        if (isInline(value)) return new VertexIID.Attribute.String(type.iid(), value);
+        if (!STRING_ENCODING.newEncoder().canEncode(value)) {
+            throw TypeDBException.of(UNENCODABLE_STRING, value, STRING_ENCODING.name());
+        } else if (value.getBytes(STRING_ENCODING).length > STRING_MAX_SIZE) {
+            throw TypeDBCheckedException.of(ILLEGAL_STRING_SIZE, STRING_MAX_SIZE);
+        }
+
+        Set<Integer> taken = new HashSet<>();
+        FunctionalIterator<KeyValue<VertexIID.Attribute.String, ByteArray>> stored =
+                storage.iterate(VertexIID.Attribute.String.hashedPrefix(type.iid(), value));
+        while (stored.hasNext()) {
+            KeyValue<VertexIID.Attribute.String, ByteArray> kv = stored.next();
+            if (kv.value().decodeString(STRING_ENCODING).equals(value)) {
+                stored.recycle();
+                kv.key().value(value);
+                return kv.key();
+            }
+            taken.add(kv.key().discriminator());
+        }
+        for (int discriminator = 0; discriminator <= STRING_HASH_DISCRIMINATOR_MAX; discriminator++) {
+            VertexIID.Attribute.String iid = VertexIID.Attribute.String.hashed(type.iid(), value, discriminator);
+            AttributeVertex.Write<String> buffered = attributesByIID.strings.get(iid);
+            if (buffered != null && buffered.value().equals(value)) return iid;
+            else if (buffered == null && !taken.contains(discriminator)) return iid;
+        }
+        throw TypeDBException.of(ILLEGAL_STATE);
+    }
+
     public AttributeVertex<LocalDateTime> getReadable(TypeVertex type, LocalDateTime value) {
         assert storage.isOpen();
         assert type.isAttributeType();
@@ -383,7 +533,7 @@ public class ThingGraph {
 
         VertexIID.Attribute.String attIID;
         try {
-            attIID = new VertexIID.Attribute.String(type.iid(), value);
+            attIID = stringIID(type, value);
         } catch (TypeDBCheckedException e) {
             if (e.code().isPresent() && e.code().get().equals(ILLEGAL_STRING_SIZE.code())) {
                 throw storage().exception(TypeDBException.of(ILLEGAL_STRING_SIZE, STRING_MAX_SIZE));
@@ -439,30 +589,110 @@ public class ThingGraph {
         vertexDeleted(vertex);
     }
 
+    /**
+     * Delete every instance of the given entity type, excluding its subtypes. Persisted instances without any edges
+     * are deleted straight from their keys in storage, without decoding them into vertices, and are accounted for
+     * in the statistics in bulk; instances that are buffered in this transaction, or that own attributes or play
+     * roles, are deleted through their vertices as usual. Stored instances are read in chunks of a bounded size, so
+     * only the tombstones written to this transaction grow with the number of instances.
+     *
+     * @return the number of instances deleted
+     */
+    public long deleteAll(TypeVertex type) {
+        assert storage.isOpen() && type.isEntityType();
+        long deleted = 0;
+        if (thingsByTypeIID.containsKey(type.iid())) {
+            for (ThingVertex.Write buffered : new ArrayList<>(thingsByTypeIID.get(type.iid()))) {
+                buffered.delete();
+                deleted++;
+            }
+        }
+        Key.Prefix<VertexIID.Thing> vertexPrefix = VertexIID.Thing.prefix(type.iid());
+        // the has and playing edges of entities are stored in one partition, prefixed by the IIDs of the entities
+        Key.Prefix<EdgeViewIID.Thing> edgePrefix = new Key.Prefix<>(
+                vertexPrefix.bytes(), Key.Partition.FIXED_START_EDGE, EdgeViewIID.Thing::of
+        );
+        List<VertexIID.Thing> chunk = new ArrayList<>(DELETE_ALL_CHUNK_SIZE);
+        Set<VertexIID.Thing> withEdges = new HashSet<>();
+        VertexIID.Thing last = null;
+        long deletedFromStorage = 0;
+        do {
+            chunk.clear();
+            withEdges.clear();
+            storedChunk(vertexPrefix, edgePrefix, last, chunk, withEdges);
+            for (VertexIID.Thing iid : chunk) {
+                ThingVertex.Write vertex = thingsByIID.get(iid);
+                if (vertex == null && withEdges.contains(iid)) vertex = convertToWritable(iid);
+                if (vertex != null) vertex.delete();
+                else {
+                    storage.deleteTracked(iid);
+                    deletedFromStorage++;
+                }
+            }
+            deleted += chunk.size();
+            if (!chunk.isEmpty()) last = chunk.get(chunk.size() - 1);
+        } while (chunk.size() == DELETE_ALL_CHUNK_SIZE);
+        if (deletedFromStorage > 0) {
+            statistics.verticesDeleted(type.iid(), deletedFromStorage);
+            changes().modifiedTypes.add(type.iid());
+        }
+        return deleted;
+    }
+
+    /**
+     * Collect the next chunk of stored vertices after the given one, and which of them have edges, in a single
+     * ordered pass over the vertices and their edges. The iterators are closed before the chunk is deleted, so that
+     * we never delete from under a live storage iterator.
+     */
+    private void storedChunk(Key.Prefix<VertexIID.Thing> vertexPrefix, Key.Prefix<EdgeViewIID.Thing> edgePrefix,
+                             @Nullable VertexIID.Thing after, List<VertexIID.Thing> chunk, Set<VertexIID.Thing> withEdges) {
+        Forwardable<KeyValue<VertexIID.Thing, ByteArray>, Order.Asc> vertices = storage.iterate(vertexPrefix);
+        Forwardable<KeyValue<EdgeViewIID.Thing, ByteArray>, Order.Asc> edges = storage.iterate(edgePrefix);
+        if (after != null) vertices.forward(KeyValue.of(after, null));
+        while (vertices.hasNext() && chunk.size() < DELETE_ALL_CHUNK_SIZE) {
+            VertexIID.Thing iid = vertices.next().key();
+            if (iid.equals(after)) continue;
+            // only seeks when the edges of an earlier vertex lie in between
+            edges.forward(KeyValue.of(EdgeViewIID.Thing.of(iid.bytes()), null));
+            if (edges.hasNext() && edges.peek().key().bytes().hasPrefix(iid.bytes())) withEdges.add(iid);
+            chunk.add(iid);
+        }
+        vertices.recycle();
+        edges.recycle();
+    }
+
     private void vertexCreated(ThingVertexImpl.Write vertex) {
+        if (vertex.isAttribute()) attributesPrefetched.remove(vertex.asAttribute().iid());
         if (vertex.status() != BUFFERED) return;
         statistics.vertexCreated(vertex.iid().type(), vertex.existence());
-        if (vertex.isAttribute() && vertex.existence() == STORED) {
-            if (attributesDeleted.contains(vertex.asAttribute())) {
+        if (vertex.existence() != STORED) return;
+        Changes changes = changes();
+        changes.modifiedTypes.add(vertex.iid().type());
+        if (vertex.isAttribute()) {
+            if (changes.attributesDeleted.contains(vertex.asAttribute())) {
                 // if the vertex has already been deleted, and we are re-creating it, we should just reverse the deletion
-                attributesDeleted.remove(vertex.asAttribute());
+                changes.attributesDeleted.remove(vertex.asAttribute());
             } else {
                 // if creating a brand new attribute, we should record it
-                attributesCreated.add(vertex.asAttribute());
+                changes.attributesCreated.add(vertex.asAttribute());
             }
         }
     }
 
     private void vertexDeleted(ThingVertexImpl.Write vertex) {
+        if (vertex.isAttribute()) attributesPrefetched.remove(vertex.asAttribute().iid());
         statistics.vertexDeleted(vertex.iid().type(), vertex.existence());
-        if (vertex.isAttribute() && vertex.existence() == STORED) {
-            if (attributesCreated.contains(vertex.asAttribute())) {
+        if (vertex.existence() != STORED) return;
+        Changes changes = changes();
+        changes.modifiedTypes.add(vertex.iid().type());
+        if (vertex.isAttribute()) {
+            if (changes.attributesCreated.contains(vertex.asAttribute())) {
                 // if the vertex has already been created, and we are deleting it, we just reverse the creation
                 // the attribute that was created must have been a brand-new attribute that was not persisted
-                attributesCreated.remove(vertex.asAttribute());
+                changes.attributesCreated.remove(vertex.asAttribute());
             } else {
                 // if deleting a not brand-new attribute, we should record it
-                attributesDeleted.add(vertex.asAttribute());
+                changes.attributesDeleted.add(vertex.asAttribute());
             }
         }
     }
@@ -471,12 +701,13 @@ public class ThingGraph {
         if (edge.encoding() != Encoding.Edge.Thing.Base.HAS || isPersisted(edge)) return;
         statistics.hasEdgeCreated(edge.from().asWrite(), edge.to().asAttribute().asWrite(), edge.existence());
 
-        if (hasEdgeDeleted.contains(edge)) {
+        Changes changes = changes();
+        if (changes.hasEdgeDeleted.contains(edge)) {
             // if the edge was already deleted, and we are re-creating it, we should just reverse the deletion
-            hasEdgeDeleted.remove(edge);
+            changes.hasEdgeDeleted.remove(edge);
         } else if (edge.from().status() == PERSISTED) {
             // if creating a brand new edge, we should record it
-            hasEdgeCreated.add(edge);
+            changes.hasEdgeCreated.add(edge);
         }
     }
 
@@ -488,11 +719,12 @@ public class ThingGraph {
     public void edgeDeleted(ThingEdge edge) {
         if (edge.encoding() == Encoding.Edge.Thing.Base.HAS) {
             statistics.hasEdgeDeleted(edge.from().asWrite(), edge.to().asAttribute().asWrite(), edge.existence());
-            if (hasEdgeCreated.contains(edge)) {
+            Changes changes = changes();
+            if (changes.hasEdgeCreated.contains(edge)) {
                 // if the edge has already been created, and we are deleting it, we just reverse the creation
-                hasEdgeCreated.remove(edge);
+                changes.hasEdgeCreated.remove(edge);
             } else if (edge.from().status() == PERSISTED) {
-                hasEdgeDeleted.add(edge);
+                changes.hasEdgeDeleted.add(edge);
             }
         }
     }
@@ -504,6 +736,7 @@ public class ThingGraph {
     public void setModified(PartitionedIID iid) {
         assert storage.isOpen();
         if (!isModified) isModified = true;
+        if (iid instanceof VertexIID.Thing) changes().modifiedTypes.add(((VertexIID.Thing) iid).type());
         storage.trackModified(iid.bytes());
     }
 
@@ -511,33 +744,51 @@ public class ThingGraph {
         return isModified;
     }
 
+    /**
+     * @return the types of every stored thing created, deleted, or given new or removed edges in this transaction
+     */
+    public Set<VertexIID.Type> modifiedTypes() {
+        Changes current = changes;
+        return current == null ? emptySet() : current.modifiedTypes;
+    }
+
     public void clear() {
+        attributesPrefetched.clear();
         thingsByIID.clear();
         thingsByTypeIID.clear();
         attributesByIID.clear();
+        bufferedEdges.clear();
         statistics.clear();
+        Changes current = changes;
+        if (current != null) current.modifiedTypes.clear();
     }
 
     public FunctionalIterator<Pair<ByteArray, ByteArray>> committedIIDs() {
-        return iterate(committedIIDs.entrySet())
+        Changes current = changes;
+        if (current == null) return Iterators.empty();
+        return iterate(current.committedIIDs.entrySet())
                 .filter(committed -> !committed.getKey().encoding().equals(Encoding.Vertex.Thing.ROLE))
                 .map(entry -> new Pair<>(entry.getKey().bytes(), entry.getValue().bytes()));
     }
 
     public Set<AttributeVertex.Write<?>> attributesCreated() {
-        return attributesCreated;
+        Changes current = changes;
+        return current == null ? emptySet() : current.attributesCreated;
     }
 
     public Set<AttributeVertex<?>> attributesDeleted() {
-        return attributesDeleted;
+        Changes current = changes;
+        return current == null ? emptySet() : current.attributesDeleted;
     }
 
     public Set<ThingEdge> hasEdgeCreated() {
-        return hasEdgeCreated;
+        Changes current = changes;
+        return current == null ? emptySet() : current.hasEdgeCreated;
     }
 
     public Set<ThingEdge> hasEdgeDeleted() {
-        return hasEdgeDeleted;
+        Changes current = changes;
+        return current == null ? emptySet() : current.hasEdgeDeleted;
     }
 
 
@@ -550,12 +801,14 @@ public class ThingGraph {
      * {@code ThingVertex} is done, we the write all the {@code AttributeVertex}
      * as the last step. Since the write operations to storage are serialised
      * anyways, we don't need to parallelise the streams to commit the vertices.
+     * The buffered edges are written after all vertices, so that their IIDs are
+     * computed from the committed IIDs of the vertices they connect.
      */
     public void commit() {
         for (ThingVertex.Write vertex : thingsByIID.values()) {
             if (vertex.status() == BUFFERED && vertex.existence() == STORED) {
                 VertexIID.Thing newIID = generate(storage.dataKeyGenerator(), vertex.type().iid(), vertex.type().properLabel());
-                committedIIDs.put(vertex.iid(), newIID);
+                changes().committedIIDs.put(vertex.iid(), newIID);
                 vertex.iid(newIID);
             }
         }
@@ -564,9 +817,33 @@ public class ThingGraph {
             if (vertex.existence() == STORED) vertex.commit();
         }
         attributesByIID.commit();
+        bufferedEdges.commit();
         statistics.commit();
     }
 
+    /**
+     * The changes that a transaction makes to stored things. They are only allocated once the transaction first
+     * makes one, so that transactions that only read never allocate them.
+     */
+    private static class Changes {
+
+        private final Map<VertexIID.Thing, VertexIID.Thing> committedIIDs;
+        private final ConcurrentSet<AttributeVertex.Write<?>> attributesCreated;
+        private final ConcurrentSet<AttributeVertex<?>> attributesDeleted;
+        private final ConcurrentSet<ThingEdge> hasEdgeCreated;
+        private final ConcurrentSet<ThingEdge> hasEdgeDeleted;
+        private final ConcurrentSet<VertexIID.Type> modifiedTypes;
+
+        private Changes() {
+            committedIIDs = new HashMap<>();
+            attributesCreated = new ConcurrentSet<>();
+            attributesDeleted = new ConcurrentSet<>();
+            hasEdgeCreated = new ConcurrentSet<>();
+            hasEdgeDeleted = new ConcurrentSet<>();
+            modifiedTypes = new ConcurrentSet<>();
+        }
+    }
+
     private static class AttributesByIID {
 
         private final ConcurrentMap<VertexIID.Attribute.Boolean, AttributeVertex.Write<Boolean>> booleans;
@@ -749,6 +1026,10 @@ public class ThingGraph {
             else deltaVertexCount.compute(type, (k, v) -> (v == null ? 0 : v) - 1);
         }
 
+        private void verticesDeleted(VertexIID.Type type, long count) {
+            deltaVertexCount.compute(type, (k, v) -> (v == null ? 0 : v) - count);
+        }
+
         private void hasEdgeCreated(ThingVertex.Write thing, AttributeVertex.Write<?> attribute, Existence existence) {
             if (existence == INFERRED) {
                 inferredHasEdgeCount.compute(new Pair<>(thing.type().iid(), attribute.type().iid()), (k, v) -> (v == null ? 0 : v) + 1);
@@ -18,6 +18,7 @@
 
 package com.vaticle.typedb.core.graph;
 
+import com.vaticle.typedb.common.collection.ConcurrentSet;
 import com.vaticle.typedb.common.collection.Pair;
 import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.collection.KeyValue;
@@ -34,6 +35,7 @@ import com.vaticle.typedb.core.encoding.iid.StructureIID;
 import com.vaticle.typedb.core.encoding.iid.VertexIID;
 import com.vaticle.typedb.core.encoding.key.Key;
 import com.vaticle.typedb.core.encoding.key.KeyGenerator;
+import com.vaticle.typedb.core.graph.edge.TypeEdge;
 import com.vaticle.typedb.core.graph.structure.RuleStructure;
 import com.vaticle.typedb.core.graph.structure.impl.RuleStructureImpl;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
@@ -48,6 +50,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
@@ -101,6 +104,7 @@ public class TypeGraph {
     private final Rules rules;
     private final Statistics statistics;
     private final Cache cache;
+    private final SchemaChanges schemaChanges;
     private final Map<VertexIID.Type, VertexIID.Type> committedIIDs;
     private boolean isReadOnly;
     private boolean isModified;
@@ -116,6 +120,7 @@ public class TypeGraph {
         rules = new Rules();
         statistics = new Statistics();
         cache = new Cache();
+        schemaChanges = new SchemaChanges();
         committedIIDs = new HashMap<>();
         isModified = false;
     }
@@ -550,6 +555,10 @@ public class TypeGraph {
         return iterate(typesByIID.values()).anyMatch(TypeVertex::isModified);
     }
 
+    public SchemaChanges schemaChanges() {
+        return schemaChanges;
+    }
+
     public FunctionalIterator<Pair<ByteArray, ByteArray>> committedIIDs() {
         return iterate(committedIIDs.entrySet()).map(committed ->
                 new Pair<>(committed.getKey().bytes(), committed.getValue().bytes())
@@ -585,6 +594,89 @@ public class TypeGraph {
         typesByIID.clear();
         typesByLabel.clear();
         rules.clear();
+        schemaChanges.clear();
+    }
+
+    /**
+     * Tracks the changes made to types and rules that already exist in storage, to tell whether this graph only adds
+     * to the persisted schema. Data written against the persisted schema remains valid after an additive change:
+     * one that adds types and rules, or adds ownerships, played roles and related roles without annotations or
+     * overrides. Deleting and recreating an identical edge or rule, as redefining them does, is also additive.
+     */
+    public class SchemaChanges {
+
+        private final ConcurrentSet<String> modifiedTypes;
+        private final ConcurrentSet<RuleStructure> deletedRules;
+        private final ConcurrentSet<TypeEdge> deletedEdges;
+        private final ConcurrentSet<TypeEdge> addedEdges;
+
+        private SchemaChanges() {
+            modifiedTypes = new ConcurrentSet<>();
+            deletedRules = new ConcurrentSet<>();
+            deletedEdges = new ConcurrentSet<>();
+            addedEdges = new ConcurrentSet<>();
+        }
+
+        public void typeModified(TypeVertex type) {
+            modifiedTypes.add(type.scopedLabel());
+        }
+
+        public void ruleDeleted(RuleStructure rule) {
+            deletedRules.add(rule);
+        }
+
+        public void edgeDeleted(TypeEdge edge) {
+            deletedEdges.add(edge);
+        }
+
+        public void edgeAdded(TypeEdge edge) {
+            addedEdges.add(edge);
+        }
+
+        /**
+         * @return the label of a persisted type or rule that was changed in a way that is not additive, if any
+         */
+        public Optional<String> nonAdditiveChange() {
+            Optional<String> modifiedType = iterate(modifiedTypes).first();
+            if (modifiedType.isPresent()) return modifiedType;
+            for (RuleStructure deleted : deletedRules) {
+                RuleStructure current = rules.get(deleted.label());
+                if (current == null || !current.when().equals(deleted.when()) || !current.then().equals(deleted.then())) {
+                    return Optional.of(deleted.label());
+                }
+            }
+            for (TypeEdge deleted : deletedEdges) {
+                if (deleted.from().isDeleted()) return Optional.of(deleted.from().scopedLabel());
+                TypeEdge current = deleted.from().outs().edge(deleted.encoding(), deleted.to());
+                if (current == null || !isIdentical(current, deleted)) return Optional.of(deleted.from().scopedLabel());
+            }
+            for (TypeEdge added : addedEdges) {
+                if (added.isDeleted() || iterate(deletedEdges).anyMatch(deleted -> isIdentical(added, deleted))) continue;
+                if (!added.annotations().isEmpty() || isRestrictingOverride(added)) {
+                    return Optional.of(added.from().scopedLabel());
+                }
+            }
+            return Optional.empty();
+        }
+
+        private boolean isIdentical(TypeEdge edge, TypeEdge other) {
+            return edge.encoding() == other.encoding() && edge.from().equals(other.from()) &&
+                    edge.to().equals(other.to()) && edge.overridden().equals(other.overridden()) &&
+                    edge.annotations().equals(other.annotations());
+        }
+
+        private boolean isRestrictingOverride(TypeEdge edge) {
+            if (edge.overridden().isEmpty()) return false;
+            else if (edge.encoding() == RELATES) return !edge.overridden().get().equals(rootRoleType());
+            else return !edge.overridden().get().equals(edge.to());
+        }
+
+        private void clear() {
+            modifiedTypes.clear();
+            deletedRules.clear();
+            deletedEdges.clear();
+            addedEdges.clear();
+        }
     }
 
     public class Rules {
@@ -187,7 +187,5 @@ public interface ThingAdjacency {
         void deleteAll();
 
         void remove(ThingEdge edge);
-
-        void commit();
     }
 }
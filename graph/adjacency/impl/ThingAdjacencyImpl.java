@@ -18,7 +18,6 @@
 
 package com.vaticle.typedb.core.graph.adjacency.impl;
 
-import com.vaticle.typedb.common.collection.ConcurrentSet;
 import com.vaticle.typedb.core.common.collection.KeyValue;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
@@ -41,22 +40,11 @@ import com.vaticle.typedb.core.graph.vertex.ThingVertex;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ConcurrentNavigableMap;
-import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.function.Predicate;
 
 import static com.vaticle.typedb.core.common.collection.ByteArray.empty;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_ARGUMENT;
-import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.iterator.Iterators.link;
-import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.emptySorted;
-import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.iterateSorted;
-import static com.vaticle.typedb.core.common.parameters.Concept.Existence.STORED;
 import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
 import static com.vaticle.typedb.core.encoding.Encoding.Edge.Thing.Optimised.ROLEPLAYER;
 import static java.util.Collections.emptyList;
@@ -231,14 +219,9 @@ public abstract class ThingAdjacencyImpl<EDGE_VIEW extends ThingEdge.View<EDGE_V
             extends ThingAdjacencyImpl<EDGE_VIEW> implements ThingAdjacency.Write {
 
         final ThingVertex.Write owner;
-        final ConcurrentMap<List<IID>, ConcurrentSet<List<IID>>> infixes;
-        // TODO: we can simplify this to ignore the idea of reasoning in write transactions
-        final ConcurrentMap<List<IID>, ConcurrentNavigableMap<EDGE_VIEW, ThingEdgeImpl.Buffered>> edges;
 
         Write(ThingVertex.Write owner) {
             this.owner = owner;
-            this.infixes = new ConcurrentHashMap<>();
-            this.edges = new ConcurrentHashMap<>();
         }
 
         @Override
@@ -246,132 +229,49 @@ public abstract class ThingAdjacencyImpl<EDGE_VIEW extends ThingEdge.View<EDGE_V
             return owner;
         }
 
-        List<IID> infixTails(ThingEdge edge) {
-            if (edge.encoding().isOptimisation()) {
-                if (isOut()) {
-                    return List.of(edge.forwardView().iid().infix().asRolePlayer().tail().get(), edge.toIID().prefix(), edge.toIID().type(), edge.toIID().key());
-                } else {
-                    return List.of(edge.backwardView().iid().infix().asRolePlayer().tail().get(), edge.fromIID().prefix(), edge.fromIID().type(), edge.fromIID().key());
-                }
-            } else {
-                if (isOut()) return List.of(edge.toIID().prefix(), edge.toIID().type());
-                else return List.of(edge.fromIID().prefix(), edge.fromIID().type());
-            }
+        ThingEdgeIndex bufferedEdges() {
+            return owner.graph().bufferedEdges();
         }
 
         Forwardable<EDGE_VIEW, Order.Asc> iterateBufferedViews(Encoding.Edge.Thing encoding, List<IID> lookahead) {
-            ConcurrentNavigableMap<EDGE_VIEW, ThingEdgeImpl.Buffered> result;
-            List<IID> iidsWithEncoding = lookaheadWithEncoding(encoding, lookahead);
-            if (lookahead.size() == encoding.lookAhead()) {
-                return (result = edges.get(iidsWithEncoding)) != null ? iterateSorted(result.keySet(), ASC) : emptySorted();
-            }
-
-            assert lookahead.size() < encoding.lookAhead();
-            Set<List<IID>> extendedIIDs = new HashSet<>();
-            extendedIIDs.add(iidsWithEncoding);
-            for (int i = lookahead.size(); i < encoding.lookAhead() && !extendedIIDs.isEmpty(); i++) {
-                Set<List<IID>> newIIDs = new HashSet<>();
-                for (List<IID> iids : extendedIIDs) {
-                    Set<List<IID>> someNewIIDs = infixes.get(iids);
-                    if (someNewIIDs != null) newIIDs.addAll(someNewIIDs);
-                }
-                extendedIIDs = newIIDs;
-            }
-
-            return iterate(extendedIIDs).mergeMapForwardable(iid -> {
-                ConcurrentNavigableMap<EDGE_VIEW, ThingEdgeImpl.Buffered> res;
-                return (res = edges.get(iid)) != null ? iterateSorted(res.keySet(), ASC) : emptySorted();
-            }, ASC);
+            return bufferedEdges().iterate(viewIIDPrefix(encoding, lookahead), this::getView);
         }
 
         @Override
         public ThingEdge edge(Encoding.Edge.Thing encoding, ThingVertex adjacent, ThingVertex optimised) {
             assert encoding.isOptimisation();
-            Predicate<ThingEdge> predicate = isOut()
-                    ? e -> e.to().equals(adjacent) && e.forwardView().iid().suffix().equals(optimised.iid().key())
-                    : e -> e.from().equals(adjacent) && e.backwardView().iid().suffix().equals(optimised.iid().key());
-            Forwardable<EDGE_VIEW, Order.Asc> iterator = iterateBufferedViews(
-                    encoding, List.of(optimised.iid().type(), adjacent.iid().prefix(), adjacent.iid().type())
-            );
-            iterator.forward(isOut() ?
-                    getView(new ThingEdgeImpl.Target(encoding, owner, adjacent, optimised.type())) :
-                    getView(new ThingEdgeImpl.Target(encoding, adjacent, owner, optimised.type()))
-            );
-            ThingEdge edge = null;
-            while (iterator.hasNext()) {
-                if (predicate.test(edge = iterator.next().edge())) break;
-                else edge = null;
-            }
-            iterator.recycle();
-            return edge;
+            return bufferedEdges().get(viewIID(encoding, adjacent, optimised));
         }
 
         @Override
         public ThingEdge edge(Encoding.Edge.Thing encoding, ThingVertex adjacent) {
             assert !encoding.isOptimisation();
-            Predicate<ThingEdge> predicate = isOut() ? e -> e.to().equals(adjacent) : e -> e.from().equals(adjacent);
-            Forwardable<EDGE_VIEW, Order.Asc> iterator = iterateBufferedViews(
-                    encoding, List.of(adjacent.iid().prefix(), adjacent.iid().type())
-            );
-            iterator.forward(isOut() ?
-                    getView(new ThingEdgeImpl.Target(encoding, owner, adjacent, null)) :
-                    getView(new ThingEdgeImpl.Target(encoding, adjacent, owner, null))
-            );
-            ThingEdge edge = null;
-            while (iterator.hasNext()) {
-                if (predicate.test(edge = iterator.next().edge())) break;
-                else edge = null;
-            }
-            iterator.recycle();
-            return edge;
+            return bufferedEdges().get(viewIID(encoding, adjacent));
         }
 
-        private void put(Encoding.Edge.Thing encoding, ThingEdgeImpl.Buffered edge, List<IID> infixes,
-                         boolean isReflexive) {
-            assert encoding.lookAhead() == infixes.size();
-            List<IID> infixIID = List.of(infixIID(encoding));
-            for (int i = 0; i < encoding.lookAhead(); i++) {
-                this.infixes.computeIfAbsent(infixIID, x -> new ConcurrentSet<>()).add(
-                        infixIID = lookaheadWithEncoding(encoding, infixes.subList(0, i + 1))
-                );
+        private void put(ThingEdgeImpl.Buffered edge, boolean isReflexive) {
+            ThingEdgeImpl.Buffered existingEdge = bufferedEdges().putIfAbsent(getView(edge).iid(), edge);
+            if (existingEdge == null) {
+                if (isOut()) owner.graph().edgeCreated(edge); // only record creation in one direction
+            } else {
+                assert existingEdge.existence() == edge.existence();
             }
 
-            this.edges.compute(infixIID, (iid, bufferedEdges) -> {
-                EDGE_VIEW edgeView = getView(edge);
-                if (bufferedEdges == null) bufferedEdges = new ConcurrentSkipListMap<>();
-                bufferedEdges.compute(edgeView, (view, existingEdge) -> {
-                    if (existingEdge == null) {
-                        if (isOut()) owner.graph().edgeCreated(edge); // only record creation in one direction
-                        return edge;
-                    } else {
-                        assert existingEdge.existence() == edge.existence();
-                        return existingEdge;
-                    }
-                });
-                return bufferedEdges;
-            });
-
             assert !owner.isDeleted();
             owner.setModified();
             if (isReflexive) {
-                if (isOut()) ((ThingAdjacencyImpl.Write<?>) edge.to().ins()).putNonReflexive(edge);
-                else ((ThingAdjacencyImpl.Write<?>) edge.from().outs()).putNonReflexive(edge);
+                if (isOut()) ((ThingAdjacencyImpl.Write<?>) edge.to().ins()).put(edge, false);
+                else ((ThingAdjacencyImpl.Write<?>) edge.from().outs()).put(edge, false);
             }
         }
 
-        private void putNonReflexive(ThingEdgeImpl.Buffered edge) {
-            put(edge.encoding(), edge, infixTails(edge), false);
-        }
-
         @Override
         public ThingEdgeImpl put(Encoding.Edge.Thing encoding, ThingVertex.Write adjacent, Existence existence) {
             assert !encoding.isOptimisation();
             ThingEdgeImpl.Buffered edge = isOut()
                     ? new ThingEdgeImpl.Buffered(encoding, owner, adjacent, existence)
                     : new ThingEdgeImpl.Buffered(encoding, adjacent, owner, existence);
-            List<IID> infixes = List.of(adjacent.iid().prefix(), adjacent.iid().type());
-            put(encoding, edge, infixes, true);
-
+            put(edge, true);
             return edge;
         }
 
@@ -382,18 +282,13 @@ public abstract class ThingAdjacencyImpl<EDGE_VIEW extends ThingEdge.View<EDGE_V
             ThingEdgeImpl.Buffered edge = isOut()
                     ? new ThingEdgeImpl.Buffered(encoding, owner, adjacent, optimised, existence)
                     : new ThingEdgeImpl.Buffered(encoding, adjacent, owner, optimised, existence);
-            List<IID> infixes = List.of(optimised.iid().type(), adjacent.iid().prefix(), adjacent.iid().type(), adjacent.iid().key());
-            put(encoding, edge, infixes, true);
+            put(edge, true);
             return edge;
         }
 
         @Override
         public void remove(ThingEdge edge) {
-            List<IID> lookahead = lookaheadWithEncoding(edge.encoding(), infixTails(edge));
-            if (edges.containsKey(lookahead)) {
-                edges.get(lookahead).remove(getView(edge));
-                owner.setModified();
-            }
+            if (bufferedEdges().remove(getView(edge).iid())) owner.setModified();
         }
 
         @Override
@@ -406,15 +301,6 @@ public abstract class ThingAdjacencyImpl<EDGE_VIEW extends ThingEdge.View<EDGE_V
             }
         }
 
-        @Override
-        public void commit() {
-            for (ConcurrentNavigableMap<EDGE_VIEW, ThingEdgeImpl.Buffered> edgeViews : edges.values()) {
-                for (ThingEdgeImpl.Buffered edge : edgeViews.values()) {
-                    if (edge.existence() == STORED) edge.commit();
-                }
-            }
-        }
-
         public static abstract class Buffered<EDGE_VIEW extends ThingEdge.View<EDGE_VIEW>>
                 extends ThingAdjacencyImpl.Write<EDGE_VIEW> {
 
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.graph.adjacency.impl;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
+import com.vaticle.typedb.core.common.parameters.Order;
+import com.vaticle.typedb.core.encoding.iid.EdgeViewIID;
+import com.vaticle.typedb.core.encoding.key.Key;
+import com.vaticle.typedb.core.graph.edge.ThingEdge;
+import com.vaticle.typedb.core.graph.edge.impl.ThingEdgeImpl;
+
+import javax.annotation.Nullable;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.iterateSorted;
+import static com.vaticle.typedb.core.common.parameters.Concept.Existence.STORED;
+import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
+
+/**
+ * The transaction-local index of every buffered {@code ThingEdge}, shared by all the write adjacencies of a
+ * {@code ThingGraph}.
+ *
+ * Each edge is indexed under the encoded IIDs of both its forward and backward views, which are the keys the edge
+ * will be written under in storage. An adjacency therefore finds its buffered edges with the same key prefix it uses
+ * to scan storage, and the two sorted iterators can be merged directly, much like a write batch with an index.
+ * Keeping one sorted set for the whole transaction, rather than a set of maps per vertex and per infix, keeps the
+ * memory of large write transactions proportional to the number of edges written.
+ *
+ * The keys are computed from the vertex IIDs at the time the edge is buffered. Buffered vertices are given their
+ * final IIDs during commit, so buffered edges are committed through this index only after all vertices are.
+ */
+public class ThingEdgeIndex {
+
+    private final ConcurrentSkipListSet<Entry> entries;
+
+    public ThingEdgeIndex() {
+        this.entries = new ConcurrentSkipListSet<>();
+    }
+
+    /**
+     * Indexes an edge under the IID of one of its views, unless an edge is already indexed under that IID.
+     *
+     * @return the edge that was already indexed under {@code viewIID}, or null if {@code edge} was added
+     */
+    @Nullable
+    ThingEdgeImpl.Buffered putIfAbsent(EdgeViewIID.Thing viewIID, ThingEdgeImpl.Buffered edge) {
+        Entry entry = new Entry(viewIID.bytes(), edge);
+        while (!entries.add(entry)) {
+            Entry existing = entries.ceiling(entry);
+            if (existing != null && existing.key.equals(entry.key)) return existing.edge;
+        }
+        return null;
+    }
+
+    @Nullable
+    ThingEdgeImpl.Buffered get(EdgeViewIID.Thing viewIID) {
+        Entry probe = Entry.probe(viewIID.bytes());
+        Entry entry = entries.ceiling(probe);
+        return entry != null && entry.key.equals(probe.key) ? entry.edge : null;
+    }
+
+    boolean remove(EdgeViewIID.Thing viewIID) {
+        return entries.remove(Entry.probe(viewIID.bytes()));
+    }
+
+    <VIEW extends ThingEdge.View<VIEW>> Forwardable<VIEW, Order.Asc> iterate(
+            Key.Prefix<EdgeViewIID.Thing> prefix, Function<ThingEdge, VIEW> viewFn
+    ) {
+        ByteArray prefixBytes = prefix.bytes();
+        NavigableSet<Entry> fromPrefix = entries.tailSet(Entry.probe(prefixBytes), true);
+        // forward targets are clamped to the prefix, as the tail set rejects any element below its bound
+        return iterateSorted(fromPrefix, ASC)
+                .takeWhile(entry -> entry.key.hasPrefix(prefixBytes))
+                .mapSorted(
+                        entry -> viewFn.apply(entry.edge),
+                        view -> {
+                            ByteArray target = view.iid().bytes();
+                            return Entry.probe(target.compareTo(prefixBytes) < 0 ? prefixBytes : target);
+                        },
+                        ASC
+                );
+    }
+
+    public void commit() {
+        for (Entry entry : entries) {
+            if (entry.edge.existence() == STORED) entry.edge.commit();
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static class Entry implements Comparable<Entry> {
+
+        private final ByteArray key;
+        private final ThingEdgeImpl.Buffered edge;
+
+        private Entry(ByteArray key, @Nullable ThingEdgeImpl.Buffered edge) {
+            this.key = key;
+            this.edge = edge;
+        }
+
+        private static Entry probe(ByteArray key) {
+            return new Entry(key, null);
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return key.compareTo(other.key);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) return true;
+            if (object == null || getClass() != object.getClass()) return false;
+            return key.equals(((Entry) object).key);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+    }
+}
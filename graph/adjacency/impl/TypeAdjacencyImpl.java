@@ -44,6 +44,7 @@ import java.util.function.Predicate;
 import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.emptySorted;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.iterateSorted;
+import static com.vaticle.typedb.core.encoding.Encoding.Status.PERSISTED;
 
 public abstract class TypeAdjacencyImpl<EDGE_VIEW extends TypeEdge.View<EDGE_VIEW>> implements TypeAdjacency {
 
@@ -72,6 +73,7 @@ public abstract class TypeAdjacencyImpl<EDGE_VIEW extends TypeEdge.View<EDGE_VIE
         edges.computeIfAbsent(encoding, e -> new ConcurrentSkipListSet<>()).add(getView(edge));
         if (isOut()) ((TypeAdjacencyImpl<?>) to.ins()).putNonRecursive(edge);
         else ((TypeAdjacencyImpl<?>) from.outs()).putNonRecursive(edge);
+        if (from.status() == PERSISTED) owner.graph().schemaChanges().edgeAdded(edge);
         owner.setModified();
         return edge;
     }
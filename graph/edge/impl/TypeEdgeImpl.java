@@ -500,6 +500,7 @@ public abstract class TypeEdgeImpl implements TypeEdge {
          */
         @Override
         public void setOverridden(TypeVertex overridden) {
+            if (!overridden().equals(Optional.of(overridden))) graph.schemaChanges().typeModified(from());
             this.overridden = overridden;
             overriddenIID = overridden.iid();
             graph.storage().putUntracked(computeForwardIID(), overriddenIID.bytes());
@@ -508,6 +509,7 @@ public abstract class TypeEdgeImpl implements TypeEdge {
 
         @Override
         public void unsetOverridden() {
+            if (overriddenIID != null) graph.schemaChanges().typeModified(from());
             this.overridden = null;
             this.overriddenIID = null;
             graph.storage().putUntracked(computeForwardIID());
@@ -542,6 +544,7 @@ public abstract class TypeEdgeImpl implements TypeEdge {
 
         @Override
         public void setAnnotations(Set<Annotation> annotations) {
+            if (!annotations().equals(annotations)) graph.schemaChanges().typeModified(from());
             deleteAnnotations();
             writeAnnotations(annotations);
             this.annotations = annotations;
@@ -574,6 +577,7 @@ public abstract class TypeEdgeImpl implements TypeEdge {
         @Override
         public void delete() {
             if (deleted.compareAndSet(false, true)) {
+                graph.schemaChanges().edgeDeleted(this);
                 from().outs().remove(this);
                 to().ins().remove(this);
                 graph.storage().deleteUntracked(forwardView().iid());
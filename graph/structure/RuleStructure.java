@@ -20,10 +20,15 @@ package com.vaticle.typedb.core.graph.structure;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.encoding.Encoding;
 import com.vaticle.typedb.core.encoding.iid.StructureIID;
+import com.vaticle.typedb.core.encoding.iid.VertexIID;
+import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typeql.lang.pattern.Conjunction;
 import com.vaticle.typeql.lang.pattern.Pattern;
 import com.vaticle.typeql.lang.pattern.variable.ThingVariable;
 
+import java.util.Optional;
+import java.util.Set;
+
 public interface RuleStructure {
 
     StructureIID.Rule iid();
@@ -60,5 +65,16 @@ public interface RuleStructure {
     void indexConcludesEdgeTo(Label type);
 
     void unindexConcludesEdgeTo(Label type);
+
+    /**
+     * @return the types that type inference over this rule depended on when it was last validated, or empty if
+     * they have never been recorded for this rule
+     */
+    Optional<Set<VertexIID.Type>> dependencies();
+
+    /**
+     * Records the types that type inference over this rule depends on, to be persisted when the graph is committed.
+     */
+    void dependencies(Set<TypeVertex> types);
 }
 
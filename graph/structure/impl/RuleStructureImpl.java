@@ -17,6 +17,7 @@
 
 package com.vaticle.typedb.core.graph.structure.impl;
 
+import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.collection.KeyValue;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Label;
@@ -26,6 +27,7 @@ import com.vaticle.typedb.core.encoding.key.Key;
 import com.vaticle.typedb.core.encoding.iid.IndexIID;
 import com.vaticle.typedb.core.encoding.iid.PropertyIID;
 import com.vaticle.typedb.core.encoding.iid.StructureIID;
+import com.vaticle.typedb.core.encoding.iid.VertexIID;
 import com.vaticle.typedb.core.graph.structure.RuleStructure;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typeql.lang.TypeQL;
@@ -46,6 +48,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import static com.vaticle.typedb.core.common.collection.ByteArray.encodeString;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.iterator.Iterators.link;
+import static com.vaticle.typedb.core.encoding.Encoding.Property.Structure.DEPENDENCIES;
 import static com.vaticle.typedb.core.encoding.Encoding.Property.Structure.LABEL;
 import static com.vaticle.typedb.core.encoding.Encoding.Property.Structure.THEN;
 import static com.vaticle.typedb.core.encoding.Encoding.Property.Structure.WHEN;
@@ -59,6 +62,7 @@ public abstract class RuleStructureImpl implements RuleStructure {
     final ThingVariable<?> then;
     StructureIID.Rule iid;
     String label;
+    Set<TypeVertex> dependencies;
 
     private boolean isModified;
 
@@ -127,6 +131,20 @@ public abstract class RuleStructureImpl implements RuleStructure {
         graph.rules().conclusions().deleteConcludesEdgeTo(this, graph.getType(type));
     }
 
+    @Override
+    public void dependencies(Set<TypeVertex> types) {
+        this.dependencies = types;
+    }
+
+    Set<VertexIID.Type> dependencyIIDs() {
+        return iterate(dependencies).map(TypeVertex::iid).toSet();
+    }
+
+    void commitDependencies() {
+        ByteArray[] iids = iterate(dependencies).map(type -> type.iid().bytes()).toList().toArray(new ByteArray[0]);
+        graph.storage().putUntracked(PropertyIID.Structure.of(iid, DEPENDENCIES), ByteArray.join(iids));
+    }
+
     public Encoding.Structure encoding() {
         return iid.encoding();
     }
@@ -234,6 +252,7 @@ public abstract class RuleStructureImpl implements RuleStructure {
             commitPropertyLabel();
             commitWhen();
             commitThen();
+            if (dependencies != null) commitDependencies();
         }
 
         private void commitPropertyLabel() {
@@ -250,6 +269,11 @@ public abstract class RuleStructureImpl implements RuleStructure {
                     encodeString(then().toString(), STRING_ENCODING));
         }
 
+        @Override
+        public Optional<Set<VertexIID.Type>> dependencies() {
+            return dependencies == null ? Optional.empty() : Optional.of(dependencyIIDs());
+        }
+
         private void indexReferences() {
             types().forEachRemaining(type -> graph.rules().references().buffered().put(this, type));
         }
@@ -294,6 +318,7 @@ public abstract class RuleStructureImpl implements RuleStructure {
         @Override
         public void delete() {
             if (isDeleted.compareAndSet(false, true)) {
+                graph.schemaChanges().ruleDeleted(this);
                 graph.rules().references().delete(this, types());
                 deleteVertexFromGraph();
                 deleteVertexFromStorage();
@@ -312,8 +337,19 @@ public abstract class RuleStructureImpl implements RuleStructure {
             graph.storage().deleteUntracked(iid);
         }
 
+        @Override
+        public Optional<Set<VertexIID.Type>> dependencies() {
+            if (dependencies != null) return Optional.of(dependencyIIDs());
+            ByteArray bytes = graph.storage().get(PropertyIID.Structure.of(iid, DEPENDENCIES));
+            if (bytes == null) return Optional.empty();
+            Set<VertexIID.Type> iids = new HashSet<>();
+            for (int i = 0; i < bytes.length(); i += VertexIID.Type.LENGTH) iids.add(VertexIID.Type.extract(bytes, i));
+            return Optional.of(iids);
+        }
+
         @Override
         public void commit() {
+            if (dependencies != null) commitDependencies();
         }
     }
 }
@@ -18,6 +18,7 @@
 
 package com.vaticle.typedb.core.graph.vertex.impl;
 
+import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.parameters.Concept.Existence;
 import com.vaticle.typedb.core.encoding.Encoding;
@@ -31,6 +32,7 @@ import com.vaticle.typedb.core.graph.vertex.Vertex;
 import java.time.LocalDateTime;
 
 import static com.vaticle.typedb.common.util.Objects.className;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingRead.INVALID_THING_VERTEX_CASTING;
 import static com.vaticle.typedb.core.common.parameters.Concept.Existence.INFERRED;
 import static com.vaticle.typedb.core.common.parameters.Concept.Existence.STORED;
@@ -41,9 +43,21 @@ import static com.vaticle.typedb.core.encoding.Encoding.ValueType.DATETIME;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.DOUBLE;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.LONG;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING;
+import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_ENCODING;
 
 public abstract class AttributeVertexImpl {
 
+    /**
+     * A string keyed by its hash does not carry its value in its IID, so the value is read from the one copy kept
+     * under the attribute vertex key.
+     */
+    private static void loadHashedValue(ThingGraph graph, VertexIID.Attribute.String iid) {
+        if (!iid.isHashed() || iid.hasValue()) return;
+        ByteArray value = graph.storage().get(iid);
+        if (value == null) throw TypeDBException.of(ILLEGAL_STATE);
+        iid.value(value.decodeString(STRING_ENCODING));
+    }
+
     public static abstract class Read<VALUE> extends ThingVertexImpl.Read implements AttributeVertex<VALUE> {
 
         private final VertexIID.Attribute<VALUE> attributeIID;
@@ -240,6 +254,12 @@ public abstract class AttributeVertexImpl {
                 super(graph, iid);
             }
 
+            @Override
+            public java.lang.String value() {
+                loadHashedValue(graph, iid().asString());
+                return super.value();
+            }
+
             @Override
             public boolean isString() {
                 return true;
@@ -320,7 +340,7 @@ public abstract class AttributeVertexImpl {
         }
 
         private boolean isPersisted() {
-            if (isPersisted == null) isPersisted = graph.storage().get(iid) != null;
+            if (isPersisted == null) isPersisted = graph.isStored(attributeIID);
             return isPersisted;
         }
 
@@ -385,7 +405,6 @@ public abstract class AttributeVertexImpl {
         @Override
         public void commit() {
             commitVertex();
-            commitEdges();
         }
 
         @Override
@@ -526,6 +545,19 @@ public abstract class AttributeVertexImpl {
                 super(graph, iid, existence);
             }
 
+            @Override
+            public java.lang.String value() {
+                loadHashedValue(graph, iid().asString());
+                return super.value();
+            }
+
+            @Override
+            void commitVertex() {
+                VertexIID.Attribute.String iid = iid().asString();
+                if (iid.isHashed()) graph.storage().putTracked(iid, ByteArray.encodeString(value(), STRING_ENCODING));
+                else super.commitVertex();
+            }
+
             @Override
             public boolean isString() {
                 return true;
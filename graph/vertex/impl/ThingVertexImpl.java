@@ -208,11 +208,6 @@ public abstract class ThingVertexImpl extends VertexImpl<VertexIID.Thing> implem
             ins.deleteAll();
         }
 
-        void commitEdges() {
-            outs.commit();
-            ins.commit();
-        }
-
         void commitVertex() {
             graph.storage().putTracked(iid);
         }
@@ -271,7 +266,6 @@ public abstract class ThingVertexImpl extends VertexImpl<VertexIID.Thing> implem
             public void commit() {
                 if (existence() == INFERRED) throw TypeDBException.of(ILLEGAL_OPERATION);
                 commitVertex();
-                commitEdges();
             }
 
             @Override
@@ -311,7 +305,7 @@ public abstract class ThingVertexImpl extends VertexImpl<VertexIID.Thing> implem
 
             @Override
             public void commit() {
-                commitEdges();
+                // buffered edges are committed by the graph, and there is nothing else to write
             }
 
             @Override
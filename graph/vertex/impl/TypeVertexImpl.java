@@ -435,6 +435,7 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
         @Override
         public void label(String label) {
             assert !isDeleted();
+            graph.schemaChanges().typeModified(this);
             graph.update(this, this.label, scope, label, scope);
             graph.storage().putUntracked(PropertyIID.TypeVertex.of(iid, LABEL), encodeString(label, STRING_ENCODING));
             graph.storage().deleteUntracked(IndexIID.Type.Label.of(this.label, scope));
@@ -446,6 +447,7 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
         @Override
         public void scope(String scope) {
             assert !isDeleted();
+            graph.schemaChanges().typeModified(this);
             graph.update(this, label, this.scope, label, scope);
             graph.storage().putUntracked(PropertyIID.TypeVertex.of(iid, SCOPE), encodeString(scope, STRING_ENCODING));
             graph.storage().deleteUntracked(IndexIID.Type.Label.of(label, this.scope));
@@ -465,6 +467,7 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
         @Override
         public TypeVertexImpl isAbstract(boolean isAbstract) {
             assert !isDeleted();
+            if (isAbstract != isAbstract()) graph.schemaChanges().typeModified(this);
             if (isAbstract) graph.storage().putUntracked(PropertyIID.TypeVertex.of(iid, ABSTRACT));
             else graph.storage().deleteUntracked(PropertyIID.TypeVertex.of(iid, ABSTRACT));
             this.isAbstract = isAbstract;
@@ -483,6 +486,7 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
         @Override
         public TypeVertexImpl valueType(Encoding.ValueType<?> valueType) {
             assert !isDeleted();
+            graph.schemaChanges().typeModified(this);
             graph.storage().putUntracked(PropertyIID.TypeVertex.of(iid, VALUE_TYPE), valueType.bytes());
             this.valueType = valueType;
             this.setModified();
@@ -501,6 +505,10 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
         @Override
         public TypeVertexImpl regex(Pattern regex) {
             assert !isDeleted();
+            Pattern previous = regex();
+            if (previous == null ? regex != null : regex == null || !previous.pattern().equals(regex.pattern())) {
+                graph.schemaChanges().typeModified(this);
+            }
             if (regex == null) graph.storage().deleteUntracked(PropertyIID.TypeVertex.of(iid, REGEX));
             else {
                 graph.storage().putUntracked(PropertyIID.TypeVertex.of(iid, REGEX),
@@ -519,6 +527,7 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
         @Override
         public void delete() {
             if (isDeleted.compareAndSet(false, true)) {
+                graph.schemaChanges().typeModified(this);
                 deleteEdges();
                 deleteVertexFromGraph();
                 deleteVertexFromStorage();
@@ -22,8 +22,10 @@ import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.encoding.iid.VertexIID;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.structure.RuleStructure;
+import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typedb.core.logic.resolvable.Concludable;
 import com.vaticle.typedb.core.logic.resolvable.Resolvable;
 import com.vaticle.typedb.core.logic.resolvable.ResolvableConjunction;
@@ -32,6 +34,7 @@ import com.vaticle.typedb.core.logic.resolvable.Unifier;
 import com.vaticle.typedb.core.logic.tool.ExpressionResolver;
 import com.vaticle.typedb.core.logic.tool.TypeInference;
 import com.vaticle.typedb.core.traversal.TraversalEngine;
+import com.vaticle.typeql.lang.pattern.Conjunctable;
 import com.vaticle.typeql.lang.pattern.Conjunction;
 import com.vaticle.typeql.lang.pattern.Pattern;
 import com.vaticle.typeql.lang.pattern.variable.ThingVariable;
@@ -46,8 +49,10 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.RuleWrite.CONTRADICTORY_RULE_CYCLE;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.encoding.Encoding.Status.BUFFERED;
 import static java.util.Comparator.comparing;
 
 public class LogicManager {
@@ -112,7 +117,11 @@ public class LogicManager {
     }
 
     private FunctionalIterator<Rule> rulesWithNegations() {
-        return rules().filter(rule -> iterate(rule.condition().branches()).anyMatch(condition -> !condition.conjunction().negations().isEmpty()));
+        // filter on the rule structure first, so that type inference only runs for the rules we return
+        return graphMgr.schema().rules().all()
+                .filter(structure -> iterate(structure.when().normalise().patterns())
+                        .anyMatch(conjunction -> iterate(conjunction.patterns()).anyMatch(Conjunctable::isNegation)))
+                .map(this::fromStructure);
     }
 
     public Map<Rule, Set<Unifier>> applicableRules(Concludable concludable) {
@@ -138,26 +147,77 @@ public class LogicManager {
     }
 
     /**
-     * On commit we must clear the rule cache and revalidate rules - this will force re-running type inference
-     * when we re-load the Rule objects
-     * Rule indexes should also be deleted and regenerated as needed
+     * On commit we must revalidate and reindex every rule whose type inference may have changed - this will force
+     * re-running type inference when we re-load the affected Rule objects.
+     * A rule is affected if it was written in this transaction, if its type dependencies were never recorded, or if
+     * it depends on a type modified in this transaction. Unaffected Rule objects and unifiers stay cached.
      * Note: does not need to be synchronized as only called by one schema transaction at a time
      */
     public void revalidateAndReindexRules() {
-        logicCache.rule().clear();
-        logicCache.unifiers().clear();
-
-        if (graphMgr.schema().hasModifiedTypes()) {
-            // re-validate all rules are valid
-            rules().stream().parallel().forEach(rule -> rule.validate(this, conceptMgr));
+        boolean typesModified = graphMgr.schema().hasModifiedTypes();
+        Set<TypeVertex> modifiedTypes = typesModified
+                ? graphMgr.schema().bufferedTypes().filter(TypeVertex::isModified).collect(Collectors.toSet())
+                : set();
+        Set<VertexIID.Type> modifiedIIDs = iterate(modifiedTypes).map(TypeVertex::iid).toSet();
+        Set<RuleStructure> affectedStructures = graphMgr.schema().rules().all()
+                .filter(structure -> structure.status() == BUFFERED || structure.dependencies()
+                        .map(dependencies -> iterate(dependencies).anyMatch(modifiedIIDs::contains)).orElse(true))
+                .toSet();
+        Set<String> affectedLabels = iterate(affectedStructures).map(RuleStructure::label).toSet();
+
+        Set<Rule> evicted = new HashSet<>();
+        logicCache.rule().invalidateIf((label, rule) -> {
+            boolean evict = affectedLabels.contains(label) || rule.isDeleted() || !label.equals(rule.getLabel());
+            if (evict) evicted.add(rule);
+            return evict;
+        });
+        if (affectedStructures.isEmpty()) {
+            if (!evicted.isEmpty()) invalidateUnifiers(evicted, set());
+            return;
+        }
 
-            // recreate rule index conclusions
-            graphMgr.schema().rules().all().forEachRemaining(s -> fromStructure(s).conclusion().reindex());
+        List<Rule> affected = iterate(affectedStructures).map(this::fromStructure).toList();
+        if (typesModified) {
+            affected.parallelStream().forEach(rule -> rule.validate(this, conceptMgr));
+            affected.forEach(rule -> rule.conclusion().reindex());
         }
+        affectedStructures.forEach(structure -> structure.dependencies(dependencies(fromStructure(structure))));
+
+        Set<Label> affectedTypes = iterate(modifiedTypes).map(TypeVertex::properLabel).toSet();
+        affected.forEach(rule -> rule.then().variables().forEach(variable -> affectedTypes.addAll(variable.inferredTypes())));
+        evicted.addAll(affected);
+        invalidateUnifiers(evicted, affectedTypes);
+
         // using the new index, validate new rules are stratifiable (eg. do not cause cycles through a negation)
         validateCyclesThroughNegations();
     }
 
+    /**
+     * Type inference over a rule depends on the types it resolves to, and on the owns, plays and relates inherited
+     * from their supertypes. Root types are left out, as every new type in the schema modifies one of them.
+     */
+    private Set<TypeVertex> dependencies(Rule rule) {
+        Set<TypeVertex> dependencies = new HashSet<>();
+        iterate(rule.inferredTypes()).map(graphMgr.schema()::getType).filter(Objects::nonNull).forEachRemaining(type -> {
+            dependencies.add(type);
+            iterate(graphMgr.schema().getSupertypes(type))
+                    .filter(supertype -> !supertype.properLabel().equals(supertype.encoding().root().properLabel()))
+                    .forEachRemaining(dependencies::add);
+        });
+        return dependencies;
+    }
+
+    private void invalidateUnifiers(Set<Rule> evictedRules, Set<Label> affectedTypes) {
+        Set<Concludable> evictedConcludables = iterate(evictedRules)
+                .flatMap(rule -> iterate(rule.condition().branches()))
+                .flatMap(condition -> condition.conjunction().allConcludables()).toSet();
+        logicCache.unifiers().invalidateIf((concludable, applicableRules) ->
+                evictedConcludables.contains(concludable) ||
+                        iterate(applicableRules.keySet()).anyMatch(rule -> rule.isDeleted() || evictedRules.contains(rule)) ||
+                        iterate(concludable.variables()).anyMatch(variable -> iterate(variable.inferredTypes()).anyMatch(affectedTypes::contains))
+        );
+    }
+
     private Rule fromStructure(RuleStructure ruleStructure) {
         return logicCache.rule().get(ruleStructure.label(), l -> Rule.of(this, ruleStructure));
     }
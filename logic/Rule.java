@@ -152,6 +152,22 @@ public class Rule {
         structure.delete();
     }
 
+    /**
+     * @return the labels of every type that type inference resolved for a variable of this rule
+     */
+    public Set<Label> inferredTypes() {
+        Set<Label> types = new HashSet<>();
+        when.conjunctions().forEach(conjunction -> addInferredTypes(conjunction, types));
+        addInferredTypes(then, types);
+        return types;
+    }
+
+    private static void addInferredTypes(Conjunction conjunction, Set<Label> types) {
+        conjunction.variables().forEach(variable -> types.addAll(variable.inferredTypes()));
+        conjunction.negations().forEach(negation -> negation.disjunction().conjunctions()
+                .forEach(branch -> addInferredTypes(branch, types)));
+    }
+
     public com.vaticle.typeql.lang.pattern.variable.ThingVariable<?> getThenPreNormalised() {
         return structure.then();
     }
@@ -18,8 +18,10 @@
 package com.vaticle.typedb.core.migrator;
 
 import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.migrator.database.DatabaseExporter;
 import com.vaticle.typedb.core.migrator.database.DatabaseImporter;
+import com.vaticle.typedb.core.migrator.ingest.DataIngester;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
@@ -29,6 +31,10 @@ import org.slf4j.LoggerFactory;
 import java.nio.file.Paths;
 import java.util.concurrent.CompletableFuture;
 
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_ARGUMENT;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.INGEST_ALREADY_OPENED;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.INGEST_NOT_OPENED;
+
 public class MigratorService extends MigratorGrpc.MigratorImplBase {
     private static final Logger LOG = LoggerFactory.getLogger(MigratorService.class);
 
@@ -83,6 +89,83 @@ public class MigratorService extends MigratorGrpc.MigratorImplBase {
         }
     }
 
+    @Override
+    public StreamObserver<MigratorProto.Ingest.Req> ingest(StreamObserver<MigratorProto.Ingest.Progress> responseObserver) {
+        return new IngestObserver(responseObserver);
+    }
+
+    /**
+     * Receives the rows of an ingest, and responds to each message of rows with the progress so far. Once the client
+     * has sent every row, the final progress is sent when they have all been committed or have failed.
+     */
+    private class IngestObserver implements StreamObserver<MigratorProto.Ingest.Req> {
+
+        private final StreamObserver<MigratorProto.Ingest.Progress> responseObserver;
+        private DataIngester ingester;
+        private boolean isDone;
+
+        private IngestObserver(StreamObserver<MigratorProto.Ingest.Progress> responseObserver) {
+            this.responseObserver = responseObserver;
+            this.ingester = null;
+            this.isDone = false;
+        }
+
+        @Override
+        public void onNext(MigratorProto.Ingest.Req req) {
+            if (isDone) return;
+            try {
+                switch (req.getReqCase()) {
+                    case OPEN:
+                        if (ingester != null) throw TypeDBException.of(INGEST_ALREADY_OPENED);
+                        MigratorProto.Ingest.Open open = req.getOpen();
+                        ingester = new DataIngester(databaseMgr, open.getDatabase(), open.getQuery(),
+                                open.getBatchSize(), open.getParallelisation());
+                        break;
+                    case ROWS:
+                        if (ingester == null) throw TypeDBException.of(INGEST_NOT_OPENED);
+                        ingester.add(req.getRows().getRowsList());
+                        responseObserver.onNext(ingester.getProgress());
+                        break;
+                    default:
+                        throw TypeDBException.of(ILLEGAL_ARGUMENT);
+                }
+            } catch (Throwable e) {
+                LOG.error(e.getMessage(), e);
+                done();
+                responseObserver.onError(exception(e));
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done();
+        }
+
+        @Override
+        public void onCompleted() {
+            if (isDone) return;
+            try {
+                if (ingester == null) throw TypeDBException.of(INGEST_NOT_OPENED);
+                ingester.finish();
+                responseObserver.onNext(ingester.getProgress());
+                responseObserver.onCompleted();
+            } catch (Throwable e) {
+                LOG.error(e.getMessage(), e);
+                responseObserver.onError(exception(e));
+            } finally {
+                done();
+            }
+        }
+
+        private void done() {
+            isDone = true;
+            if (ingester != null) {
+                ingester.close();
+                ingester = null;
+            }
+        }
+    }
+
     public static StatusRuntimeException exception(Throwable e) {
         if (e instanceof StatusRuntimeException) {
             return (StatusRuntimeException) e;
@@ -123,7 +123,14 @@ public class DatabaseImporter {
             LOG.info("Importing into database {}", database);
             mayCreateDatabase();
             loadSchema();
-            loadData();
+            TypeDB.Database db = databaseMgr.get(database);
+            Arguments.Storage.Profile profile = db.storageProfile();
+            db.storageProfile(Arguments.Storage.Profile.BULK_LOAD);
+            try {
+                loadData();
+            } finally {
+                db.storageProfile(profile);
+            }
             LOG.info("Finished importing into database {}", database);
         } finally {
             importExecutor.shutdownNow();
@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.migrator.ingest;
+
+import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.concept.thing.Attribute;
+import com.vaticle.typedb.core.concept.type.AttributeType;
+import com.vaticle.typedb.core.migrator.MigratorProto;
+import com.vaticle.typedb.core.query.Inserter;
+import com.vaticle.typeql.lang.TypeQL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.DATABASE_NOT_FOUND;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.INGEST_VALUE_MISMATCH;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.TYPE_NOT_FOUND;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.INSERT_TEMPLATE_PARAMETER_MISSING;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.INSERT_TEMPLATE_PARAMETER_UNKNOWN;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_ISOLATION_DELETE_MODIFY_VIOLATION;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_ISOLATION_EXCLUSIVE_CREATE_VIOLATION;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_ISOLATION_MODIFY_DELETE_VIOLATION;
+
+/**
+ * Inserts one insert query for each of a stream of rows of attribute values. The query is parsed and resolved once,
+ * and the rows are inserted in batches by parallel write transactions, so that the commits of earlier batches overlap
+ * with the insertion of later ones. A batch whose commit conflicts with a concurrent transaction is inserted again,
+ * and a row that cannot be inserted is reported as an error without failing the rest of its batch. Rows that do not
+ * bind exactly the parameters of the query, with values of their types, are reported as they arrive, and never reach
+ * a transaction.
+ */
+public class DataIngester {
+    private static final Logger LOG = LoggerFactory.getLogger(DataIngester.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 100_000;
+    private static final int MAX_COMMIT_ATTEMPTS = 10;
+    private final TypeDB.Session session;
+    private final Inserter.Template template;
+    private final Map<String, Label> parameters;
+    private final Map<String, MigratorProto.Ingest.Value.ValueCase> valueCases;
+    private final int batchSize;
+    private final int maxBatchesInFlight;
+    private final ExecutorService ingestExecutor;
+    private final Semaphore batchesInFlight;
+    private final AtomicLong rowsReceived;
+    private final AtomicLong rowsInserted;
+    private final AtomicLong rowsFailed;
+    private final AtomicLong retries;
+    private final ConcurrentLinkedQueue<MigratorProto.Ingest.Error> errors;
+    private List<Row> pending;
+
+    public DataIngester(TypeDB.DatabaseManager databaseMgr, String database, String query,
+                        int batchSize, int parallelisation) {
+        if (!databaseMgr.contains(database)) throw TypeDBException.of(DATABASE_NOT_FOUND, database);
+        this.template = Inserter.Template.create(TypeQL.parseQuery(query).asInsert());
+        this.parameters = template.parameters();
+        // the sizes are unsigned in the protocol, so they are bounded before they size any buffer or thread pool
+        this.batchSize = batchSize > 0 ? Math.min(batchSize, MAX_BATCH_SIZE) : DEFAULT_BATCH_SIZE;
+        assert com.vaticle.typedb.core.concurrent.executor.Executors.isInitialised();
+        int maxParallelisation = com.vaticle.typedb.core.concurrent.executor.Executors.PARALLELISATION_FACTOR;
+        parallelisation = parallelisation > 0 ? Math.min(parallelisation, maxParallelisation) : maxParallelisation;
+        // every transaction has the next batch waiting, so that it never waits for rows to arrive
+        this.maxBatchesInFlight = parallelisation * 2;
+        this.session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+        this.valueCases = new HashMap<>();
+        try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+            attributeTypes(txn).forEach((name, type) -> valueCases.put(name, valueCase(type)));
+        } catch (TypeDBException e) {
+            session.close();
+            throw e;
+        }
+        this.ingestExecutor = Executors.newFixedThreadPool(parallelisation);
+        this.batchesInFlight = new Semaphore(maxBatchesInFlight);
+        this.rowsReceived = new AtomicLong(0);
+        this.rowsInserted = new AtomicLong(0);
+        this.rowsFailed = new AtomicLong(0);
+        this.retries = new AtomicLong(0);
+        this.errors = new ConcurrentLinkedQueue<>();
+        this.pending = new ArrayList<>(this.batchSize);
+    }
+
+    /**
+     * Queues rows to be inserted, and blocks while every transaction is busy with earlier batches. Rows that cannot
+     * bind the query are reported as failed straight away.
+     */
+    public void add(List<MigratorProto.Ingest.Row> rows) {
+        for (MigratorProto.Ingest.Row row : rows) {
+            long index = rowsReceived.getAndIncrement();
+            TypeDBException invalid = validate(row);
+            if (invalid != null) {
+                failed(index, invalid);
+                continue;
+            }
+            pending.add(new Row(index, row));
+            if (pending.size() == batchSize) submitPending();
+        }
+    }
+
+    /**
+     * Inserts the rows that are still queued, and waits until every row has been committed or has failed.
+     */
+    public void finish() {
+        if (!pending.isEmpty()) submitPending();
+        batchesInFlight.acquireUninterruptibly(maxBatchesInFlight);
+        batchesInFlight.release(maxBatchesInFlight);
+    }
+
+    public void close() {
+        ingestExecutor.shutdownNow();
+        session.close();
+    }
+
+    /**
+     * @return the progress so far, with the errors that have not been reported by an earlier progress
+     */
+    public MigratorProto.Ingest.Progress getProgress() {
+        MigratorProto.Ingest.Progress.Builder progress = MigratorProto.Ingest.Progress.newBuilder()
+                .setRowsReceived(rowsReceived.get())
+                .setRowsInserted(rowsInserted.get())
+                .setRowsFailed(rowsFailed.get())
+                .setRetries(retries.get());
+        MigratorProto.Ingest.Error error;
+        while ((error = errors.poll()) != null) progress.addErrors(error);
+        return progress.build();
+    }
+
+    @Nullable
+    private TypeDBException validate(MigratorProto.Ingest.Row row) {
+        for (Map.Entry<String, MigratorProto.Ingest.Value> value : row.getValuesMap().entrySet()) {
+            MigratorProto.Ingest.Value.ValueCase valueCase = valueCases.get(value.getKey());
+            if (valueCase == null) return TypeDBException.of(INSERT_TEMPLATE_PARAMETER_UNKNOWN, value.getKey());
+            else if (!isValueOf(valueCase, value.getValue())) {
+                return TypeDBException.of(INGEST_VALUE_MISMATCH, value.getKey(), parameters.get(value.getKey()));
+            }
+        }
+        for (String name : parameters.keySet()) {
+            if (!row.containsValues(name)) return TypeDBException.of(INSERT_TEMPLATE_PARAMETER_MISSING, name);
+        }
+        return null;
+    }
+
+    private void submitPending() {
+        List<Row> batch = pending;
+        pending = new ArrayList<>(batchSize);
+        batchesInFlight.acquireUninterruptibly();
+        ingestExecutor.execute(() -> {
+            try {
+                insert(batch);
+            } catch (Throwable e) {
+                LOG.error(e.getMessage(), e);
+                batch.forEach(row -> failed(row.index, e));
+            } finally {
+                batchesInFlight.release();
+            }
+        });
+    }
+
+    private void insert(List<Row> batch) {
+        List<Row> rows = new ArrayList<>(batch);
+        int attempts = 0;
+        while (!rows.isEmpty()) {
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                Row failed = insertUntilFailure(txn, rows);
+                if (failed != null) {
+                    // the transaction holds part of the failed row, so the rest of the batch is inserted again
+                    rows.remove(failed);
+                    continue;
+                }
+                try {
+                    txn.commit();
+                } catch (TypeDBException e) {
+                    if (isIsolationConflict(e) && ++attempts < MAX_COMMIT_ATTEMPTS) {
+                        retries.incrementAndGet();
+                        continue;
+                    }
+                    rows.forEach(row -> failed(row.index, e));
+                    return;
+                }
+                rowsInserted.addAndGet(rows.size());
+                return;
+            }
+        }
+    }
+
+    @Nullable
+    private Row insertUntilFailure(TypeDB.Transaction txn, List<Row> rows) {
+        Map<String, AttributeType> types = attributeTypes(txn);
+        prefetchAttributes(txn, types, rows);
+        for (Row row : rows) {
+            try {
+                txn.query().insert(template, row.attributes(types));
+            } catch (TypeDBException e) {
+                failed(row.index, e);
+                return row;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, AttributeType> attributeTypes(TypeDB.Transaction txn) {
+        Map<String, AttributeType> types = new HashMap<>();
+        parameters.forEach((name, label) -> {
+            AttributeType type = txn.concepts().getAttributeType(label.name());
+            if (type == null) throw TypeDBException.of(TYPE_NOT_FOUND, label);
+            types.put(name, type);
+        });
+        return types;
+    }
+
+    /**
+     * Looks up whether the attributes of a batch exist with one read per attribute type, rather than one per row.
+     */
+    private void prefetchAttributes(TypeDB.Transaction txn, Map<String, AttributeType> types, List<Row> rows) {
+        types.forEach((name, type) -> {
+            Set<Object> values = new HashSet<>();
+            for (Row row : rows) {
+                MigratorProto.Ingest.Value value = row.values.getValuesMap().get(name);
+                if (value != null && isValueOf(type, value)) values.add(value(value));
+            }
+            if (values.size() > 1) txn.concepts().prefetchAttributes(type, values);
+        });
+    }
+
+    private static boolean isIsolationConflict(TypeDBException e) {
+        return e.code().isPresent() && (e.code().get().equals(TRANSACTION_ISOLATION_MODIFY_DELETE_VIOLATION.code()) ||
+                e.code().get().equals(TRANSACTION_ISOLATION_DELETE_MODIFY_VIOLATION.code()) ||
+                e.code().get().equals(TRANSACTION_ISOLATION_EXCLUSIVE_CREATE_VIOLATION.code()));
+    }
+
+    private void failed(long row, Throwable e) {
+        rowsFailed.incrementAndGet();
+        errors.add(MigratorProto.Ingest.Error.newBuilder().setRow(row).setMessage(String.valueOf(e.getMessage())).build());
+    }
+
+    private static boolean isValueOf(AttributeType type, MigratorProto.Ingest.Value value) {
+        return isValueOf(valueCase(type), value);
+    }
+
+    private static boolean isValueOf(MigratorProto.Ingest.Value.ValueCase valueCase, MigratorProto.Ingest.Value value) {
+        return valueCase != MigratorProto.Ingest.Value.ValueCase.VALUE_NOT_SET && value.getValueCase() == valueCase;
+    }
+
+    private static MigratorProto.Ingest.Value.ValueCase valueCase(AttributeType type) {
+        if (type.isString()) return MigratorProto.Ingest.Value.ValueCase.STRING;
+        else if (type.isBoolean()) return MigratorProto.Ingest.Value.ValueCase.BOOLEAN;
+        else if (type.isLong()) return MigratorProto.Ingest.Value.ValueCase.LONG;
+        else if (type.isDouble()) return MigratorProto.Ingest.Value.ValueCase.DOUBLE;
+        else if (type.isDateTime()) return MigratorProto.Ingest.Value.ValueCase.DATETIME;
+        else return MigratorProto.Ingest.Value.ValueCase.VALUE_NOT_SET;
+    }
+
+    private static Object value(MigratorProto.Ingest.Value value) {
+        switch (value.getValueCase()) {
+            case STRING:
+                return value.getString();
+            case BOOLEAN:
+                return value.getBoolean();
+            case LONG:
+                return value.getLong();
+            case DOUBLE:
+                return value.getDouble();
+            case DATETIME:
+                return Instant.ofEpochMilli(value.getDatetime()).atZone(ZoneOffset.UTC).toLocalDateTime();
+            default:
+                return null;
+        }
+    }
+
+    private static class Row {
+
+        private final long index;
+        private final MigratorProto.Ingest.Row values;
+
+        private Row(long index, MigratorProto.Ingest.Row values) {
+            this.index = index;
+            this.values = values;
+        }
+
+        private Map<String, Attribute> attributes(Map<String, AttributeType> types) {
+            Map<String, Attribute> attributes = new HashMap<>();
+            values.getValuesMap().forEach((name, value) -> {
+                AttributeType type = types.get(name);
+                if (type == null) throw TypeDBException.of(INSERT_TEMPLATE_PARAMETER_UNKNOWN, name);
+                attributes.put(name, put(type, name, value));
+            });
+            return attributes;
+        }
+
+        private static Attribute put(AttributeType type, String name, MigratorProto.Ingest.Value value) {
+            if (!isValueOf(type, value)) throw TypeDBException.of(INGEST_VALUE_MISMATCH, name, type.getLabel());
+            switch (value.getValueCase()) {
+                case STRING:
+                    return type.asString().put(value.getString());
+                case BOOLEAN:
+                    return type.asBoolean().put(value.getBoolean());
+                case LONG:
+                    return type.asLong().put(value.getLong());
+                case DOUBLE:
+                    return type.asDouble().put(value.getDouble());
+                case DATETIME:
+                    return type.asDateTime().put((LocalDateTime) value(value));
+                default:
+                    throw TypeDBException.of(INGEST_VALUE_MISMATCH, name, type.getLabel());
+            }
+        }
+    }
+}
@@ -30,7 +30,9 @@ import com.vaticle.typedb.core.concept.thing.Thing;
 import com.vaticle.typedb.core.concept.type.RoleType;
 import com.vaticle.typedb.core.concept.type.ThingType;
 import com.vaticle.typedb.core.concept.type.Type;
+import com.vaticle.typedb.core.pattern.Conjunction;
 import com.vaticle.typedb.core.pattern.constraint.thing.HasConstraint;
+import com.vaticle.typedb.core.pattern.constraint.thing.IsaConstraint;
 import com.vaticle.typedb.core.pattern.variable.ThingVariable;
 import com.vaticle.typedb.core.pattern.variable.ValueVariable;
 import com.vaticle.typedb.core.pattern.variable.Variable;
@@ -43,6 +45,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.annotation.Nullable;
 
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.DELETE_RELATION_CONSTRAINT_TOO_MANY;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.HAS_TYPE_MISMATCH;
@@ -56,20 +59,30 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.P
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.RELATING_TYPE_MISMATCH;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.ROLE_TYPE_MISMATCH;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.THING_IID_NOT_INSERTABLE;
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Query.Producer.EXHAUSTIVE;
+import static com.vaticle.typedb.core.concurrent.executor.Executors.PARALLELISATION_FACTOR;
+import static com.vaticle.typedb.core.concurrent.executor.Executors.async1;
+import static com.vaticle.typedb.core.concurrent.producer.Producers.async;
+import static com.vaticle.typedb.core.concurrent.producer.Producers.produce;
+import static com.vaticle.typedb.core.query.QueryManager.PARALLELISATION_SPLIT_MIN;
 import static com.vaticle.typedb.core.query.common.Util.tryInferRoleType;
 
 public class Deleter {
 
     private final Matcher matcher;
+    private final ConceptManager conceptMgr;
     private final Set<ThingVariable> variables;
     private final Context.Query context;
+    private final IsaConstraint deletesAllInstances;
 
-    private Deleter(Matcher matcher, Set<ThingVariable> variables, Context.Query context) {
+    private Deleter(Matcher matcher, ConceptManager conceptMgr, Set<ThingVariable> variables, Context.Query context) {
         this.matcher = matcher;
+        this.conceptMgr = conceptMgr;
         this.variables = variables;
         this.context = context;
         this.context.producer(Either.first(EXHAUSTIVE));
+        this.deletesAllInstances = deletesAllInstances(matcher, variables);
     }
 
     public static Deleter create(Reasoner reasoner, ConceptManager conceptMgr, TypeQLDelete query, Context.Query context) {
@@ -78,7 +91,7 @@ public class Deleter {
 
         assert query.match().namedVariablesUnbound().containsAll(query.namedVariablesUnbound());
         Matcher matcher = Matcher.create(reasoner, conceptMgr, query.match().get(query.namedVariablesUnbound()));
-        return new Deleter(matcher, registry.things(), context);
+        return new Deleter(matcher, conceptMgr, registry.things(), context);
     }
 
     public static void validate(Variable var) {
@@ -103,9 +116,69 @@ public class Deleter {
         }
     }
 
+    /**
+     * Recognise a query of the form `match $x isa T; delete $x isa T;`, which deletes every instance of T and its
+     * subtypes (or of T alone, if the match uses `isa!`), and return the isa constraint of its match clause.
+     */
+    @Nullable
+    private static IsaConstraint deletesAllInstances(Matcher matcher, Set<ThingVariable> variables) {
+        if (variables.size() != 1 || matcher.disjunction().conjunctions().size() != 1) return null;
+        ThingVariable deleted = variables.iterator().next();
+        Conjunction conjunction = matcher.disjunction().conjunctions().get(0);
+        if (!conjunction.negations().isEmpty() || conjunction.variables().size() != 2) return null;
+        Variable matched = conjunction.variable(deleted.id());
+        if (matched == null || !matched.isThing() || !isLabelledIsaOnly(matched.asThing()) || !isLabelledIsaOnly(deleted)) {
+            return null;
+        }
+        IsaConstraint matchIsa = matched.asThing().isa().get();
+        IsaConstraint deleteIsa = deleted.isa().get();
+        if (!matchIsa.type().label().get().properLabel().equals(deleteIsa.type().label().get().properLabel())) return null;
+        else if (deleteIsa.isExplicit() && !matchIsa.isExplicit()) return null;
+        else return matchIsa;
+    }
+
+    private static boolean isLabelledIsaOnly(ThingVariable var) {
+        return var.constraints().size() == 1 && var.isa().isPresent() && var.isa().get().type().label().isPresent() &&
+                var.isa().get().type().constraints().size() == 1;
+    }
+
     public void execute() {
+        if (deletesAllInstances != null && !context.options().infer() && executeDeleteAll()) return;
+        if (context.options().parallel()) executeParallel();
+        else executeSerial();
+    }
+
+    /**
+     * Delete every instance of the matched entity types by scanning each type's instances in storage, rather than
+     * retrieving and deleting one answer at a time. Deletes of relations and attributes are left to the matcher,
+     * since they cascade across role players and ownerships.
+     */
+    private boolean executeDeleteAll() {
+        Label label = deletesAllInstances.type().label().get().properLabel();
+        ThingType type = conceptMgr.getThingType(label.name());
+        if (type == null || !type.isEntityType()) return false;
+        if (deletesAllInstances.isExplicit()) conceptMgr.deleteInstances(type.asEntityType());
+        else type.asEntityType().getSubtypes().forEachRemaining(conceptMgr::deleteInstances);
+        return true;
+    }
+
+    private void executeParallel() {
+        List<? extends List<? extends ConceptMap>> lists = matcher.execute(context).toLists(PARALLELISATION_SPLIT_MIN, PARALLELISATION_FACTOR);
+        assert !lists.isEmpty();
+        if (lists.size() == 1) lists.get(0).forEach(this::executeDelete);
+        else produce(async(
+                iterate(lists).map(list -> iterate(list).map(this::executeDelete)), PARALLELISATION_FACTOR
+        ), Either.first(EXHAUSTIVE), async1()).toList();
+    }
+
+    private void executeSerial() {
         List<? extends ConceptMap> matches = matcher.execute(context).toList();
-        matches.forEach(matched -> new Operation(matched, variables).executeInPlace());
+        matches.forEach(this::executeDelete);
+    }
+
+    private ConceptMap executeDelete(ConceptMap matched) {
+        new Operation(matched, variables).executeInPlace();
+        return matched;
     }
 
     static class Operation {
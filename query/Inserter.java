@@ -22,6 +22,8 @@ import com.vaticle.typedb.common.collection.Either;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Context;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.concept.Concept;
 import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.concept.thing.Attribute;
@@ -51,6 +53,7 @@ import com.vaticle.typeql.lang.query.TypeQLMatch;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -63,6 +66,9 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.I
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.ILLEGAL_UNBOUND_TYPE_VAR_IN_INSERT;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.ILLEGAL_VALUE_CONSTRAINT_IN_INSERT;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.INSERT_RELATION_CONSTRAINT_TOO_MANY;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.INSERT_TEMPLATE_PARAMETER_MISSING;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.INSERT_TEMPLATE_PARAMETER_UNKNOWN;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.INSERT_TEMPLATE_WITH_MATCH;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.RELATION_CONSTRAINT_MISSING;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.ROLE_TYPE_MISMATCH;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.THING_IID_NOT_INSERTABLE;
@@ -147,28 +153,135 @@ public class Inserter {
     }
 
     public FunctionalIterator<ConceptMap> execute() {
-        if (matcher != null) return context.options().parallel() ? executeParallel() : executeSerial();
-        else return single(new Operation(conceptMgr, new ConceptMap(), variables).execute());
+        if (matcher == null) return single(new Operation(conceptMgr, new ConceptMap(), variables).execute());
+        try {
+            return context.options().parallel() ? executeParallel() : executeSerial();
+        } finally {
+            // the inserts are all executed eagerly, so prefetched attributes are of no use to later operations
+            conceptMgr.clearPrefetchedAttributes();
+        }
     }
 
     private FunctionalIterator<ConceptMap> executeParallel() {
         List<? extends List<? extends ConceptMap>> lists = matcher.execute(context).toLists(PARALLELISATION_SPLIT_MIN, PARALLELISATION_FACTOR);
         assert !lists.isEmpty();
         List<ConceptMap> inserts;
-        if (lists.size() == 1) inserts = iterate(lists.get(0)).map(
-                matched -> new Operation(conceptMgr, matched, variables).execute()
-        ).toList();
-        else inserts = produce(async(iterate(lists).map(list -> iterate(list).map(
-                matched -> new Operation(conceptMgr, matched, variables).execute()
-        )), PARALLELISATION_FACTOR), Either.first(EXHAUSTIVE), async1()).toList();
+        if (lists.size() == 1) {
+            prefetchAttributes(lists.get(0));
+            inserts = iterate(lists.get(0)).map(
+                    matched -> new Operation(conceptMgr, matched, variables).execute()
+            ).toList();
+        } else inserts = produce(async(iterate(lists).map(list -> {
+            prefetchAttributes(list);
+            return iterate(list).map(matched -> new Operation(conceptMgr, matched, variables).execute());
+        }), PARALLELISATION_FACTOR), Either.first(EXHAUSTIVE), async1()).toList();
         return iterate(inserts);
     }
 
     private FunctionalIterator<ConceptMap> executeSerial() {
         List<? extends ConceptMap> matches = matcher.execute(context).toList();
+        prefetchAttributes(matches);
         return iterate(iterate(matches).map(matched -> new Operation(conceptMgr, matched, variables).execute()).toList());
     }
 
+    /**
+     * Attributes whose values come from matched value variables differ on every row, so we look up all of them
+     * in storage with one batched read per list of rows, rather than with one read per inserted attribute.
+     */
+    private void prefetchAttributes(List<? extends ConceptMap> matches) {
+        for (ThingVariable var : variables) {
+            if (!var.isa().isPresent() || var.predicates().size() != 1) continue;
+            TypeVariable typeVar = var.isa().get().type();
+            if (typeVar.id().isName() || !typeVar.label().isPresent()) continue;
+            Predicate<?> predicate = var.predicates().iterator().next().predicate();
+            if (!predicate.predicate().equals(EQ) || !predicate.isValueVar()) continue;
+            ThingType type = conceptMgr.getThingType(typeVar.label().get().label());
+            if (type == null || !type.isAttributeType()) continue;
+
+            AttributeType attributeType = type.asAttributeType();
+            Set<Object> values = new HashSet<>();
+            for (ConceptMap matched : matches) {
+                Concept concept = matched.get(predicate.asValueVar().value().id());
+                if (concept != null) values.add(attributeValue(attributeType, concept.asValue()));
+            }
+            if (values.size() > 1) conceptMgr.prefetchAttributes(attributeType, values);
+        }
+    }
+
+    private static Object attributeValue(AttributeType attributeType, Value<?> value) {
+        switch (attributeType.getValueType()) {
+            case LONG:
+                return value.asLong().value();
+            case DOUBLE:
+                return value.asDouble().value();
+            case BOOLEAN:
+                return value.asBoolean().value();
+            case STRING:
+                return value.asString().value();
+            case DATETIME:
+                return value.asDateTime().value();
+            default:
+                throw TypeDBException.of(ILLEGAL_STATE);
+        }
+    }
+
+    /**
+     * An insert query without a match clause, resolved once so that it can be inserted many times, in any number of
+     * transactions. Each attribute that the query owns through a named variable without a value, such as
+     * {@code $name} in {@code insert $p isa person, has name $name;}, is a parameter of the template, and is bound to
+     * an attribute of its type for every insertion.
+     */
+    public static class Template {
+
+        private final Set<ThingVariable> variables;
+        private final Map<String, ThingVariable> parameters;
+
+        private Template(Set<ThingVariable> variables, Map<String, ThingVariable> parameters) {
+            this.variables = variables;
+            this.parameters = parameters;
+        }
+
+        public static Template create(TypeQLInsert query) {
+            if (query.match().isPresent()) throw TypeDBException.of(INSERT_TEMPLATE_WITH_MATCH);
+            VariableRegistry registry = VariableRegistry.createFromThings(query.variables());
+            for (Variable variable : registry.variables()) validate(variable, null);
+            Map<String, ThingVariable> parameters = new HashMap<>();
+            for (ThingVariable var : registry.things()) {
+                for (HasConstraint has : var.has()) {
+                    ThingVariable attribute = has.attribute();
+                    if (attribute.reference().isName() && attribute.predicates().isEmpty() &&
+                            attribute.isa().isPresent() && attribute.isa().get().type().label().isPresent()) {
+                        parameters.put(attribute.reference().asName().name(), attribute);
+                    }
+                }
+            }
+            return new Template(registry.things(), parameters);
+        }
+
+        /**
+         * @return the attribute type of each parameter, by the name of its variable
+         */
+        public Map<String, Label> parameters() {
+            Map<String, Label> types = new HashMap<>();
+            parameters.forEach((name, var) -> types.put(name, var.isa().get().type().label().get().properLabel()));
+            return types;
+        }
+
+        ConceptMap insert(ConceptManager conceptMgr, Map<String, ? extends Attribute> row) {
+            Map<Retrievable, Attribute> bound = new HashMap<>();
+            row.forEach((name, attribute) -> {
+                ThingVariable parameter = parameters.get(name);
+                if (parameter == null) throw TypeDBException.of(INSERT_TEMPLATE_PARAMETER_UNKNOWN, name);
+                bound.put(parameter.id(), attribute);
+            });
+            if (bound.size() < parameters.size()) {
+                String missing = iterate(parameters.keySet()).filter(name -> !row.containsKey(name)).first().get();
+                throw TypeDBException.of(INSERT_TEMPLATE_PARAMETER_MISSING, missing);
+            }
+            return new Operation(conceptMgr, new ConceptMap(bound), variables).execute();
+        }
+    }
+
     public static class Operation {
 
         private static final String TRACE_PREFIX = "operation.";
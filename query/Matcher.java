@@ -22,15 +22,23 @@ import com.vaticle.typedb.common.collection.Either;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Context;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.concept.Concept;
 import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.concept.answer.ConceptMapGroup;
 import com.vaticle.typedb.core.concept.answer.Numeric;
 import com.vaticle.typedb.core.concept.answer.NumericGroup;
 import com.vaticle.typedb.core.concept.thing.Attribute;
+import com.vaticle.typedb.core.concept.thing.Thing;
+import com.vaticle.typedb.core.concept.type.AttributeType;
+import com.vaticle.typedb.core.concept.type.Type;
 import com.vaticle.typedb.core.concept.value.Value;
 import com.vaticle.typedb.core.pattern.Disjunction;
 import com.vaticle.typedb.core.reasoner.Reasoner;
+import com.vaticle.typedb.core.traversal.common.Identifier;
+import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
+import com.vaticle.typedb.core.traversal.common.Modifiers.Filter;
 import com.vaticle.typeql.lang.common.TypeQLToken;
 import com.vaticle.typeql.lang.pattern.variable.UnboundVariable;
 import com.vaticle.typeql.lang.query.TypeQLMatch;
@@ -39,7 +47,10 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -54,6 +65,10 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILL
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNRECOGNISED_VALUE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingRead.AGGREGATE_ATTRIBUTE_NOT_NUMBER;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingRead.PROJECTED_VARIABLE_NOT_FOUND;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingRead.PROJECTED_VARIABLE_NOT_THING;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.TypeRead.TYPE_NOT_ATTRIBUTE_TYPE;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.TypeRead.TYPE_NOT_FOUND;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Query.Producer.EXHAUSTIVE;
 import static com.vaticle.typedb.core.query.Matcher.Aggregator.aggregator;
@@ -63,6 +78,7 @@ import static java.util.stream.Collectors.groupingBy;
 public class Matcher {
 
     private final Reasoner reasoner;
+    private final ConceptManager conceptMgr;
     private final TypeQLMatch query;
     private final Disjunction disjunction;
     private final Context.Query context;
@@ -73,6 +89,7 @@ public class Matcher {
 
     public Matcher(Reasoner reasoner, ConceptManager conceptMgr, TypeQLMatch query, @Nullable Context.Query context) {
         this.reasoner = reasoner;
+        this.conceptMgr = conceptMgr;
         this.query = query;
         this.disjunction = Disjunction.create(query.conjunction().normalise());
         this.context = context;
@@ -114,13 +131,60 @@ public class Matcher {
 
     public FunctionalIterator<? extends ConceptMap> execute() {
         assert context != null;
-        return execute(context);
+        Map<String, Set<Label>> projections = context.options().projections();
+        if (projections.isEmpty()) return execute(context);
+        else return execute(context).map(new Projector(conceptMgr, projections, answerVariables())::project);
+    }
+
+    private Set<Retrievable> answerVariables() {
+        if (!query.modifiers().filter().isEmpty()) return Filter.create(query.modifiers().filter()).variables();
+        else return iterate(disjunction.conjunctions()).flatMap(conjunction -> iterate(conjunction.retrieves())).toSet();
     }
 
     FunctionalIterator<? extends ConceptMap> execute(Context.Query context) {
         return reasoner.execute(disjunction, query.modifiers(), context);
     }
 
+    /**
+     * Attaches to each answer the attributes of the selected types that the projected variables own. Each owner's
+     * attributes are read lazily as its answer is streamed, by seeking to each selected type in its sorted has-edges.
+     */
+    static class Projector {
+
+        private final Map<Retrievable, Set<AttributeType>> attributeTypes;
+
+        Projector(ConceptManager conceptMgr, Map<String, Set<Label>> projections, Set<Retrievable> answerVariables) {
+            this.attributeTypes = new HashMap<>();
+            projections.forEach((variable, labels) -> {
+                Retrievable id = Identifier.Variable.namedConcept(variable);
+                if (!answerVariables.contains(id)) throw TypeDBException.of(PROJECTED_VARIABLE_NOT_FOUND, variable);
+                Set<AttributeType> types = new HashSet<>();
+                for (Label label : labels) {
+                    Type type = conceptMgr.getType(label);
+                    if (type == null) throw TypeDBException.of(TYPE_NOT_FOUND, label);
+                    else if (!type.isAttributeType()) throw TypeDBException.of(TYPE_NOT_ATTRIBUTE_TYPE, label);
+                    types.add(type.asAttributeType());
+                }
+                attributeTypes.put(id, types);
+            });
+        }
+
+        ConceptMap project(ConceptMap answer) {
+            Map<Retrievable, List<? extends Attribute>> projections = new HashMap<>();
+            attributeTypes.forEach((variable, types) -> {
+                Concept concept = answer.get(variable);
+                if (concept == null) return;
+                else if (!concept.isThing()) throw TypeDBException.of(PROJECTED_VARIABLE_NOT_THING, variable);
+                projections.put(variable, attributes(concept.asThing(), types));
+            });
+            return answer.withProjections(projections);
+        }
+
+        private static List<? extends Attribute> attributes(Thing owner, Set<AttributeType> types) {
+            return owner.getHas(types.toArray(new AttributeType[0])).toList();
+        }
+    }
+
     public static class Aggregator {
 
         private final Matcher matcher;
@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.query;
+
+import com.vaticle.typedb.common.collection.Either;
+import com.vaticle.typedb.core.common.cache.CommonCache;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.parameters.Context;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.concept.Concept;
+import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.pattern.Conjunction;
+import com.vaticle.typedb.core.pattern.Disjunction;
+import com.vaticle.typedb.core.pattern.Negation;
+import com.vaticle.typedb.core.pattern.variable.Variable;
+import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
+import com.vaticle.typeql.lang.query.TypeQLMatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+
+/**
+ * Caches the answers of match queries run by read transactions, so that a repeated query is answered without being
+ * traversed again. An entry is keyed by the query, and records the snapshot it was read at and the types it read. It
+ * may only be reused by a transaction whose snapshot is at least as new, and only while no commit has written any of
+ * those types since the entry was read.
+ *
+ * Entries are only valid for the schema they were read with, so each cache is discarded along with the database's
+ * schema cache. The record of which types commits have written is shared by the caches of successive schemas.
+ */
+public class QueryCache {
+
+    static final int MAX_CACHED_ANSWERS = 10_000;
+
+    private final CommonCache<String, Entry> entries;
+    private final Writes writes;
+    private final boolean isEnabled;
+
+    public QueryCache(int size, Writes writes) {
+        this.isEnabled = size > 0;
+        this.entries = isEnabled ? new CommonCache<>(size) : null;
+        this.writes = writes;
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Must be called before a commit that writes the given types is written to storage, so that no transaction can
+     * reuse an entry that the commit makes stale, from the moment that its snapshot may include the commit.
+     */
+    public void committing(Set<Label> types) {
+        writes.committing(types);
+    }
+
+    public void committed(Set<Label> types, long snapshotEnd) {
+        writes.committed(types, snapshotEnd);
+    }
+
+    public void aborted(Set<Label> types) {
+        writes.aborted(types);
+    }
+
+    public View view(long snapshot) {
+        assert isEnabled;
+        return new View(snapshot);
+    }
+
+    /**
+     * The cache as seen by a read transaction with the given snapshot.
+     */
+    public class View {
+
+        private final long snapshot;
+
+        private View(long snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * Answers that are inferred, explained, profiled or projected are never cached, as the cache only holds the
+         * stored concepts of each answer.
+         */
+        boolean mayCache(Context.Query context) {
+            Options.Query options = context.options();
+            return !options.infer() && !options.explain() && !options.profile() && options.projections().isEmpty();
+        }
+
+        FunctionalIterator<? extends ConceptMap> match(TypeQLMatch query, Supplier<Matcher> matcher,
+                                                       ConceptManager conceptMgr) {
+            String key = query.toString();
+            Entry entry = entries.getIfPresent(key);
+            if (entry != null && entry.snapshot <= snapshot && !writes.isWrittenAfter(entry.types, entry.snapshot)) {
+                return iterate(entry.answers).map(answer -> answer.attach(conceptMgr));
+            }
+
+            Matcher executor = matcher.get();
+            FunctionalIterator<? extends ConceptMap> answers = executor.execute();
+            Set<Label> types = readTypes(executor.disjunction());
+            if (writes.isWrittenAfter(types, snapshot)) return answers;
+            Recorder recorder = new Recorder(key, types, snapshot);
+            return answers.map(recorder::record).onConsumed(recorder::cache);
+        }
+    }
+
+    private static Set<Label> readTypes(Disjunction disjunction) {
+        Set<Label> types = new HashSet<>();
+        readTypes(disjunction, types);
+        return types;
+    }
+
+    private static void readTypes(Disjunction disjunction, Set<Label> types) {
+        for (Conjunction conjunction : disjunction.conjunctions()) {
+            for (Variable variable : conjunction.variables()) {
+                if (variable.isThing()) types.addAll(variable.inferredTypes());
+            }
+            for (Negation negation : conjunction.negations()) readTypes(negation.disjunction(), types);
+        }
+    }
+
+    /**
+     * Records the answers of a query as they are streamed, and caches them once they have all been streamed, unless
+     * there were too many or some could not be detached from the transaction that read them.
+     */
+    private class Recorder {
+
+        private final String key;
+        private final Set<Label> types;
+        private final long snapshot;
+        private List<Answer> answers;
+
+        private Recorder(String key, Set<Label> types, long snapshot) {
+            this.key = key;
+            this.types = types;
+            this.snapshot = snapshot;
+            this.answers = new ArrayList<>();
+        }
+
+        private ConceptMap record(ConceptMap conceptMap) {
+            if (answers == null) return conceptMap;
+            else if (answers.size() == MAX_CACHED_ANSWERS) answers = null;
+            else {
+                Answer answer = Answer.detach(conceptMap);
+                if (answer != null) answers.add(answer);
+                else answers = null;
+            }
+            return conceptMap;
+        }
+
+        private void cache() {
+            if (answers == null || writes.isWrittenAfter(types, snapshot)) return;
+            Entry existing = entries.getIfPresent(key);
+            if (existing == null || existing.snapshot <= snapshot) entries.put(key, new Entry(answers, types, snapshot));
+        }
+    }
+
+    private static class Entry {
+
+        private final List<Answer> answers;
+        private final Set<Label> types;
+        private final long snapshot;
+
+        private Entry(List<Answer> answers, Set<Label> types, long snapshot) {
+            this.answers = answers;
+            this.types = types;
+            this.snapshot = snapshot;
+        }
+    }
+
+    /**
+     * An answer detached from the transaction that read it: things are held by IID and types by label, so that the
+     * answer can be attached to any later transaction without reading the concepts from storage again.
+     */
+    private static class Answer {
+
+        private final Map<Retrievable, Either<ByteArray, Label>> concepts;
+
+        private Answer(Map<Retrievable, Either<ByteArray, Label>> concepts) {
+            this.concepts = concepts;
+        }
+
+        private static Answer detach(ConceptMap conceptMap) {
+            Map<Retrievable, Either<ByteArray, Label>> concepts = new HashMap<>();
+            for (Map.Entry<Retrievable, ? extends Concept> entry : conceptMap.concepts().entrySet()) {
+                Concept concept = entry.getValue();
+                if (concept.isThing()) concepts.put(entry.getKey(), Either.first(concept.asThing().getIID()));
+                else if (concept.isType()) concepts.put(entry.getKey(), Either.second(concept.asType().getLabel()));
+                else return null;
+            }
+            return new Answer(concepts);
+        }
+
+        private ConceptMap attach(ConceptManager conceptMgr) {
+            Map<Retrievable, Concept> attached = new HashMap<>();
+            concepts.forEach((id, concept) -> attached.put(id, concept.isFirst() ?
+                    conceptMgr.convertThing(concept.first()) : conceptMgr.getType(concept.second())));
+            return new ConceptMap(attached);
+        }
+    }
+
+    /**
+     * Records which types commits have written, and the snapshot each commit ended at. Types that a commit is still
+     * writing count as written after every snapshot, until the commit has completed or failed.
+     */
+    public static class Writes {
+
+        private final ConcurrentMap<Label, Long> committedAt;
+        private final ConcurrentMap<Label, Integer> committing;
+
+        public Writes() {
+            committedAt = new ConcurrentHashMap<>();
+            committing = new ConcurrentHashMap<>();
+        }
+
+        private void committing(Set<Label> types) {
+            types.forEach(type -> committing.merge(type, 1, Integer::sum));
+        }
+
+        private void committed(Set<Label> types, long snapshotEnd) {
+            types.forEach(type -> committedAt.merge(type, snapshotEnd, Math::max));
+            aborted(types);
+        }
+
+        private void aborted(Set<Label> types) {
+            types.forEach(type -> committing.computeIfPresent(type, (t, count) -> count == 1 ? null : count - 1));
+        }
+
+        private boolean isWrittenAfter(Set<Label> types, long snapshot) {
+            for (Label type : types) {
+                if (committing.containsKey(type)) return true;
+                Long written = committedAt.get(type);
+                if (written != null && written > snapshot) return true;
+            }
+            return false;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.concept.answer.ConceptMapGroup;
 import com.vaticle.typedb.core.concept.answer.Numeric;
 import com.vaticle.typedb.core.concept.answer.NumericGroup;
+import com.vaticle.typedb.core.concept.thing.Attribute;
 import com.vaticle.typedb.core.logic.LogicManager;
 import com.vaticle.typedb.core.reasoner.Reasoner;
 import com.vaticle.typedb.core.reasoner.answer.Explanation;
@@ -38,6 +39,9 @@ import com.vaticle.typeql.lang.query.TypeQLUpdate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.util.Map;
+
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.SESSION_DATA_VIOLATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.SESSION_SCHEMA_VIOLATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_DATA_READ_VIOLATION;
@@ -51,33 +55,52 @@ public class QueryManager {
     private final LogicManager logicMgr;
     private final Reasoner reasoner;
     private final ConceptManager conceptMgr;
-    private final Context.Query defaultContext;
+    private final Context.Transaction context;
+    private final QueryCache.View resultCache;
 
     public QueryManager(ConceptManager conceptMgr, LogicManager logicMgr, Reasoner reasoner, Context.Transaction context) {
+        this(conceptMgr, logicMgr, reasoner, context, null);
+    }
+
+    public QueryManager(ConceptManager conceptMgr, LogicManager logicMgr, Reasoner reasoner, Context.Transaction context,
+                        @Nullable QueryCache.View resultCache) {
         this.conceptMgr = conceptMgr;
         this.logicMgr = logicMgr;
         this.reasoner = reasoner;
-        this.defaultContext = new Context.Query(context, new Options.Query());
+        this.context = context;
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Each query gets a fresh context, so that it is cancelled and timed out independently of earlier queries.
+     */
+    private Context.Query defaultContext() {
+        return new Context.Query(context, new Options.Query());
     }
 
     public FunctionalIterator<? extends ConceptMap> match(TypeQLMatch query) {
-        return match(query, defaultContext);
+        return match(query, defaultContext());
     }
 
     public FunctionalIterator<? extends ConceptMap> match(TypeQLMatch query, Context.Query context) {
         try {
-            return Matcher.create(reasoner, conceptMgr, query, context).execute().onError(conceptMgr::exception);
+            if (resultCache != null && resultCache.mayCache(context)) {
+                return resultCache.match(query, () -> Matcher.create(reasoner, conceptMgr, query, context), conceptMgr)
+                        .onError(conceptMgr::exception);
+            } else {
+                return Matcher.create(reasoner, conceptMgr, query, context).execute().onError(conceptMgr::exception);
+            }
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
     }
 
     public FunctionalIterator<Explanation> explain(long explainableId) {
-        return reasoner.explain(explainableId, defaultContext);
+        return reasoner.explain(explainableId, defaultContext());
     }
 
     public Numeric match(TypeQLMatch.Aggregate query) {
-        return match(query, defaultContext);
+        return match(query, defaultContext());
     }
 
     public Numeric match(TypeQLMatch.Aggregate query, Context.Query queryContext) {
@@ -89,7 +112,7 @@ public class QueryManager {
     }
 
     public FunctionalIterator<ConceptMapGroup> match(TypeQLMatch.Group query) {
-        return match(query, defaultContext);
+        return match(query, defaultContext());
     }
 
     public FunctionalIterator<ConceptMapGroup> match(TypeQLMatch.Group query, Context.Query queryContext) {
@@ -101,7 +124,7 @@ public class QueryManager {
     }
 
     public FunctionalIterator<NumericGroup> match(TypeQLMatch.Group.Aggregate query) {
-        return match(query, defaultContext);
+        return match(query, defaultContext());
     }
 
     public FunctionalIterator<NumericGroup> match(TypeQLMatch.Group.Aggregate query, Context.Query queryContext) {
@@ -113,7 +136,7 @@ public class QueryManager {
     }
 
     public FunctionalIterator<ConceptMap> insert(TypeQLInsert query) {
-        return insert(query, defaultContext);
+        return insert(query, defaultContext());
     }
 
     public FunctionalIterator<ConceptMap> insert(TypeQLInsert query, Context.Query context) {
@@ -126,8 +149,23 @@ public class QueryManager {
         }
     }
 
+    /**
+     * Inserts a template once, with its parameters bound to the given attributes, without parsing or resolving the
+     * insert query again.
+     */
+    public ConceptMap insert(Inserter.Template template, Map<String, ? extends Attribute> row) {
+        Context.Query context = defaultContext();
+        if (context.sessionType().isSchema()) throw conceptMgr.exception(SESSION_SCHEMA_VIOLATION);
+        if (context.transactionType().isRead()) throw conceptMgr.exception(TRANSACTION_DATA_READ_VIOLATION);
+        try {
+            return template.insert(conceptMgr, row);
+        } catch (Exception exception) {
+            throw conceptMgr.exception(exception);
+        }
+    }
+
     public void delete(TypeQLDelete query) {
-        delete(query, defaultContext);
+        delete(query, defaultContext());
     }
 
     public void delete(TypeQLDelete query, Context.Query context) {
@@ -141,7 +179,7 @@ public class QueryManager {
     }
 
     public void update(TypeQLUpdate query) {
-        update(query, defaultContext);
+        update(query, defaultContext());
     }
 
     public FunctionalIterator<ConceptMap> update(TypeQLUpdate query, Context.Query context) {
@@ -155,7 +193,7 @@ public class QueryManager {
     }
 
     public void define(TypeQLDefine query) {
-        define(query, defaultContext);
+        define(query, defaultContext());
     }
 
     public void define(TypeQLDefine query, Context.Query context) {
@@ -169,7 +207,7 @@ public class QueryManager {
     }
 
     public void undefine(TypeQLUndefine query) {
-        undefine(query, defaultContext);
+        undefine(query, defaultContext());
     }
 
     public void undefine(TypeQLUndefine query, Context.Query context) {
@@ -43,12 +43,14 @@ import com.vaticle.typedb.core.reasoner.answer.Explanation;
 import com.vaticle.typedb.core.reasoner.common.ReasonerPerfCounters;
 import com.vaticle.typedb.core.reasoner.controller.ControllerRegistry;
 import com.vaticle.typedb.core.reasoner.planner.ReasonerPlanner;
+import com.vaticle.typedb.core.traversal.GraphTraversal;
 import com.vaticle.typedb.core.traversal.TraversalEngine;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.common.Modifiers.Filter;
 import com.vaticle.typedb.core.traversal.common.Modifiers.Sorting;
 import com.vaticle.typeql.lang.query.TypeQLMatch;
 
+import javax.annotation.Nullable;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -111,7 +113,7 @@ public class Reasoner {
             answers = executeReasoner(answerableDisjunction, filter, context);
             if (sorting.isPresent()) answers = eagerSort(answers, sorting.get());
         } else if (sorting.isPresent() && isNativelySortable(answerableDisjunction, sorting.get())) {
-            answers = executeTraversalSorted(answerableDisjunction, filter, sorting.get());
+            answers = executeTraversalSorted(answerableDisjunction, filter, sorting.get(), context);
         } else {
             if (sorting.isPresent()) {
                 answers = executeTraversal(answerableDisjunction, context.producer(Either.first(EXHAUSTIVE)), filter);
@@ -224,72 +226,94 @@ public class Reasoner {
         ReasonerProducer.Match producer = disjunction.conjunctions().size() == 1
                 ? new ReasonerProducer.Match.Conjunction(disjunction.conjunctions().get(0), filter, context.options(), controllerRegistry, explainablesManager)
                 : new ReasonerProducer.Match.Disjunction(disjunction, filter, context.options(), controllerRegistry, explainablesManager);
-        return produce(producer, context.producer(), async1());
+        context.profile().ifPresent(profile -> {
+            controllerRegistry.countControllerAnswers();
+            profile.controllerAnswers(controllerRegistry::controllerAnswers);
+        });
+        return produce(producer, context, async1());
     }
 
     public FunctionalIterator<ConceptMap> executeTraversal(Disjunction disjunction, Context.Query context, Filter filter) {
         FunctionalIterator<ConceptMap> answers;
         FunctionalIterator<Conjunction> conjs = iterate(disjunction.conjunctions());
-        if (!context.options().parallel()) answers = conjs.flatMap(conj -> iterator(conj, filter));
-        else answers = produce(conjs.map(c -> producer(c, filter)).toList(), context.producer(), async1());
+        if (!context.options().parallel()) answers = conjs.flatMap(conj -> iterator(conj, filter, context));
+        else answers = produce(conjs.map(c -> producer(c, filter, context)).toList(), context, async1());
         if (disjunction.conjunctions().size() > 1) answers = answers.distinct();
         return answers;
     }
 
     public SortedIterator<ConceptMap.Sortable, Order.Asc> executeTraversalSorted(Disjunction disjunction, Filter filter,
                                                                                  Sorting sorting) {
+        return executeTraversalSorted(disjunction, filter, sorting, null);
+    }
+
+    public SortedIterator<ConceptMap.Sortable, Order.Asc> executeTraversalSorted(Disjunction disjunction, Filter filter, Sorting sorting,
+                                                                                 @Nullable Context.Query context) {
         // TODO: parallelised sorted queries
         FunctionalIterator<Conjunction> conjs = iterate(disjunction.conjunctions());
-        SortedIterator<ConceptMap.Sortable, Order.Asc> answers = conjs.mergeMap(conj -> iteratorSorted(conj, filter, sorting), ASC);
+        SortedIterator<ConceptMap.Sortable, Order.Asc> answers = conjs.mergeMap(
+                conj -> iteratorSorted(conj, filter, sorting, context), ASC
+        );
         if (disjunction.conjunctions().size() > 1) answers = answers.distinct();
         return answers;
     }
 
-    private Producer<ConceptMap> producer(Conjunction conjunction, Filter filter) {
+    private Producer<ConceptMap> producer(Conjunction conjunction, Filter filter, Context.Query context) {
         assert conjunction.isCoherent();
         if (!conjunction.isAnswerable()) return Producers.empty();
         if (conjunction.negations().isEmpty()) {
-            return traversalEng.producer(conjunction.traversal(filter), PARALLELISATION_FACTOR)
+            return traversalEng.producer(withContext(conjunction.traversal(filter), context), PARALLELISATION_FACTOR)
                     .map(conceptMgr::conceptMap);
         } else {
-            return traversalEng.producer(conjunction.traversal(), PARALLELISATION_FACTOR)
-                    .map(conceptMgr::conceptMap).filter(answer -> !isNegated(answer, conjunction.negations()))
+            return traversalEng.producer(withContext(conjunction.traversal(), context), PARALLELISATION_FACTOR)
+                    .map(conceptMgr::conceptMap).filter(answer -> !isNegated(answer, conjunction.negations(), context))
                     .map(answer -> answer.filter(filter)).distinct();
         }
     }
 
-    private boolean isNegated(ConceptMap answer, List<Negation> negations) {
-        return iterate(negations).flatMap(n -> iterator(n.disjunction(), answer)).first().isPresent();
+    private static GraphTraversal.Thing withContext(GraphTraversal.Thing traversal, @Nullable Context.Query context) {
+        if (context != null) {
+            traversal.parameters().cancellation(context.cancellation());
+            context.profile().ifPresent(profile -> traversal.parameters().profile(profile));
+        }
+        return traversal;
     }
 
-    private FunctionalIterator<ConceptMap> iterator(Disjunction disjunction, ConceptMap bounds) {
-        return iterate(disjunction.conjunctions()).flatMap(c -> iterator(c, bounds));
+    /**
+     * Negations are checked under the context of the query they belong to, so that they stop when it is cancelled.
+     */
+    private boolean isNegated(ConceptMap answer, List<Negation> negations, @Nullable Context.Query context) {
+        return iterate(negations).flatMap(n -> iterator(n.disjunction(), answer, context)).first().isPresent();
     }
 
-    private FunctionalIterator<ConceptMap> iterator(Conjunction conjunction, ConceptMap bounds) {
-        return iterator(bound(conjunction, bounds, logicMgr), Filter.create(list()));
+    private FunctionalIterator<ConceptMap> iterator(Disjunction disjunction, ConceptMap bounds, @Nullable Context.Query context) {
+        return iterate(disjunction.conjunctions()).flatMap(c -> iterator(c, bounds, context));
     }
 
-    private FunctionalIterator<ConceptMap> iterator(Conjunction conjunction, Filter filter) {
+    private FunctionalIterator<ConceptMap> iterator(Conjunction conjunction, ConceptMap bounds, @Nullable Context.Query context) {
+        return iterator(bound(conjunction, bounds, logicMgr), Filter.create(list()), context);
+    }
+
+    private FunctionalIterator<ConceptMap> iterator(Conjunction conjunction, Filter filter, @Nullable Context.Query context) {
         assert conjunction.isCoherent();
         if (!conjunction.isAnswerable()) return empty();
-        FunctionalIterator<ConceptMap> answers = traversalEng.iterator(conjunction.traversal(filter)).map(conceptMgr::conceptMap);
-        if (conjunction.negations().isEmpty()) return answers;
-        else {
-            return traversalEng.iterator(conjunction.traversal()).map(conceptMgr::conceptMap)
-                    .filter(ans -> !isNegated(ans, conjunction.negations()))
+        if (conjunction.negations().isEmpty()) {
+            return traversalEng.iterator(withContext(conjunction.traversal(filter), context)).map(conceptMgr::conceptMap);
+        } else {
+            return traversalEng.iterator(withContext(conjunction.traversal(), context)).map(conceptMgr::conceptMap)
+                    .filter(ans -> !isNegated(ans, conjunction.negations(), context))
                     .map(conceptMap -> conceptMap.filter(filter)).distinct();
         }
     }
 
-    private SortedIterator<ConceptMap.Sortable, Order.Asc> iteratorSorted(Conjunction conjunction,
-                                                                          Filter filter, Sorting sorting) {
+    private SortedIterator<ConceptMap.Sortable, Order.Asc> iteratorSorted(Conjunction conjunction, Filter filter,
+                                                                          Sorting sorting, @Nullable Context.Query context) {
         ConceptMap.Sortable.Comparator comparator = ConceptMap.Comparator.create(sorting);
-        SortedIterator<ConceptMap.Sortable, Order.Asc> answers = traversalEng.iterator(conjunction.traversal(filter, sorting))
+        SortedIterator<ConceptMap.Sortable, Order.Asc> answers = traversalEng.iterator(withContext(conjunction.traversal(filter, sorting), context))
                 .mapSorted(vertexMap -> conceptMgr.conceptMapOrdered(vertexMap, comparator), ASC);
         if (conjunction.negations().isEmpty()) return answers;
         else {
-            return answers.filter(ans -> !isNegated(ans, conjunction.negations()))
+            return answers.filter(ans -> !isNegated(ans, conjunction.negations(), context))
                     .mapSorted(conceptMap -> conceptMap.filter(filter), ASC).distinct();
         }
     }
@@ -53,6 +53,7 @@ public abstract class ReasonerProducer<ANSWER> implements Producer<ANSWER>, Reas
     final ExplainablesManager explainablesManager;
     private Actor.Driver<? extends AbstractProcessor<?, ANSWER, ?, ?>> rootProcessor;
     private Throwable exception;
+    private boolean isRecycled;
     Queue<ANSWER> queue;
     State state;
 
@@ -74,6 +75,7 @@ public abstract class ReasonerProducer<ANSWER> implements Producer<ANSWER>, Reas
         this.queue = null;
         this.requiredAnswers = new AtomicInteger();
         this.state = INIT;
+        this.isRecycled = false;
     }
 
     ControllerRegistry controllerRegistry() {
@@ -112,6 +114,7 @@ public abstract class ReasonerProducer<ANSWER> implements Producer<ANSWER>, Reas
 
     synchronized void pull() {
         assert state == READY;
+        if (isRecycled) return;
         state = PULLING;
         rootProcessor.execute(actor -> actor.rootPull());
     }
@@ -145,9 +148,15 @@ public abstract class ReasonerProducer<ANSWER> implements Producer<ANSWER>, Reas
         }
     }
 
+    /**
+     * Reasoning is driven by pulls from the root processor, so once recycled, for instance because the query was
+     * cancelled, the producer stops pulling and the processors it reached go idle. The processors themselves are
+     * shared by the queries of the transaction, and are only released when it closes.
+     */
     @Override
-    public void recycle() {
-
+    public synchronized void recycle() {
+        isRecycled = true;
+        requiredAnswers.set(0);
     }
 
     public static abstract class Match extends ReasonerProducer<ConceptMap> {
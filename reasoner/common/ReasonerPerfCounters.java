@@ -35,6 +35,7 @@ public class ReasonerPerfCounters extends PerfCounters {
     public static final String CONJUNCTION_PROCESSORS = "processors_conjunction_processors";
     public static final String COMPOUND_STREAMS = "streams_compound_streams";
     public static final String COMPOUND_STREAM_MESSAGES_RECEIVED = "streams_compound_stream_messages_received";
+    public static final String HASH_JOINS = "streams_hash_joins";
     public static final String RETRIEVABLE_PROCESSORS = "processors_retrievable";
 
     public final Counter timePlanning;
@@ -42,6 +43,7 @@ public class ReasonerPerfCounters extends PerfCounters {
     public final Counter conjunctionProcessors;
     public final Counter compoundStreams;
     public final Counter compoundStreamMessagesReceived;
+    public final Counter hashJoins;
     public final Counter retrievableProcessors;
 
     public ReasonerPerfCounters(boolean enabled) {
@@ -51,6 +53,7 @@ public class ReasonerPerfCounters extends PerfCounters {
         conjunctionProcessors = register(CONJUNCTION_PROCESSORS);
         compoundStreams = register(COMPOUND_STREAMS);
         compoundStreamMessagesReceived = register(COMPOUND_STREAM_MESSAGES_RECEIVED);
+        hashJoins = register(HASH_JOINS);
         retrievableProcessors = register(RETRIEVABLE_PROCESSORS);
     }
 
@@ -36,6 +36,7 @@ import com.vaticle.typedb.core.reasoner.controller.ConjunctionController.Process
 import com.vaticle.typedb.core.reasoner.controller.ControllerRegistry.ControllerView.FilteredNegation;
 import com.vaticle.typedb.core.reasoner.controller.ControllerRegistry.ControllerView.FilteredRetrievable;
 import com.vaticle.typedb.core.reasoner.controller.ControllerRegistry.ControllerView.MappedConcludable;
+import com.vaticle.typedb.core.reasoner.planner.ReasonerPlanner;
 import com.vaticle.typedb.core.reasoner.processor.AbstractProcessor;
 import com.vaticle.typedb.core.reasoner.processor.AbstractRequest;
 import com.vaticle.typedb.core.reasoner.processor.InputPort;
@@ -111,9 +112,9 @@ public abstract class ConjunctionController<
     ConjunctionStreamPlan getPlan(Set<Variable.Retrievable> bounds) {
         return plans.computeIfAbsent(bounds, inputBounds -> {
             Set<com.vaticle.typedb.core.pattern.variable.Variable> boundVariables = iterate(inputBounds).map(id -> conjunction.pattern().variable(id)).toSet();
-            List<Resolvable<?>> plan = planner().getPlan(conjunction, boundVariables).plan();
-            assert resolvables.size() == plan.size() && resolvables.containsAll(plan);
-            return ConjunctionStreamPlan.create(plan, inputBounds, outputVariables);
+            ReasonerPlanner.Plan plan = planner().getPlan(conjunction, boundVariables);
+            assert resolvables.size() == plan.plan().size() && resolvables.containsAll(plan.plan());
+            return ConjunctionStreamPlan.create(plan.plan(), plan.hashJoined(), inputBounds, outputVariables);
         });
     }
 
@@ -216,6 +217,7 @@ public abstract class ConjunctionController<
             private final ConceptMap bounds;
             private final ConjunctionStreamPlan plan;
             private final Map<Publisher<ConceptMap>, Integer> childIndex;
+            private HashJoin hashJoin;
 
             CompoundStream(ConjunctionController.Processor<?> processor, ConjunctionStreamPlan plan, ConceptMap bounds) {
                 super(processor, new SubscriberRegistry.Multi<>(), new PublisherRegistry.Multi<>());
@@ -238,6 +240,8 @@ public abstract class ConjunctionController<
             public Either<Publisher<ConceptMap>, Set<ConceptMap>> accept(Publisher<ConceptMap> publisher,
                                                                          ConceptMap packet) {
                 context().perfCounters().compoundStreamMessagesReceived.add(1);
+                if (hashJoin != null && publisher == hashJoin.buildSide) return Either.second(hashJoin.build(packet));
+
                 ConceptMap mergedPacket = merge(bounds, packet);
                 int nextChildIndex = childIndex.get(publisher) + 1;
 
@@ -248,7 +252,15 @@ public abstract class ConjunctionController<
                                 packet.concepts().keySet().containsAll(plan.asCompoundStreamPlan().childAt(nextChildIndex - 1).outputs()) &&
                                 packet.concepts().keySet().containsAll(plan.asCompoundStreamPlan().childAt(nextChildIndex - 1).extensions()));
 
-                if (plan.isCompoundStreamPlan() && nextChildIndex < plan.asCompoundStreamPlan().size()) {
+                if (isHashJoinedChild(nextChildIndex) && (hashJoin == null || hashJoin.isRetaining())) {
+                    if (hashJoin == null) {
+                        hashJoin = new HashJoin(plan.asCompoundStreamPlan().childAt(nextChildIndex).asResolvablePlan());
+                        hashJoin.probe(mergedPacket);
+                        return Either.first(hashJoin.buildSide);
+                    } else {
+                        return Either.second(hashJoin.probe(mergedPacket));
+                    }
+                } else if (plan.isCompoundStreamPlan() && nextChildIndex < plan.asCompoundStreamPlan().size()) {
                     Publisher<ConceptMap> follower = spawnPlanElement(plan.asCompoundStreamPlan().childAt(nextChildIndex), mergedPacket);
                     childIndex.put(follower, nextChildIndex);
                     return Either.first(follower);
@@ -257,6 +269,13 @@ public abstract class ConjunctionController<
                 }
             }
 
+            private boolean isHashJoinedChild(int childIndex) {
+                return !context().explainEnabled() && plan.isCompoundStreamPlan() &&
+                        childIndex == plan.asCompoundStreamPlan().size() - 1 &&
+                        plan.asCompoundStreamPlan().childAt(childIndex).isResolvablePlan() &&
+                        plan.asCompoundStreamPlan().childAt(childIndex).asResolvablePlan().isHashJoined();
+            }
+
             private Publisher<ConceptMap> spawnPlanElement(ConjunctionStreamPlan planElement, ConceptMap availableBounds) {
                 ConceptMap extension = filterWithExplainables(availableBounds, planElement.extensions());
                 ConceptMap planElementBounds = availableBounds.filter(planElement.identifiers());
@@ -286,7 +305,11 @@ public abstract class ConjunctionController<
 
             private Reactive.Publisher<ConceptMap> spawnResolvable(ConjunctionStreamPlan.ResolvablePlan planElement, ConceptMap resolvableBounds) {
                 InputPort<ConceptMap> input = createInputPort();
-                Resolvable<?> resolvable = planElement.resolvable();
+                requestResolvable(input, planElement.resolvable(), resolvableBounds);
+                return input.map(conceptMap -> merge(filterWithExplainables(conceptMap, planElement.outputs()), resolvableBounds));
+            }
+
+            private void requestResolvable(InputPort<ConceptMap> input, Resolvable<?> resolvable, ConceptMap resolvableBounds) {
                 if (resolvable.isRetrievable()) {
                     requestConnection(new RetrievableRequest(input.identifier(), driver(), resolvable.asRetrievable(), resolvableBounds));
                 } else if (resolvable.isConcludable()) {
@@ -296,8 +319,6 @@ public abstract class ConjunctionController<
                 } else {
                     throw TypeDBException.of(ILLEGAL_STATE);
                 }
-
-                return input.map(conceptMap -> merge(filterWithExplainables(conceptMap, planElement.outputs()), resolvableBounds));
             }
 
             private Publisher<ConceptMap> extendWithBounds(Publisher<ConceptMap> stream, ConceptMap extension) {
@@ -307,6 +328,71 @@ public abstract class ConjunctionController<
             private ConceptMap filterWithExplainables(ConceptMap packet, Set<Variable.Retrievable> filter) {
                 return context().explainEnabled() ? packet : packet.filter(filter);
             }
+
+            /**
+             * Joins the answers of the preceding children with those of a single call to the last resolvable, bound
+             * only by the bounds of this stream, instead of calling the resolvable once for every preceding answer.
+             * Both sides arrive asynchronously, so answers from each side are retained and joined with the answers
+             * already received from the other side. Once MAX_RETAINED_ANSWERS are retained, further answers from the
+             * preceding children call the resolvable themselves, as in a nested-loop join, and further answers of the
+             * call are only joined with the answers retained so far, so the join holds on to no more answers.
+             */
+            private class HashJoin {
+
+                private static final int MAX_RETAINED_ANSWERS = 100_000;
+
+                private final Set<Variable.Retrievable> joinVariables;
+                private final Publisher<ConceptMap> buildSide;
+                private final Map<ConceptMap, Set<ConceptMap>> probed;
+                private final Map<ConceptMap, Set<ConceptMap>> built;
+                private int retained;
+
+                private HashJoin(ConjunctionStreamPlan.ResolvablePlan planElement) {
+                    this.joinVariables = intersection(planElement.identifiers(), planElement.resolvable().retrieves());
+                    this.probed = new HashMap<>();
+                    this.built = new HashMap<>();
+                    this.retained = 0;
+                    ConceptMap buildBounds = bounds.filter(joinVariables);
+                    Set<Variable.Retrievable> retainedVariables = union(joinVariables, planElement.outputs());
+                    InputPort<ConceptMap> input = createInputPort();
+                    requestResolvable(input, planElement.resolvable(), buildBounds);
+                    this.buildSide = input.map(conceptMap -> merge(conceptMap.filter(retainedVariables), buildBounds));
+                    context().perfCounters().hashJoins.add(1);
+                }
+
+                private boolean isRetaining() {
+                    return retained < MAX_RETAINED_ANSWERS;
+                }
+
+                private Set<ConceptMap> probe(ConceptMap left) {
+                    assert isRetaining();
+                    ConceptMap key = left.filter(joinVariables);
+                    if (!probed.computeIfAbsent(key, k -> new HashSet<>()).add(left)) return set();
+                    retained++;
+                    return join(left, built.getOrDefault(key, emptySet()));
+                }
+
+                private Set<ConceptMap> build(ConceptMap right) {
+                    ConceptMap key = right.filter(joinVariables);
+                    Set<ConceptMap> probedForKey = probed.get(key);
+                    if (!isRetaining()) {
+                        // no later answer of the preceding children is probed, so only the retained ones can match
+                        return probedForKey == null || built.getOrDefault(key, emptySet()).contains(right) ?
+                                set() : join(right, probedForKey);
+                    }
+                    if (!built.computeIfAbsent(key, k -> new HashSet<>()).add(right)) return set();
+                    retained++;
+                    return probedForKey == null ? set() : join(right, probedForKey);
+                }
+
+                private Set<ConceptMap> join(ConceptMap answer, Set<ConceptMap> matches) {
+                    Set<ConceptMap> joined = new HashSet<>();
+                    for (ConceptMap match : matches) {
+                        joined.add(filterWithExplainables(merge(match, answer), plan.outputs()));
+                    }
+                    return joined;
+                }
+            }
         }
 
         public static class RetrievableRequest extends Request<Retrievable> {
@@ -383,7 +469,12 @@ public abstract class ConjunctionController<
         }
 
         public static ConjunctionStreamPlan create(List<Resolvable<?>> resolvableOrder, Set<Variable.Retrievable> inputVariables, Set<Variable.Retrievable> outputVariables) {
-            Builder builder = new Builder(resolvableOrder, inputVariables, outputVariables);
+            return create(resolvableOrder, emptySet(), inputVariables, outputVariables);
+        }
+
+        public static ConjunctionStreamPlan create(List<Resolvable<?>> resolvableOrder, Set<Resolvable<?>> hashJoined,
+                                                   Set<Variable.Retrievable> inputVariables, Set<Variable.Retrievable> outputVariables) {
+            Builder builder = new Builder(resolvableOrder, hashJoined, inputVariables, outputVariables);
             return builder.flatten(builder.build());
         }
 
@@ -419,11 +510,18 @@ public abstract class ConjunctionController<
 
         public static class ResolvablePlan extends ConjunctionStreamPlan {
             private final Resolvable<?> resolvable;
+            private final boolean isHashJoined;
             private final boolean mayProduceDuplicates;
 
             public ResolvablePlan(Resolvable<?> resolvable, Set<Variable.Retrievable> identifierVariables, Set<Variable.Retrievable> extendOutputWith, Set<Variable.Retrievable> outputVariables) {
+                this(resolvable, false, identifierVariables, extendOutputWith, outputVariables);
+            }
+
+            public ResolvablePlan(Resolvable<?> resolvable, boolean isHashJoined, Set<Variable.Retrievable> identifierVariables,
+                                  Set<Variable.Retrievable> extendOutputWith, Set<Variable.Retrievable> outputVariables) {
                 super(identifierVariables, extendOutputWith, outputVariables);
                 this.resolvable = resolvable;
+                this.isHashJoined = isHashJoined;
                 this.mayProduceDuplicates = !concatToSet(identifierVariables, extendOutputWith).containsAll(resolvable.retrieves());
             }
 
@@ -446,12 +544,17 @@ public abstract class ConjunctionController<
                 return resolvable;
             }
 
+            public boolean isHashJoined() {
+                return isHashJoined;
+            }
+
             @Override
             public String toString() {
-                return String.format("{[(%s), (%s), (%s)] :: Resolvable(%s)}",
+                return String.format("{[(%s), (%s), (%s)] :: %s(%s)}",
                         String.join(", ", iterate(identifierVariables).map(Variable::toString).toList()),
                         String.join(", ", iterate(extensionVariables).map(Variable::toString).toList()),
                         String.join(", ", iterate(outputVariables).map(Variable::toString).toList()),
+                        isHashJoined ? "HashJoinedResolvable" : "Resolvable",
                         resolvable.toString()
                 );
             }
@@ -517,13 +620,16 @@ public abstract class ConjunctionController<
 
         private static class Builder {
             private final List<Resolvable<?>> resolvables;
+            private final Set<Resolvable<?>> hashJoined;
             private final Set<Variable.Retrievable> processorInputs;
             private final Set<Variable.Retrievable> processorOutputs;
 
             private final List<Set<Variable.Retrievable>> boundsBefore;
 
-            private Builder(List<Resolvable<?>> resolvables, Set<Variable.Retrievable> processorInputs, Set<Variable.Retrievable> processorOutputs) {
+            private Builder(List<Resolvable<?>> resolvables, Set<Resolvable<?>> hashJoined,
+                            Set<Variable.Retrievable> processorInputs, Set<Variable.Retrievable> processorOutputs) {
                 this.resolvables = resolvables;
+                this.hashJoined = hashJoined;
                 this.processorInputs = processorInputs;
                 this.processorOutputs = processorOutputs;
                 boundsBefore = new ArrayList<>();
@@ -535,7 +641,36 @@ public abstract class ConjunctionController<
             }
 
             private ConjunctionStreamPlan build() {
-                return buildPrefix(resolvables, processorInputs, processorOutputs);
+                int joinedAt = hashJoinedIndex();
+                if (joinedAt < 1) return buildPrefix(resolvables, processorInputs, processorOutputs);
+                List<Resolvable<?>> joinedPrefix = resolvables.subList(0, joinedAt + 1);
+                if (joinedAt == resolvables.size() - 1) return buildHashJoined(joinedPrefix, processorInputs, processorOutputs);
+                List<Resolvable<?>> suffix = resolvables.subList(joinedAt + 1, resolvables.size());
+                VariableSets variableSets = VariableSets.create(joinedPrefix, suffix, processorInputs, processorOutputs);
+                ConjunctionStreamPlan leftPlan = buildHashJoined(joinedPrefix, variableSets.leftIdentifiers, variableSets.leftOutputs);
+                ConjunctionStreamPlan rightPlan = buildSuffix(suffix, variableSets.rightInputs, variableSets.rightOutputs);
+                return new CompoundStreamPlan(list(leftPlan, rightPlan), variableSets.identifiers, variableSets.extensions, processorOutputs, new HashMap<>());
+            }
+
+            private int hashJoinedIndex() {
+                for (int i = 0; i < resolvables.size(); i++) {
+                    if (hashJoined.contains(resolvables.get(i))) return i;
+                }
+                return -1;
+            }
+
+            /**
+             * A hash-joined resolvable must be the last child of a stream that is bound only by the processor's
+             * inputs, so that it is called once per processor: it ends the prefix that the stream is built from.
+             */
+            private ConjunctionStreamPlan buildHashJoined(List<Resolvable<?>> prefix, Set<Variable.Retrievable> availableInputs,
+                                                          Set<Variable.Retrievable> requiredOutputs) {
+                List<Resolvable<?>> preceding = prefix.subList(0, prefix.size() - 1);
+                List<Resolvable<?>> joined = prefix.subList(prefix.size() - 1, prefix.size());
+                VariableSets variableSets = VariableSets.create(preceding, joined, availableInputs, requiredOutputs);
+                ConjunctionStreamPlan leftPlan = buildPrefix(preceding, variableSets.leftIdentifiers, variableSets.leftOutputs);
+                ConjunctionStreamPlan rightPlan = buildSuffix(joined, variableSets.rightInputs, variableSets.rightOutputs);
+                return new CompoundStreamPlan(list(leftPlan, rightPlan), variableSets.identifiers, variableSets.extensions, requiredOutputs, new HashMap<>());
             }
 
             public ConjunctionStreamPlan buildPrefix(List<Resolvable<?>> prefix, Set<Variable.Retrievable> availableInputs, Set<Variable.Retrievable> requiredOutputs) {
@@ -543,7 +678,7 @@ public abstract class ConjunctionController<
                     VariableSets variableSets = VariableSets.create(list(), prefix, availableInputs, requiredOutputs);
                     //  use resolvableOutputs instead of rightOutputs because this node has to do the job of the parent as well - joining the identifiers
                     Set<Variable.Retrievable> resolvableOutputs = difference(requiredOutputs, variableSets.extensions);
-                    return new ResolvablePlan(prefix.get(0), variableSets.rightInputs, variableSets.extensions, resolvableOutputs);
+                    return resolvablePlan(prefix.get(0), variableSets.rightInputs, variableSets.extensions, resolvableOutputs);
                 } else {
                     Pair<List<Resolvable<?>>, List<Resolvable<?>>> divided = divide(prefix);
                     VariableSets variableSets = VariableSets.create(divided.first(), divided.second(), availableInputs, requiredOutputs);
@@ -557,16 +692,21 @@ public abstract class ConjunctionController<
                 if (suffix.size() == 1) {
                     VariableSets variableSets = VariableSets.create(list(), suffix, availableInputs, requiredOutputs);
                     Set<Variable.Retrievable> resolvableOutputs = difference(requiredOutputs, variableSets.extensions);
-                    return new ResolvablePlan(suffix.get(0), variableSets.rightInputs, variableSets.extensions, resolvableOutputs);
+                    return resolvablePlan(suffix.get(0), variableSets.rightInputs, variableSets.extensions, resolvableOutputs);
                 } else {
                     List<Resolvable<?>> nextSuffix = suffix.subList(1, suffix.size());
                     VariableSets variableSets = VariableSets.create(suffix.subList(0, 1), suffix.subList(1, suffix.size()), availableInputs, requiredOutputs);
-                    ConjunctionStreamPlan leftPlan = new ResolvablePlan(suffix.get(0), variableSets.leftIdentifiers, emptySet(), variableSets.leftOutputs);
+                    ConjunctionStreamPlan leftPlan = resolvablePlan(suffix.get(0), variableSets.leftIdentifiers, emptySet(), variableSets.leftOutputs);
                     ConjunctionStreamPlan rightPlan = buildSuffix(nextSuffix, variableSets.rightInputs, variableSets.rightOutputs);
                     return new CompoundStreamPlan(list(leftPlan, rightPlan), variableSets.identifiers, variableSets.extensions, requiredOutputs, new HashMap<>());
                 }
             }
 
+            private ResolvablePlan resolvablePlan(Resolvable<?> resolvable, Set<Variable.Retrievable> identifiers,
+                                                  Set<Variable.Retrievable> extensions, Set<Variable.Retrievable> outputs) {
+                return new ResolvablePlan(resolvable, hashJoined.contains(resolvable), identifiers, extensions, outputs);
+            }
+
             public Pair<List<Resolvable<?>>, List<Resolvable<?>>> divide(List<Resolvable<?>> resolvables) {
                 int splitAfter;
                 Set<Variable.Retrievable> suffixVars = new HashSet<>(resolvables.get(resolvables.size() - 1).retrieves());
@@ -592,7 +732,9 @@ public abstract class ConjunctionController<
                     List<ConjunctionStreamPlan> childPlans = new ArrayList<>();
                     for (int i = 0; i < 2; i++) {
                         ConjunctionStreamPlan child = compoundPlan.childAt(i);
-                        if (child.isCompoundStreamPlan() && canFlattenInto(compoundPlan, child.asCompoundStreamPlan())) {
+                        // a hash-joined resolvable must stay the last child of its stream
+                        if (child.isCompoundStreamPlan() && canFlattenInto(compoundPlan, child.asCompoundStreamPlan()) &&
+                                (i == 1 || !endsWithHashJoin(child.asCompoundStreamPlan()))) {
                             childPlans.addAll(flatten(child).asCompoundStreamPlan().childPlan);
                         } else {
                             childPlans.add(flatten(child));
@@ -610,6 +752,11 @@ public abstract class ConjunctionController<
                 }
             }
 
+            private static boolean endsWithHashJoin(CompoundStreamPlan plan) {
+                ConjunctionStreamPlan last = plan.childAt(plan.size() - 1);
+                return last.isResolvablePlan() && last.asResolvablePlan().isHashJoined();
+            }
+
             private boolean canFlattenInto(CompoundStreamPlan parent, CompoundStreamPlan childToFlatten) {
                 return isExclusiveReader(parent, childToFlatten, processorInputs) &&
                         boundsRemainSatisfied(parent, childToFlatten);
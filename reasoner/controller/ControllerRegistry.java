@@ -131,6 +131,14 @@ public class ControllerRegistry {
         return controllerContext.processor().perfCounters();
     }
 
+    public void countControllerAnswers() {
+        controllerContext.processor().countAnswers();
+    }
+
+    public Map<String, Long> controllerAnswers() {
+        return controllerContext.processor().answersOutput();
+    }
+
     private <C extends AbstractController<?, ?, ?, ?, ?, C>> void createRootController(
             ReasonerConsumer<?> reasonerConsumer, Function<Driver<C>, C> actorFn
     ) {
@@ -81,6 +81,11 @@ class HybridAStarBeamSearch {
         fringe = aStarSearch(fringe, new HashSet<>());
         fringe = beamSearch(fringe, new HashSet<>()); // Start with a fresh seen set.
         assert fringe.isEmpty(); // For now, we terminate on an empty fringe.
+        // Plan what hash-joins would call up front, so that costing the orderings only reads plans
+        iterate(resolvables).filter(resolvable -> planner.orderingCoster.isHashJoinable(conjunctionNode, resolvable))
+                .forEachRemaining(resolvable -> planner.initialiseResolvableDependencies(
+                        conjunctionNode, resolvable, OrderingCoster.hashJoinMode(callMode, resolvable)
+                ));
         return iterate(completedSignatures.values())
                 .map(fringeElement -> fringeElement.costingBuilder.build())
                 .map(singleCallCosting -> planner.orderingCoster.createAllCallsCosting(singleCallCosting.callMode, singleCallCosting.ordering, singleCallCosting.cyclicConcludableModes))
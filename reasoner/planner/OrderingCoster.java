@@ -43,6 +43,8 @@ public class OrderingCoster {
     // Answer propagation can have a lower relative cost
     //  since combining the answers involves no reasoning/retrieval but only table lookups.
     private static final double RELATIVE_COST_ANSWER_COMBINATION = 1.0;
+    // Every call to a resolvable with new bounds sets up a connection and a processor, and replays its answers.
+    private static final double RELATIVE_COST_RESOLVABLE_CALL = 10.0;
 
     private final ReasonerPlanner planner;
     private final AnswerCountEstimator answerCountEstimator;
@@ -68,6 +70,10 @@ public class OrderingCoster {
         double disconnectedCost = 0.0;
 
         Map<Concludable, Double> cylicScalingFactors = new HashMap<>();
+        Resolvable<?> hashJoined = null;
+        double hashJoinSaving = 0.0;
+        double hashJoinCostChange = 0.0;
+        boolean isHashJoinedConnected = false;
         AnswerCountEstimator.IncrementalEstimator estimator = answerCountEstimator.createIncrementalEstimator(conjunctionNode.conjunction());
         for (Resolvable<?> resolvable : ordering) {
             Set<Variable> resolvableVars = estimateableVariables(resolvable.variables());
@@ -75,6 +81,18 @@ public class OrderingCoster {
             Set<Variable> restrictedResolvableVars = Collections.intersection(resolvableVars, restrictedVars);
 
             double resolvableCost = scaledAcyclicCost(conjunctionNode, estimator, resolvable, restrictedResolvableVars, resolvableMode);
+            boolean isConnectedToInput = callMode.mode.isEmpty() || !Collections.intersection(resolvableMode, inputConnectedVars).isEmpty();
+            // At most one resolvable is hash-joined, since only one can be called once with the input bounds alone
+            if (resolvable != ordering.get(0) && isHashJoinable(conjunctionNode, resolvable)) {
+                double nestedLoopCost = resolvableCost + estimator.answerEstimate(restrictedResolvableVars) * RELATIVE_COST_RESOLVABLE_CALL;
+                double hashJoinCost = hashJoinCost(conjunctionNode, resolvable, hashJoinMode(callMode, resolvable));
+                if (nestedLoopCost - hashJoinCost > hashJoinSaving) {
+                    hashJoined = resolvable;
+                    hashJoinSaving = nestedLoopCost - hashJoinCost;
+                    hashJoinCostChange = hashJoinCost - resolvableCost;
+                    isHashJoinedConnected = isConnectedToInput;
+                }
+            }
 
             if (resolvable.isConcludable() && conjunctionNode.cyclicConcludables().contains(resolvable.asConcludable())) {
                 // Question: Do we project onto all the restrictedVars, or only those not in the mode?
@@ -94,7 +112,6 @@ public class OrderingCoster {
 
             estimator.extend(resolvable);
 
-            boolean isConnectedToInput = callMode.mode.isEmpty() || !Collections.intersection(resolvableMode, inputConnectedVars).isEmpty();
             if (isConnectedToInput) {
                 acyclicCost += resolvableCost;
             } else {
@@ -110,8 +127,42 @@ public class OrderingCoster {
             }
         }
 
+        Set<Resolvable<?>> hashJoinedResolvables = new HashSet<>();
+        if (hashJoined != null) {
+            hashJoinedResolvables.add(hashJoined);
+            if (isHashJoinedConnected) acyclicCost += hashJoinCostChange;
+            else disconnectedCost += hashJoinCostChange;
+        }
+
         double answersToMode = answerCountEstimator.estimateAnswers(callMode.conjunction, callMode.mode);
-        return new LocalAllCallsCosting(callMode, ordering, cyclicConcludableModes, cylicScalingFactors, acyclicCost, disconnectedCost, answersToMode);
+        return new LocalAllCallsCosting(callMode, ordering, hashJoinedResolvables, cyclicConcludableModes, cylicScalingFactors, acyclicCost, disconnectedCost, answersToMode);
+    }
+
+    /**
+     * A resolvable that follows the first of an ordering can be hash-joined: it is called once, bound only by the
+     * conjunction's input, its answers are materialised keyed on the variables it shares with the preceding
+     * resolvables, and the answers of the preceding resolvables are streamed through them. Cyclic concludables are
+     * excluded, since their calls must be planned together with the cycle they belong to.
+     */
+    boolean isHashJoinable(ConjunctionGraph.ConjunctionNode conjunctionNode, Resolvable<?> resolvable) {
+        if (planner.isExplainEnabled()) return false;
+        else if (resolvable.isRetrievable()) return true;
+        else return resolvable.isConcludable() && !conjunctionNode.cyclicConcludables().contains(resolvable.asConcludable());
+    }
+
+    static Set<Variable> hashJoinMode(ReasonerPlanner.CallMode callMode, Resolvable<?> resolvable) {
+        return Collections.intersection(estimateableVariables(resolvable.variables()), callMode.mode);
+    }
+
+    /**
+     * Only reads plans: the calls that a hash-joined concludable triggers are planned with the other dependencies of
+     * the conjunction, before its orderings are costed.
+     */
+    private double hashJoinCost(ConjunctionGraph.ConjunctionNode conjunctionNode, Resolvable<?> resolvable, Set<Variable> hashJoinMode) {
+        AnswerCountEstimator.IncrementalEstimator unrestricted = answerCountEstimator.createIncrementalEstimator(conjunctionNode.conjunction());
+        double buildCost = scaledAcyclicCost(conjunctionNode, unrestricted, resolvable, hashJoinMode, hashJoinMode);
+        double buildAnswers = answerCountEstimator.localEstimate(conjunctionNode.conjunction(), resolvable, estimateableVariables(resolvable.variables()));
+        return buildCost + RELATIVE_COST_RESOLVABLE_CALL + buildAnswers * RELATIVE_COST_ANSWER_COMBINATION;
     }
 
     private double retrievalCost(ResolvableConjunction conjunction, Resolvable<?> resolvable, Set<Variable> mode) {
@@ -299,17 +350,19 @@ public class OrderingCoster {
     static class LocalAllCallsCosting {
         final ReasonerPlanner.CallMode callMode;
         final List<Resolvable<?>> ordering;
+        final Set<Resolvable<?>> hashJoined;
         final Set<Pair<Concludable, Set<Variable>>> cyclicModes;
         final Map<Concludable, Double> cyclicScalingFactors;
         final double allCallsConnectedAcyclicCost;
         final double allCallsDisconnectedAcyclicCost;
         final double answersToMode;
 
-        private LocalAllCallsCosting(ReasonerPlanner.CallMode callMode, List<Resolvable<?>> ordering,
+        private LocalAllCallsCosting(ReasonerPlanner.CallMode callMode, List<Resolvable<?>> ordering, Set<Resolvable<?>> hashJoined,
                                      Set<Pair<Concludable, Set<Variable>>> cyclicModes,
                                      Map<Concludable, Double> cyclicScalingFactors, double allCallsConnectedAcyclicCost, double unscalableCost, double answersToMode) {
             this.callMode = callMode;
             this.ordering = ordering;
+            this.hashJoined = hashJoined;
             this.allCallsConnectedAcyclicCost = allCallsConnectedAcyclicCost;
             this.cyclicModes = cyclicModes;
             this.cyclicScalingFactors = cyclicScalingFactors;
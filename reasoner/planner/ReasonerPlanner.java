@@ -102,6 +102,10 @@ public abstract class ReasonerPlanner {
         mayLogPlans(set(callMode.conjunction), callMode.mode);
     }
 
+    boolean isExplainEnabled() {
+        return explain;
+    }
+
     public Plan getPlan(ResolvableConjunction conjunction, Set<Variable> mode) {
         return getPlan(new CallMode(conjunction, estimateableVariables(mode)));
     }
@@ -234,14 +238,21 @@ public abstract class ReasonerPlanner {
 
     public static class Plan {
         private final List<Resolvable<?>> order;
+        private final Set<Resolvable<?>> hashJoined;
         private final CallMode callMode;
         private final double allCallsCost;
         // fraction of all calls triggered by cycles
         public double cyclicScalingFactor;
 
         public Plan(List<Resolvable<?>> resolvableOrder, CallMode callMode, double allCallsCost, double cyclicScalingFactor) {
+            this(resolvableOrder, Collections.emptySet(), callMode, allCallsCost, cyclicScalingFactor);
+        }
+
+        public Plan(List<Resolvable<?>> resolvableOrder, Set<Resolvable<?>> hashJoined, CallMode callMode,
+                    double allCallsCost, double cyclicScalingFactor) {
             this.callMode = callMode;
             this.order = resolvableOrder;
+            this.hashJoined = hashJoined;
             this.allCallsCost = allCallsCost;
             this.cyclicScalingFactor = cyclicScalingFactor;
         }
@@ -250,6 +261,14 @@ public abstract class ReasonerPlanner {
             return order;
         }
 
+        /**
+         * @return the resolvables that are evaluated once, bound only by the call mode, and hash-joined with the
+         * answers of the resolvables preceding them in the plan
+         */
+        public Set<Resolvable<?>> hashJoined() {
+            return hashJoined;
+        }
+
         public double allCallsCost() {
             return allCallsCost;
         }
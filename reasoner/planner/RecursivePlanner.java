@@ -71,7 +71,7 @@ public class RecursivePlanner extends ReasonerPlanner {
         SubgraphPlan bestPlan = subgraphPlanSearch(callMode, pendingModes, costings);
 
         for (LocalAllCallsCosting bestCostingForCall : bestPlan.costings.values()) {
-            Plan plan = new Plan(bestCostingForCall.ordering, bestCostingForCall.callMode,
+            Plan plan = new Plan(bestCostingForCall.ordering, bestCostingForCall.hashJoined, bestCostingForCall.callMode,
                     Math.round(Math.ceil(bestPlan.cost(bestCostingForCall.callMode, 1.0))),
                     bestPlan.cyclicScalingFactorSum.get(bestCostingForCall.callMode));
             planCache.put(bestCostingForCall.callMode, plan);
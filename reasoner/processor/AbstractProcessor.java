@@ -38,6 +38,9 @@ import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
@@ -54,6 +57,7 @@ public abstract class AbstractProcessor<
     private final Map<Identifier, InputPort<INPUT>> inputPorts;
     private final Map<Identifier, OutputPort<OUTPUT>> outputPorts;
     private final Map<Pair<Identifier, Identifier>, Runnable> pullRetries;
+    private final LongAdder answersOutput;
     private Stream<OUTPUT, OUTPUT> hubReactive;
     private long reactiveCounter;
 
@@ -67,6 +71,7 @@ public abstract class AbstractProcessor<
         this.outputPorts = new HashMap<>();
         this.reactiveCounter = 0;
         this.pullRetries = new HashMap<>();
+        this.answersOutput = context.answersOutput(controller.debugName().get());
     }
 
     public abstract void setUp();
@@ -87,6 +92,10 @@ public abstract class AbstractProcessor<
         outputPorts.get(outputPortId).pull();
     }
 
+    void outputAnswer() {
+        if (context.isCountingAnswers()) answersOutput.increment();
+    }
+
     void receive(Identifier inputPortId, INPUT packet, Identifier publisherId) {
         inputPorts.get(inputPortId).receive(publisherId, packet);
     }
@@ -171,12 +180,16 @@ public abstract class AbstractProcessor<
         private final Tracer tracer;
         private final ReasonerPerfCounters perfCounters;
         private final boolean explainEnabled;
+        private final ConcurrentMap<String, LongAdder> answersOutput;
+        private volatile boolean isCountingAnswers;
 
         public Context(Driver<Monitor> monitor, @Nullable Tracer tracer, ReasonerPerfCounters perfCounters, boolean explainEnabled) {
             this.monitor = monitor;
             this.tracer = tracer;
             this.perfCounters = perfCounters;
             this.explainEnabled = explainEnabled;
+            this.answersOutput = new ConcurrentHashMap<>();
+            this.isCountingAnswers = false;
         }
 
         public Optional<Tracer> tracer() {
@@ -194,6 +207,31 @@ public abstract class AbstractProcessor<
         public boolean explainEnabled() {
             return explainEnabled;
         }
+
+        boolean isCountingAnswers() {
+            return isCountingAnswers;
+        }
+
+        /**
+         * Count the answers output by each controller from now on. Answers are only counted once a query of the
+         * transaction profiles them, so that reasoning pays nothing for them otherwise.
+         */
+        public void countAnswers() {
+            isCountingAnswers = true;
+        }
+
+        LongAdder answersOutput(String controller) {
+            return answersOutput.computeIfAbsent(controller, c -> new LongAdder());
+        }
+
+        /**
+         * The answers output so far by the processors of each controller, over all queries of the transaction.
+         */
+        public Map<String, Long> answersOutput() {
+            Map<String, Long> answers = new HashMap<>();
+            answersOutput.forEach((controller, count) -> answers.put(controller, count.sum()));
+            return answers;
+        }
     }
 
 }
@@ -53,6 +53,7 @@ public class OutputPort<PACKET> implements Reactive.Subscriber<PACKET> {
     @Override
     public void receive(Publisher<PACKET> publisher, PACKET packet) {
         subscriberDelegate.traceReceive(publisher, packet);
+        processor().outputAnswer();
         inputPortProcessor.execute(actor -> actor.receive(inputPortId, packet, identifier()));
     }
 
@@ -0,0 +1,364 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.server;
+
+import com.vaticle.typedb.core.common.parameters.Arguments.Query.Priority;
+import com.vaticle.typedb.core.concurrent.executor.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Schedules the requests of every open transaction onto a shared executor.
+ * <p>
+ * The requests of a single transaction run one at a time, in the order they arrived. Across transactions, requests
+ * wait in a queue per priority and database: priorities share the executor by weight (stride scheduling), the
+ * databases within a priority take turns, and only a bounded number of low-priority (heavy) requests may run at
+ * once. Requests that block waiting on something other than the server's cores, such as the opening of a
+ * transaction, run on a separate executor and take none of the running slots. The time requests spend queued is
+ * recorded per priority.
+ */
+public class RequestScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestScheduler.class);
+    private static final Map<Priority, Integer> WEIGHTS = new EnumMap<>(Map.of(
+            Priority.HIGH, 8, Priority.NORMAL, 4, Priority.LOW, 1
+    ));
+
+    private final Executor executor;
+    private final Executor blockingExecutor;
+    private final int maxRunning;
+    private final int maxRunningLow;
+    private final Map<Priority, Level> levels;
+    private final List<Request> blocking;
+    private double virtualTime;
+    private int running;
+    private int runningLow;
+
+    public RequestScheduler(Executor executor, Executor blockingExecutor, int maxRunning, int maxRunningLow) {
+        this.executor = executor;
+        this.blockingExecutor = blockingExecutor;
+        this.maxRunning = maxRunning;
+        this.maxRunningLow = maxRunningLow;
+        this.levels = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) levels.put(priority, new Level(priority));
+        this.blocking = new ArrayList<>();
+        this.virtualTime = 0;
+        this.running = 0;
+        this.runningLow = 0;
+
+        if (LOG.isDebugEnabled()) {
+            Executors.scheduled().scheduleAtFixedRate(this::logQueueTimes, 1, 1, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * @param database supplies the name of the database that the transaction's requests run against
+     * @return a queue through which a single transaction submits its requests, in order
+     */
+    public RequestQueue queue(Supplier<String> database) {
+        return new RequestQueue(database);
+    }
+
+    public synchronized Map<Priority, QueueTime> queueTimes() {
+        Map<Priority, QueueTime> queueTimes = new EnumMap<>(Priority.class);
+        levels.forEach((priority, level) -> queueTimes.put(priority, level.queueTime.copy()));
+        return queueTimes;
+    }
+
+    private void dispatch() {
+        List<Request> dispatched = new ArrayList<>();
+        List<Request> dispatchedBlocking;
+        synchronized (this) {
+            dispatchedBlocking = new ArrayList<>(blocking);
+            blocking.clear();
+            Request request;
+            while (running < maxRunning && (request = next()) != null) {
+                running++;
+                if (request.priority.isLow()) runningLow++;
+                dispatched.add(request);
+            }
+        }
+        dispatchedBlocking.forEach(request -> blockingExecutor.execute(() -> run(request)));
+        dispatched.forEach(request -> executor.execute(() -> run(request)));
+    }
+
+    private Request next() {
+        Level next = null;
+        for (Level level : levels.values()) {
+            if (level.isEmpty() || (level.priority.isLow() && runningLow >= maxRunningLow)) continue;
+            if (next == null || level.pass < next.pass) next = level;
+        }
+        if (next == null) return null;
+        virtualTime = next.pass;
+        next.pass += 1.0 / WEIGHTS.get(next.priority);
+        return next.poll();
+    }
+
+    private void run(Request request) {
+        CompletableFuture<?> completion = null;
+        try {
+            completion = request.work.get();
+        } finally {
+            if (completion == null) completed(request);
+            else completion.whenComplete((result, error) -> completed(request));
+        }
+    }
+
+    private void completed(Request request) {
+        synchronized (this) {
+            if (!request.isBlocking) {
+                running--;
+                if (request.priority.isLow()) runningLow--;
+            }
+            request.queue.completed();
+        }
+        dispatch();
+    }
+
+    private synchronized void logQueueTimes() {
+        StringBuilder queueTimes = new StringBuilder("Request queue times: ").append("\n");
+        levels.forEach((priority, level) -> queueTimes.append("\t").append(priority).append(": ")
+                .append(level.queueTime).append("\n"));
+        LOG.debug(queueTimes.toString());
+    }
+
+    public class RequestQueue {
+
+        private final Supplier<String> database;
+        private final Queue<Request> pending;
+        private boolean isActive;
+        private boolean isClosed;
+
+        private RequestQueue(Supplier<String> database) {
+            this.database = database;
+            this.pending = new ArrayDeque<>();
+            this.isActive = false;
+            this.isClosed = false;
+        }
+
+        /**
+         * Queue a request behind this transaction's earlier requests. Its priority is resolved only once those have
+         * run, so it may depend on their effects, such as the opening of the transaction.
+         */
+        public void submit(Supplier<Priority> priority, Runnable work) {
+            submit(new Request(this, priority, synchronous(work), false));
+        }
+
+        /**
+         * Queue a request whose work completes asynchronously, behind this transaction's earlier requests. It holds
+         * its running slot, and the transaction's later requests wait, until the future it returns has completed.
+         */
+        public void submitAsync(Supplier<Priority> priority, Supplier<CompletableFuture<?>> work) {
+            submit(new Request(this, priority, work, false));
+        }
+
+        /**
+         * Queue a request that may block without using the server's cores, behind this transaction's earlier requests.
+         * It runs on the blocking executor, outside the running slots, and so has no priority.
+         */
+        public void submitBlocking(Runnable work) {
+            submit(new Request(this, () -> Priority.HIGH, synchronous(work), true));
+        }
+
+        private Supplier<CompletableFuture<?>> synchronous(Runnable work) {
+            return () -> {
+                work.run();
+                return CompletableFuture.completedFuture(null);
+            };
+        }
+
+        private void submit(Request request) {
+            synchronized (RequestScheduler.this) {
+                if (isClosed) return;
+                pending.add(request);
+                if (!isActive) {
+                    isActive = true;
+                    enqueueNext();
+                }
+            }
+            dispatch();
+        }
+
+        /**
+         * Drop the requests of this transaction that have not started running. A request that is already running
+         * runs to completion.
+         */
+        public void close() {
+            synchronized (RequestScheduler.this) {
+                if (isClosed) return;
+                isClosed = true;
+                Request next = pending.peek();
+                if (next != null && next.priority != null) levels.get(next.priority).remove(next);
+                pending.clear();
+                blocking.removeIf(request -> request.queue == this);
+            }
+        }
+
+        private void enqueueNext() {
+            assert Thread.holdsLock(RequestScheduler.this);
+            Request request = pending.peek();
+            assert request != null;
+            request.priority = request.prioritySupplier.get();
+            request.database = database.get();
+            if (request.isBlocking) {
+                pending.remove();
+                blocking.add(request);
+            } else {
+                Level level = levels.get(request.priority);
+                if (level.isEmpty()) level.pass = Math.max(level.pass, virtualTime);
+                level.add(request);
+            }
+        }
+
+        private void completed() {
+            assert Thread.holdsLock(RequestScheduler.this);
+            if (pending.isEmpty()) isActive = false;
+            else enqueueNext();
+        }
+    }
+
+    private static class Request {
+
+        private final RequestQueue queue;
+        private final Supplier<Priority> prioritySupplier;
+        private final Supplier<CompletableFuture<?>> work;
+        private final boolean isBlocking;
+        private final long enqueuedNanos;
+        private Priority priority;
+        private String database;
+
+        private Request(RequestQueue queue, Supplier<Priority> prioritySupplier, Supplier<CompletableFuture<?>> work,
+                        boolean isBlocking) {
+            this.queue = queue;
+            this.prioritySupplier = prioritySupplier;
+            this.work = work;
+            this.isBlocking = isBlocking;
+            this.enqueuedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * The requests of one priority that are ready to run, as one queue per database that the databases take turns
+     * to be served from.
+     */
+    private static class Level {
+
+        private final Priority priority;
+        private final Map<String, Queue<Request>> databases;
+        private final Queue<String> turns;
+        private final QueueTime queueTime;
+        private double pass;
+
+        private Level(Priority priority) {
+            this.priority = priority;
+            this.databases = new HashMap<>();
+            this.turns = new ArrayDeque<>();
+            this.queueTime = new QueueTime();
+            this.pass = 0;
+        }
+
+        private boolean isEmpty() {
+            return turns.isEmpty();
+        }
+
+        private void add(Request request) {
+            Queue<Request> requests = databases.computeIfAbsent(request.database, d -> new ArrayDeque<>());
+            if (requests.isEmpty()) turns.add(request.database);
+            requests.add(request);
+        }
+
+        private void remove(Request request) {
+            Queue<Request> requests = databases.get(request.database);
+            if (requests == null || !requests.remove(request)) return;
+            if (requests.isEmpty()) {
+                databases.remove(request.database);
+                turns.remove(request.database);
+            }
+        }
+
+        private Request poll() {
+            String database = turns.remove();
+            Queue<Request> requests = databases.get(database);
+            Request request = requests.remove();
+            // a dispatched request leaves its transaction's queue, whose next request is enqueued once it completes
+            request.queue.pending.remove();
+            if (requests.isEmpty()) databases.remove(database);
+            else turns.add(database);
+            queueTime.record(System.nanoTime() - request.enqueuedNanos);
+            return request;
+        }
+    }
+
+    public static class QueueTime {
+
+        private long requests;
+        private long totalNanos;
+        private long maxNanos;
+
+        private QueueTime() {
+            this(0, 0, 0);
+        }
+
+        private QueueTime(long requests, long totalNanos, long maxNanos) {
+            this.requests = requests;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        private void record(long nanos) {
+            requests++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        private QueueTime copy() {
+            return new QueueTime(requests, totalNanos, maxNanos);
+        }
+
+        public long requests() {
+            return requests;
+        }
+
+        public long meanMillis() {
+            return requests == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos / requests);
+        }
+
+        public long maxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests, mean %d ms, max %d ms", requests, meanMillis(), maxMillis());
+        }
+    }
+}
@@ -20,6 +20,7 @@ package com.vaticle.typedb.core.server;
 import com.vaticle.typedb.core.TypeDB;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Arguments.Query.Priority;
 import com.vaticle.typedb.core.common.parameters.Context;
 import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.server.common.ResponseBuilder;
@@ -43,6 +44,8 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledFuture;
@@ -85,6 +88,7 @@ public class TransactionService implements StreamObserver<TransactionProto.Trans
     private final AtomicBoolean isRPCAlive;
     private final AtomicBoolean isTransactionOpen;
     private final ReadWriteLock requestLock;
+    private final RequestScheduler.RequestQueue requests;
 
     private volatile SessionService sessionSvc;
     private volatile TypeDB.Transaction transaction;
@@ -109,16 +113,46 @@ public class TransactionService implements StreamObserver<TransactionProto.Trans
         this.isRPCAlive = new AtomicBoolean(true);
         this.isTransactionOpen = new AtomicBoolean(false);
         this.requestLock = new StampedLock().asReadWriteLock();
+        this.requests = typeDBSvc.scheduler().queue(this::database);
     }
 
     public Context.Transaction context() {
         return transaction.context();
     }
 
+    /**
+     * Consecutive Concept API reads of one thing each, that a client sends in a single message, are executed as one
+     * batch, so that a client rendering many things does not pay for a storage lookup and a scheduling round per thing.
+     */
     @Override
     public void onNext(TransactionProto.Transaction.Client requests) {
         if (requests.getReqsList().isEmpty()) close(TypeDBException.of(EMPTY_TRANSACTION_REQUEST));
-        else for (TransactionProto.Transaction.Req req : requests.getReqsList()) execute(req);
+        else {
+            List<TransactionProto.Transaction.Req> thingReqs = new ArrayList<>();
+            for (TransactionProto.Transaction.Req req : requests.getReqsList()) {
+                if (ThingService.isBatchable(req)) thingReqs.add(req);
+                else {
+                    submitThingRequests(thingReqs);
+                    thingReqs = new ArrayList<>();
+                    submit(req);
+                }
+            }
+            submitThingRequests(thingReqs);
+        }
+    }
+
+    private void submitThingRequests(List<TransactionProto.Transaction.Req> thingReqs) {
+        if (thingReqs.size() == 1) {
+            submit(thingReqs.get(0));
+        } else if (thingReqs.size() > 1) {
+            requests.submitAsync(() -> priority(thingReqs.get(0)), () -> execute(thingReqs));
+        }
+    }
+
+    private void submit(TransactionProto.Transaction.Req req) {
+        // opening a transaction may wait on the schema lock, which must not hold one of the server's running slots
+        if (req.getReqCase() == TransactionProto.Transaction.Req.ReqCase.OPEN_REQ) requests.submitBlocking(() -> execute(req));
+        else requests.submit(() -> priority(req), () -> execute(req));
     }
 
     @Override
@@ -131,6 +165,40 @@ public class TransactionService implements StreamObserver<TransactionProto.Trans
         close(error);
     }
 
+    private String database() {
+        return sessionSvc == null ? "" : sessionSvc.session().database().name();
+    }
+
+    /**
+     * Concept API requests are point lookups, and explanations and reasoning queries are heavy, so they are
+     * scheduled at high and low priority respectively. All other requests follow the priority in their options.
+     */
+    private Priority priority(TransactionProto.Transaction.Req request) {
+        switch (request.getReqCase()) {
+            case CONCEPT_MANAGER_REQ:
+            case LOGIC_MANAGER_REQ:
+            case RULE_REQ:
+            case TYPE_REQ:
+            case THING_REQ:
+                return Priority.HIGH;
+            case QUERY_MANAGER_REQ:
+                if (options == null) return Options.DEFAULT_PRIORITY;
+                else if (request.getQueryManagerReq().hasExplainReq()) return Priority.LOW;
+                else return applyDefaultOptions(
+                        new Options.Query().parent(options), request.getQueryManagerReq().getOptions()
+                ).priority();
+            case STREAM_REQ:
+                ResponseStream<?> stream = streams.get(byteStringAsUUID(request.getReqId()));
+                return stream != null ? stream.priority : transactionPriority();
+            default:
+                return transactionPriority();
+        }
+    }
+
+    private Priority transactionPriority() {
+        return options == null ? Options.DEFAULT_PRIORITY : options.priority();
+    }
+
     private void execute(TransactionProto.Transaction.Req request) {
         Lock accessLock = null;
         try {
@@ -151,6 +219,30 @@ public class TransactionService implements StreamObserver<TransactionProto.Trans
         }
     }
 
+    /**
+     * The batch completes once its answers are read on the async executors, and holds the request lock until then.
+     */
+    private CompletableFuture<?> execute(List<TransactionProto.Transaction.Req> thingReqs) {
+        Lock accessLock = null;
+        try {
+            accessLock = acquireRequestLock(thingReqs.get(0));
+            if (!isRPCAlive.get()) throw TypeDBException.of(TRANSACTION_CLOSED);
+            if (!isTransactionOpen.get()) throw TypeDBException.of(TRANSACTION_NOT_OPENED);
+            CompletableFuture<?> batch = executeThingRequests(thingReqs);
+            Lock batchLock = accessLock;
+            accessLock = null;
+            return batch.whenComplete((result, error) -> {
+                batchLock.unlock();
+                if (error != null) close(error instanceof CompletionException ? error.getCause() : error);
+            });
+        } catch (Throwable error) {
+            close(error);
+            return CompletableFuture.completedFuture(null);
+        } finally {
+            if (accessLock != null) accessLock.unlock();
+        }
+    }
+
     private void executeRequest(TransactionProto.Transaction.Req req) {
         if (!isRPCAlive.get()) throw TypeDBException.of(TRANSACTION_CLOSED);
         if (!isTransactionOpen.get()) throw TypeDBException.of(TRANSACTION_NOT_OPENED);
@@ -244,6 +336,10 @@ public class TransactionService implements StreamObserver<TransactionProto.Trans
         services.thing.execute(req);
     }
 
+    protected CompletableFuture<?> executeThingRequests(List<TransactionProto.Transaction.Req> reqs) {
+        return services.thing.execute(reqs);
+    }
+
     protected void executeTypeRequest(TransactionProto.Transaction.Req req) {
         services.type.execute(req);
     }
@@ -263,17 +359,17 @@ public class TransactionService implements StreamObserver<TransactionProto.Trans
     public <T> void stream(Iterator<T> iterator, UUID requestID,
                            Function<List<T>, TransactionProto.Transaction.ResPart> resPartFn) {
         int size = transaction.context().options().prefetchSize();
-        stream(iterator, requestID, size, true, resPartFn);
+        stream(iterator, requestID, size, true, Priority.HIGH, resPartFn);
     }
 
     public <T> void stream(Iterator<T> iterator, UUID requestID, Options.Query options,
                            Function<List<T>, TransactionProto.Transaction.ResPart> resPartFn) {
-        stream(iterator, requestID, options.prefetchSize(), options.prefetch(), resPartFn);
+        stream(iterator, requestID, options.prefetchSize(), options.prefetch(), options.priority(), resPartFn);
     }
 
-    private <T> void stream(Iterator<T> iterator, UUID requestID, int prefetchSize, boolean prefetch,
+    private <T> void stream(Iterator<T> iterator, UUID requestID, int prefetchSize, boolean prefetch, Priority priority,
                             Function<List<T>, TransactionProto.Transaction.ResPart> resPartFn) {
-        ResponseStream<T> stream = new ResponseStream<>(iterator, requestID, prefetchSize, resPartFn);
+        ResponseStream<T> stream = new ResponseStream<>(iterator, requestID, prefetchSize, priority, resPartFn);
         streams.compute(requestID, (key, oldValue) -> {
             if (oldValue == null) return stream;
             else throw TypeDBException.of(DUPLICATE_REQUEST, requestID);
@@ -335,6 +431,7 @@ public class TransactionService implements StreamObserver<TransactionProto.Trans
     @Override
     public void close() {
         if (isRPCAlive.compareAndSet(true, false)) {
+            requests.close();
             if (isTransactionOpen.compareAndSet(true, false)) {
                 transaction.close();
                 sessionSvc.closed(this);
@@ -346,6 +443,7 @@ public class TransactionService implements StreamObserver<TransactionProto.Trans
 
     public void close(Throwable error) {
         if (isRPCAlive.compareAndSet(true, false)) {
+            requests.close();
             if (isTransactionOpen.compareAndSet(true, false)) {
                 transaction.close();
                 sessionSvc.closed(this);
@@ -372,13 +470,15 @@ public class TransactionService implements StreamObserver<TransactionProto.Trans
         private final Iterator<T> iterator;
         private final UUID requestID;
         private final int prefetchSize;
+        private final Priority priority;
 
-        ResponseStream(Iterator<T> iterator, UUID requestID, int prefetchSize,
+        ResponseStream(Iterator<T> iterator, UUID requestID, int prefetchSize, Priority priority,
                        Function<List<T>, TransactionProto.Transaction.ResPart> resPartFn) {
             this.iterator = iterator;
             this.requestID = requestID;
             if (prefetchSize < 1) throw TypeDBException.of(RPC_PREFETCH_SIZE_TOO_SMALL, prefetchSize);
             this.prefetchSize = prefetchSize;
+            this.priority = priority;
             this.resPartFn = resPartFn;
         }
 
@@ -103,6 +103,10 @@ public class TypeDBServer implements AutoCloseable {
                 .dataDir(config.storage().dataDir())
                 .storageDataCacheSize(config.storage().databaseCache().dataSize())
                 .storageIndexCacheSize(config.storage().databaseCache().indexSize())
+                .queryCacheSize(config.storage().databaseCache().queryResults())
+                .storageReadOnly(config.storage().readOnly())
+                .storageStringInlineMaxSize(config.storage().stringInlineSize())
+                .storageProfile(config.storage().profile())
                 .reasonerDebuggerDir(config.log().debugger().reasonerTracer().output().baseDirectory())
                 .reasonerPerfCounters(config.log().debugger().reasonerPerfCounters().isEnabled());
 
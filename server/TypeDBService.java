@@ -58,6 +58,7 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.PROTO
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.SERVER_SHUTDOWN;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.USER_MANAGEMENT_NOT_AVAILABLE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Session.SESSION_NOT_FOUND;
+import static com.vaticle.typedb.core.concurrent.executor.Executors.PARALLELISATION_FACTOR;
 import static com.vaticle.typedb.core.server.common.RequestReader.applyDefaultOptions;
 import static com.vaticle.typedb.core.server.common.RequestReader.byteStringAsUUID;
 import static com.vaticle.typedb.core.server.common.ResponseBuilder.Database.deleteRes;
@@ -81,11 +82,15 @@ public class TypeDBService extends TypeDBGrpc.TypeDBImplBase {
     private final String address;
     protected final TypeDB.DatabaseManager databaseMgr;
     private final ConcurrentMap<UUID, SessionService> sessionServices;
+    private final RequestScheduler scheduler;
 
     public TypeDBService(InetSocketAddress address, TypeDB.DatabaseManager databaseMgr) {
         this.address = address.getHostString() + ":" + address.getPort();
         this.databaseMgr = databaseMgr;
         sessionServices = new ConcurrentHashMap<>();
+        scheduler = new RequestScheduler(
+                Executors.service(), Executors.blocking(), PARALLELISATION_FACTOR, Math.max(1, PARALLELISATION_FACTOR / 2)
+        );
 
         if (LOG.isDebugEnabled()) {
             Executors.scheduled().scheduleAtFixedRate(this::logConnectionStates, 0, 1, TimeUnit.MINUTES);
@@ -393,6 +398,10 @@ public class TypeDBService extends TypeDBGrpc.TypeDBImplBase {
         return sessionServices.get(uuid);
     }
 
+    public RequestScheduler scheduler() {
+        return scheduler;
+    }
+
     public void closed(SessionService sessionSvc) {
         sessionServices.remove(sessionSvc.UUID());
     }
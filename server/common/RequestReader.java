@@ -66,6 +66,7 @@ public class RequestReader {
         if (request.hasReadAnyReplica()) {
             options.readAnyReplica(request.getReadAnyReplica());
         }
+        // the protocol has no query timeout, so network queries keep the default of none; see Options.queryTimeoutMillis
         return options;
     }
 
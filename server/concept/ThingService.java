@@ -40,22 +40,26 @@ import com.vaticle.typedb.protocol.TransactionProto.Transaction;
 import com.vaticle.typeql.lang.common.TypeQLToken.Annotation;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static com.vaticle.typedb.common.collection.Collections.pair;
+import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_ARGUMENT;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.BAD_VALUE_TYPE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.MISSING_CONCEPT;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.UNKNOWN_REQUEST_TYPE;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.concurrent.executor.Executors.async1;
 import static com.vaticle.typedb.core.server.common.RequestReader.byteStringAsUUID;
 import static com.vaticle.typedb.core.server.common.ResponseBuilder.Thing.Attribute.getOwnersResPart;
 import static com.vaticle.typedb.core.server.common.ResponseBuilder.Thing.Relation.addRolePlayerRes;
@@ -88,6 +92,10 @@ public class ThingService {
     private final TransactionService transactionSvc;
     private final ConceptManager conceptMgr;
 
+    private static final Set<ConceptProto.Thing.Req.ReqCase> BATCHABLE_REQUESTS = set(
+            THING_GET_HAS_REQ, THING_GET_RELATIONS_REQ, THING_GET_PLAYING_REQ, RELATION_GET_ROLE_PLAYERS_REQ
+    );
+
     private final EnumMap<ConceptProto.Thing.Req.ReqCase, BiConsumer<ConceptProto.Thing.Req, UUID>> handlers;
 
     public ThingService(TransactionService transactionSvc, ConceptManager conceptMgr) {
@@ -123,14 +131,77 @@ public class ThingService {
         transactionSvc.respond(deleteRes(reqID));
     }
 
+    /**
+     * @return true if the request only reads from one thing, and so can be executed in a batch with other such
+     * requests through {@code execute(List)}
+     */
+    public static boolean isBatchable(Transaction.Req req) {
+        return req.getReqCase() == Transaction.Req.ReqCase.THING_REQ &&
+                BATCHABLE_REQUESTS.contains(req.getThingReq().getReqCase());
+    }
+
+    /**
+     * Executes the read requests that a client sends together to render many things at once. The things are looked up
+     * with one batched storage read, and the first page of answers of every request is collected in parallel. Each
+     * request is then streamed back in order, under its own request ID, just as if it were executed alone.
+     *
+     * @return a future that completes once every request has been streamed back, without blocking the calling thread
+     */
+    public CompletableFuture<Void> execute(List<Transaction.Req> reqs) {
+        assert iterate(reqs).allMatch(ThingService::isBatchable);
+        List<Thing> things = conceptMgr.getThings(
+                iterate(reqs).map(req -> ByteArray.of(req.getThingReq().getIid().toByteArray())).toList()
+        );
+        int prefetchSize = transactionSvc.context().options().prefetchSize();
+        List<CompletableFuture<Runnable>> responses = new ArrayList<>(reqs.size());
+        for (int i = 0; i < reqs.size(); i++) {
+            ConceptProto.Thing.Req thingReq = reqs.get(i).getThingReq();
+            UUID reqID = byteStringAsUUID(reqs.get(i).getReqId());
+            Thing thing = notNull(things.get(i));
+            responses.add(CompletableFuture.supplyAsync(() -> prefetched(thingReq, thing, reqID, prefetchSize), async1()));
+        }
+        // every request completes before the batch does, so that none is still reading when a failure closes the transaction
+        return CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0]))
+                .thenRun(() -> responses.forEach(response -> response.join().run()));
+    }
+
+    private Runnable prefetched(ConceptProto.Thing.Req thingReq, Thing thing, UUID reqID, int prefetchSize) {
+        switch (thingReq.getReqCase()) {
+            case THING_GET_HAS_REQ:
+                return prefetched(getHas(thingReq, thing), prefetchSize,
+                        answers -> transactionSvc.stream(answers, reqID, atts -> getHasResPart(reqID, atts)));
+            case THING_GET_RELATIONS_REQ:
+                return prefetched(getRelations(thingReq, thing), prefetchSize,
+                        answers -> transactionSvc.stream(answers, reqID, rels -> getRelationsResPart(reqID, rels)));
+            case THING_GET_PLAYING_REQ:
+                return prefetched(thing.getPlaying(), prefetchSize,
+                        answers -> transactionSvc.stream(answers, reqID, rols -> getPlayingResPart(reqID, rols)));
+            case RELATION_GET_ROLE_PLAYERS_REQ:
+                return prefetched(relationGetRolePlayers(thing.asRelation()), prefetchSize,
+                        answers -> transactionSvc.stream(answers, reqID, players -> getRolePlayersResPart(reqID, players)));
+            default:
+                throw TypeDBException.of(ILLEGAL_ARGUMENT);
+        }
+    }
+
+    private static <T> Runnable prefetched(FunctionalIterator<T> answers, int prefetchSize,
+                                           Consumer<FunctionalIterator<T>> stream) {
+        List<T> prefetched = new ArrayList<>(prefetchSize);
+        while (prefetched.size() < prefetchSize && answers.hasNext()) prefetched.add(answers.next());
+        return () -> stream.accept(iterate(prefetched).link(answers));
+    }
+
     private void getHas(ConceptProto.Thing.Req thingReq, UUID reqID) {
+        FunctionalIterator<? extends Attribute> attributes = getHas(thingReq, getThing(thingReq));
+        transactionSvc.stream(attributes, reqID, atts -> getHasResPart(reqID, atts));
+    }
+
+    private FunctionalIterator<? extends Attribute> getHas(ConceptProto.Thing.Req thingReq, Thing thing) {
         ConceptProto.Thing.GetHas.Req getHasRequest = thingReq.getThingGetHasReq();
-        Thing thing = getThing(thingReq);
         List<AttributeType> attributeTypes = getHasRequest.getAttributeTypesList().stream()
                 .map(t -> notNull(getAttributeType(t))).collect(Collectors.toList());
         Set<Annotation> annotations = getAnnotations(getHasRequest.getAnnotationsList());
-        FunctionalIterator<? extends Attribute> attributes = thing.getHas(attributeTypes, annotations);
-        transactionSvc.stream(attributes, reqID, atts -> getHasResPart(reqID, atts));
+        return thing.getHas(attributeTypes, annotations);
     }
 
     private void setHas(ConceptProto.Thing.Req thingReq, UUID reqID) {
@@ -148,11 +219,14 @@ public class ThingService {
     }
 
     private void getRelations(ConceptProto.Thing.Req thingReq, UUID reqID) {
-        Thing thing = getThing(thingReq);
+        FunctionalIterator<? extends Relation> concepts = getRelations(thingReq, getThing(thingReq));
+        transactionSvc.stream(concepts, reqID, rels -> getRelationsResPart(reqID, rels));
+    }
+
+    private FunctionalIterator<? extends Relation> getRelations(ConceptProto.Thing.Req thingReq, Thing thing) {
         List<ConceptProto.RoleType> protoRoleTypes = thingReq.getThingGetRelationsReq().getRoleTypesList();
         RoleType[] roleTypes = protoRoleTypes.stream().map(type -> notNull(getRoleType(type))).toArray(RoleType[]::new);
-        FunctionalIterator<? extends Relation> concepts = thing.getRelations(roleTypes);
-        transactionSvc.stream(concepts, reqID, rels -> getRelationsResPart(reqID, rels));
+        return thing.getRelations(roleTypes);
     }
 
     private void getPlaying(ConceptProto.Thing.Req thingReq, UUID reqID) {
@@ -185,16 +259,20 @@ public class ThingService {
     }
 
     private void relationGetRolePlayers(ConceptProto.Thing.Req thingReq, UUID reqID) {
-        Relation relation = getThing(thingReq).asRelation();
+        FunctionalIterator<Pair<RoleType, Thing>> rolePlayers = relationGetRolePlayers(getThing(thingReq).asRelation());
+        transactionSvc.stream(rolePlayers, reqID, players -> getRolePlayersResPart(reqID, players));
+    }
+
+    private FunctionalIterator<Pair<RoleType, Thing>> relationGetRolePlayers(Relation relation) {
         // TODO: this should be optimised to actually iterate over role players by role type lazily
         Map<? extends RoleType, ? extends List<? extends Thing>> playersByRole = relation.getPlayersByRoleType();
-        Stream.Builder<Pair<RoleType, Thing>> responses = Stream.builder();
+        List<Pair<RoleType, Thing>> rolePlayers = new ArrayList<>();
         for (Map.Entry<? extends RoleType, ? extends List<? extends Thing>> players : playersByRole.entrySet()) {
             for (Thing player : players.getValue()) {
-                responses.add(pair(players.getKey(), player));
+                rolePlayers.add(pair(players.getKey(), player));
             }
         }
-        transactionSvc.stream(responses.build().iterator(), reqID, players -> getRolePlayersResPart(reqID, players));
+        return iterate(rolePlayers);
     }
 
     private void relationGetRelating(ConceptProto.Thing.Req thingReq, UUID reqID) {
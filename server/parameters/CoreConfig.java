@@ -19,6 +19,7 @@
 package com.vaticle.typedb.core.server.parameters;
 
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.server.parameters.util.YAMLParser;
 
 import javax.annotation.Nullable;
@@ -27,6 +28,7 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
@@ -192,10 +194,17 @@ public class CoreConfig {
 
         private final Path dataDir;
         private final DatabaseCache databaseCache;
+        private final Set<String> readOnly;
+        private final int stringInlineSize;
+        private final Arguments.Storage.Profile profile;
 
-        protected Storage(Path dataDir, DatabaseCache databaseCache) {
+        protected Storage(Path dataDir, DatabaseCache databaseCache, Set<String> readOnly, int stringInlineSize,
+                          Arguments.Storage.Profile profile) {
             this.dataDir = dataDir;
             this.databaseCache = databaseCache;
+            this.readOnly = readOnly;
+            this.stringInlineSize = stringInlineSize;
+            this.profile = profile;
         }
 
         public Path dataDir() {
@@ -206,14 +215,28 @@ public class CoreConfig {
             return databaseCache;
         }
 
+        public Set<String> readOnly() {
+            return readOnly;
+        }
+
+        public int stringInlineSize() {
+            return stringInlineSize;
+        }
+
+        public Arguments.Storage.Profile profile() {
+            return profile;
+        }
+
         public static class DatabaseCache {
 
             private final long dataSize;
             private final long indexSize;
+            private final int queryResults;
 
-            DatabaseCache(long dataSize, long indexSize) {
+            DatabaseCache(long dataSize, long indexSize, int queryResults) {
                 this.dataSize = dataSize;
                 this.indexSize = indexSize;
+                this.queryResults = queryResults;
             }
 
             public long dataSize() {
@@ -223,6 +246,10 @@ public class CoreConfig {
             public long indexSize() {
                 return indexSize;
             }
+
+            public int queryResults() {
+                return queryResults;
+            }
         }
     }
 
@@ -19,6 +19,7 @@ package com.vaticle.typedb.core.server.parameters;
 
 import com.vaticle.typedb.common.yaml.YAML;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.server.common.Util;
 import com.vaticle.typedb.core.server.parameters.util.YAMLParser;
 
@@ -42,6 +43,7 @@ import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.KeyValue
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.BOOLEAN;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.BYTES_SIZE;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.INET_SOCKET_ADDRESS;
+import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.INTEGER;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.LIST_STRING;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.PATH;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.STRING;
@@ -250,44 +252,57 @@ public class CoreConfigParser extends YAMLParser.Value.Compound<CoreConfig> {
                 predefined("data", "Directory in which user databases will be stored.", PATH);
         protected static final Predefined<CoreConfig.Storage.DatabaseCache> dbCache =
                 predefined(DatabaseCache.name, DatabaseCache.description, new DatabaseCache());
-        private static final Set<Predefined<?>> parsers = set(data, dbCache);
+        protected static final Predefined<List<String>> readOnly =
+                predefined("read-only", "Databases to serve from immutable, memory-mapped storage.", LIST_STRING);
+        protected static final Predefined<Integer> stringInlineSize =
+                predefined("string-inline-size", "Size in bytes above which string attributes are keyed by a hash of their value, in new databases.", INTEGER);
+        protected static final Predefined<String> profile =
+                predefined("profile", "Storage tuning profile that databases are opened with.",
+                        restricted(STRING, Arguments.Storage.Profile.names()));
+        private static final Set<Predefined<?>> parsers = set(data, dbCache, readOnly, stringInlineSize, profile);
 
         @Override
         public CoreConfig.Storage parse(YAML yaml, String path) {
             if (yaml.isMap()) {
                 validatePredefinedKeys(parsers, yaml.asMap().keys(), path);
                 return new CoreConfig.Storage(configPathAbsolute(data.parse(yaml.asMap(), path)),
-                        dbCache.parse(yaml.asMap(), path));
+                        dbCache.parse(yaml.asMap(), path), new HashSet<>(readOnly.parse(yaml.asMap(), path)),
+                        stringInlineSize.parse(yaml.asMap(), path),
+                        Arguments.Storage.Profile.of(profile.parse(yaml.asMap(), path)));
             } else throw TypeDBException.of(CONFIG_YAML_MUST_BE_MAP, path);
         }
 
         @Override
         public List<com.vaticle.typedb.core.server.parameters.util.Help> helpList(String path) {
-            return list(data.help(path), dbCache.help(path));
+            return list(data.help(path), dbCache.help(path), readOnly.help(path), stringInlineSize.help(path),
+                    profile.help(path));
         }
 
         private static class DatabaseCache extends Compound<CoreConfig.Storage.DatabaseCache> {
 
             private static final String name = "database-cache";
-            private static final String description = "Per-database storage-layer cache configuration.";
+            private static final String description = "Per-database storage-layer and query cache configuration.";
 
             private static final Predefined<Long> data =
                     predefined("data", "Size of storage-layer cache for data.", BYTES_SIZE);
             private static final Predefined<Long> index =
                     predefined("index", "Size of storage-layer cache for index.", BYTES_SIZE);
-            private static final Set<Predefined<?>> parsers = set(data, index);
+            private static final Predefined<Integer> queryResults =
+                    predefined("query-results", "Number of match query results cached for reuse by read transactions.", INTEGER);
+            private static final Set<Predefined<?>> parsers = set(data, index, queryResults);
 
             @Override
             public CoreConfig.Storage.DatabaseCache parse(YAML yaml, String path) {
                 if (yaml.isMap()) {
                     validatePredefinedKeys(parsers, yaml.asMap().keys(), path);
-                    return new CoreConfig.Storage.DatabaseCache(data.parse(yaml.asMap(), path), index.parse(yaml.asMap(), path));
+                    return new CoreConfig.Storage.DatabaseCache(data.parse(yaml.asMap(), path), index.parse(yaml.asMap(), path),
+                            queryResults.parse(yaml.asMap(), path));
                 } else throw TypeDBException.of(CONFIG_YAML_MUST_BE_MAP, path);
             }
 
             @Override
             public List<com.vaticle.typedb.core.server.parameters.util.Help> helpList(String path) {
-                return list(data.help(path), index.help(path));
+                return list(data.help(path), index.help(path), queryResults.help(path));
             }
         }
     }
@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.server;
+
+import com.vaticle.typedb.core.common.parameters.Arguments.Query.Priority;
+import com.vaticle.typedb.core.concurrent.executor.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequestSchedulerTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private ExecutorService executor;
+    private ExecutorService blockingExecutor;
+
+    @BeforeClass
+    public static void initialiseExecutors() {
+        // the scheduler logs its queue times on the scheduled executor when debug logging is enabled
+        if (!Executors.isInitialised()) Executors.initialise(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Before
+    public void setup() {
+        executor = java.util.concurrent.Executors.newFixedThreadPool(4);
+        blockingExecutor = java.util.concurrent.Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+        blockingExecutor.shutdownNow();
+    }
+
+    @Test
+    public void requests_of_one_transaction_run_one_at_a_time_in_order() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler(executor, blockingExecutor, 4, 2);
+        RequestScheduler.RequestQueue queue = scheduler.queue(() -> "db");
+        int requests = 200;
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger active = new AtomicInteger(0);
+        AtomicBoolean overlapped = new AtomicBoolean(false);
+        CountDownLatch done = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            int request = i;
+            Priority priority = Priority.values()[i % Priority.values().length];
+            queue.submit(() -> priority, () -> {
+                if (active.incrementAndGet() > 1) overlapped.set(true);
+                order.add(request);
+                active.decrementAndGet();
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        for (int i = 0; i < requests; i++) assertEquals(i, (int) order.get(i));
+    }
+
+    @Test
+    public void running_requests_are_capped_in_total_and_for_low_priority() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler(executor, blockingExecutor, 3, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger(0);
+        AtomicInteger runningLow = new AtomicInteger(0);
+        AtomicInteger maxRunning = new AtomicInteger(0);
+        AtomicInteger maxRunningLow = new AtomicInteger(0);
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch done = new CountDownLatch(8);
+        for (int i = 0; i < 8; i++) {
+            Priority priority = i < 4 ? Priority.LOW : Priority.NORMAL;
+            scheduler.queue(() -> "db").submit(() -> priority, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                if (priority.isLow()) maxRunningLow.accumulateAndGet(runningLow.incrementAndGet(), Math::max);
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                if (priority.isLow()) runningLow.decrementAndGet();
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(3, running.get());
+        release.countDown();
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(3, maxRunning.get());
+        assertEquals(1, maxRunningLow.get());
+    }
+
+    @Test
+    public void priorities_share_the_executor_by_weight_without_starving_low_priority() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler(executor, blockingExecutor, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch gateStarted = new CountDownLatch(1);
+        scheduler.queue(() -> "db").submit(() -> Priority.NORMAL, () -> {
+            gateStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(gateStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        int requestsPerPriority = 30;
+        List<Priority> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2 * requestsPerPriority);
+        for (int i = 0; i < requestsPerPriority; i++) {
+            for (Priority priority : new Priority[]{Priority.HIGH, Priority.LOW}) {
+                scheduler.queue(() -> "db").submit(() -> priority, () -> {
+                    order.add(priority);
+                    done.countDown();
+                });
+            }
+        }
+        release.countDown();
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // with weights of 8 to 1, low priority requests are served about once for every 8 high priority requests
+        List<Priority> first = order.subList(0, 18);
+        long low = first.stream().filter(Priority::isLow).count();
+        assertTrue(low >= 1 && low <= 3);
+        assertEquals(Priority.LOW, order.get(order.size() - 1));
+    }
+
+    @Test
+    public void closing_drops_queued_requests_while_a_long_request_runs() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler(executor, blockingExecutor, 1, 1);
+        RequestScheduler.RequestQueue queue = scheduler.queue(() -> "db");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch longStarted = new CountDownLatch(1);
+        CountDownLatch longDone = new CountDownLatch(1);
+        AtomicBoolean dropped = new AtomicBoolean(true);
+        queue.submit(() -> Priority.NORMAL, () -> {
+            longStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            longDone.countDown();
+        });
+        queue.submit(() -> Priority.NORMAL, () -> dropped.set(false));
+        assertTrue(longStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        queue.close();
+        queue.submit(() -> Priority.HIGH, () -> dropped.set(false));
+        release.countDown();
+        assertTrue(longDone.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // the slot of the long request is released, and is taken by another transaction rather than a dropped request
+        CountDownLatch other = new CountDownLatch(1);
+        scheduler.queue(() -> "db").submit(() -> Priority.NORMAL, other::countDown);
+        assertTrue(other.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(dropped.get());
+    }
+
+    @Test
+    public void blocking_requests_do_not_hold_running_slots() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler(executor, blockingExecutor, 1, 1);
+        RequestScheduler.RequestQueue opening = scheduler.queue(() -> "db");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch opened = new CountDownLatch(1);
+        AtomicBoolean ranBeforeOpened = new AtomicBoolean(false);
+        opening.submitBlocking(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            opened.countDown();
+        });
+        opening.submit(() -> Priority.HIGH, () -> ranBeforeOpened.set(opened.getCount() > 0));
+
+        CountDownLatch other = new CountDownLatch(1);
+        scheduler.queue(() -> "db").submit(() -> Priority.NORMAL, other::countDown);
+        assertTrue(other.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        release.countDown();
+        assertTrue(opened.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        CountDownLatch after = new CountDownLatch(1);
+        opening.submit(() -> Priority.HIGH, after::countDown);
+        assertTrue(after.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertFalse(ranBeforeOpened.get());
+    }
+
+    @Test
+    public void asynchronous_requests_hold_their_slot_until_their_future_completes() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler(executor, blockingExecutor, 1, 1);
+        RequestScheduler.RequestQueue queue = scheduler.queue(() -> "db");
+        CompletableFuture<Void> batch = new CompletableFuture<>();
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean ranBeforeCompleted = new AtomicBoolean(false);
+        queue.submitAsync(() -> Priority.HIGH, () -> {
+            started.countDown();
+            return batch;
+        });
+        queue.submit(() -> Priority.HIGH, () -> ranBeforeCompleted.set(!batch.isDone()));
+        AtomicBoolean otherRanBeforeCompleted = new AtomicBoolean(false);
+        CountDownLatch other = new CountDownLatch(1);
+        scheduler.queue(() -> "db").submit(() -> Priority.NORMAL, () -> {
+            otherRanBeforeCompleted.set(!batch.isDone());
+            other.countDown();
+        });
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertFalse(other.await(100, TimeUnit.MILLISECONDS));
+
+        batch.complete(null);
+        assertTrue(other.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        CountDownLatch after = new CountDownLatch(1);
+        queue.submit(() -> Priority.HIGH, after::countDown);
+        assertTrue(after.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertFalse(ranBeforeCompleted.get());
+        assertFalse(otherRanBeforeCompleted.get());
+    }
+}
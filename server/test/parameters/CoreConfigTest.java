@@ -54,6 +54,7 @@ public class CoreConfigTest {
         assertEquals(new InetSocketAddress("0.0.0.0", 1729), config.server().address());
         assertEquals(500 * Bytes.MB, config.storage().databaseCache().dataSize());
         assertEquals(500 * Bytes.MB, config.storage().databaseCache().indexSize());
+        assertEquals(0, config.storage().databaseCache().queryResults());
         assertFalse(config.vaticleFactory().enable());
         assertTrue(config.log().output().outputs().containsKey("stdout"));
         assertTrue(config.log().output().outputs().containsKey("file"));
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.benchmark.micro;
+
+import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options.Database;
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.graph.GraphManager;
+import com.vaticle.typedb.core.graph.vertex.ThingVertex;
+import com.vaticle.typedb.core.graph.vertex.TypeVertex;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typeql.lang.TypeQL;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+
+/**
+ * A small database shared by the benchmarks that read through storage: {@value #PEOPLE} people with a name each,
+ * and a single hub that owns {@value #HUB_NAMES} names. A read transaction is held open for the whole trial.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkGraph {
+
+    static final int PEOPLE = 10_000;
+    static final int HUB_NAMES = 1_000;
+    static final int FORWARD_STRIDE = 100;
+
+    private static final String DATABASE = "micro-benchmark";
+
+    private Path dataDir;
+    private CoreDatabaseManager databaseMgr;
+    TypeDB.Session session;
+    TypeDB.Transaction transaction;
+    GraphManager graph;
+    TypeVertex personType;
+    ThingVertex hub;
+    List<ThingVertex> forwardTargets;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dataDir = Files.createTempDirectory(DATABASE);
+        databaseMgr = CoreDatabaseManager.open(new Database().dataDir(dataDir).reasonerDebuggerDir(dataDir.resolve("logs"))
+                .storageDataCacheSize(MB * 64).storageIndexCacheSize(MB * 64));
+        databaseMgr.create(DATABASE);
+        try (TypeDB.Session schemaSession = databaseMgr.session(DATABASE, Arguments.Session.Type.SCHEMA);
+             TypeDB.Transaction txn = schemaSession.transaction(Arguments.Transaction.Type.WRITE)) {
+            txn.query().define(TypeQL.parseQuery("define " +
+                    "name sub attribute, value string;" +
+                    "person sub entity, owns name;" +
+                    "hub sub entity, owns name;").asDefine());
+            txn.commit();
+        }
+        session = databaseMgr.session(DATABASE, Arguments.Session.Type.DATA);
+        try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+            for (int i = 0; i < PEOPLE; i++) {
+                txn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'person-" + i + "';"));
+            }
+            StringBuilder hubQuery = new StringBuilder("insert $h isa hub");
+            for (int i = 0; i < HUB_NAMES; i++) hubQuery.append(", has name 'person-").append(i).append("'");
+            txn.query().insert(TypeQL.parseQuery(hubQuery.append(";").toString()));
+            txn.commit();
+        }
+
+        transaction = session.transaction(Arguments.Transaction.Type.READ);
+        graph = transaction.concepts().graph();
+        personType = graph.schema().getType("person");
+        hub = graph.data().getReadable(graph.schema().getType("hub")).first().get();
+        List<ThingVertex> people = graph.data().getReadable(personType).toList();
+        forwardTargets = new ArrayList<>();
+        for (int i = 0; i < people.size(); i += FORWARD_STRIDE) forwardTargets.add(people.get(i));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        transaction.close();
+        session.close();
+        databaseMgr.close();
+        Util.deleteDirectory(dataDir);
+    }
+}
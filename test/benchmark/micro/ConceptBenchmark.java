@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.benchmark.micro;
+
+import com.vaticle.typedb.core.concept.Concept;
+import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.graph.vertex.Vertex;
+import com.vaticle.typedb.core.traversal.common.Identifier;
+import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
+import com.vaticle.typedb.core.traversal.common.VertexMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.vaticle.typeql.lang.TypeQL.cVar;
+
+/**
+ * Construction of answers: converting the vertices found by a traversal into concepts, and building concept maps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConceptBenchmark {
+
+    private ConceptManager conceptMgr;
+    private VertexMap vertexMap;
+    private Map<Retrievable, Concept> concepts;
+
+    @Setup
+    public void setup(BenchmarkGraph graph) {
+        conceptMgr = graph.transaction.concepts();
+        Map<Retrievable, Vertex<?, ?>> vertices = new HashMap<>();
+        vertices.put(Identifier.Variable.of(cVar("x").reference().asName()), graph.hub);
+        vertices.put(Identifier.Variable.of(cVar("y").reference().asName()), graph.forwardTargets.get(0));
+        vertices.put(Identifier.Variable.of(cVar("t").reference().asName()), graph.personType);
+        vertexMap = VertexMap.of(vertices);
+        concepts = new HashMap<>(conceptMgr.conceptMap(vertexMap).concepts());
+    }
+
+    @Benchmark
+    public ConceptMap fromConcepts() {
+        return new ConceptMap(concepts);
+    }
+
+    @Benchmark
+    public ConceptMap fromVertices() {
+        return conceptMgr.conceptMap(vertexMap);
+    }
+
+    @Benchmark
+    public int fromVerticesAndRead() {
+        ConceptMap answer = conceptMgr.conceptMap(vertexMap);
+        int hash = 0;
+        for (Concept concept : answer.concepts().values()) hash ^= concept.hashCode();
+        return hash;
+    }
+}
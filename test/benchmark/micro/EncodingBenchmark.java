@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.benchmark.micro;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBCheckedException;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.encoding.Encoding;
+import com.vaticle.typedb.core.encoding.iid.EdgeViewIID;
+import com.vaticle.typedb.core.encoding.iid.InfixIID;
+import com.vaticle.typedb.core.encoding.iid.VertexIID;
+import com.vaticle.typedb.core.encoding.key.KeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.vaticle.typedb.core.encoding.Encoding.Edge.Thing.Base.HAS;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Encoding and decoding of the byte arrays that make up every key in storage, and construction and comparison of the
+ * vertex and edge IIDs built from them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodingBenchmark {
+
+    private static final String STRING_VALUE = "the quick brown fox jumps over the lazy dog";
+
+    private long longValue;
+    private ByteArray encodedLong;
+    private ByteArray encodedString;
+    private VertexIID.Type typeIID;
+    private VertexIID.Thing ownerIID;
+    private VertexIID.Thing otherOwnerIID;
+    private VertexIID.Thing attributeIID;
+    private InfixIID.Thing hasInfix;
+    private EdgeViewIID.Thing edgeIID;
+    private EdgeViewIID.Thing otherEdgeIID;
+
+    @Setup
+    public void setup() throws TypeDBCheckedException {
+        longValue = 1_234_567_890_123L;
+        encodedLong = ByteArray.encodeLongAsSorted(longValue);
+        encodedString = ByteArray.encodeStringAsSorted(STRING_VALUE, UTF_8);
+
+        KeyGenerator.Data.Buffered keyGenerator = new KeyGenerator.Data.Buffered();
+        typeIID = VertexIID.Type.generate(new KeyGenerator.Schema.Buffered(), Encoding.Vertex.Type.ENTITY_TYPE);
+        VertexIID.Type attributeTypeIID = VertexIID.Type.generate(
+                new KeyGenerator.Schema.Buffered(), Encoding.Vertex.Type.ATTRIBUTE_TYPE
+        );
+        ownerIID = VertexIID.Thing.generate(keyGenerator, typeIID, Label.of("person"));
+        otherOwnerIID = VertexIID.Thing.generate(keyGenerator, typeIID, Label.of("person"));
+        attributeIID = new VertexIID.Attribute.Long(attributeTypeIID, longValue);
+        hasInfix = InfixIID.Thing.of(HAS.forward());
+        edgeIID = EdgeViewIID.Thing.of(ownerIID, hasInfix, attributeIID);
+        otherEdgeIID = EdgeViewIID.Thing.of(otherOwnerIID, hasInfix, attributeIID);
+    }
+
+    @Benchmark
+    public ByteArray encodeLongAsSorted() {
+        return ByteArray.encodeLongAsSorted(longValue);
+    }
+
+    @Benchmark
+    public long decodeSortedAsLong() {
+        return encodedLong.decodeSortedAsLong();
+    }
+
+    @Benchmark
+    public ByteArray encodeStringAsSorted() throws TypeDBCheckedException {
+        return ByteArray.encodeStringAsSorted(STRING_VALUE, UTF_8);
+    }
+
+    @Benchmark
+    public String decodeSortedAsString() {
+        return encodedString.decodeSortedAsString(UTF_8);
+    }
+
+    @Benchmark
+    public VertexIID.Thing vertexIIDFromBytes() {
+        return VertexIID.Thing.of(ownerIID.bytes());
+    }
+
+    @Benchmark
+    public int vertexIIDCompare() {
+        return ownerIID.bytes().compareTo(otherOwnerIID.bytes());
+    }
+
+    @Benchmark
+    public boolean vertexIIDEquals() {
+        return ownerIID.equals(otherOwnerIID);
+    }
+
+    @Benchmark
+    public EdgeViewIID.Thing edgeIIDConstruct() {
+        return EdgeViewIID.Thing.of(ownerIID, hasInfix, attributeIID);
+    }
+
+    @Benchmark
+    public VertexIID.Thing edgeIIDDecodeEnd() {
+        return EdgeViewIID.Thing.of(edgeIID.bytes()).end();
+    }
+
+    @Benchmark
+    public int edgeIIDCompare() {
+        return edgeIID.bytes().compareTo(otherEdgeIID.bytes());
+    }
+}
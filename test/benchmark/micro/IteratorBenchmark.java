@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.benchmark.micro;
+
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
+import com.vaticle.typedb.core.common.parameters.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.intersect;
+import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.iterateSorted;
+import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.merge;
+import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
+
+/**
+ * Merging, intersecting and forwarding of the sorted iterators that traversals are built from, over in-memory
+ * sources so that only the iterator machinery is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IteratorBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private NavigableSet<Long> multiplesOf2;
+    private NavigableSet<Long> multiplesOf3;
+    private NavigableSet<Long> multiplesOf5;
+
+    @Setup
+    public void setup() {
+        multiplesOf2 = multiples(2);
+        multiplesOf3 = multiples(3);
+        multiplesOf5 = multiples(5);
+    }
+
+    private NavigableSet<Long> multiples(long factor) {
+        NavigableSet<Long> multiples = new TreeSet<>();
+        for (long i = 0; i < size; i++) multiples.add(i * factor);
+        return multiples;
+    }
+
+    private Forwardable<Long, Order.Asc> iterate(NavigableSet<Long> set) {
+        return iterateSorted(set, ASC);
+    }
+
+    @Benchmark
+    public long scan() {
+        return iterate(multiplesOf2).count();
+    }
+
+    @Benchmark
+    public long forward() {
+        Forwardable<Long, Order.Asc> iterator = iterate(multiplesOf2);
+        long found = 0;
+        for (long target = 0; target < size * 2L; target += 97) {
+            iterator.forward(target);
+            if (!iterator.hasNext()) break;
+            iterator.next();
+            found++;
+        }
+        iterator.recycle();
+        return found;
+    }
+
+    @Benchmark
+    public long merge2() {
+        return merge(iterate(multiplesOf2), iterate(multiplesOf3)).count();
+    }
+
+    @Benchmark
+    public long merge3() {
+        return merge(iterate(multiplesOf2), iterate(multiplesOf3), iterate(multiplesOf5)).count();
+    }
+
+    @Benchmark
+    public long intersect2() {
+        return intersect(iterate(multiplesOf2), iterate(multiplesOf3)).count();
+    }
+
+    @Benchmark
+    public long intersect3() {
+        return intersect(iterate(multiplesOf2), iterate(multiplesOf3), iterate(multiplesOf5)).count();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.benchmark.micro;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Paths;
+
+/**
+ * Runs the micro-benchmarks and writes their results as JSON, so that runs across versions can be compared.
+ * <p>
+ * Usage: {@code micro-benchmarks [results file] [benchmark regex]}. The results file defaults to
+ * {@value #DEFAULT_RESULTS} in the working directory, and all benchmarks are run if no regex is given.
+ */
+public class MicroBenchmarks {
+
+    private static final String DEFAULT_RESULTS = "micro-benchmarks.json";
+
+    public static void main(String[] args) throws RunnerException {
+        String results = args.length > 0 ? args[0] : DEFAULT_RESULTS;
+        String include = args.length > 1 ? args[1] : MicroBenchmarks.class.getPackage().getName() + ".*";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(Paths.get(results).toAbsolutePath().toString())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.benchmark.micro;
+
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
+import com.vaticle.typedb.core.common.parameters.Order;
+import com.vaticle.typedb.core.encoding.iid.VertexIID;
+import com.vaticle.typedb.core.graph.vertex.ThingVertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
+import static com.vaticle.typedb.core.encoding.Encoding.Edge.Thing.Base.HAS;
+
+/**
+ * Scans and seeks through RocksDB, both directly over keys and through the thing graph, and iteration over the
+ * edges of a single vertex.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+
+    @Benchmark
+    public long scanKeys(BenchmarkGraph graph) {
+        return graph.graph.data().storage().iterate(VertexIID.Thing.prefix(graph.personType.iid())).count();
+    }
+
+    @Benchmark
+    public long scanVertices(BenchmarkGraph graph) {
+        return graph.graph.data().getReadable(graph.personType).count();
+    }
+
+    @Benchmark
+    public long forwardVertices(BenchmarkGraph graph) {
+        Forwardable<ThingVertex, Order.Asc> iterator = graph.graph.data().getReadable(graph.personType, ASC);
+        long found = 0;
+        for (ThingVertex target : graph.forwardTargets) {
+            iterator.forward(target);
+            if (!iterator.hasNext()) break;
+            iterator.next();
+            found++;
+        }
+        iterator.recycle();
+        return found;
+    }
+
+    @Benchmark
+    public long iterateHasEdges(BenchmarkGraph graph) {
+        return graph.hub.outs().edge(HAS).to().count();
+    }
+
+    @Benchmark
+    public long lookupHasEdges(BenchmarkGraph graph) {
+        long found = 0;
+        for (ThingVertex target : graph.forwardTargets) {
+            if (target.outs().edge(HAS).to().first().isPresent()) found++;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.benchmark.micro;
+
+import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.concept.thing.Thing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The latency of opening and closing a transaction, on its own and around a single point lookup, which dominates
+ * the cost of short reads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionBenchmark {
+
+    @Benchmark
+    public boolean openCloseRead(BenchmarkGraph graph) {
+        try (TypeDB.Transaction transaction = graph.session.transaction(Arguments.Transaction.Type.READ)) {
+            return transaction.isOpen();
+        }
+    }
+
+    @Benchmark
+    public boolean openCloseWrite(BenchmarkGraph graph) {
+        try (TypeDB.Transaction transaction = graph.session.transaction(Arguments.Transaction.Type.WRITE)) {
+            return transaction.isOpen();
+        }
+    }
+
+    @Benchmark
+    public Thing pointLookupRead(BenchmarkGraph graph) {
+        try (TypeDB.Transaction transaction = graph.session.transaction(Arguments.Transaction.Type.READ)) {
+            return transaction.concepts().getThing(graph.hub.iid().bytes());
+        }
+    }
+}
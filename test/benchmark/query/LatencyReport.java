@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.query.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the latency of every query run, per query type, and summarises them as throughput and latency
+ * percentiles.
+ */
+public class LatencyReport {
+
+    private final ConcurrentMap<String, List<Long>> latencies;
+    private final ConcurrentMap<String, AtomicLong> failures;
+
+    public LatencyReport() {
+        latencies = new ConcurrentHashMap<>();
+        failures = new ConcurrentHashMap<>();
+    }
+
+    public void record(String queryType, long nanos) {
+        latencies.computeIfAbsent(queryType, t -> Collections.synchronizedList(new ArrayList<>())).add(nanos);
+    }
+
+    public void failed(String queryType) {
+        failures.computeIfAbsent(queryType, t -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * @return one CSV line per query type, with a header line, covering queries run over the given duration
+     */
+    public String toCSV(Duration elapsed) {
+        StringBuilder csv = new StringBuilder("query,count,failures,throughput_per_s,p50_ms,p99_ms,max_ms\n");
+        Map<String, List<Long>> sorted = new TreeMap<>(latencies);
+        failures.keySet().forEach(type -> sorted.putIfAbsent(type, new ArrayList<>()));
+        sorted.forEach((type, recorded) -> {
+            List<Long> nanos;
+            synchronized (recorded) {
+                nanos = new ArrayList<>(recorded);
+            }
+            Collections.sort(nanos);
+            double seconds = elapsed.toNanos() / 1e9;
+            csv.append(type).append(",")
+                    .append(nanos.size()).append(",")
+                    .append(failures.getOrDefault(type, new AtomicLong()).get()).append(",")
+                    .append(String.format("%.1f", nanos.size() / seconds)).append(",")
+                    .append(millis(percentile(nanos, 0.50))).append(",")
+                    .append(millis(percentile(nanos, 0.99))).append(",")
+                    .append(millis(nanos.isEmpty() ? 0 : nanos.get(nanos.size() - 1))).append("\n");
+        });
+        return csv.toString();
+    }
+
+    private static long percentile(List<Long> sortedNanos, double percentile) {
+        if (sortedNanos.isEmpty()) return 0;
+        int index = (int) Math.ceil(percentile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(index, 0));
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1e6);
+    }
+}
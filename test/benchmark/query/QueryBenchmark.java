@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.query.benchmark;
+
+import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options.Database;
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.query.benchmark.Workload.QueryType;
+import com.vaticle.typedb.core.query.benchmark.generation.SocialGraph;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures the throughput and latency of plain (non-reasoning) queries over a generated {@link SocialGraph}, with
+ * the interactive read and write mixes in {@link Workload}.
+ * <p>
+ * The run is configured through system properties: {@code benchmark.scale} (the scale factor of the data, default 1),
+ * {@code benchmark.concurrency} (the number of clients issuing queries, default 4), {@code benchmark.duration}
+ * (seconds to measure each mix for, default 30) and {@code benchmark.seed}. Results are printed as CSV, one line
+ * per query type.
+ */
+public class QueryBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryBenchmark.class);
+    private static final String database = "query-benchmark";
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve(database);
+    private static final Database options = new Database().dataDir(dataDir).reasonerDebuggerDir(dataDir.resolve("logs"))
+            .storageDataCacheSize(MB * 256).storageIndexCacheSize(MB * 256);
+
+    private static final int scale = Integer.getInteger("benchmark.scale", 1);
+    private static final int concurrency = Integer.getInteger("benchmark.concurrency", 4);
+    private static final Duration duration = Duration.ofSeconds(Integer.getInteger("benchmark.duration", 30));
+    private static final Duration warmup = duration.dividedBy(5);
+    private static final long seed = Long.getLong("benchmark.seed", 0L);
+
+    private static CoreDatabaseManager databaseMgr;
+    private static SocialGraph graph;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Util.resetDirectory(dataDir);
+        databaseMgr = CoreDatabaseManager.open(options);
+        databaseMgr.create(database);
+        graph = new SocialGraph(databaseMgr, database, scale, seed);
+        long start = System.nanoTime();
+        graph.load();
+        LOG.info("Loaded social graph at scale {} ({} people, {} posts) in {} ms", scale, graph.people(),
+                graph.posts(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        databaseMgr.close();
+    }
+
+    @Test
+    public void interactive_reads() throws Exception {
+        run("interactive_reads", Workload.readMix(graph));
+    }
+
+    @Test
+    public void interactive_writes() throws Exception {
+        run("interactive_writes", Workload.writeMix(graph));
+    }
+
+    @Test
+    public void interactive_mixed() throws Exception {
+        List<QueryType> mix = new ArrayList<>(Workload.readMix(graph));
+        mix.addAll(Workload.writeMix(graph));
+        run("interactive_mixed", mix);
+    }
+
+    private void run(String name, List<QueryType> mix) throws Exception {
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            runClients(session, mix, warmup, new LatencyReport());
+            LatencyReport report = new LatencyReport();
+            long start = System.nanoTime();
+            long queries = runClients(session, mix, duration, report);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            System.out.println(name + " (scale " + scale + ", concurrency " + concurrency + ")\n" + report.toCSV(elapsed));
+            assertTrue(queries > 0);
+        }
+    }
+
+    private long runClients(TypeDB.Session session, List<QueryType> mix, Duration duration,
+                            LatencyReport report) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Long>> completed = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Random random = new Random(seed + i);
+            completed.add(clients.submit(() -> runClient(session, mix, random, deadline, report)));
+        }
+        long queries = 0;
+        for (Future<Long> future : completed) queries += future.get();
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+        return queries;
+    }
+
+    private static long runClient(TypeDB.Session session, List<QueryType> mix, Random random, long deadline,
+                                  LatencyReport report) {
+        long queries = 0;
+        while (System.nanoTime() < deadline) {
+            QueryType type = QueryType.pick(mix, random);
+            Arguments.Transaction.Type txType = type.isWrite() ? Arguments.Transaction.Type.WRITE : Arguments.Transaction.Type.READ;
+            long start = System.nanoTime();
+            try (TypeDB.Transaction tx = session.transaction(txType)) {
+                type.run(random, tx);
+                if (type.isWrite()) tx.commit();
+                report.record(type.name(), System.nanoTime() - start);
+                queries++;
+            } catch (TypeDBException e) {
+                // write conflicts between concurrent clients are expected, and are reported as failures
+                report.failed(type.name());
+            }
+        }
+        return queries;
+    }
+}
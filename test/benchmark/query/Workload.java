@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.query.benchmark;
+
+import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.query.benchmark.generation.SocialGraph;
+import com.vaticle.typeql.lang.TypeQL;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import static com.vaticle.typedb.common.collection.Collections.list;
+import static com.vaticle.typedb.core.query.benchmark.generation.SocialGraph.skewed;
+
+/**
+ * The query types that make up the interactive read and write mixes over a {@link SocialGraph}, each with the
+ * relative weight it is picked with.
+ */
+public class Workload {
+
+    public static List<QueryType> readMix(SocialGraph graph) {
+        return list(
+                new QueryType("person-profile", false, 30, (random, tx) -> match(tx,
+                        "match $p isa person, has person-id " + person(graph, random) + ", has name $n, has age $a;"
+                )),
+                new QueryType("friends", false, 25, (random, tx) -> match(tx,
+                        "match $p isa person, has person-id " + person(graph, random) + ";" +
+                                "(friend: $p, friend: $f) isa knows; $f has name $n;"
+                )),
+                new QueryType("friends-of-friends", false, 10, (random, tx) -> match(tx,
+                        "match $p isa person, has person-id " + person(graph, random) + ";" +
+                                "(friend: $p, friend: $f) isa knows; (friend: $f, friend: $ff) isa knows;" +
+                                "not { $ff is $p; }; $ff has person-id $id; get $id;"
+                )),
+                new QueryType("recent-friend-posts", false, 20, (random, tx) -> match(tx,
+                        "match $p isa person, has person-id " + person(graph, random) + ";" +
+                                "(friend: $p, friend: $f) isa knows; (author: $f, post: $post) isa posting;" +
+                                "$post has creation-date $d; sort $d desc; limit 20;"
+                )),
+                new QueryType("post-likers", false, 15, (random, tx) -> match(tx,
+                        "match $post isa post, has post-id " + post(graph, random) + ";" +
+                                "(liker: $l, liked: $post) isa liking; $l has name $n;"
+                ))
+        );
+    }
+
+    public static List<QueryType> writeMix(SocialGraph graph) {
+        AtomicLong nextPostID = new AtomicLong(graph.posts());
+        return list(
+                new QueryType("insert-post", true, 40, (random, tx) -> insert(tx,
+                        SocialGraph.post(person(graph, random), nextPostID.getAndIncrement())
+                )),
+                new QueryType("insert-knows", true, 20, (random, tx) -> insert(tx,
+                        SocialGraph.knows(person(graph, random), person(graph, random))
+                )),
+                new QueryType("insert-like", true, 20, (random, tx) -> insert(tx,
+                        SocialGraph.like(person(graph, random), post(graph, random))
+                )),
+                new QueryType("update-age", true, 15, (random, tx) -> {
+                    tx.query().update(TypeQL.parseQuery(
+                            "match $p isa person, has person-id " + person(graph, random) + ", has age $a;" +
+                                    "delete $p has $a; insert $p has age " + (18 + random.nextInt(62)) + ";"
+                    ).asUpdate());
+                    return 1L;
+                }),
+                new QueryType("delete-like", true, 5, (random, tx) -> {
+                    long[] like = graph.likes().get(random.nextInt(graph.likes().size()));
+                    tx.query().delete(TypeQL.parseQuery(
+                            "match $a isa person, has person-id " + like[0] + "; $p isa post, has post-id " + like[1] + ";" +
+                                    "$l (liker: $a, liked: $p) isa liking; delete $l isa liking;"
+                    ).asDelete());
+                    return 1L;
+                })
+        );
+    }
+
+    private static long person(SocialGraph graph, Random random) {
+        return random.nextInt(graph.people());
+    }
+
+    private static long post(SocialGraph graph, Random random) {
+        return skewed(random, graph.posts());
+    }
+
+    private static long match(TypeDB.Transaction tx, String query) {
+        return tx.query().match(TypeQL.parseQuery(query).asMatch()).count();
+    }
+
+    private static long insert(TypeDB.Transaction tx, String query) {
+        return tx.query().insert(TypeQL.parseQuery(query).asInsert()).count();
+    }
+
+    public static class QueryType {
+
+        private final String name;
+        private final boolean isWrite;
+        private final int weight;
+        private final BiFunction<Random, TypeDB.Transaction, Long> run;
+
+        QueryType(String name, boolean isWrite, int weight, BiFunction<Random, TypeDB.Transaction, Long> run) {
+            this.name = name;
+            this.isWrite = isWrite;
+            this.weight = weight;
+            this.run = run;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean isWrite() {
+            return isWrite;
+        }
+
+        /**
+         * Run one instance of this query in the given transaction, returning the number of answers.
+         */
+        public long run(Random random, TypeDB.Transaction tx) {
+            return run.apply(random, tx);
+        }
+
+        public static QueryType pick(List<QueryType> mix, Random random) {
+            int total = 0;
+            for (QueryType type : mix) total += type.weight;
+            int picked = random.nextInt(total);
+            for (QueryType type : mix) {
+                if (picked < type.weight) return type;
+                picked -= type.weight;
+            }
+            throw new IllegalStateException();
+        }
+    }
+}
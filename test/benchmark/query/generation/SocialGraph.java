@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.vaticle.typedb.core.query.benchmark.generation;
+
+import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typeql.lang.TypeQL;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Generates a social network in the style of the LDBC Social Network Benchmark: people who know each other, the
+ * posts they author, and the posts they like. The size of the network grows linearly with the scale factor, and
+ * both friendships and likes are skewed towards a small number of popular people and posts.
+ */
+public class SocialGraph {
+
+    public static final String SCHEMA_FILE = "test/benchmark/query/resources/social.tql";
+
+    private static final int PEOPLE_PER_SCALE = 1_000;
+    private static final int KNOWS_PER_PERSON = 10;
+    private static final int POSTS_PER_PERSON = 5;
+    private static final int LIKES_PER_PERSON = 10;
+    private static final int BATCH_SIZE = 500;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private final TypeDB.DatabaseManager databaseMgr;
+    private final String database;
+    private final Random random;
+    private final int people;
+    private final int posts;
+    private final List<long[]> likes;
+
+    public SocialGraph(TypeDB.DatabaseManager databaseMgr, String database, int scaleFactor, long seed) {
+        this.databaseMgr = databaseMgr;
+        this.database = database;
+        this.random = new Random(seed);
+        this.people = PEOPLE_PER_SCALE * scaleFactor;
+        this.posts = people * POSTS_PER_PERSON;
+        this.likes = new ArrayList<>();
+    }
+
+    public int people() {
+        return people;
+    }
+
+    public int posts() {
+        return posts;
+    }
+
+    /**
+     * @return the (person-id, post-id) pairs of the likes that were generated
+     */
+    public List<long[]> likes() {
+        return likes;
+    }
+
+    public void load() throws IOException {
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA);
+             TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+            tx.query().define(TypeQL.parseQuery(new String(Files.readAllBytes(Paths.get(SCHEMA_FILE)), UTF_8)).asDefine());
+            tx.commit();
+        }
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            insertBatched(session, people, this::person);
+            insertBatched(session, people * KNOWS_PER_PERSON / 2, i -> knows(i % people, skewed(random, people)));
+            insertBatched(session, posts, i -> post(i / POSTS_PER_PERSON, i));
+            insertBatched(session, people * LIKES_PER_PERSON, i -> {
+                long[] like = new long[]{i % people, skewed(random, posts)};
+                likes.add(like);
+                return like(like[0], like[1]);
+            });
+        }
+    }
+
+    private void insertBatched(TypeDB.Session session, int count, IntFunction<String> query) {
+        for (int start = 0; start < count; start += BATCH_SIZE) {
+            try (TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                for (int i = start; i < Math.min(start + BATCH_SIZE, count); i++) {
+                    tx.query().insert(TypeQL.parseQuery(query.apply(i)).asInsert()).toList();
+                }
+                tx.commit();
+            }
+        }
+    }
+
+    /**
+     * Pick an index in [0, bound), with lower indices much more likely than higher ones.
+     */
+    public static long skewed(Random random, int bound) {
+        double uniform = random.nextDouble();
+        return (long) (bound * uniform * uniform * uniform);
+    }
+
+    public static LocalDateTime creationDate(long postID) {
+        return EPOCH.plusMinutes(postID * 7);
+    }
+
+    private String person(int id) {
+        return "insert $p isa person, has person-id " + id + ", has name 'person-" + id + "', " +
+                "has age " + (18 + random.nextInt(62)) + ";";
+    }
+
+    public static String knows(long personID, long friendID) {
+        return "match $a isa person, has person-id " + personID + "; $b isa person, has person-id " + friendID + ";" +
+                "insert (friend: $a, friend: $b) isa knows;";
+    }
+
+    public static String post(long authorID, long postID) {
+        return "match $a isa person, has person-id " + authorID + ";" +
+                "insert $p isa post, has post-id " + postID + ", has content 'content of post " + postID + "', " +
+                "has creation-date " + creationDate(postID) + "; (author: $a, post: $p) isa posting;";
+    }
+
+    public static String like(long personID, long postID) {
+        return "match $a isa person, has person-id " + personID + "; $p isa post, has post-id " + postID + ";" +
+                "insert (liker: $a, liked: $p) isa liking;";
+    }
+}
@@ -42,6 +42,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -412,6 +413,41 @@ public class BasicTest {
         return txn.concepts().getAttributeType("birth-date").asDateTime();
     }
 
+    @Test
+    public void prefetched_attributes_do_not_outlive_writes_in_the_transaction() throws IOException {
+        reset_directory_and_create_attribute_types();
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    age(txn).put(18);
+                    age(txn).put(19);
+                    txn.commit();
+                }
+
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    Attribute.Long age18 = age(txn).get(18);
+                    assertNotNull(age18);
+                    txn.concepts().prefetchAttributes(age(txn), List.of(18L, 19L, 20L));
+                    age18.delete();
+                    assertNull(age(txn).get(18));
+
+                    Attribute.Long age20 = age(txn).put(20);
+                    age20.delete();
+                    assertNull(age(txn).get(20));
+                    assertNotNull(age(txn).get(19));
+                    txn.commit();
+                }
+
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertNull(age(txn).get(18));
+                    assertNotNull(age(txn).get(19));
+                    assertNull(age(txn).get(20));
+                }
+            }
+        }
+    }
+
     @Test
     public void write_attributes_successfully_repeatedly() throws IOException {
         for (int i = 0; i < 20; i++) {
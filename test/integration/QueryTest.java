@@ -21,7 +21,11 @@ package com.vaticle.typedb.core.test.integration;
 import com.vaticle.typedb.core.TypeDB;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Context;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.common.parameters.Options.Database;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.concept.thing.Attribute;
 import com.vaticle.typedb.core.concept.thing.Entity;
@@ -43,10 +47,19 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingRead.PROJECTED_VARIABLE_NOT_FOUND;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.QUERY_CANCELLED;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.QUERY_TIMEOUT_EXCEEDED;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.SCHEMA_CHANGE_NOT_ADDITIVE;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.common.test.Util.assertThrowsTypeDBException;
 import static com.vaticle.typedb.core.test.integration.util.Util.assertNotNulls;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
@@ -309,4 +322,255 @@ public class QueryTest {
             }
         }
     }
+
+    @Test
+    public void test_query_cancel() throws IOException, InterruptedException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().define(TypeQL.parseQuery("define person sub entity;"));
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLInsert insertQuery = TypeQL.parseQuery("insert $x isa person;");
+                    for (int i = 0; i < 1000; i++) transaction.query().insert(insertQuery);
+                    transaction.commit();
+                }
+
+                TypeQLMatch matchQuery = TypeQL.parseQuery("match $x isa person; $y isa person;");
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    Context.Query context = new Context.Query(transaction.context(), new Options.Query());
+                    FunctionalIterator<? extends ConceptMap> answers = transaction.query().match(matchQuery, context);
+                    assertTrue(answers.hasNext());
+                    answers.next();
+                    context.cancellation().cancel();
+                    assertThrowsTypeDBException(() -> answers.forEachRemaining(answer -> {}), QUERY_CANCELLED.code());
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(
+                        Arguments.Transaction.Type.READ, new Options.Transaction().queryTimeoutMillis(1)
+                )) {
+                    Context.Query context = new Context.Query(transaction.context(), new Options.Query());
+                    Thread.sleep(5);
+                    assertThrowsTypeDBException(
+                            () -> transaction.query().match(matchQuery, context).forEachRemaining(answer -> {}),
+                            QUERY_TIMEOUT_EXCEEDED.code()
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_profile() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().define(TypeQL.parseQuery("define name sub attribute, value string; person sub entity, owns name;"));
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    for (int i = 0; i < 10; i++) {
+                        TypeQLInsert insertQuery = TypeQL.parseQuery("insert $x isa person, has name 'person-" + i + "';");
+                        transaction.query().insert(insertQuery);
+                    }
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    TypeQLMatch matchQuery = TypeQL.parseQuery("match $x isa person, has name $n;");
+                    Context.Query context = new Context.Query(transaction.context(), new Options.Query().profile(true));
+                    assertEquals(10, transaction.query().match(matchQuery, context).count());
+
+                    QueryProfile profile = context.profile().get();
+                    assertFalse(profile.procedures().isEmpty());
+                    QueryProfile.Procedure procedure = profile.procedures().iterator().next();
+                    QueryProfile.Vertex last = procedure.vertices().get(procedure.vertices().size() - 1);
+                    assertTrue(last.answers() >= 10);
+                    assertTrue(iterate(procedure.vertices()).anyMatch(vertex -> vertex.seeks() > 0));
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    Context.Query context = new Context.Query(transaction.context(), new Options.Query());
+                    TypeQLMatch matchQuery = TypeQL.parseQuery("match $x isa person;");
+                    transaction.query().match(matchQuery, context).toList();
+                    assertFalse(context.profile().isPresent());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_projection() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().define(TypeQL.parseQuery("define name sub attribute, value string; " +
+                            "email sub attribute, value string; age sub attribute, value long; " +
+                            "person sub entity, owns name, owns email, owns age;"));
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().insert(TypeQL.parseQuery(
+                            "insert $x isa person, has name 'alice', has email 'alice@a.com', has email 'alice@b.com', has age 30;"
+                    ).asInsert());
+                    transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'bob';").asInsert());
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    TypeQLMatch matchQuery = TypeQL.parseQuery("match $x isa person;");
+                    Options.Query projection = new Options.Query().projection("x", Label.of("name"), Label.of("email"));
+                    List<? extends ConceptMap> answers = transaction.query().match(
+                            matchQuery, new Context.Query(transaction.context(), projection)
+                    ).toList();
+                    assertEquals(2, answers.size());
+
+                    Map<Long, Set<String>> valuesBySize = new HashMap<>();
+                    for (ConceptMap answer : answers) {
+                        List<? extends Attribute> attributes = answer.projection("x").get();
+                        assertTrue(iterate(attributes).noneMatch(attribute -> attribute.getType().getLabel().name().equals("age")));
+                        valuesBySize.put((long) attributes.size(), iterate(attributes).map(a -> a.asString().getValue()).toSet());
+                    }
+                    assertEquals(set("alice", "alice@a.com", "alice@b.com"), valuesBySize.get(3L));
+                    assertEquals(set("bob"), valuesBySize.get(1L));
+
+                    ConceptMap unprojected = transaction.query().match(matchQuery).next();
+                    assertFalse(unprojected.projection("x").isPresent());
+
+                    Options.Query unknown = new Options.Query().projection("y", Label.of("name"));
+                    assertThrowsTypeDBException(
+                            () -> transaction.query().match(matchQuery, new Context.Query(transaction.context(), unknown)).toList(),
+                            PROJECTED_VARIABLE_NOT_FOUND.code()
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_cache() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(new Database().dataDir(dataDir)
+                .reasonerDebuggerDir(logDir).storageDataCacheSize(MB).storageIndexCacheSize(MB).queryCacheSize(100))) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().define(TypeQL.parseQuery("define name sub attribute, value string; " +
+                            "person sub entity, owns name; company sub entity, owns name;"));
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'alice';").asInsert());
+                    transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'bob';").asInsert());
+                    transaction.commit();
+                }
+
+                TypeQLMatch matchQuery = TypeQL.parseQuery("match $x isa person, has name $n;");
+                try (TypeDB.Transaction older = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(set("alice", "bob"), names(older.query().match(matchQuery)));
+                    try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                        assertEquals(set("alice", "bob"), names(transaction.query().match(matchQuery)));
+                    }
+
+                    try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                        transaction.query().insert(TypeQL.parseQuery("insert $x isa company, has name 'acme';").asInsert());
+                        transaction.commit();
+                    }
+                    try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                        assertEquals(set("alice", "bob"), names(transaction.query().match(matchQuery)));
+                    }
+
+                    try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                        transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'carol';").asInsert());
+                        transaction.commit();
+                    }
+                    try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                        assertEquals(set("alice", "bob", "carol"), names(transaction.query().match(matchQuery)));
+                        assertEquals(set("alice", "bob", "carol"), names(transaction.query().match(matchQuery)));
+                    }
+                    assertEquals(set("alice", "bob"), names(older.query().match(matchQuery)));
+                }
+            }
+        }
+    }
+
+    private static Set<String> names(FunctionalIterator<? extends ConceptMap> answers) {
+        return answers.map(answer -> answer.getConcept("n").asThing().asAttribute().asString().getValue()).toSet();
+    }
+
+    @Test
+    public void test_online_schema() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().define(TypeQL.parseQuery("define name sub attribute, value string; person sub entity, owns name;"));
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session dataSession = typedb.session(database, Arguments.Session.Type.DATA)) {
+                TypeDB.Transaction dataTransaction = dataSession.transaction(Arguments.Transaction.Type.WRITE);
+                dataTransaction.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'alice';").asInsert());
+
+                Options.Session onlineOptions = new Options.Session().onlineSchema(true).schemaLockTimeoutMillis(100);
+                try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA, onlineOptions)) {
+                    try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                        transaction.query().define(TypeQL.parseQuery(
+                                "define age sub attribute, value long; company sub entity, owns name; person owns age, owns name;"
+                        ));
+                        transaction.commit();
+                    }
+                    try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                        transaction.query().undefine(TypeQL.parseQuery("undefine person owns name;"));
+                        assertThrowsTypeDBException(transaction::commit, SCHEMA_CHANGE_NOT_ADDITIVE.code());
+                    }
+                    try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                        transaction.query().define(TypeQL.parseQuery("define company owns age @key;"));
+                        assertThrowsTypeDBException(transaction::commit, SCHEMA_CHANGE_NOT_ADDITIVE.code());
+                    }
+                }
+
+                dataTransaction.commit();
+                try (TypeDB.Transaction transaction = dataSession.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'bob', has age 30;").asInsert());
+                    transaction.query().insert(TypeQL.parseQuery("insert $x isa company, has name 'acme';").asInsert());
+                    transaction.commit();
+                }
+                try (TypeDB.Transaction transaction = dataSession.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(2, transaction.query().match(TypeQL.parseQuery("match $x isa person;").asMatch()).count());
+                }
+            }
+        }
+    }
 }
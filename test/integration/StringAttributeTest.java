@@ -36,11 +36,14 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.common.collection.Collections.pair;
+import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Encoding.UNENCODABLE_STRING;
 import static org.junit.Assert.assertEquals;
@@ -153,6 +156,130 @@ public class StringAttributeTest {
         }
     }
 
+    @Test
+    public void strings_longer_than_inline_size_are_hashed_and_found_by_value() throws IOException {
+        Util.resetDirectory(dataDir);
+        Options.Database hashingOptions = new Options.Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+                .storageDataCacheSize(MB).storageIndexCacheSize(MB).storageStringInlineMaxSize(16);
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(hashingOptions)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.concepts().putAttributeType("string-value", AttributeType.ValueType.STRING);
+                    txn.commit();
+                }
+            }
+
+            String shortString = "short";
+            String longString = "a string that is longer than the inline size";
+            String otherLongString = "another string that is longer than the inline size";
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    AttributeType.String attrType = txn.concepts().getAttributeType("string-value").asString();
+                    attrType.put(shortString);
+                    attrType.put(longString);
+                    attrType.put(longString);
+                    attrType.put(otherLongString);
+                    txn.commit();
+                }
+
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    AttributeType.String attrType = txn.concepts().getAttributeType("string-value").asString();
+                    attrType.put(longString);
+                    txn.commit();
+                }
+
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    AttributeType.String attrType = txn.concepts().getAttributeType("string-value").asString();
+                    assertEquals(longString, attrType.get(longString).getValue());
+                    assertEquals(otherLongString, attrType.get(otherLongString).getValue());
+                    Optional<? extends ConceptMap> ans = txn.query().match(TypeQL.parseQuery(
+                            "match $a \"" + longString + "\" isa string-value;").asMatch()).first();
+                    assertTrue(ans.isPresent());
+                    assertEquals(longString, ans.get().getConcept("a").asAttribute().asString().getValue());
+
+                    Set<String> strings = attrType.getInstances().map(a -> a.asString().getValue()).toSet();
+                    assertEquals(set(shortString, longString, otherLongString), strings);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void hashed_strings_are_sorted_by_value() throws IOException {
+        Util.resetDirectory(dataDir);
+        Options.Database hashingOptions = new Options.Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+                .storageDataCacheSize(MB).storageIndexCacheSize(MB).storageStringInlineMaxSize(16);
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(hashingOptions)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.concepts().putAttributeType("string-value", AttributeType.ValueType.STRING);
+                    txn.commit();
+                }
+            }
+
+            List<String> strings = list(
+                    "b", "zz", "a string that is longer than the inline size", "m",
+                    "z string that is longer than the inline size", "c string that is longer than the inline size", "aa"
+            );
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    AttributeType.String attrType = txn.concepts().getAttributeType("string-value").asString();
+                    strings.forEach(attrType::put);
+                    txn.commit();
+                }
+
+                List<String> ascending = new ArrayList<>(strings);
+                ascending.sort(Comparator.naturalOrder());
+                List<String> descending = new ArrayList<>(strings);
+                descending.sort(Comparator.reverseOrder());
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(ascending, txn.query().match(TypeQL.parseQuery(
+                            "match $a isa string-value; sort $a asc;").asMatch()
+                    ).map(ans -> ans.getConcept("a").asAttribute().asString().getValue()).toList());
+                    assertEquals(descending, txn.query().match(TypeQL.parseQuery(
+                            "match $a isa string-value; sort $a desc;").asMatch()
+                    ).map(ans -> ans.getConcept("a").asAttribute().asString().getValue()).toList());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void databases_storing_hashed_strings_are_reopened() throws IOException {
+        Util.resetDirectory(dataDir);
+        Options.Database hashingOptions = new Options.Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+                .storageDataCacheSize(MB).storageIndexCacheSize(MB).storageStringInlineMaxSize(16);
+        String longString = "a string that is longer than the inline size";
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(hashingOptions)) {
+            typedb.create(database);
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.concepts().putAttributeType("string-value", AttributeType.ValueType.STRING);
+                    txn.commit();
+                }
+            }
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.concepts().getAttributeType("string-value").asString().put(longString);
+                    txn.commit();
+                }
+            }
+        }
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    AttributeType.String attrType = txn.concepts().getAttributeType("string-value").asString();
+                    assertEquals(longString, attrType.get(longString).getValue());
+                }
+            }
+        }
+    }
+
     private boolean isInRange(int value, Pair<Integer, Integer> range) {
         return value >= range.first() && value <= range.second();
     }
@@ -18,6 +18,7 @@
 
 package com.vaticle.typedb.core.database;
 
+import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.encoding.Encoding;
 import org.junit.Test;
@@ -27,9 +28,17 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_READ_ONLY;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.INCOMPATIBLE_ENCODING;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Session.Type.DATA;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.READ;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.WRITE;
 import static com.vaticle.typedb.core.common.test.Util.assertThrowsWithMessage;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 
 public class DatabaseTest {
 
@@ -46,6 +55,78 @@ public class DatabaseTest {
         databaseMgr.close();
     }
 
+    @Test
+    public void storageProfileCanBeSwitchedWhileOpen() throws IOException {
+        Path dataDir = Files.createTempDirectory("test-dir");
+        Path logDir = dataDir.resolve("logs");
+        Options.Database options = new Options.Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+                .storageIndexCacheSize(MB).storageDataCacheSize(MB).storageProfile(Arguments.Storage.Profile.READ_MOSTLY);
+        CoreDatabaseManager databaseMgr = factory.databaseManager(options);
+        CoreDatabase database = databaseMgr.create("test");
+        assertEquals(Arguments.Storage.Profile.READ_MOSTLY, database.storageProfile());
+        database.storageProfile(Arguments.Storage.Profile.BULK_LOAD);
+        assertEquals(Arguments.Storage.Profile.BULK_LOAD, database.storageProfile());
+        database.storageProfile(Arguments.Storage.Profile.READ_MOSTLY);
+        assertEquals(Arguments.Storage.Profile.READ_MOSTLY, database.storageProfile());
+        databaseMgr.close();
+    }
+
+    @Test
+    public void readOnlyDatabaseServesReadsAndRejectsWrites() throws IOException {
+        Path dataDir = Files.createTempDirectory("test-dir");
+        Path logDir = dataDir.resolve("logs");
+        Options.Database options = new Options.Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+                .storageIndexCacheSize(MB).storageDataCacheSize(MB);
+        CoreDatabaseManager databaseMgr = factory.databaseManager(options);
+        databaseMgr.create("test");
+        databaseMgr.create("other");
+        try (CoreSession session = databaseMgr.session("test", SCHEMA);
+             CoreTransaction txn = session.transaction(WRITE)) {
+            txn.concepts().putEntityType("person");
+            txn.commit();
+        }
+        databaseMgr.close();
+
+        Options.Database readOnlyOptions = new Options.Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+                .storageIndexCacheSize(MB).storageDataCacheSize(MB).storageReadOnly(set("test"));
+        CoreDatabaseManager readOnlyMgr = factory.databaseManager(readOnlyOptions);
+        assertEquals(true, readOnlyMgr.get("test").isReadOnly());
+        assertEquals(false, readOnlyMgr.get("other").isReadOnly());
+        try (CoreSession session = readOnlyMgr.session("test", DATA);
+             CoreTransaction txn = session.transaction(READ)) {
+            assertNotNull(txn.concepts().getEntityType("person"));
+        }
+        try (CoreSession session = readOnlyMgr.session("test", DATA)) {
+            assertThrowsWithMessage(() -> session.transaction(WRITE), DATABASE_READ_ONLY.message("test"));
+        }
+        try (CoreSession session = readOnlyMgr.session("test", SCHEMA)) {
+            assertThrowsWithMessage(() -> session.transaction(WRITE), DATABASE_READ_ONLY.message("test"));
+        }
+        assertThrowsWithMessage(() -> readOnlyMgr.get("test").delete(), DATABASE_READ_ONLY.message("test"));
+        assertEquals(true, readOnlyMgr.contains("test"));
+
+        try (CoreSession session = readOnlyMgr.session("other", SCHEMA);
+             CoreTransaction txn = session.transaction(WRITE)) {
+            txn.concepts().putEntityType("person");
+            txn.commit();
+        }
+        readOnlyMgr.get("other").delete();
+        readOnlyMgr.close();
+    }
+
+    @Test
+    public void readOnlyDatabaseCannotBeCreated() throws IOException {
+        Path dataDir = Files.createTempDirectory("test-dir");
+        Path logDir = dataDir.resolve("logs");
+        Options.Database options = new Options.Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+                .storageIndexCacheSize(MB).storageDataCacheSize(MB).storageReadOnly(set("test"));
+        CoreDatabaseManager databaseMgr = factory.databaseManager(options);
+        assertThrowsWithMessage(() -> databaseMgr.create("test"), DATABASE_READ_ONLY.message("test"));
+        assertEquals(false, databaseMgr.contains("test"));
+        databaseMgr.create("other");
+        databaseMgr.close();
+    }
+
     @Test
     public void incompatibleDataEncodingThrows() {
         Path dataDir = Paths.get("test/integration/database/data");
@@ -149,6 +149,26 @@ public class IsolationTest {
         }
     }
 
+    @Test
+    public void read_transaction_does_not_see_later_commits() {
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            TypeDB.Transaction setupTxn = session.transaction(Arguments.Transaction.Type.WRITE);
+            setupTxn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'Alice';"));
+            setupTxn.commit();
+            try (TypeDB.Transaction readTxn = session.transaction(Arguments.Transaction.Type.READ)) {
+                TypeDB.Transaction writeTxn = session.transaction(Arguments.Transaction.Type.WRITE);
+                writeTxn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'Bob';"));
+                writeTxn.query().delete(TypeQL.parseQuery("match $x isa person, has name 'Alice'; delete $x isa person;"));
+                writeTxn.commit();
+                assertEquals(1, readTxn.query().match(TypeQL.parseQuery("match $x isa person, has name 'Alice';").asMatch()).count());
+                assertEquals(0, readTxn.query().match(TypeQL.parseQuery("match $x isa person, has name 'Bob';").asMatch()).count());
+            }
+            try (TypeDB.Transaction readTxn = session.transaction(Arguments.Transaction.Type.READ)) {
+                assertEquals(1, readTxn.query().match(TypeQL.parseQuery("match $x isa person;").asMatch()).count());
+            }
+        }
+    }
+
     @Test
     public void concurrent_insert_delete_attribute_conflicts() {
         try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
@@ -19,6 +19,8 @@
 package com.vaticle.typedb.core.database;
 
 import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBCheckedException;
 import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.concept.type.AttributeType;
@@ -47,6 +49,7 @@ import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Ty
 import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
 import static com.vaticle.typedb.core.common.parameters.Order.Desc.DESC;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class RocksIteratorTest {
 
@@ -127,4 +130,34 @@ public class RocksIteratorTest {
             assertEquals(strings, values);
         }
     }
+
+    @Test
+    public void getAllReturnsValuesAlignedWithKeys() throws TypeDBCheckedException {
+        try (TypeDB.Transaction transaction = session.transaction(WRITE)) {
+            AttributeType.String stringValueType = transaction.concepts().getAttributeType("string-value").asString();
+            for (int i = 0; i < 200; i += 2) {
+                stringValueType.put("get-all-" + i);
+            }
+            transaction.commit();
+        }
+
+        for (Arguments.Transaction.Type type : new Arguments.Transaction.Type[]{READ, WRITE}) {
+            try (CoreTransaction transaction = session.transaction(type)) {
+                Storage.Data storage = transaction.graphMgr.data().storage();
+                AttributeType.String stringValueType = transaction.concepts().getAttributeType("string-value").asString();
+                VertexIID.Type iid = ((AttributeTypeImpl) stringValueType).vertex.iid();
+                List<VertexIID.Attribute.String> keys = new ArrayList<>();
+                for (int i = 199; i >= 0; i--) {
+                    keys.add(new VertexIID.Attribute.String(iid, "get-all-" + i));
+                }
+                List<ByteArray> values = storage.getAll(keys);
+                assertEquals(keys.size(), values.size());
+                for (int k = 0; k < keys.size(); k++) {
+                    assertEquals((199 - k) % 2 == 0, values.get(k) != null);
+                    assertEquals(storage.get(keys.get(k)), values.get(k));
+                }
+                assertTrue(storage.getAll(new ArrayList<Key>()).isEmpty());
+            }
+        }
+    }
 }
@@ -355,6 +355,63 @@ public class StatisticsTest {
         }
     }
 
+    @Test
+    public void delete_all_instances_counts_correct() {
+        int batches = 10;
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < batches; i++) {
+                    txn.query().insert(TypeQL.parseQuery("insert " +
+                            "$x isa person;" +
+                            "$y isa person, has name 'name-" + i + "';"));
+                }
+                txn.commit();
+            }
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                ThingGraph.Statistics statistics = txn.graphMgr.data().stats();
+                txn.query().insert(TypeQL.parseQuery("insert $x isa person;"));
+                assertEquals(batches * 2 + 1, statistics.thingVertexCount(Label.of("person")));
+
+                txn.query().delete(TypeQL.parseQuery("match $x isa person; delete $x isa person;"));
+                assertEquals(0, statistics.thingVertexCount(Label.of("person")));
+                assertEquals(0, statistics.hasEdgeCount(Label.of("person"), Label.of("name")));
+                txn.commit();
+            }
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                ThingGraph.Statistics statistics = txn.graphMgr.data().stats();
+                assertEquals(0, txn.query().match(TypeQL.parseQuery("match $x isa person;").asMatch()).count());
+                assertEquals(0, statistics.thingVertexCount(Label.of("person")));
+                assertEquals(0, statistics.hasEdgeCount(Label.of("person"), Label.of("name")));
+                assertEquals(batches, statistics.thingVertexCount(Label.of("name")));
+            }
+        }
+    }
+
+    @Test
+    public void delete_all_instances_across_chunks_counts_correct() {
+        int instances = 20_500;
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < instances; i++) {
+                    if (i % 1000 == 0) txn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'name-" + i + "';"));
+                    else txn.query().insert(TypeQL.parseQuery("insert $x isa person;"));
+                }
+                txn.commit();
+            }
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                ThingGraph.Statistics statistics = txn.graphMgr.data().stats();
+                assertEquals(instances, statistics.thingVertexCount(Label.of("person")));
+                txn.query().delete(TypeQL.parseQuery("match $x isa person; delete $x isa person;"));
+                assertEquals(0, statistics.thingVertexCount(Label.of("person")));
+                assertEquals(0, statistics.hasEdgeCount(Label.of("person"), Label.of("name")));
+                txn.commit();
+            }
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                assertEquals(0, txn.query().match(TypeQL.parseQuery("match $x isa person;").asMatch()).count());
+            }
+        }
+    }
+
     @Test
     public void reboot_counts_correct() {
         int batches = 500;
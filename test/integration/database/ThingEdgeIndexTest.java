@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.database;
+
+import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options.Database;
+import com.vaticle.typedb.core.concept.thing.Attribute;
+import com.vaticle.typedb.core.concept.thing.Thing;
+import com.vaticle.typedb.core.concept.thing.impl.ThingImpl;
+import com.vaticle.typedb.core.concept.type.AttributeType;
+import com.vaticle.typedb.core.graph.vertex.ThingVertex;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typeql.lang.TypeQL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+
+import static com.vaticle.typedb.common.collection.Collections.set;
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.encoding.Encoding.Edge.Thing.Base.HAS;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Buffered edges are indexed by the keys they are written under, and merged with the edges in storage when read.
+ */
+public class ThingEdgeIndexTest {
+
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve("thing-edge-index-test");
+    private static final Path logDir = dataDir.resolve("logs");
+    private static final Database options = new Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+            .storageDataCacheSize(MB).storageIndexCacheSize(MB);
+    private static final String database = "thing-edge-index-test";
+
+    private CoreDatabaseManager databaseMgr;
+
+    @Before
+    public void setup() throws IOException {
+        Util.resetDirectory(dataDir);
+        databaseMgr = CoreDatabaseManager.open(options);
+        databaseMgr.create(database);
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define " +
+                        "person sub entity, owns name, owns nickname, plays friendship:friend;" +
+                        "friendship sub relation, relates friend;" +
+                        "name sub attribute, value string;" +
+                        "nickname sub attribute, value string;").asDefine());
+                txn.commit();
+            }
+        }
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().insert(TypeQL.parseQuery("insert " +
+                        "$p isa person, has name 'a', has name 'c', has name 'e', has nickname 'n';").asInsert());
+                txn.commit();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        databaseMgr.close();
+    }
+
+    @Test
+    public void buffered_edges_are_merged_with_stored_edges_in_both_directions() {
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                Thing person = personWithName(txn, "a");
+                person.setHas(name(txn, "b"));
+                person.setHas(name(txn, "d"));
+                person.setHas(name(txn, "f"));
+                txn.query().insert(TypeQL.parseQuery("insert $q isa person, has name 'a';").asInsert());
+
+                List<ThingVertex> owned = vertex(person).outs().edge(HAS).to().toList();
+                assertSorted(owned);
+                assertEquals(set("a", "b", "c", "d", "e", "f", "n"), values(owned));
+
+                // the stored owner of 'a' and the buffered one are both found from the attribute
+                List<ThingVertex> owners = vertex(name(txn, "a")).ins().edge(HAS).from().toList();
+                assertSorted(owners);
+                assertEquals(2, owners.size());
+                assertTrue(owners.contains(vertex(person)));
+
+                List<ThingVertex> ownersOfBuffered = vertex(name(txn, "b")).ins().edge(HAS).from().toList();
+                assertEquals(List.of(vertex(person)), ownersOfBuffered);
+                txn.commit();
+            }
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                Thing person = personWithName(txn, "c");
+                assertEquals(set("a", "b", "c", "d", "e", "f", "n"), values(vertex(person).outs().edge(HAS).to().toList()));
+                assertEquals(2, vertex(name(txn, "a")).ins().edge(HAS).from().toList().size());
+            }
+        }
+    }
+
+    @Test
+    public void deleted_buffered_edges_are_not_read_or_committed() {
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                Thing person = personWithName(txn, "a");
+                Attribute.String b = name(txn, "b");
+                person.setHas(b);
+                person.setHas(name(txn, "d"));
+                person.unsetHas(b);
+                person.unsetHas(name(txn, "c"));
+
+                assertEquals(set("a", "d", "e", "n"), values(vertex(person).outs().edge(HAS).to().toList()));
+                assertTrue(vertex(b).ins().edge(HAS).from().toList().isEmpty());
+                assertTrue(vertex(name(txn, "c")).ins().edge(HAS).from().toList().isEmpty());
+                txn.commit();
+            }
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                Thing person = personWithName(txn, "a");
+                assertEquals(set("a", "d", "e", "n"), values(vertex(person).outs().edge(HAS).to().toList()));
+                assertTrue(vertex(name(txn, "b")).ins().edge(HAS).from().toList().isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void buffered_edges_are_committed_under_the_final_iids_of_their_vertices() {
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < 10; i++) {
+                    txn.query().insert(TypeQL.parseQuery("match $q isa person, has name 'a'; insert " +
+                            "$p isa person, has name 'x-" + i + "', has nickname 'y-" + i + "';" +
+                            "(friend: $p, friend: $q) isa friendship;").asInsert());
+                }
+                txn.commit();
+            }
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                for (int i = 0; i < 10; i++) {
+                    Thing person = personWithName(txn, "x-" + i);
+                    assertEquals(set("x-" + i, "y-" + i), values(vertex(person).outs().edge(HAS).to().toList()));
+                    assertEquals(List.of(vertex(person)), vertex(name(txn, "x-" + i)).ins().edge(HAS).from().toList());
+                    assertEquals(1, person.getRelations().count());
+                }
+                assertEquals(10, personWithName(txn, "a").getRelations().count());
+                assertEquals(10, txn.query().match(TypeQL.parseQuery(
+                        "match $p isa person, has nickname $y; (friend: $p, friend: $q) isa friendship; $q has name 'a';"
+                ).asMatch()).count());
+            }
+        }
+    }
+
+    private static Thing personWithName(TypeDB.Transaction txn, String name) {
+        return txn.query().match(TypeQL.parseQuery("match $p isa person, has name '" + name + "';").asMatch())
+                .next().getConcept("p").asThing();
+    }
+
+    private static Attribute.String name(TypeDB.Transaction txn, String value) {
+        AttributeType.String name = txn.concepts().getAttributeType("name").asString();
+        Attribute.String attribute = name.get(value);
+        return attribute != null ? attribute : name.put(value);
+    }
+
+    private static ThingVertex vertex(Thing thing) {
+        return ((ThingImpl) thing).readableVertex();
+    }
+
+    private static Set<String> values(List<ThingVertex> attributes) {
+        return iterate(attributes).map(attribute -> attribute.asAttribute().asString().value()).toSet();
+    }
+
+    private static void assertSorted(List<ThingVertex> vertices) {
+        for (int i = 1; i < vertices.size(); i++) assertTrue(vertices.get(i - 1).compareTo(vertices.get(i)) < 0);
+    }
+}
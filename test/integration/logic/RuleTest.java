@@ -482,6 +482,66 @@ public class RuleTest {
         }
     }
 
+    @Test
+    public void schema_change_only_revalidates_dependent_rules() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            databaseMgr.create(database);
+            try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    ConceptManager conceptMgr = txn.concepts();
+                    LogicManager logicMgr = txn.logic();
+
+                    EntityType person = conceptMgr.putEntityType("person");
+                    EntityType company = conceptMgr.putEntityType("company");
+                    RelationType marriage = conceptMgr.putRelationType("marriage");
+                    marriage.setRelates("spouse");
+                    RelationType friendship = conceptMgr.putRelationType("friendship");
+                    friendship.setRelates("friend");
+                    RelationType partnership = conceptMgr.putRelationType("partnership");
+                    partnership.setRelates("partner");
+                    RelationType alliance = conceptMgr.putRelationType("alliance");
+                    alliance.setRelates("ally");
+                    person.setPlays(marriage.getRelates("spouse"));
+                    person.setPlays(friendship.getRelates("friend"));
+                    company.setPlays(partnership.getRelates("partner"));
+                    company.setPlays(alliance.getRelates("ally"));
+
+                    logicMgr.putRule(
+                            "marriage-is-friendship",
+                            TypeQL.parsePattern("{ $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage; }").asConjunction(),
+                            TypeQL.parseVariable("(friend: $x, friend: $y) isa friendship").asThing());
+                    logicMgr.putRule(
+                            "partnership-is-alliance",
+                            TypeQL.parsePattern("{ $x isa company; $y isa company; (partner: $x, partner: $y) isa partnership; }").asConjunction(),
+                            TypeQL.parseVariable("(ally: $x, ally: $y) isa alliance").asThing());
+                    txn.commit();
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    ConceptManager conceptMgr = txn.concepts();
+                    LogicManager logicMgr = txn.logic();
+                    GraphManager graphMgr = logicMgr.graph();
+
+                    RuleStructure structure = graphMgr.schema().rules().get("marriage-is-friendship");
+                    assertTrue(structure.dependencies().isPresent());
+                    assertTrue(structure.dependencies().get().contains(graphMgr.schema().getType("person").iid()));
+                    assertFalse(structure.dependencies().get().contains(graphMgr.schema().getType("company").iid()));
+
+                    Rule marriageIsFriendship = logicMgr.getRule("marriage-is-friendship");
+                    Rule partnershipIsAlliance = logicMgr.getRule("partnership-is-alliance");
+                    AttributeType founded = conceptMgr.putAttributeType("founded", AttributeType.ValueType.DATETIME);
+                    conceptMgr.getEntityType("company").setOwns(founded);
+
+                    logicMgr.revalidateAndReindexRules();
+                    assertTrue(marriageIsFriendship == logicMgr.getRule("marriage-is-friendship"));
+                    assertFalse(partnershipIsAlliance == logicMgr.getRule("partnership-is-alliance"));
+                    txn.commit();
+                }
+            }
+        }
+    }
+
     // ------------ Rule type labels indexing ------------
 
     private void assertIndexTypesContainRule(Set<Label> types, String requiredRule, GraphManager graphMgr) {
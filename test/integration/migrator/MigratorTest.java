@@ -19,13 +19,19 @@
 package com.vaticle.typedb.core.migrator;
 
 import com.google.protobuf.Parser;
+import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.exception.ErrorMessage;
+import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Options.Database;
 import com.vaticle.typedb.core.database.CoreDatabaseManager;
 import com.vaticle.typedb.core.migrator.data.DataProto;
 import com.vaticle.typedb.core.migrator.database.DatabaseExporter;
 import com.vaticle.typedb.core.migrator.database.DatabaseImporter;
+import com.vaticle.typedb.core.migrator.ingest.DataIngester;
 import com.vaticle.typedb.core.server.Version;
 import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typeql.lang.TypeQL;
+import io.grpc.stub.StreamObserver;
 import org.junit.Test;
 
 import java.io.BufferedInputStream;
@@ -35,11 +41,21 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.DATABASE_NOT_FOUND;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.INGEST_ALREADY_OPENED;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.INGEST_NOT_OPENED;
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.nio.file.Files.readString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class MigratorTest {
@@ -68,6 +84,211 @@ public class MigratorTest {
         }
     }
 
+    @Test
+    public void test_ingest_rows() throws IOException {
+        Util.resetDirectory(dataDir);
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            databaseMgr.create(database);
+            try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.query().define(TypeQL.parseQuery("define " +
+                            "person sub entity, owns name, owns age; " +
+                            "name sub attribute, value string; " +
+                            "age sub attribute, value long;").asDefine());
+                    txn.commit();
+                }
+            }
+
+            List<MigratorProto.Ingest.Row> rows = new ArrayList<>();
+            for (int i = 0; i < 250; i++) rows.add(row("person-" + i, i % 100));
+            // a row with a value of the wrong type, and a row that misses a variable
+            rows.add(MigratorProto.Ingest.Row.newBuilder()
+                    .putValues("name", MigratorProto.Ingest.Value.newBuilder().setString("invalid").build())
+                    .putValues("age", MigratorProto.Ingest.Value.newBuilder().setString("invalid").build()).build());
+            rows.add(MigratorProto.Ingest.Row.newBuilder()
+                    .putValues("name", MigratorProto.Ingest.Value.newBuilder().setString("missing").build()).build());
+
+            DataIngester ingester = new DataIngester(databaseMgr, database,
+                    "insert $p isa person, has name $name, has age $age;", 40, 4);
+            MigratorProto.Ingest.Progress progress;
+            try {
+                ingester.add(rows.subList(0, 100));
+                ingester.add(rows.subList(100, rows.size()));
+                ingester.finish();
+                progress = ingester.getProgress();
+            } finally {
+                ingester.close();
+            }
+            assertEquals(252, progress.getRowsReceived());
+            assertEquals(250, progress.getRowsInserted());
+            assertEquals(2, progress.getRowsFailed());
+            assertEquals(2, progress.getErrorsCount());
+
+            try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(250, txn.query().match(TypeQL.parseQuery("match $p isa person;").asMatch()).count());
+                    assertEquals(100, txn.query().match(TypeQL.parseQuery("match $a isa age;").asMatch()).count());
+                    assertEquals(1, txn.query().match(TypeQL.parseQuery(
+                            "match $p isa person, has name \"person-142\", has age 42;").asMatch()).count());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_ingest_protocol() throws IOException {
+        Util.resetDirectory(dataDir);
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            definePersons(databaseMgr);
+            MigratorService migratorSvc = new MigratorService(databaseMgr, Version.VERSION);
+            ProgressObserver progress = new ProgressObserver();
+            StreamObserver<MigratorProto.Ingest.Req> ingest = migratorSvc.ingest(progress);
+            // sizes beyond the server's bounds are clamped, as they are unsigned in the protocol
+            ingest.onNext(MigratorProto.Ingest.Req.newBuilder().setOpen(MigratorProto.Ingest.Open.newBuilder()
+                    .setDatabase(database).setQuery("insert $p isa person, has name $name, has age $age;")
+                    .setBatchSize(-1).setParallelisation(Integer.MAX_VALUE)).build());
+
+            List<MigratorProto.Ingest.Row> rows = new ArrayList<>();
+            for (int i = 0; i < 50; i++) rows.add(row("person-" + i, i));
+            ingest.onNext(rowsReq(rows));
+            assertEquals(1, progress.progresses.size());
+            assertEquals(50, progress.progresses.get(0).getRowsReceived());
+            assertEquals(0, progress.progresses.get(0).getErrorsCount());
+
+            // rows that cannot bind the query are reported in the response to the rows that carried them
+            ingest.onNext(rowsReq(List.of(
+                    MigratorProto.Ingest.Row.newBuilder()
+                            .putValues("name", MigratorProto.Ingest.Value.newBuilder().setString("invalid").build())
+                            .putValues("age", MigratorProto.Ingest.Value.newBuilder().setDouble(1.5).build()).build(),
+                    MigratorProto.Ingest.Row.newBuilder()
+                            .putValues("name", MigratorProto.Ingest.Value.newBuilder().setString("missing").build()).build(),
+                    MigratorProto.Ingest.Row.newBuilder()
+                            .putValues("name", MigratorProto.Ingest.Value.newBuilder().setString("unknown").build())
+                            .putValues("age", MigratorProto.Ingest.Value.newBuilder().setLong(1).build())
+                            .putValues("height", MigratorProto.Ingest.Value.newBuilder().setLong(1).build()).build(),
+                    row("person-50", 50)
+            )));
+            assertEquals(2, progress.progresses.size());
+            MigratorProto.Ingest.Progress invalid = progress.progresses.get(1);
+            assertEquals(54, invalid.getRowsReceived());
+            assertEquals(3, invalid.getRowsFailed());
+            assertEquals(List.of(50L, 51L, 52L), iterate(invalid.getErrorsList()).map(MigratorProto.Ingest.Error::getRow).toList());
+
+            ingest.onCompleted();
+            assertTrue(progress.isCompleted);
+            assertNull(progress.error);
+            MigratorProto.Ingest.Progress last = progress.progresses.get(progress.progresses.size() - 1);
+            assertEquals(54, last.getRowsReceived());
+            assertEquals(51, last.getRowsInserted());
+            assertEquals(3, last.getRowsFailed());
+
+            try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(51, txn.query().match(TypeQL.parseQuery("match $p isa person;").asMatch()).count());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_ingest_protocol_errors() throws IOException {
+        Util.resetDirectory(dataDir);
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            definePersons(databaseMgr);
+            MigratorService migratorSvc = new MigratorService(databaseMgr, Version.VERSION);
+            MigratorProto.Ingest.Req open = MigratorProto.Ingest.Req.newBuilder().setOpen(MigratorProto.Ingest.Open
+                    .newBuilder().setDatabase(database).setQuery("insert $p isa person, has name $name;")).build();
+
+            ProgressObserver rowsBeforeOpen = new ProgressObserver();
+            migratorSvc.ingest(rowsBeforeOpen).onNext(rowsReq(List.of(row("person", 1))));
+            assertError(rowsBeforeOpen, INGEST_NOT_OPENED);
+
+            ProgressObserver completedBeforeOpen = new ProgressObserver();
+            migratorSvc.ingest(completedBeforeOpen).onCompleted();
+            assertError(completedBeforeOpen, INGEST_NOT_OPENED);
+
+            ProgressObserver openedTwice = new ProgressObserver();
+            StreamObserver<MigratorProto.Ingest.Req> ingest = migratorSvc.ingest(openedTwice);
+            ingest.onNext(open);
+            ingest.onNext(open);
+            assertError(openedTwice, INGEST_ALREADY_OPENED);
+            // the ingest is done once it has failed, and ignores what the client still sends
+            ingest.onNext(rowsReq(List.of(row("person", 1))));
+            ingest.onCompleted();
+            assertTrue(openedTwice.progresses.isEmpty());
+            assertFalse(openedTwice.isCompleted);
+
+            ProgressObserver unknownDatabase = new ProgressObserver();
+            migratorSvc.ingest(unknownDatabase).onNext(MigratorProto.Ingest.Req.newBuilder().setOpen(
+                    MigratorProto.Ingest.Open.newBuilder().setDatabase("unknown").setQuery("insert $p isa person;")
+            ).build());
+            assertError(unknownDatabase, DATABASE_NOT_FOUND);
+
+            ProgressObserver unknownType = new ProgressObserver();
+            migratorSvc.ingest(unknownType).onNext(MigratorProto.Ingest.Req.newBuilder().setOpen(
+                    MigratorProto.Ingest.Open.newBuilder().setDatabase(database)
+                            .setQuery("insert $p isa person, has nickname $nickname;")
+            ).build());
+            assertNotNull(unknownType.error);
+        }
+    }
+
+    private static void definePersons(CoreDatabaseManager databaseMgr) {
+        databaseMgr.create(database);
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define " +
+                        "person sub entity, owns name, owns age; " +
+                        "name sub attribute, value string; " +
+                        "age sub attribute, value long;").asDefine());
+                txn.commit();
+            }
+        }
+    }
+
+    private static MigratorProto.Ingest.Req rowsReq(List<MigratorProto.Ingest.Row> rows) {
+        return MigratorProto.Ingest.Req.newBuilder().setRows(MigratorProto.Ingest.Rows.newBuilder().addAllRows(rows)).build();
+    }
+
+    private static void assertError(ProgressObserver observer, ErrorMessage expected) {
+        assertNotNull(observer.error);
+        assertTrue(observer.error.getMessage().contains(expected.code()));
+        assertTrue(observer.progresses.isEmpty());
+        assertFalse(observer.isCompleted);
+    }
+
+    /**
+     * Records what the migrator service responds to an ingest, which it does on the thread of each request.
+     */
+    private static class ProgressObserver implements StreamObserver<MigratorProto.Ingest.Progress> {
+
+        private final List<MigratorProto.Ingest.Progress> progresses = new ArrayList<>();
+        private Throwable error = null;
+        private boolean isCompleted = false;
+
+        @Override
+        public void onNext(MigratorProto.Ingest.Progress progress) {
+            progresses.add(progress);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onCompleted() {
+            isCompleted = true;
+        }
+    }
+
+    private static MigratorProto.Ingest.Row row(String name, long age) {
+        return MigratorProto.Ingest.Row.newBuilder()
+                .putValues("name", MigratorProto.Ingest.Value.newBuilder().setString(name).build())
+                .putValues("age", MigratorProto.Ingest.Value.newBuilder().setLong(age).build())
+                .build();
+    }
+
     private String trimSchema(String schema) {
         return schema.substring(schema.indexOf("define")).trim();
     }
@@ -22,6 +22,7 @@ import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.common.parameters.Options.Database;
+import com.vaticle.typedb.core.concept.Concept;
 import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.concept.type.AttributeType;
@@ -33,6 +34,7 @@ import com.vaticle.typedb.core.database.CoreSession;
 import com.vaticle.typedb.core.database.CoreTransaction;
 import com.vaticle.typedb.core.logic.LogicManager;
 import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
 import com.vaticle.typeql.lang.TypeQL;
 import org.junit.After;
 import org.junit.Before;
@@ -42,6 +44,8 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
 import static junit.framework.TestCase.assertFalse;
@@ -58,7 +62,10 @@ public class ReasonerTest {
     private static CoreDatabaseManager databaseMgr;
 
     private CoreTransaction singleThreadElgTransaction(CoreSession session, Arguments.Transaction.Type transactionType) {
-        CoreTransaction transaction = session.transaction(transactionType, new Options.Transaction().infer(true));
+        return transactionElg(session.transaction(transactionType, new Options.Transaction().infer(true)));
+    }
+
+    private static CoreTransaction transactionElg(CoreTransaction transaction) {
         ActorExecutorGroup service = new ActorExecutorGroup(1, new NamedThreadFactory("typedb-actor"));
         transaction.reasoner().controllerRegistry().setExecutorService(service);
         return transaction;
@@ -303,4 +310,41 @@ public class ReasonerTest {
             }
         }
     }
+
+    @Test
+    public void test_hash_joined_answers_equal_nested_loop_answers() {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define " +
+                        "name sub attribute, value string; tag sub attribute, value string;" +
+                        "person sub entity, owns name; dog sub entity, owns name, owns tag;" +
+                        "rule dogs-are-good: when { $d isa dog; } then { $d has tag 'good'; };").asDefine());
+                txn.commit();
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < 100; i++) {
+                    txn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'name-" + i % 5 + "';").asInsert());
+                }
+                for (int i = 0; i < 5; i++) {
+                    txn.query().insert(TypeQL.parseQuery("insert $x isa dog, has name 'name-" + i + "';").asInsert());
+                }
+                txn.commit();
+            }
+            String query = "match $p isa person, has name $n; $d isa dog, has name $n, has tag $t;";
+            Set<Map<Retrievable, ? extends Concept>> hashJoinable;
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                hashJoinable = txn.query().match(TypeQL.parseQuery(query).asMatch()).map(ConceptMap::concepts).toSet();
+            }
+            // explanations are propagated along the nested-loop path only, so they disable hash joins
+            Set<Map<Retrievable, ? extends Concept>> nestedLoop;
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ, new Options.Transaction().infer(true).explain(true))) {
+                transactionElg(txn);
+                nestedLoop = txn.query().match(TypeQL.parseQuery(query).asMatch()).map(ConceptMap::concepts).toSet();
+            }
+            assertEquals(100, hashJoinable.size());
+            assertEquals(nestedLoop, hashJoinable);
+        }
+    }
 }
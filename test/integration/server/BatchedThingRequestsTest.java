@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.server;
+
+import com.google.protobuf.ByteString;
+import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options.Database;
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typedb.protocol.ConceptProto;
+import com.vaticle.typedb.protocol.OptionsProto;
+import com.vaticle.typedb.protocol.SessionProto;
+import com.vaticle.typedb.protocol.TransactionProto;
+import com.vaticle.typeql.lang.TypeQL;
+import io.grpc.stub.StreamObserver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.server.common.RequestReader.byteStringAsUUID;
+import static com.vaticle.typedb.core.server.common.ResponseBuilder.UUIDAsByteString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Concept API reads that a client sends in one message are executed as a batch, and must be answered exactly as if
+ * they were sent one message at a time.
+ */
+public class BatchedThingRequestsTest {
+
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve("batched-thing-requests-test");
+    private static final Path logDir = dataDir.resolve("logs");
+    private static final Database options = new Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+            .storageDataCacheSize(MB).storageIndexCacheSize(MB);
+    private static final String database = "batched-thing-requests-test";
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private CoreDatabaseManager databaseMgr;
+    private TypeDBService typeDBSvc;
+
+    @Before
+    public void setup() throws IOException {
+        Util.resetDirectory(dataDir);
+        databaseMgr = CoreDatabaseManager.open(options);
+        databaseMgr.create(database);
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define " +
+                        "person sub entity, owns name, plays friendship:friend;" +
+                        "friendship sub relation, relates friend;" +
+                        "name sub attribute, value string;").asDefine());
+                txn.commit();
+            }
+        }
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < 10; i++) {
+                    txn.query().insert(TypeQL.parseQuery("insert " +
+                            "$p isa person, has name 'p-" + i + "', has name 'q-" + i + "';" +
+                            "$f isa person, has name 'f-" + i + "';" +
+                            "(friend: $p, friend: $f) isa friendship;").asInsert());
+                }
+                txn.commit();
+            }
+        }
+        typeDBSvc = new TypeDBService(new InetSocketAddress("localhost", 0), databaseMgr);
+    }
+
+    @After
+    public void tearDown() {
+        typeDBSvc.close();
+        databaseMgr.close();
+    }
+
+    @Test
+    public void batched_requests_are_answered_as_requests_sent_one_by_one() throws InterruptedException {
+        List<ByteString> persons = new ArrayList<>();
+        List<ByteString> friendships = new ArrayList<>();
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                txn.query().match(TypeQL.parseQuery("match $p isa person;").asMatch()).forEachRemaining(
+                        answer -> persons.add(ByteString.copyFrom(answer.getConcept("p").asThing().getIID().getBytes()))
+                );
+                txn.query().match(TypeQL.parseQuery("match $f isa friendship;").asMatch()).forEachRemaining(
+                        answer -> friendships.add(ByteString.copyFrom(answer.getConcept("f").asThing().getIID().getBytes()))
+                );
+            }
+        }
+        List<TransactionProto.Transaction.Req> reqs = new ArrayList<>();
+        for (ByteString person : persons) {
+            reqs.add(thingReq(ConceptProto.Thing.Req.newBuilder().setIid(person).setThingGetHasReq(
+                    ConceptProto.Thing.GetHas.Req.getDefaultInstance())));
+            reqs.add(thingReq(ConceptProto.Thing.Req.newBuilder().setIid(person).setThingGetRelationsReq(
+                    ConceptProto.Thing.GetRelations.Req.getDefaultInstance())));
+            reqs.add(thingReq(ConceptProto.Thing.Req.newBuilder().setIid(person).setThingGetPlayingReq(
+                    ConceptProto.Thing.GetPlaying.Req.getDefaultInstance())));
+        }
+        for (ByteString friendship : friendships) {
+            reqs.add(thingReq(ConceptProto.Thing.Req.newBuilder().setIid(friendship).setRelationGetRolePlayersReq(
+                    ConceptProto.Relation.GetRolePlayers.Req.getDefaultInstance())));
+        }
+
+        Map<UUID, List<TransactionProto.Transaction.ResPart>> batched = responses(List.of(reqs));
+        List<List<TransactionProto.Transaction.Req>> messages = new ArrayList<>();
+        for (TransactionProto.Transaction.Req req : reqs) messages.add(List.of(req));
+        Map<UUID, List<TransactionProto.Transaction.ResPart>> oneByOne = responses(messages);
+
+        assertEquals(reqs.size(), oneByOne.size());
+        for (int i = 0; i < persons.size(); i++) {
+            UUID getHas = byteStringAsUUID(reqs.get(3 * i).getReqId());
+            assertTrue(oneByOne.get(getHas).get(0).getThingResPart().getThingGetHasResPart().getAttributesCount() > 0);
+        }
+        assertEquals(oneByOne, batched);
+    }
+
+    private Map<UUID, List<TransactionProto.Transaction.ResPart>> responses(
+            List<List<TransactionProto.Transaction.Req>> messages) throws InterruptedException {
+        Set<UUID> pending = new HashSet<>();
+        for (List<TransactionProto.Transaction.Req> message : messages) {
+            for (TransactionProto.Transaction.Req req : message) pending.add(byteStringAsUUID(req.getReqId()));
+        }
+        Responder responder = new Responder(pending);
+        StreamObserver<TransactionProto.Transaction.Client> transaction = typeDBSvc.transaction(responder);
+        transaction.onNext(client(List.of(openReq(sessionID()))));
+        for (List<TransactionProto.Transaction.Req> message : messages) transaction.onNext(client(message));
+        assertTrue(responder.done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        transaction.onCompleted();
+        return responder.answers;
+    }
+
+    private ByteString sessionID() {
+        SessionProto.Session.Open.Res[] opened = new SessionProto.Session.Open.Res[1];
+        typeDBSvc.sessionOpen(SessionProto.Session.Open.Req.newBuilder().setDatabase(database)
+                .setType(SessionProto.Session.Type.DATA).setOptions(OptionsProto.Options.getDefaultInstance()).build(),
+                new StreamObserver<>() {
+                    @Override
+                    public void onNext(SessionProto.Session.Open.Res res) {
+                        opened[0] = res;
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        throw new RuntimeException(error);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+        return opened[0].getSessionId();
+    }
+
+    private static TransactionProto.Transaction.Req openReq(ByteString sessionID) {
+        return TransactionProto.Transaction.Req.newBuilder().setReqId(UUIDAsByteString(UUID.randomUUID())).setOpenReq(
+                TransactionProto.Transaction.Open.Req.newBuilder().setSessionId(sessionID)
+                        .setType(TransactionProto.Transaction.Type.READ)
+                        .setOptions(OptionsProto.Options.getDefaultInstance())
+        ).build();
+    }
+
+    private static TransactionProto.Transaction.Req thingReq(ConceptProto.Thing.Req.Builder thingReq) {
+        return TransactionProto.Transaction.Req.newBuilder().setReqId(UUIDAsByteString(UUID.randomUUID()))
+                .setThingReq(thingReq).build();
+    }
+
+    private static TransactionProto.Transaction.Client client(List<TransactionProto.Transaction.Req> reqs) {
+        return TransactionProto.Transaction.Client.newBuilder().addAllReqs(reqs).build();
+    }
+
+    /**
+     * Records the answers streamed back to each request, until every request's stream is done.
+     */
+    private static class Responder implements StreamObserver<TransactionProto.Transaction.Server> {
+
+        private final Set<UUID> pending;
+        private final Map<UUID, List<TransactionProto.Transaction.ResPart>> answers;
+        private final CountDownLatch done;
+
+        private Responder(Set<UUID> pending) {
+            this.pending = pending;
+            this.answers = new HashMap<>();
+            this.done = new CountDownLatch(pending.size());
+        }
+
+        @Override
+        public synchronized void onNext(TransactionProto.Transaction.Server message) {
+            if (!message.hasResPart()) return;
+            TransactionProto.Transaction.ResPart resPart = message.getResPart();
+            UUID reqID = byteStringAsUUID(resPart.getReqId());
+            if (!pending.contains(reqID)) return;
+            if (resPart.hasStreamResPart()) {
+                assertEquals(TransactionProto.Transaction.Stream.State.DONE, resPart.getStreamResPart().getState());
+                pending.remove(reqID);
+                done.countDown();
+            } else {
+                answers.computeIfAbsent(reqID, id -> new ArrayList<>()).add(resPart);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            throw new RuntimeException(error);
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+}
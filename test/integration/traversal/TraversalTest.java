@@ -25,20 +25,26 @@ import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.common.parameters.Order;
+import com.vaticle.typedb.core.concurrent.executor.Executors;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.database.CoreDatabaseManager;
 import com.vaticle.typedb.core.database.CoreSession;
 import com.vaticle.typedb.core.database.CoreTransaction;
 import com.vaticle.typedb.core.encoding.Encoding;
+import com.vaticle.typedb.core.graph.GraphManager;
+import com.vaticle.typedb.core.graph.vertex.Vertex;
 import com.vaticle.typedb.core.pattern.Disjunction;
 import com.vaticle.typedb.core.test.integration.util.Util;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.common.Modifiers;
 import com.vaticle.typedb.core.traversal.common.VertexMap;
 import com.vaticle.typedb.core.traversal.expression.ExpressionFactory;
+import com.vaticle.typedb.core.traversal.planner.Planner;
+import com.vaticle.typedb.core.traversal.planner.PlannerPerfCounters;
 import com.vaticle.typedb.core.traversal.predicate.Predicate;
 import com.vaticle.typedb.core.traversal.predicate.PredicateArgument;
 import com.vaticle.typedb.core.traversal.procedure.GraphProcedure;
+import com.vaticle.typedb.core.traversal.procedure.PermutationProcedure;
 import com.vaticle.typedb.core.traversal.procedure.ProcedureVertex;
 import com.vaticle.typeql.lang.TypeQL;
 import com.vaticle.typeql.lang.common.TypeQLToken;
@@ -53,7 +59,11 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static com.vaticle.typedb.common.collection.Collections.list;
@@ -67,6 +77,10 @@ import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
 import static com.vaticle.typedb.core.common.parameters.Order.Desc.DESC;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 public class TraversalTest {
@@ -660,4 +674,273 @@ public class TraversalTest {
             assertTrue(expectedAnswers.containsAll(actualAnswers));
         }
     }
+
+    @Test
+    public void fixed_slot_answers_are_equal_hashed_and_filtered_as_map_answers() {
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            TypeQLDefine query = TypeQL.parseQuery("define person sub entity, owns name; name sub attribute, value string;");
+            transaction.query().define(query);
+            transaction.commit();
+        }
+        session.close();
+        session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has name \"Alice\";").asInsert());
+            transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has name \"Alice\";").asInsert());
+            transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has name \"Bob\";").asInsert());
+            transaction.commit();
+        }
+
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            /*
+            match $x isa person, has name $n;
+            */
+            GraphProcedure.Builder proc = new GraphProcedure.Builder();
+
+            ProcedureVertex.Thing x = proc.namedThing(0, "x");
+            x.props().types(set(Label.of("person")));
+
+            ProcedureVertex.Thing n = proc.namedThing(1, "n");
+            n.props().types(set(Label.of("name")));
+
+            proc.forwardHas(x, n);
+
+            Identifier.Variable.Retrievable xID = x.id().asVariable().asRetrievable();
+            Identifier.Variable.Retrievable nID = n.id().asVariable().asRetrievable();
+            Modifiers modifiers = new Modifiers();
+            modifiers.filter(Modifiers.Filter.create(set(xID, nID)));
+
+            GraphProcedure procedure = proc.build();
+            List<VertexMap> answers = procedure.iterator(transaction.traversal().graph(), new Traversal.Parameters(), modifiers).toList();
+            assertEquals(3, answers.size());
+
+            Set<ConceptMap> lazyAnswers = new HashSet<>();
+            Set<ConceptMap> mapAnswers = new HashSet<>();
+            Set<ConceptMap> lazyNames = new HashSet<>();
+            Set<ConceptMap> mapNames = new HashSet<>();
+            for (VertexMap answer : answers) {
+                // the same answer over the other layout of its variables
+                Map<Identifier.Variable.Retrievable, Vertex<?, ?>> reordered = new LinkedHashMap<>();
+                reordered.put(answer.layout().id(1), answer.vertex(1));
+                reordered.put(answer.layout().id(0), answer.vertex(0));
+                VertexMap relaidOut = VertexMap.of(reordered);
+                assertNotEquals(answer.layout(), relaidOut.layout());
+                assertEquals(answer, relaidOut);
+                assertEquals(relaidOut, answer);
+                assertEquals(answer.hashCode(), relaidOut.hashCode());
+                assertEquals(new HashMap<>(answer.map()).hashCode(), answer.hashCode());
+
+                ConceptMap lazy = transaction.concepts().conceptMap(answer);
+                ConceptMap map = new ConceptMap(new HashMap<>(transaction.concepts().conceptMap(relaidOut).concepts()));
+                assertEquals(map, lazy);
+                assertEquals(lazy, map);
+                assertEquals(map.hashCode(), lazy.hashCode());
+                assertEquals(map.filter(set(nID)), lazy.filter(set(nID)));
+                assertEquals(map.filter(set(nID)).hashCode(), lazy.filter(set(nID)).hashCode());
+
+                lazyAnswers.add(lazy);
+                mapAnswers.add(map);
+                lazyNames.add(lazy.filter(set(nID)));
+                mapNames.add(map.filter(set(nID)));
+            }
+            assertEquals(3, lazyAnswers.size());
+            assertEquals(mapAnswers, lazyAnswers);
+            assertEquals(2, lazyNames.size());
+            assertEquals(mapNames, lazyNames);
+        }
+    }
+
+    @Test
+    public void replanning_before_any_answer_restarts_without_duplicates() {
+        insertPeopleAndDogsSharingOneName("zzz", false);
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            assertReplannedAnswersMatch(transaction);
+        }
+    }
+
+    @Test
+    public void misestimate_after_an_answer_corrects_later_plans_without_duplicates() {
+        insertPeopleAndDogsSharingOneName("aaa", true);
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            assertReplannedAnswersMatch(transaction);
+        }
+    }
+
+    @Test
+    public void greedy_plan_is_valid_and_replaced_once_background_optimisation_finishes() throws InterruptedException {
+        insertPeopleAndDogsSharingOneName("zzz", false);
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            GraphManager graphMgr = transaction.traversal().graph();
+            GraphTraversal.Thing traversal = peopleAndDogsByName();
+            Planner planner = Planner.create(traversal.structure(), traversal.modifiers());
+            long solverRuns = PlannerPerfCounters.get().solverRuns.get();
+            long plansImproved = PlannerPerfCounters.get().plansImproved.get();
+
+            planner.tryOptimise(graphMgr, false);
+            PermutationProcedure greedy = planner.procedure();
+            assertNotNull(greedy);
+            List<VertexMap> greedyAnswers = greedy.iterator(graphMgr, traversal.parameters(), traversal.modifiers()).toList();
+            assertEquals(1, greedyAnswers.size());
+
+            // the solver is bounded by its time limit, so the background optimisation finishes well within the deadline
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!(PlannerPerfCounters.get().solverRuns.get() > solverRuns && Executors.planning().getActiveCount() == 0
+                    && Executors.planning().getQueue().isEmpty()) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(PlannerPerfCounters.get().solverRuns.get() > solverRuns);
+
+            PermutationProcedure optimised = planner.procedure();
+            assertEquals(PlannerPerfCounters.get().plansImproved.get() > plansImproved, optimised != greedy);
+            assertEquals(greedyAnswers, optimised.iterator(graphMgr, traversal.parameters(), traversal.modifiers()).toList());
+        }
+    }
+
+    @Test
+    public void ring_of_relations_is_cyclic_and_closed_to_the_right_answers() {
+        defineFollows();
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().insert(TypeQL.parseQuery("insert " +
+                    "$a isa person, has name \"a\"; $b isa person, has name \"b\"; $c isa person, has name \"c\";" +
+                    "$d isa person, has name \"d\"; $e isa person, has name \"e\";" +
+                    "(follower: $a, followee: $b) isa follows; (follower: $b, followee: $c) isa follows;" +
+                    "(follower: $c, followee: $a) isa follows; (follower: $c, followee: $d) isa follows;" +
+                    "(follower: $d, followee: $e) isa follows; (follower: $a, followee: $e) isa follows;").asInsert());
+            transaction.commit();
+        }
+
+        Identifier.Variable.Name x = Identifier.Variable.namedConcept("x");
+        Identifier.Variable.Name y = Identifier.Variable.namedConcept("y");
+        Identifier.Variable.Name z = Identifier.Variable.namedConcept("z");
+        GraphTraversal.Thing ring = new GraphTraversal.Thing();
+        followsTraversal(ring, "r1", x, y);
+        followsTraversal(ring, "r2", y, z);
+        followsTraversal(ring, "r3", z, x);
+        assertTrue(ring.structure().isCyclic());
+
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            Set<String> rings = new HashSet<>();
+            transaction.query().match(TypeQL.parseQuery("match " +
+                    "$x isa person, has name $nx; $y isa person, has name $ny; $z isa person, has name $nz;" +
+                    "(follower: $x, followee: $y) isa follows; (follower: $y, followee: $z) isa follows;" +
+                    "(follower: $z, followee: $x) isa follows;").asMatch()
+            ).forEachRemaining(answer -> rings.add(
+                    answer.getConcept("nx").asAttribute().asString().getValue() +
+                            answer.getConcept("ny").asAttribute().asString().getValue() +
+                            answer.getConcept("nz").asAttribute().asString().getValue()
+            ));
+            assertEquals(set("abc", "bca", "cab"), rings);
+        }
+    }
+
+    @Test
+    public void parallel_role_player_edges_are_not_cyclic() {
+        defineFollows();
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().insert(TypeQL.parseQuery("insert " +
+                    "$a isa person, has name \"a\"; $b isa person, has name \"b\";" +
+                    "(follower: $a, followee: $a) isa follows; (follower: $a, followee: $b) isa follows;").asInsert());
+            transaction.commit();
+        }
+
+        Identifier.Variable.Name r = Identifier.Variable.namedConcept("r");
+        Identifier.Variable.Name x = Identifier.Variable.namedConcept("x");
+        GraphTraversal.Thing selfFollows = new GraphTraversal.Thing();
+        selfFollows.types(r, set(Label.of("follows")));
+        selfFollows.types(x, set(Label.of("person")));
+        selfFollows.rolePlayer(r, x, set(Label.of("follower", "follows")), 0);
+        selfFollows.rolePlayer(r, x, set(Label.of("followee", "follows")), 0);
+        assertFalse(selfFollows.structure().isCyclic());
+
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            List<? extends ConceptMap> answers = transaction.query().match(TypeQL.parseQuery(
+                    "match $x isa person, has name $n; (follower: $x, followee: $x) isa follows;").asMatch()
+            ).toList();
+            assertEquals(1, answers.size());
+            assertEquals("a", answers.get(0).getConcept("n").asAttribute().asString().getValue());
+        }
+    }
+
+    private void defineFollows() {
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(TypeQL.parseQuery("define " +
+                    "name sub attribute, value string;" +
+                    "person sub entity, owns name, plays follows:follower, plays follows:followee;" +
+                    "follows sub relation, relates follower, relates followee;").asDefine());
+            transaction.commit();
+        }
+        session.close();
+        session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+    }
+
+    private static void followsTraversal(GraphTraversal.Thing traversal, String relation,
+                                         Identifier.Variable.Name follower, Identifier.Variable.Name followee) {
+        Identifier.Variable.Name rel = Identifier.Variable.namedConcept(relation);
+        traversal.types(rel, set(Label.of("follows")));
+        traversal.types(follower, set(Label.of("person")));
+        traversal.types(followee, set(Label.of("person")));
+        traversal.rolePlayer(rel, follower, set(Label.of("follower", "follows")), 0);
+        traversal.rolePlayer(rel, followee, set(Label.of("followee", "follows")), 0);
+    }
+
+    private void insertPeopleAndDogsSharingOneName(String sharedName, boolean isSharedFirst) {
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            TypeQLDefine query = TypeQL.parseQuery("define " +
+                    "name sub attribute, value string;" +
+                    "person sub entity, owns name;" +
+                    "dog sub entity, owns name;");
+            transaction.query().define(query);
+            transaction.commit();
+        }
+        session.close();
+        session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            String shared = "insert $x isa person, has name \"" + sharedName + "\"; $y isa dog, has name \"" + sharedName + "\";";
+            if (isSharedFirst) transaction.query().insert(TypeQL.parseQuery(shared).asInsert());
+            for (int i = 0; i < 200; i++) {
+                transaction.query().insert(TypeQL.parseQuery(String.format(
+                        "insert $x isa person, has name \"person-%03d\"; $y isa dog, has name \"dog-%03d\";", i, i
+                )).asInsert());
+            }
+            if (!isSharedFirst) transaction.query().insert(TypeQL.parseQuery(shared).asInsert());
+            transaction.commit();
+        }
+    }
+
+    /**
+     * match $x isa person, has name $n; $y isa dog, has name $n;
+     *
+     * With a misestimate factor small enough that every plan trips the monitor after 64 candidates, the traversal is
+     * corrected whichever plan it starts from, and must return the one answer exactly once.
+     */
+    private void assertReplannedAnswersMatch(CoreTransaction transaction) {
+        TraversalCache replanningCache = new TraversalCache(0.001);
+        GraphTraversal.Thing replanning = peopleAndDogsByName();
+        Planner initial = replanningCache.getPlanner(replanning.structure(), replanning.modifiers(), sm -> Planner.create(sm.first(), sm.second()));
+        replanning.initialise(replanningCache);
+        List<VertexMap> replannedAnswers = replanning.permutationIterator(transaction.traversal().graph()).toList();
+
+        GraphTraversal.Thing planned = peopleAndDogsByName();
+        planned.initialise(new TraversalCache());
+        List<VertexMap> plannedAnswers = planned.permutationIterator(transaction.traversal().graph()).toList();
+
+        assertEquals(1, plannedAnswers.size());
+        assertEquals(plannedAnswers, replannedAnswers);
+        Planner corrected = replanningCache.getPlanner(replanning.structure(), replanning.modifiers(), sm -> initial);
+        assertNotSame(initial, corrected);
+    }
+
+    private GraphTraversal.Thing peopleAndDogsByName() {
+        Identifier.Variable.Name x = Identifier.Variable.namedConcept("x");
+        Identifier.Variable.Name y = Identifier.Variable.namedConcept("y");
+        Identifier.Variable.Name n = Identifier.Variable.namedConcept("n");
+        GraphTraversal.Thing traversal = new GraphTraversal.Thing();
+        traversal.types(x, set(Label.of("person")));
+        traversal.types(y, set(Label.of("dog")));
+        traversal.types(n, set(Label.of("name")));
+        traversal.has(x, n);
+        traversal.has(y, n);
+        traversal.filter(Modifiers.Filter.create(set(x, y, n)));
+        return traversal;
+    }
 }
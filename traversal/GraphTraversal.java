@@ -35,6 +35,7 @@ import com.vaticle.typedb.core.traversal.predicate.Predicate;
 import com.vaticle.typedb.core.traversal.predicate.PredicateArgument;
 import com.vaticle.typedb.core.traversal.procedure.CombinationProcedure;
 import com.vaticle.typedb.core.traversal.scanner.CombinationFinder;
+import com.vaticle.typedb.core.traversal.scanner.FanOutMonitor;
 import com.vaticle.typedb.core.traversal.structure.StructureVertex;
 import com.vaticle.typeql.lang.common.TypeQLArg;
 import com.vaticle.typeql.lang.common.TypeQLToken;
@@ -165,7 +166,20 @@ public abstract class GraphTraversal extends Traversal {
         @Override
         FunctionalIterator<VertexMap> permutationIterator(GraphManager graphMgr) {
             assert planner != null && cache != null;
-            FunctionalIterator<VertexMap> iter = permutationIterator(graphMgr, planner, false);
+            FunctionalIterator<VertexMap> iter;
+            if (!cache.isReplanEnabled()) {
+                iter = permutationIterator(graphMgr, planner, false);
+            } else if (modifiers.sorting().variables().isEmpty()) {
+                planner.tryOptimise(graphMgr, false);
+                iter = new ReplanningIterator(
+                        graphMgr, planner, parameters, modifiers, cache.replanFactor(),
+                        observedFanOuts -> correctPlanner(graphMgr, observedFanOuts)
+                );
+            } else {
+                // sorted answers cannot be restarted mid-query, so only correct the plan for subsequent queries
+                planner.tryOptimise(graphMgr, false);
+                iter = planner.procedure().iterator(graphMgr, parameters, modifiers, observingMonitor(graphMgr));
+            }
             cache.mayUpdatePlanner(structure, modifiers, planner);
             return iter;
         }
@@ -173,11 +187,23 @@ public abstract class GraphTraversal extends Traversal {
         FunctionalProducer<VertexMap> permutationProducer(GraphManager graphMgr, int parallelisation) {
             assert planner != null && cache != null;
             planner.tryOptimise(graphMgr, false);
-            FunctionalProducer<VertexMap> producer = planner.procedure().producer(graphMgr, parameters, modifiers, parallelisation);
+            FunctionalProducer<VertexMap> producer = planner.procedure().producer(
+                    graphMgr, parameters, modifiers, parallelisation, cache.isReplanEnabled() ? observingMonitor(graphMgr) : null
+            );
             cache.mayUpdatePlanner(structure, modifiers, planner);
             return producer;
         }
 
+        private FanOutMonitor observingMonitor(GraphManager graphMgr) {
+            return FanOutMonitor.observing(cache.replanFactor(), observedFanOuts -> correctPlanner(graphMgr, observedFanOuts));
+        }
+
+        private Planner correctPlanner(GraphManager graphMgr, Map<Identifier, Double> observedFanOuts) {
+            Planner corrected = planner.corrected(graphMgr, observedFanOuts);
+            if (corrected != planner) cache.replacePlanner(structure, modifiers, planner, corrected);
+            return corrected;
+        }
+
         public void equalThings(Identifier.Variable thing1, Identifier.Variable thing2) {
             structure.equalEdge(structure.thingVertex(thing1), structure.thingVertex(thing2));
         }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.traversal;
+
+import com.vaticle.typedb.core.common.iterator.AbstractFunctionalIterator;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.graph.GraphManager;
+import com.vaticle.typedb.core.traversal.common.Identifier;
+import com.vaticle.typedb.core.traversal.common.Modifiers;
+import com.vaticle.typedb.core.traversal.common.VertexMap;
+import com.vaticle.typedb.core.traversal.planner.Planner;
+import com.vaticle.typedb.core.traversal.scanner.FanOutMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Iterates the permutations of an unsorted traversal, while monitoring the fan-out at each procedure vertex.
+ * When a vertex produces far more candidates than the planner estimated before the first answer is returned, the
+ * running procedure is abandoned, and iteration restarts from a plan corrected with the observed fan-outs. Since no
+ * answer has been returned by then, the restarted traversal cannot return duplicates, and no answers need to be kept.
+ *
+ * Once an answer has been returned, the traversal runs to completion on its current plan, and a misestimate only
+ * corrects the plan of subsequent traversals.
+ */
+class ReplanningIterator extends AbstractFunctionalIterator<VertexMap> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplanningIterator.class);
+
+    private final GraphManager graphMgr;
+    private final Traversal.Parameters params;
+    private final Modifiers modifiers;
+    private final Function<Map<Identifier, Double>, Planner> correction;
+    private final FanOutMonitor monitor;
+    private FunctionalIterator<VertexMap> iterator;
+    private VertexMap next;
+    private boolean mayReplan;
+
+    ReplanningIterator(GraphManager graphMgr, Planner planner, Traversal.Parameters params, Modifiers modifiers,
+                       double replanFactor, Function<Map<Identifier, Double>, Planner> correction) {
+        assert modifiers.sorting().variables().isEmpty();
+        this.graphMgr = graphMgr;
+        this.params = params;
+        this.modifiers = modifiers;
+        this.correction = correction;
+        this.monitor = FanOutMonitor.aborting(replanFactor, correction::apply);
+        this.iterator = planner.procedure().iterator(graphMgr, params, modifiers, monitor);
+        this.next = null;
+        this.mayReplan = true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) return true;
+        boolean hasNext = iterator.hasNext();
+        // an aborted traversal may still have found an answer with the vertex that tripped the monitor
+        if (mayReplan && monitor.isTripped()) hasNext = replan().hasNext();
+        if (!hasNext) return false;
+        next = iterator.next();
+        if (mayReplan) {
+            monitor.stopAborting();
+            mayReplan = false;
+        }
+        return true;
+    }
+
+    private FunctionalIterator<VertexMap> replan() {
+        if (LOG.isDebugEnabled()) LOG.debug("Re-planning traversal with observed fan-outs: {}", monitor.observedFanOuts());
+        iterator.recycle();
+        iterator = correction.apply(monitor.observedFanOuts()).procedure().iterator(graphMgr, params, modifiers);
+        mayReplan = false;
+        return iterator;
+    }
+
+    @Override
+    public VertexMap next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        VertexMap answer = next;
+        next = null;
+        return answer;
+    }
+
+    @Override
+    public void recycle() {
+        iterator.recycle();
+    }
+}
@@ -21,6 +21,8 @@ package com.vaticle.typedb.core.traversal;
 import com.vaticle.typedb.common.collection.Pair;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.parameters.Cancellation;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
 import com.vaticle.typedb.core.encoding.Encoding;
 import com.vaticle.typedb.core.encoding.iid.VertexIID;
 import com.vaticle.typedb.core.graph.GraphManager;
@@ -98,12 +100,36 @@ public abstract class Traversal {
         private final Map<Pair<Identifier.Variable, Predicate.Value<?, ?>>, Set<Value<?>>> values;
         private final Map<Identifier.Variable, Pair<Predicate.Value<?, ?>, Value<?>>> largestGTPredicates;
         private final Map<Identifier.Variable, Pair<Predicate.Value<?, ?>, Value<?>>> smallestLTPredicates;
+        private Cancellation cancellation;
+        private QueryProfile profile;
 
         public Parameters() {
             iids = new HashMap<>();
             values = new HashMap<>();
             largestGTPredicates = new HashMap<>();
             smallestLTPredicates = new HashMap<>();
+            cancellation = null;
+            profile = null;
+        }
+
+        /**
+         * The cancellation token of the query the traversal runs for. It does not take part in equality,
+         * as it does not change the answers of the traversal, and neither does the profile below.
+         */
+        public void cancellation(Cancellation cancellation) {
+            this.cancellation = cancellation;
+        }
+
+        public Optional<Cancellation> cancellation() {
+            return Optional.ofNullable(cancellation);
+        }
+
+        public void profile(QueryProfile profile) {
+            this.profile = profile;
+        }
+
+        public Optional<QueryProfile> profile() {
+            return Optional.ofNullable(profile);
         }
 
         public void putIID(Identifier.Variable identifier, VertexIID.Thing iid) {
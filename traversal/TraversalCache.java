@@ -20,6 +20,7 @@ package com.vaticle.typedb.core.traversal;
 
 import com.vaticle.typedb.common.collection.Pair;
 import com.vaticle.typedb.core.common.cache.CommonCache;
+import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.traversal.common.Modifiers;
 import com.vaticle.typedb.core.traversal.planner.Planner;
 import com.vaticle.typedb.core.traversal.structure.Structure;
@@ -30,10 +31,24 @@ public class TraversalCache {
 
     private final CommonCache<Pair<Structure, Modifiers>, Planner> activePlanners;
     private final CommonCache<Pair<Structure, Modifiers>, Planner> optimalPlanners;
+    private final double replanFactor;
 
     public TraversalCache() {
+        this(Options.DEFAULT_TRAVERSAL_REPLAN_FACTOR);
+    }
+
+    public TraversalCache(double replanFactor) {
         activePlanners = new CommonCache<>(30);
         optimalPlanners = new CommonCache<>(10_000);
+        this.replanFactor = replanFactor;
+    }
+
+    public double replanFactor() {
+        return replanFactor;
+    }
+
+    public boolean isReplanEnabled() {
+        return replanFactor > 0;
     }
 
     public Planner getPlanner(Structure structure, Modifiers modifiers, Function<Pair<Structure, Modifiers>, Planner> constructor) {
@@ -46,6 +61,8 @@ public class TraversalCache {
     public void mayUpdatePlanner(Structure structure, Modifiers modifiers, Planner planner) {
         Pair<Structure, Modifiers> key = new Pair<>(structure, modifiers);
         if (planner.isOptimal() && optimalPlanners.getIfPresent(key) == null) {
+            Planner active = activePlanners.getIfPresent(key);
+            if (active != null && active != planner) return; // superseded by a corrected planner
             optimalPlanners.put(key, planner);
             activePlanners.invalidate(key);
         } else if (!planner.isOptimal() && activePlanners.getIfPresent(key) == null) {
@@ -53,4 +70,17 @@ public class TraversalCache {
             optimalPlanners.invalidate(key);
         }
     }
+
+    /**
+     * Files a planner corrected with runtime observations in place of the planner it was corrected from. Nothing is
+     * filed if that planner has already been replaced, so a traversal running on a stale planner cannot undo a newer
+     * correction.
+     */
+    public void replacePlanner(Structure structure, Modifiers modifiers, Planner planner, Planner corrected) {
+        Pair<Structure, Modifiers> key = new Pair<>(structure, modifiers);
+        if (optimalPlanners.remove(key, planner) || activePlanners.remove(key, planner) ||
+                (optimalPlanners.getIfPresent(key) == null && activePlanners.getIfPresent(key) == null)) {
+            activePlanners.put(key, corrected);
+        }
+    }
 }
@@ -21,40 +21,79 @@ package com.vaticle.typedb.core.traversal.common;
 import com.vaticle.typedb.core.graph.vertex.Vertex;
 import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.function.BiConsumer;
 
 import static java.util.Collections.unmodifiableMap;
 
+/**
+ * A single traversal answer, stored as a fixed-slot array of vertices indexed by a {@link Layout} that is shared by
+ * every answer of the same query. The {@link Map} view is only built on demand, at the API boundary.
+ */
 public class VertexMap {
 
-    private final Map<Retrievable, Vertex<?, ?>> map;
-    private final int hash;
+    private final Layout layout;
+    private final Vertex<?, ?>[] vertices;
+    private Map<Retrievable, Vertex<?, ?>> map;
+    private int hash;
+
+    private VertexMap(Layout layout, Vertex<?, ?>[] vertices) {
+        assert layout.size() == vertices.length;
+        this.layout = layout;
+        this.vertices = vertices;
+        this.hash = 0;
+    }
 
-    public VertexMap(Map<Retrievable, Vertex<?, ?>> map) {
-        this.map = unmodifiableMap(map);
-        this.hash = Objects.hash(this.map);
+    public static VertexMap of(Layout layout, Vertex<?, ?>[] vertices) {
+        return new VertexMap(layout, vertices);
     }
 
     public static VertexMap of(Map<Retrievable, Vertex<?, ?>> map) {
-        return new VertexMap(map);
+        Layout layout = Layout.of(map.keySet());
+        Vertex<?, ?>[] vertices = new Vertex<?, ?>[layout.size()];
+        for (int slot = 0; slot < layout.size(); slot++) {
+            vertices[slot] = map.get(layout.id(slot));
+        }
+        return new VertexMap(layout, vertices);
+    }
+
+    public Layout layout() {
+        return layout;
+    }
+
+    public int size() {
+        return vertices.length;
+    }
+
+    public Vertex<?, ?> vertex(int slot) {
+        return vertices[slot];
     }
 
     public Map<Retrievable, Vertex<?, ?>> map() {
+        if (map == null) {
+            Map<Retrievable, Vertex<?, ?>> m = new HashMap<>();
+            forEach(m::put);
+            map = unmodifiableMap(m);
+        }
         return map;
     }
 
     public Vertex<?, ?> get(Retrievable id) {
-        return map.get(id);
+        int slot = layout.slot(id);
+        return slot < 0 ? null : vertices[slot];
     }
 
     public boolean containsKey(Retrievable id) {
-        return map.containsKey(id);
+        return layout.slot(id) >= 0;
     }
 
     public void forEach(BiConsumer<Retrievable, Vertex<?, ?>> action) {
-        map.forEach(action);
+        for (int slot = 0; slot < vertices.length; slot++) {
+            action.accept(layout.id(slot), vertices[slot]);
+        }
     }
 
     @Override
@@ -63,11 +102,88 @@ public class VertexMap {
         if (o == null || getClass() != o.getClass()) return false;
 
         VertexMap that = (VertexMap) o;
-        return this.map.equals(that.map);
+        if (this.layout.equals(that.layout)) return Arrays.equals(this.vertices, that.vertices);
+        else if (this.size() != that.size()) return false;
+        for (int slot = 0; slot < vertices.length; slot++) {
+            if (!vertices[slot].equals(that.get(layout.id(slot)))) return false;
+        }
+        return true;
     }
 
+    /**
+     * Computed lazily, and identical to the hash code of the equivalent {@link Map} so that
+     * maps over different layouts of the same variables remain comparable.
+     */
     @Override
     public int hashCode() {
+        if (hash == 0) {
+            int h = 0;
+            for (int slot = 0; slot < vertices.length; slot++) {
+                h += layout.id(slot).hashCode() ^ vertices[slot].hashCode();
+            }
+            hash = h;
+        }
         return hash;
     }
+
+    @Override
+    public String toString() {
+        return "VertexMap{" + map() + '}';
+    }
+
+    /**
+     * The per-query variable index: assigns each retrieved variable a fixed slot in the answer array.
+     */
+    public static class Layout {
+
+        private final Retrievable[] ids;
+        private final Map<Retrievable, Integer> slots;
+        private final int hash;
+
+        private Layout(Retrievable[] ids) {
+            this.ids = ids;
+            this.slots = new HashMap<>();
+            for (int slot = 0; slot < ids.length; slot++) slots.put(ids[slot], slot);
+            this.hash = Arrays.hashCode(ids);
+        }
+
+        public static Layout of(Retrievable id) {
+            return new Layout(new Retrievable[]{id});
+        }
+
+        public static Layout of(Collection<Retrievable> ids) {
+            return new Layout(ids.toArray(new Retrievable[0]));
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        public Retrievable id(int slot) {
+            return ids[slot];
+        }
+
+        public int slot(Retrievable id) {
+            Integer slot = slots.get(id);
+            return slot == null ? -1 : slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Layout that = (Layout) o;
+            return Arrays.equals(ids, that.ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "Layout" + Arrays.toString(ids);
+        }
+    }
 }
@@ -19,10 +19,12 @@
 package com.vaticle.typedb.core.traversal.planner;
 
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.common.Modifiers;
 import com.vaticle.typedb.core.traversal.structure.Structure;
 
+import java.util.Map;
 import java.util.Set;
 
 import static com.vaticle.typedb.common.util.Objects.className;
@@ -37,6 +39,9 @@ public interface ComponentPlanner extends Planner {
 
     Set<Identifier> vertices();
 
+    @Override
+    ComponentPlanner corrected(GraphManager graphMgr, Map<Identifier, Double> observedFanOuts);
+
     default boolean isVertex() {
         return false;
     }
@@ -32,6 +32,7 @@ import com.vaticle.typedb.core.traversal.structure.StructureVertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -40,9 +41,11 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -50,7 +53,7 @@ import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNEXPECTED_PLANNING_ERROR;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
-import static com.vaticle.typedb.core.concurrent.executor.Executors.async2;
+import static com.vaticle.typedb.core.concurrent.executor.Executors.planning;
 import static java.lang.Math.abs;
 import static java.time.Duration.between;
 import static java.util.Comparator.comparing;
@@ -67,10 +70,13 @@ public class GraphPlanner implements ComponentPlanner {
     static final double OBJECTIVE_VARIABLE_TO_PLANNER_COST_MIN_CHANGE = 0.02;
     static final double INIT_ZERO = 0.01;
 
+    private final Structure structure;
     private final Optimiser optimiser;
     private final Map<Identifier, PlannerVertex<?>> vertices;
     private final Set<PlannerEdge<?, ?>> edges;
+    private final Map<StructureEdge<?, ?>, PlannerEdge<?, ?>> structureEdges;
     private final AtomicBoolean isOptimising;
+    private final boolean isCyclic;
 
     protected volatile GraphProcedure procedure;
     private volatile CompletableFuture<Void> backgroundOptimisation;
@@ -82,11 +88,14 @@ public class GraphPlanner implements ComponentPlanner {
     private double totalCost;
     private final Modifiers modifiers;
 
-    private GraphPlanner(Modifiers modifiers) {
+    private GraphPlanner(Structure structure, Modifiers modifiers) {
+        this.structure = structure;
         this.modifiers = modifiers;
+        this.isCyclic = structure.isCyclic();
         optimiser = new Optimiser();
         vertices = new HashMap<>();
         edges = new HashSet<>();
+        structureEdges = new HashMap<>();
         isOptimising = new AtomicBoolean(false);
         isUpToDate = false;
         isVertexOrderInitialised = false;
@@ -96,7 +105,7 @@ public class GraphPlanner implements ComponentPlanner {
     }
 
     static GraphPlanner create(Structure structure, Modifiers modifiers) {
-        GraphPlanner planner = new GraphPlanner(modifiers);
+        GraphPlanner planner = new GraphPlanner(structure, modifiers);
         Set<StructureVertex<?>> registeredVertices = new HashSet<>();
         Set<StructureEdge<?, ?>> registeredEdges = new HashSet<>();
         structure.vertices().forEach(vertex -> planner.registerVertex(vertex, registeredVertices, registeredEdges));
@@ -143,6 +152,7 @@ public class GraphPlanner implements ComponentPlanner {
         PlannerVertex<?> to = vertex(structureEdge.to());
         PlannerEdge<?, ?> edge = PlannerEdge.of(from, to, structureEdge);
         edges.add(edge);
+        structureEdges.put(structureEdge, edge);
         if (from.equals(to)) from.loop(edge);
         else {
             from.out(edge);
@@ -253,30 +263,28 @@ public class GraphPlanner implements ComponentPlanner {
         return optimiser;
     }
 
+    /**
+     * Query threads never wait for the solver: the first call plans greedily, and the solver's plan is swapped in
+     * asynchronously by the planning pool once it improves on the current one. Only single-use planners, which are
+     * discarded after one traversal, wait for the solver.
+     */
     @Override
     public void tryOptimise(GraphManager graphMgr, boolean singleUse) {
         long timeLimitMillis = singleUse ? HIGHER_TIME_LIMIT_MILLIS : DEFAULT_TIME_LIMIT_MILLIS;
-        if (backgroundOptimisation == null) startFirstOptimise(graphMgr, timeLimitMillis);
-        else if (isOptimising.compareAndSet(false, true)) startReOptimise(graphMgr, timeLimitMillis);
-
-        try {
-            backgroundOptimisation.get(timeLimitMillis + 10, MILLISECONDS);
-        } catch (InterruptedException | ExecutionException | TimeoutException ignored) {
-            LOG.trace("Query plan did not finish updating in " + timeLimitMillis + " ms.");
-        }
+        if (procedure == null) initialiseGreedy(graphMgr);
+        if (isOptimising.compareAndSet(false, true)) startOptimise(graphMgr, timeLimitMillis);
+        if (singleUse) awaitOptimisation(timeLimitMillis);
     }
 
-    private synchronized void startFirstOptimise(GraphManager graphMgr, long timeLimitMillis) {
-        if (backgroundOptimisation == null) {
-            isOptimising.set(true);
+    private synchronized void initialiseGreedy(GraphManager graphMgr) {
+        if (procedure == null) {
             updateTraversalCosts(graphMgr);
             updateOptimiser();
             createProcedure();
-            backgroundOptimisation = CompletableFuture.runAsync(() -> optimise(timeLimitMillis), async2());
         }
     }
 
-    private void startReOptimise(GraphManager graphMgr, long timeLimitMillis) {
+    private void startOptimise(GraphManager graphMgr, long timeLimitMillis) {
         updateTraversalCosts(graphMgr);
         if (isUpToDate() && isOptimal()) {
             if (LOG.isTraceEnabled()) LOG.trace("GraphPlanner still optimal and up-to-date");
@@ -284,25 +292,103 @@ public class GraphPlanner implements ComponentPlanner {
             return;
         }
         if (!isUpToDate()) updateOptimiser();
+        submitOptimise(timeLimitMillis);
+    }
 
-        backgroundOptimisation = backgroundOptimisation.thenRunAsync(() -> optimise(timeLimitMillis), async2());
+    private void submitOptimise(long timeLimitMillis) {
+        try {
+            backgroundOptimisation = CompletableFuture.runAsync(() -> optimise(timeLimitMillis), planning());
+        } catch (RejectedExecutionException e) {
+            // the planning pool is saturated: keep the current plan and retry the next time this planner is used
+            PlannerPerfCounters.get().planningRejected.add(1);
+            if (LOG.isTraceEnabled()) LOG.trace("Planning pool is saturated, keeping the current query plan");
+            isOptimising.set(false);
+        }
     }
 
-    private void optimise(long timeLimitMillis) {
-        Instant start, endSolver, end;
-        start = Instant.now();
-        optimiser.optimise(timeLimitMillis);
-        endSolver = Instant.now();
-        if (isError()) throwPlanningError();
+    private void awaitOptimisation(long timeLimitMillis) {
+        CompletableFuture<Void> optimisation = backgroundOptimisation;
+        if (optimisation == null) return;
+        try {
+            optimisation.get(timeLimitMillis + 10, MILLISECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException ignored) {
+            LOG.trace("Query plan did not finish updating in " + timeLimitMillis + " ms.");
+        }
+    }
 
-        linearise();
+    /**
+     * The corrected planner starts from a greedy ordering over the corrected costs, which the solver then refines in
+     * the background. Observed costs are kept apart from the costs computed from statistics, so they remain lower
+     * bounds when the statistics are refreshed.
+     */
+    @Override
+    public GraphPlanner corrected(GraphManager graphMgr, Map<Identifier, Double> observedFanOuts) {
+        if (procedure == null || iterate(observedFanOuts.keySet()).noneMatch(vertices::containsKey)) return this;
+        GraphPlanner corrected = create(structure, modifiers);
+        vertices.forEach((id, vertex) -> corrected.vertices.get(id).observeCost(vertex.costObserved));
+        structureEdges.forEach((structureEdge, edge) -> {
+            PlannerEdge<?, ?> correctedEdge = corrected.structureEdges.get(structureEdge);
+            correctedEdge.forward().observeCost(edge.forward().costObserved);
+            correctedEdge.backward().observeCost(edge.backward().costObserved);
+        });
+        observedFanOuts.forEach((id, fanOut) -> {
+            PlannerVertex<?> vertex = vertices.get(id);
+            if (vertex != null) corrected.correctCost(observedIn(vertex), vertex.id(), fanOut);
+        });
+        corrected.tryOptimise(graphMgr, false);
+        return corrected;
+    }
+
+    /**
+     * The procedure traversed the vertex from the intersection of its selected edges, bounded by the cheapest one,
+     * which is therefore the edge whose cost was under-estimated. Returns null for a starting vertex.
+     */
+    @Nullable
+    private StructureEdge<?, ?> observedIn(PlannerVertex<?> vertex) {
+        Optional<PlannerEdge.Directional<?, ?>> cheapestIn = vertex.selectedIns().stream()
+                .min(comparing(PlannerEdge.Directional::safeCost));
+        if (!cheapestIn.isPresent()) return null;
+        for (Map.Entry<StructureEdge<?, ?>, PlannerEdge<?, ?>> entry : structureEdges.entrySet()) {
+            if (entry.getValue().forward() == cheapestIn.get() || entry.getValue().backward() == cheapestIn.get()) {
+                return entry.getKey();
+            }
+        }
+        throw TypeDBException.of(ILLEGAL_STATE);
+    }
 
-        createProcedure();
-        end = Instant.now();
+    private void correctCost(@Nullable StructureEdge<?, ?> observedIn, Identifier vertexId, double fanOut) {
+        if (observedIn == null) {
+            vertices.get(vertexId).observeCost(fanOut);
+        } else {
+            PlannerEdge<?, ?> edge = structureEdges.get(observedIn);
+            if (edge.to().id().equals(vertexId)) edge.forward().observeCost(fanOut);
+            else edge.backward().observeCost(fanOut);
+        }
+    }
+
+    private void optimise(long timeLimitMillis) {
+        try {
+            Instant start, endSolver, end;
+            start = Instant.now();
+            double objectiveValue = optimiser.objectiveValue();
+            optimiser.optimise(timeLimitMillis);
+            endSolver = Instant.now();
+            PlannerPerfCounters.get().solverRuns.add(1);
+            PlannerPerfCounters.get().solverTime.add(between(start, endSolver).toNanos());
+            if (isError()) throwPlanningError();
+
+            if (optimiser.objectiveValue() < objectiveValue) {
+                linearise();
+                createProcedure();
+                PlannerPerfCounters.get().plansImproved.add(1);
+            }
+            end = Instant.now();
 
-        isUpToDate = true;
-        printTrace(start, endSolver, end);
-        isOptimising.set(false);
+            isUpToDate = true;
+            printTrace(start, endSolver, end);
+        } finally {
+            isOptimising.set(false);
+        }
     }
 
     private void linearise() {
@@ -355,14 +441,16 @@ public class GraphPlanner implements ComponentPlanner {
             snapshot = statisticsVersion;
             computeTotalCost(graphMgr);
 
-            if (!isUpToDate) {
-                totalCostLastRecorded = totalCost;
-                vertices.values().forEach(PlannerVertex::recordCost);
-                edges.forEach(PlannerEdge::recordCost);
-            }
+            if (!isUpToDate) recordCosts();
         }
     }
 
+    private void recordCosts() {
+        totalCostLastRecorded = totalCost;
+        vertices.values().forEach(PlannerVertex::recordCost);
+        edges.forEach(PlannerEdge::recordCost);
+    }
+
     private void computeTotalCost(GraphManager graphMgr) {
         vertices.values().forEach(v -> {
             v.computeCost(graphMgr);
@@ -373,10 +461,14 @@ public class GraphPlanner implements ComponentPlanner {
             if (costChangeSignificant(e)) setOutOfDate();
         });
 
+        totalCost = sumCosts();
+        if (totalCostChangeSignificant()) setOutOfDate();
+    }
+
+    private double sumCosts() {
         double vertexCost = iterate(vertices.values()).map(PlannerVertex::safeCost).reduce(0.0, Double::sum);
         double edgeCost = iterate(edges).map(e -> e.forward.safeCost() + e.backward.safeCost()).reduce(0.0, Double::sum);
-        totalCost = vertexCost + edgeCost;
-        if (totalCostChangeSignificant()) setOutOfDate();
+        return vertexCost + edgeCost;
     }
 
     private boolean costChangeSignificant(PlannerVertex<?> vertex) {
@@ -458,12 +550,17 @@ public class GraphPlanner implements ComponentPlanner {
             unorderedVertices.remove(vertex);
         }
         while (!unorderedVertices.isEmpty()) {
+            Comparator<PlannerVertex<?>> cheapest = comparing(
+                    v -> v.ins().stream().filter(e -> !unorderedVertices.contains(e.from()))
+                            .mapToDouble(PlannerEdge.Directional::safeCost).min().orElse(v.safeCost())
+            );
+            // in a cyclic pattern, prefer the vertex that intersects the most ordered neighbours, closing cycles early
+            Comparator<PlannerVertex<?>> preference = isCyclic ? comparing(
+                    (PlannerVertex<?> v) -> v.ins().stream().filter(e -> !unorderedVertices.contains(e.from())).map(PlannerEdge.Directional::from).distinct().count()
+            ).reversed().thenComparing(cheapest) : cheapest;
             PlannerVertex<?> vertex = unorderedVertices.stream()
                     .filter(v -> !v.isValue() || v.ins().stream().filter(e -> e.isArgument() && e.direction().isForward()).noneMatch(e -> unorderedVertices.contains(e.from())))
-                    .min(comparing(
-                            v -> v.ins().stream().filter(e -> !unorderedVertices.contains(e.from()))
-                                    .mapToDouble(PlannerEdge.Directional::safeCost).min().orElse(v.safeCost())
-                    )).get();
+                    .min(preference).get();
             unorderedVertices.remove(vertex);
             vertex.setOrder(vertexOrder++);
         }
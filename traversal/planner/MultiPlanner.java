@@ -20,6 +20,7 @@ package com.vaticle.typedb.core.traversal.planner;
 
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.graph.GraphManager;
+import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.common.Modifiers;
 import com.vaticle.typedb.core.traversal.procedure.GraphProcedure;
 import com.vaticle.typedb.core.traversal.procedure.PermutationProcedure;
@@ -28,6 +29,7 @@ import com.vaticle.typedb.core.traversal.structure.Structure;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
@@ -78,6 +80,21 @@ public class MultiPlanner implements Planner {
         createProcedure();
     }
 
+    @Override
+    public MultiPlanner corrected(GraphManager graphMgr, Map<Identifier, Double> observedFanOuts) {
+        List<ComponentPlanner> correctedPlanners = new ArrayList<>(planners.size());
+        boolean isCorrected = false;
+        for (ComponentPlanner planner : planners) {
+            ComponentPlanner corrected = planner.corrected(graphMgr, observedFanOuts);
+            isCorrected |= corrected != planner;
+            correctedPlanners.add(corrected);
+        }
+        if (!isCorrected) return this;
+        MultiPlanner corrected = new MultiPlanner(correctedPlanners, modifiers);
+        corrected.tryOptimise(graphMgr, false);
+        return corrected;
+    }
+
     private void createProcedure() {
         // create procedure based on optimal ordering of all the planners
         // rather than solving the optimisation, we estimate the most expensive traversals are the largest ones
@@ -19,11 +19,13 @@
 package com.vaticle.typedb.core.traversal.planner;
 
 import com.vaticle.typedb.core.graph.GraphManager;
+import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.common.Modifiers;
 import com.vaticle.typedb.core.traversal.procedure.PermutationProcedure;
 import com.vaticle.typedb.core.traversal.structure.Structure;
 
 import java.util.List;
+import java.util.Map;
 
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 
@@ -50,4 +52,11 @@ public interface Planner {
     boolean isOptimal();
 
     void tryOptimise(GraphManager graphMgr, boolean singleUse);
+
+    /**
+     * Create a planner for the same structure whose costs are bounded below by the fan-outs observed at runtime, as
+     * well as by every correction made to this planner, and plan it greedily. This planner is left unchanged, as other
+     * traversals may be running on it. Returns this planner if there is nothing to correct.
+     */
+    Planner corrected(GraphManager graphMgr, Map<Identifier, Double> observedFanOuts);
 }
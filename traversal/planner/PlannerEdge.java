@@ -156,6 +156,7 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
         private static final AtomicLong nextTieBreaker = new AtomicLong(0);
 
         double cost;
+        double costObserved;
         double costLastRecorded;
 
         Directional(VERTEX_DIR_FROM from, VERTEX_DIR_TO to, Encoding.Direction.Edge direction, String symbol) {
@@ -242,7 +243,11 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
         abstract void computeCost(GraphManager graphMgr);
 
         public double safeCost() {
-            return max(cost, INIT_ZERO);
+            return max(max(cost, costObserved), INIT_ZERO);
+        }
+
+        void observeCost(double cost) {
+            costObserved = max(costObserved, cost);
         }
 
         private void recordCost() {
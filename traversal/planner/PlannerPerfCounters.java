@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.traversal.planner;
+
+import com.vaticle.typedb.core.common.perfcounter.PerfCounters;
+import com.vaticle.typedb.core.concurrent.executor.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-wide counters of the background query planning pool, logged periodically at debug level.
+ */
+public class PlannerPerfCounters extends PerfCounters {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PlannerPerfCounters.class);
+
+    public static final String SOLVER_TIME_NS = "planner_solver_time_ns";
+    public static final String SOLVER_RUNS = "planner_solver_runs";
+    public static final String PLANS_IMPROVED = "planner_plans_improved";
+    public static final String PLANNING_REJECTED = "planner_planning_rejected";
+
+    private static PlannerPerfCounters singleton = null;
+
+    public final Counter solverTime;
+    public final Counter solverRuns;
+    public final Counter plansImproved;
+    public final Counter planningRejected;
+
+    private PlannerPerfCounters() {
+        super(true);
+        solverTime = register(SOLVER_TIME_NS);
+        solverRuns = register(SOLVER_RUNS);
+        plansImproved = register(PLANS_IMPROVED);
+        planningRejected = register(PLANNING_REJECTED);
+    }
+
+    public static synchronized PlannerPerfCounters get() {
+        if (singleton == null) {
+            singleton = new PlannerPerfCounters();
+            if (LOG.isDebugEnabled()) {
+                Executors.scheduled().scheduleAtFixedRate(singleton::logCounters, 1, 1, TimeUnit.MINUTES);
+            }
+        }
+        return singleton;
+    }
+
+    public int queueDepth() {
+        return Executors.planning().getQueue().size();
+    }
+
+    public int activePlanners() {
+        return Executors.planning().getActiveCount();
+    }
+
+    private void logCounters() {
+        if (solverRuns.get() > 0 || planningRejected.get() > 0) LOG.debug("Planner perf counters:\n{}", this);
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() +
+                String.format("%-48s: %-20d\n", "planner_queue_depth", queueDepth()) +
+                String.format("%-48s: %-20d\n", "planner_active", activePlanners());
+    }
+}
@@ -47,6 +47,7 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
     private boolean isInitialised;
 
     double cost;
+    double costObserved;
     double costLastRecorded;
 
     OptimiserVariable.Boolean[] varOrderAssignment;
@@ -64,7 +65,15 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
     abstract void computeCost(GraphManager graphMgr);
 
     public double safeCost() {
-        return max(cost, INIT_ZERO);
+        return max(max(cost, costObserved), INIT_ZERO);
+    }
+
+    /**
+     * Statistics can under-estimate skewed data, so a cost observed while traversing this vertex acts as a lower bound
+     * on its cost for the rest of the planner's lifetime, and is carried over to the planners corrected from it.
+     */
+    void observeCost(double cost) {
+        costObserved = max(costObserved, cost);
     }
 
     public boolean isStartingVertex() {
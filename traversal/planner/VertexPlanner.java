@@ -23,6 +23,7 @@ import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.procedure.VertexProcedure;
 import com.vaticle.typedb.core.traversal.structure.StructureVertex;
 
+import java.util.Map;
 import java.util.Set;
 
 import static com.vaticle.typedb.common.collection.Collections.set;
@@ -60,6 +61,11 @@ public class VertexPlanner implements ComponentPlanner {
         assert this.procedure != null;
     }
 
+    @Override
+    public VertexPlanner corrected(GraphManager graphMgr, Map<Identifier, Double> observedFanOuts) {
+        return this;
+    }
+
     @Override
     public boolean isVertex() {
         return true;
@@ -18,13 +18,17 @@
 
 package com.vaticle.typedb.core.traversal.procedure;
 
+import com.vaticle.typedb.core.common.collection.KeyValue;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.common.parameters.Order;
 import com.vaticle.typedb.core.concurrent.producer.FunctionalProducer;
 import com.vaticle.typedb.core.encoding.Encoding;
 import com.vaticle.typedb.core.graph.GraphManager;
+import com.vaticle.typedb.core.graph.vertex.ThingVertex;
+import com.vaticle.typedb.core.graph.vertex.Vertex;
 import com.vaticle.typedb.core.traversal.Traversal;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.common.Modifiers;
@@ -35,6 +39,7 @@ import com.vaticle.typedb.core.traversal.planner.GraphPlanner;
 import com.vaticle.typedb.core.traversal.planner.PlannerEdge;
 import com.vaticle.typedb.core.traversal.planner.PlannerVertex;
 import com.vaticle.typedb.core.traversal.predicate.Predicate;
+import com.vaticle.typedb.core.traversal.scanner.FanOutMonitor;
 import com.vaticle.typedb.core.traversal.scanner.GraphIterator;
 import com.vaticle.typedb.core.traversal.structure.Structure;
 import com.vaticle.typedb.core.traversal.structure.StructureEdge;
@@ -45,6 +50,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -56,6 +62,7 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILL
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
 import static com.vaticle.typedb.core.concurrent.producer.Producers.async;
+import static java.util.Collections.emptyList;
 import static java.util.Comparator.comparing;
 
 public class GraphProcedure implements PermutationProcedure {
@@ -63,11 +70,13 @@ public class GraphProcedure implements PermutationProcedure {
     private static final Logger LOG = LoggerFactory.getLogger(GraphProcedure.class);
 
     private final ProcedureVertex<?, ?>[] vertices;
+    private final Map<ProcedureVertex<?, ?>, List<CycleClosure>> cycleClosures;
     private Set<ProcedureVertex<?, ?>> startVertices;
     private Set<ProcedureVertex<?, ?>> endVertices;
 
     private GraphProcedure(ProcedureVertex<?, ?>[] vertices) {
         this.vertices = vertices;
+        this.cycleClosures = createCycleClosures(vertices);
     }
 
     public static GraphProcedure create(List<ComponentPlanner> planners) {
@@ -104,6 +113,38 @@ public class GraphProcedure implements PermutationProcedure {
         return endVertices;
     }
 
+    /**
+     * @return the cycles closed by relations ordered after the given vertex, which further constrain its candidates
+     */
+    public List<CycleClosure> cycleClosures(ProcedureVertex<?, ?> vertex) {
+        return cycleClosures.getOrDefault(vertex, emptyList());
+    }
+
+    /**
+     * A relation vertex that is traversed after two or more of its role players closes a cycle in the pattern, such as
+     * the last transfer in a ring of transfers. Rather than enumerating every open path and discarding it at the
+     * relation, the later player is intersected at once with the co-players of each earlier player, as a
+     * worst-case optimal join binds a variable by intersecting all the relations incident to it.
+     */
+    private static Map<ProcedureVertex<?, ?>, List<CycleClosure>> createCycleClosures(ProcedureVertex<?, ?>[] vertices) {
+        Map<ProcedureVertex<?, ?>, List<CycleClosure>> closures = new HashMap<>();
+        for (ProcedureVertex<?, ?> relation : vertices) {
+            if (!relation.isThing()) continue;
+            List<ProcedureEdge.Native.Thing.RolePlayer> playerEdges = iterate(relation.ins())
+                    .filter(e -> e.isRolePlayer() && e.direction().isBackward())
+                    .map(ProcedureEdge::asRolePlayer).toList();
+            for (ProcedureEdge.Native.Thing.RolePlayer boundEdge : playerEdges) {
+                for (ProcedureEdge.Native.Thing.RolePlayer closedEdge : playerEdges) {
+                    if (boundEdge.from().order() < closedEdge.from().order() && CycleClosure.canClose(closedEdge.from())) {
+                        closures.computeIfAbsent(closedEdge.from(), v -> new ArrayList<>())
+                                .add(new CycleClosure(boundEdge, closedEdge));
+                    }
+                }
+            }
+        }
+        return closures;
+    }
+
     public ProcedureVertex<?, ?> vertex(int pos) {
         assert 0 <= pos && pos < vertices.length;
         return vertices[pos];
@@ -113,22 +154,35 @@ public class GraphProcedure implements PermutationProcedure {
         return vertices.length;
     }
 
+    private VertexMap.Layout layout(Modifiers.Filter filter) {
+        return VertexMap.Layout.of(iterate(vertices).filter(
+                v -> v.id().isRetrievable() && filter.variables().contains(v.id().asVariable().asRetrievable())
+        ).map(v -> v.id().asVariable().asRetrievable()).toList());
+    }
+
     @Override
     public FunctionalProducer<VertexMap> producer(GraphManager graphMgr, Traversal.Parameters params,
                                                   Modifiers modifiers, int parallelisation) {
+        return producer(graphMgr, params, modifiers, parallelisation, null);
+    }
+
+    @Override
+    public FunctionalProducer<VertexMap> producer(GraphManager graphMgr, Traversal.Parameters params, Modifiers modifiers,
+                                                  int parallelisation, @Nullable FanOutMonitor monitor) {
         if (LOG.isTraceEnabled()) {
             LOG.trace(params.toString());
             LOG.trace(this.toString());
         }
         Optional<Order> order = modifiers.sorting().order(initialVertex().id());
         boolean sortByValue = order.isPresent();
+        VertexMap.Layout layout = layout(modifiers.filter());
         if (initialVertex().id().isRetrievable() && modifiers.filter().variables().contains(initialVertex().id().asVariable().asRetrievable())) {
-            return async(initialVertex().iterator(graphMgr, params, order.orElse(ASC), sortByValue)
+            return async(initialIterator(graphMgr, params, order.orElse(ASC), sortByValue, monitor)
                     // TODO we can reduce the size of the distinct() set if the traversal engine doesn't overgenerate as much
-                    .map(v -> new GraphIterator(graphMgr, v, this, params, modifiers).distinct()), parallelisation);
+                    .map(v -> new GraphIterator(graphMgr, v, this, params, modifiers, layout, monitor).distinct()), parallelisation);
         } else {
-            return async(initialVertex().iterator(graphMgr, params, order.orElse(ASC), sortByValue)
-                    .map(v -> new GraphIterator(graphMgr, v, this, params, modifiers)), parallelisation)
+            return async(initialIterator(graphMgr, params, order.orElse(ASC), sortByValue, monitor)
+                    .map(v -> new GraphIterator(graphMgr, v, this, params, modifiers, layout, monitor)), parallelisation)
                     // TODO we can reduce the size of the distinct() set if the traversal engine doesn't overgenerate as much
                     .distinct();
         }
@@ -137,25 +191,40 @@ public class GraphProcedure implements PermutationProcedure {
     @Override
     public FunctionalIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
                                                   Modifiers modifiers) {
+        return iterator(graphMgr, params, modifiers, null);
+    }
+
+    @Override
+    public FunctionalIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
+                                                  Modifiers modifiers, @Nullable FanOutMonitor monitor) {
         if (LOG.isTraceEnabled()) {
             LOG.trace(params.toString());
             LOG.trace(this.toString());
         }
         Optional<Order> order = modifiers.sorting().order(initialVertex().id());
         boolean sortByValue = order.isPresent();
+        VertexMap.Layout layout = layout(modifiers.filter());
         if (initialVertex().id().isRetrievable() && modifiers.filter().variables().contains(initialVertex().id().asVariable().asRetrievable())) {
-            return initialVertex().iterator(graphMgr, params, order.orElse(ASC), sortByValue)
+            return initialIterator(graphMgr, params, order.orElse(ASC), sortByValue, monitor)
                     // TODO we can reduce the size of the distinct() set if the traversal engine doesn't overgenerate as much
-                    .flatMap(v -> new GraphIterator(graphMgr, v, this, params, modifiers).distinct());
+                    .flatMap(v -> new GraphIterator(graphMgr, v, this, params, modifiers, layout, monitor).distinct());
         } else {
             // TODO we can reduce the size of the distinct() set if the traversal engine doesn't overgenerate as much
-            return initialVertex().iterator(graphMgr, params, order.orElse(ASC), sortByValue)
-                    .flatMap(v -> new GraphIterator(graphMgr, v, this, params, modifiers))
+            return initialIterator(graphMgr, params, order.orElse(ASC), sortByValue, monitor)
+                    .flatMap(v -> new GraphIterator(graphMgr, v, this, params, modifiers, layout, monitor))
                     // TODO we can reduce the size of the distinct() set if the traversal engine doesn't overgenerate as much
                     .distinct();
         }
     }
 
+    private FunctionalIterator<? extends Vertex<?, ?>> initialIterator(GraphManager graphMgr, Traversal.Parameters params,
+                                                                      Order order, boolean sortByValue,
+                                                                      @Nullable FanOutMonitor monitor) {
+        FunctionalIterator<? extends Vertex<?, ?>> iterator = initialVertex().iterator(graphMgr, params, order, sortByValue);
+        if (monitor == null) return iterator;
+        else return monitor.initial(initialVertex(), iterator);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -184,6 +253,49 @@ public class GraphProcedure implements PermutationProcedure {
         return str.toString();
     }
 
+    public static class CycleClosure {
+
+        private final ProcedureEdge.Native.Thing.RolePlayer boundToRelation;
+        private final ProcedureEdge.Native.Thing.RolePlayer relationToClosed;
+
+        private CycleClosure(ProcedureEdge.Native.Thing.RolePlayer boundToRelation,
+                             ProcedureEdge.Native.Thing.RolePlayer closedToRelation) {
+            assert boundToRelation.direction().isBackward() && closedToRelation.direction().isBackward();
+            this.boundToRelation = boundToRelation;
+            this.relationToClosed = new ProcedureEdge.Native.Thing.RolePlayer.Forward(
+                    closedToRelation.to(), closedToRelation.from(), closedToRelation.repetition, closedToRelation.roleTypes
+            );
+        }
+
+        private static boolean canClose(ProcedureVertex.Thing vertex) {
+            // candidates must come from role player edges only, so they are compared in the same order as co-players
+            return !vertex.isStartVertex() && !vertex.id().isScoped() && iterate(vertex.ins()).allMatch(ProcedureEdge::isRolePlayer);
+        }
+
+        public ProcedureVertex.Thing bound() {
+            return boundToRelation.from();
+        }
+
+        public Forwardable<Vertex<?, ?>, Order.Asc> coPlayers(GraphManager graphMgr, Vertex<?, ?> boundVertex, Traversal.Parameters params) {
+            // co-players are merged lazily from the sorted players of each relation, so that an intersection only
+            // reads as far into them as it needs to
+            return boundToRelation.branchEdge(graphMgr, boundVertex, params).mergeMapForwardable(
+                    relationAndRole -> playersOf(graphMgr, relationAndRole.key(), params), ASC
+            ).distinct();
+        }
+
+        private Forwardable<Vertex<?, ?>, Order.Asc> playersOf(GraphManager graphMgr, ThingVertex relation, Traversal.Parameters params) {
+            return relationToClosed.branchEdge(graphMgr, relation, params).mapSorted(
+                    KeyValue::key, player -> KeyValue.of(player.asThing(), null), ASC
+            );
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CycleClosure { %s -> %s -> %s }", bound().id(), boundToRelation.to().id(), relationToClosed.to().id());
+        }
+    }
+
     public static class Builder {
 
         private final Map<Identifier, ProcedureVertex<?, ?>> vertices;
@@ -201,6 +313,14 @@ public class GraphProcedure implements PermutationProcedure {
             assert iterate(vertices.values()).allMatch(v -> v.order() < startOrder);
             planner.vertices().forEach(id -> registerVertex(planner.vertex(id), startOrder + planner.vertex(id).getOrder()));
             planner.vertices().forEach(id -> registerEdges(planner.vertex(id)));
+            planner.vertices().forEach(id -> registerEstimatedFanOut(planner.vertex(id)));
+        }
+
+        private void registerEstimatedFanOut(PlannerVertex<?> plannerVertex) {
+            if (!plannerVertex.isThing()) return;
+            double estimate = plannerVertex.selectedIns().stream().mapToDouble(PlannerEdge.Directional::safeCost).min()
+                    .orElse(plannerVertex.safeCost());
+            vertices.get(plannerVertex.id()).setEstimatedFanOut(estimate);
         }
 
         private void registerEdges(PlannerVertex<?> plannerVertex) {
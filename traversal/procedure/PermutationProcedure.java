@@ -24,6 +24,9 @@ import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.traversal.Traversal;
 import com.vaticle.typedb.core.traversal.common.Modifiers;
 import com.vaticle.typedb.core.traversal.common.VertexMap;
+import com.vaticle.typedb.core.traversal.scanner.FanOutMonitor;
+
+import javax.annotation.Nullable;
 
 public interface PermutationProcedure {
 
@@ -32,4 +35,17 @@ public interface PermutationProcedure {
 
     FunctionalIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
                                            Modifiers modifiers);
+
+    /**
+     * Procedures with planner estimates report the fan-outs they observe to the monitor, others ignore it.
+     */
+    default FunctionalProducer<VertexMap> producer(GraphManager graphMgr, Traversal.Parameters params, Modifiers modifiers,
+                                                   int parallelisation, @Nullable FanOutMonitor monitor) {
+        return producer(graphMgr, params, modifiers, parallelisation);
+    }
+
+    default FunctionalIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
+                                                   Modifiers modifiers, @Nullable FanOutMonitor monitor) {
+        return iterator(graphMgr, params, modifiers);
+    }
 }
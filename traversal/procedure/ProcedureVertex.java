@@ -86,10 +86,12 @@ public abstract class ProcedureVertex<
         > extends TraversalVertex<ProcedureEdge<?, ?>, PROPERTIES> {
 
     private int order;
+    private double estimatedFanOut;
     private Set<ProcedureVertex<?, ?>> dependees;
 
     ProcedureVertex(Identifier identifier) {
         super(identifier);
+        estimatedFanOut = -1;
     }
 
     public <ORDER extends Order> Forwardable<? extends VERTEX, ORDER> iterator(
@@ -126,6 +128,18 @@ public abstract class ProcedureVertex<
         this.order = order;
     }
 
+    /**
+     * The planner's estimate of the number of candidates produced each time this vertex is traversed,
+     * or a negative value when the vertex was not planned from statistics.
+     */
+    public double estimatedFanOut() {
+        return estimatedFanOut;
+    }
+
+    void setEstimatedFanOut(double estimatedFanOut) {
+        this.estimatedFanOut = estimatedFanOut;
+    }
+
     public Set<ProcedureVertex<?, ?>> dependees() {
         if (dependees == null) {
             Set<ProcedureVertex<?, ?>> vertices = new HashSet<>();
@@ -270,7 +284,7 @@ public abstract class ProcedureVertex<
         ) {
             if (props().predicates().isEmpty() && !forceValueSort) return iterateSorted(vertices, order);
             else {
-                if (iterate(vertices).anyMatch(v -> v.isAttribute() && v.asAttribute().valueType().equals(STRING))) {
+                if (!forceValueSort && iterate(vertices).anyMatch(v -> v.isAttribute() && v.asAttribute().valueType().equals(STRING))) {
                     return iterateSorted(filterPredicatesAndMapVertices(vertices, params, ThingVertex::asAttribute), order);
                 } else {
                     return iterateSorted(filterPredicatesAndMapVertices(vertices, params, v -> v.asAttribute().toValueSortable()), order);
@@ -329,8 +343,13 @@ public abstract class ProcedureVertex<
             if (forceValueSort) {
                 FunctionalIterator<Forwardable<ThingVertex, ORDER>> mapped = iterate(vertexIters).map(pair -> {
                     if (pair.first().isAttributeType() && pair.first().asType().valueType().equals(STRING)) {
-                        // TODO: once strings are sortable by value, we can optimise the predicates
-                        return pair.second().filter(v -> checkPredicates(v, params, set()));
+                        // string keys are not in value order, and long strings are keyed by a hash of their value,
+                        // so strings are sorted by value in memory
+                        TreeSet<ThingVertex> sorted = new TreeSet<>();
+                        pair.second().forEachRemaining(v -> {
+                            if (checkPredicates(v, params, set())) sorted.add(v.asAttribute().toValueSortable());
+                        });
+                        return iterateSorted(sorted, order);
                     } else if (pair.first().isAttributeType()) {
                         return applyPredicatesOnVertices(graphMgr, params, pair.first(), pair.second())
                                 .mapSorted(
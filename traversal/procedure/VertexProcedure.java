@@ -36,8 +36,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-import static com.vaticle.typedb.common.collection.Collections.map;
-import static com.vaticle.typedb.common.collection.Collections.pair;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
 import static com.vaticle.typedb.core.concurrent.producer.Producers.async;
@@ -91,11 +89,12 @@ public class VertexProcedure implements PermutationProcedure {
             iterator = iterator.filter(v -> e.isClosure(graphMgr, v, v, params));
         }
 
+        VertexMap.Layout layout = VertexMap.Layout.of(vertex.id().asVariable().asRetrievable());
         return iterator.map(v -> {
             if (v.isThing() && v.asThing().isAttribute() && v.asThing().asAttribute().isValueSortable()) {
-                return VertexMap.of(map(pair(vertex.id().asVariable().asRetrievable(), v.asThing().asAttribute().asValueSortable().toAttribute())));
+                return VertexMap.of(layout, new Vertex<?, ?>[]{v.asThing().asAttribute().asValueSortable().toAttribute()});
             } else {
-                return VertexMap.of(map(pair(vertex.id().asVariable().asRetrievable(), v)));
+                return VertexMap.of(layout, new Vertex<?, ?>[]{v});
             }
         });
     }
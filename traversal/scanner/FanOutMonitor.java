@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.traversal.scanner;
+
+import com.vaticle.typedb.core.common.iterator.AbstractFunctionalIterator;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.traversal.common.Identifier;
+import com.vaticle.typedb.core.traversal.procedure.ProcedureVertex;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+
+/**
+ * Compares the number of candidates found at each procedure vertex against the planner's estimated fan-out.
+ * Once a vertex exceeds its estimate by the misestimate factor, the monitor trips and records the observed fan-out,
+ * so that the planner can correct its costs. An aborting monitor instead stops the traversal it monitors, so that it
+ * can be restarted with a corrected plan, until it is told to stop aborting and only report what it observes.
+ */
+public class FanOutMonitor {
+
+    static final long MIN_CANDIDATES = 64;
+
+    private final double factor;
+    private final Consumer<Map<Identifier, Double>> onTripped;
+    private final Map<Identifier, Double> observedFanOuts;
+    private final AtomicBoolean isTripped;
+    private volatile boolean isAborting;
+
+    private FanOutMonitor(double factor, boolean isAborting, Consumer<Map<Identifier, Double>> onTripped) {
+        assert factor > 0;
+        this.factor = factor;
+        this.isAborting = isAborting;
+        this.onTripped = onTripped;
+        this.observedFanOuts = new ConcurrentHashMap<>();
+        this.isTripped = new AtomicBoolean(false);
+    }
+
+    public static FanOutMonitor aborting(double factor, Consumer<Map<Identifier, Double>> onTripped) {
+        return new FanOutMonitor(factor, true, onTripped);
+    }
+
+    public static FanOutMonitor observing(double factor, Consumer<Map<Identifier, Double>> onTripped) {
+        return new FanOutMonitor(factor, false, onTripped);
+    }
+
+    long candidateLimit(ProcedureVertex<?, ?> vertex, long scans) {
+        if (isTripped.get() || vertex.estimatedFanOut() < 0) return Long.MAX_VALUE;
+        else return max(MIN_CANDIDATES, (long) ceil(factor * vertex.estimatedFanOut() * scans));
+    }
+
+    void trip(ProcedureVertex<?, ?> vertex, long scans, long candidates) {
+        observedFanOuts.merge(vertex.id(), (double) candidates / scans, Math::max);
+        if (isTripped.compareAndSet(false, true) && !isAborting) onTripped.accept(observedFanOuts);
+    }
+
+    public boolean isTripped() {
+        return isTripped.get();
+    }
+
+    public boolean isAborted() {
+        return isAborting && isTripped.get();
+    }
+
+    /**
+     * From now on, report a misestimate instead of aborting the traversal. Only valid while the monitor has not tripped.
+     */
+    public void stopAborting() {
+        assert !isTripped.get();
+        isAborting = false;
+    }
+
+    public Map<Identifier, Double> observedFanOuts() {
+        return observedFanOuts;
+    }
+
+    /**
+     * Counts the vertices the procedure starts from, which is the fan-out of its initial vertex,
+     * and stops iterating them once the monitor has aborted.
+     */
+    public <T> FunctionalIterator<T> initial(ProcedureVertex<?, ?> initialVertex, FunctionalIterator<T> iterator) {
+        return new Initial<>(initialVertex, iterator);
+    }
+
+    private class Initial<T> extends AbstractFunctionalIterator<T> {
+
+        private final ProcedureVertex<?, ?> vertex;
+        private final FunctionalIterator<T> iterator;
+        private long candidates;
+        private long candidateLimit;
+
+        private Initial(ProcedureVertex<?, ?> vertex, FunctionalIterator<T> iterator) {
+            this.vertex = vertex;
+            this.iterator = iterator;
+            this.candidates = 0;
+            this.candidateLimit = candidateLimit(vertex, 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !isAborted() && iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            if (++candidates > candidateLimit) {
+                trip(vertex, 1, candidates);
+                candidateLimit = Long.MAX_VALUE;
+            }
+            return iterator.next();
+        }
+
+        @Override
+        public void recycle() {
+            iterator.recycle();
+        }
+    }
+}
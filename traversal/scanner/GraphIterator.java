@@ -22,7 +22,10 @@ import com.vaticle.typedb.core.common.collection.KeyValue;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.AbstractFunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
+import com.vaticle.typedb.core.common.parameters.Cancellation;
 import com.vaticle.typedb.core.common.parameters.Order;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
+import com.vaticle.typedb.core.common.perfcounter.StorageReads;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.vertex.ThingVertex;
 import com.vaticle.typedb.core.graph.vertex.Value;
@@ -37,6 +40,7 @@ import com.vaticle.typedb.core.traversal.procedure.ProcedureVertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -63,6 +67,8 @@ import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
 public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
 
     private static final Logger LOG = LoggerFactory.getLogger(GraphIterator.class);
+    // the cancellation token is checked once every (mask + 1) traversal steps, and whenever an answer is requested
+    private static final long CANCELLATION_CHECK_MASK = 63;
 
     private final GraphManager graphMgr;
     private final GraphProcedure procedure;
@@ -71,31 +77,64 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
     private final Map<Identifier.Variable, Scope> scopes;
     private final Map<ProcedureVertex<?, ?>, VertexTraverser> vertexTraversers;
     private final Vertex<?, ?> initial;
+    private final VertexMap.Layout layout;
+    private final FanOutMonitor monitor;
+    private final Cancellation cancellation;
+    private final QueryProfile.Procedure profile;
+    private final ProcedureVertex<?, ?>[] retrieved;
     private final SortedSet<ProcedureVertex<?, ?>> toTraverse;
     private final SortedSet<ProcedureVertex<?, ?>> toRevisit;
     private Direction direction;
     private IteratorState iteratorState;
+    private long steps;
 
     private enum Direction {TRAVERSE, REVISIT_ALL, REVISIT_RETRIEVED}
 
     private enum IteratorState {INIT, EMPTY, FETCHED, COMPLETED}
 
     public GraphIterator(GraphManager graphMgr, Vertex<?, ?> initial, GraphProcedure procedure,
-                         Traversal.Parameters params, Modifiers modifiers) {
+                         Traversal.Parameters params, Modifiers modifiers, VertexMap.Layout layout) {
+        this(graphMgr, initial, procedure, params, modifiers, layout, null);
+    }
+
+    public GraphIterator(GraphManager graphMgr, Vertex<?, ?> initial, GraphProcedure procedure, Traversal.Parameters params,
+                         Modifiers modifiers, VertexMap.Layout layout, @Nullable FanOutMonitor monitor) {
         this.graphMgr = graphMgr;
         this.procedure = procedure;
         this.params = params;
         this.initial = initial;
         this.modifiers = modifiers;
+        this.layout = layout;
+        this.monitor = monitor;
+        this.cancellation = params.cancellation().orElse(null);
+        this.profile = params.profile().map(p -> p.procedure(procedure, GraphIterator::profile)).orElse(null);
+        this.retrieved = new ProcedureVertex<?, ?>[layout.size()];
         this.toTraverse = new TreeSet<>(Comparator.comparing(ProcedureVertex::order));
         this.toRevisit = new TreeSet<>(Comparator.comparing(ProcedureVertex::order));
         this.scopes = new HashMap<>();
         this.vertexTraversers = new HashMap<>();
         setup();
         this.iteratorState = IteratorState.INIT;
+        this.steps = 0;
+    }
+
+    private static QueryProfile.Procedure profile(GraphProcedure procedure) {
+        List<QueryProfile.Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < procedure.vertexCount(); i++) {
+            ProcedureVertex<?, ?> vertex = procedure.vertex(i);
+            vertices.add(new QueryProfile.Vertex(vertex.id().toString(), vertex.estimatedFanOut()));
+        }
+        return new QueryProfile.Procedure(procedure.toString(), vertices);
     }
 
     private void setup() {
+        // set up answer slots
+        for (ProcedureVertex<?, ?> v : procedure.vertices()) {
+            if (v.id().isRetrievable()) {
+                int slot = layout.slot(v.id().asVariable().asRetrievable());
+                if (slot >= 0) retrieved[slot] = v;
+            }
+        }
         // set up scopes
         for (ProcedureVertex<?, ?> v : procedure.vertices()) {
             if (v.isThing() && v.asThing().isScope()) scopes.put(v.id().asVariable(), new Scope());
@@ -107,6 +146,8 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
         // add implicit dependencies between traversers
         for (ProcedureVertex<?, ?> v : procedure.vertices()) {
             if (v.isThing() && v.asThing().isScope()) setupImplicitDependencies(v);
+            // a vertex whose candidates are restricted by a cycle closure must backtrack to the closure's bound vertex
+            procedure.cycleClosures(v).forEach(closure -> setupImplicitDependency(closure.bound(), v));
         }
     }
 
@@ -149,19 +190,16 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
     }
 
     private VertexMap toVertexMap() {
-        Map<Identifier.Variable.Retrievable, Vertex<?, ?>> answer = new HashMap<>();
-        for (ProcedureVertex<?, ?> procedureVertex : procedure.vertices()) {
-            if (procedureVertex.id().isRetrievable() && modifiers.filter().variables().contains(procedureVertex.id().asVariable().asRetrievable())) {
-                Vertex<?, ?> vertex = vertexTraversers.get(procedureVertex).vertex();
-                if (vertex.isThing() && vertex.asThing().isAttribute() && vertex.asThing().asAttribute().isValueSortable()) {
-                    answer.put(procedureVertex.id().asVariable().asRetrievable(), vertex.asThing().asAttribute().asValueSortable().toAttribute());
-                } else {
-                    answer.put(procedureVertex.id().asVariable().asRetrievable(), vertex);
-                }
+        Vertex<?, ?>[] answer = new Vertex<?, ?>[retrieved.length];
+        for (int slot = 0; slot < retrieved.length; slot++) {
+            Vertex<?, ?> vertex = vertexTraversers.get(retrieved[slot]).vertex();
+            if (vertex.isThing() && vertex.asThing().isAttribute() && vertex.asThing().asAttribute().isValueSortable()) {
+                answer[slot] = vertex.asThing().asAttribute().asValueSortable().toAttribute();
+            } else {
+                answer[slot] = vertex;
             }
         }
-
-        return VertexMap.of(answer);
+        return VertexMap.of(layout, answer);
     }
 
     @Override
@@ -169,7 +207,8 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
         try {
             if (iteratorState == IteratorState.COMPLETED) return false;
             else if (iteratorState == IteratorState.FETCHED) return true;
-            else if (iteratorState == IteratorState.INIT) {
+            checkCancelled();
+            if (iteratorState == IteratorState.INIT) {
                 initialiseStart();
                 if (computeAnswer()) iteratorState = IteratorState.FETCHED;
                 else setCompleted();
@@ -186,6 +225,8 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
             if (e instanceof TypeDBException && ((TypeDBException) e).code().isPresent() &&
                     ((TypeDBException) e).code().get().equals(RESOURCE_CLOSED.code())) {
                 LOG.debug("Transaction was closed during graph iteration");
+            } else if (cancellation != null && cancellation.isCancelled()) {
+                LOG.debug("Query was cancelled during graph iteration");
             } else {
                 LOG.error("Parameters: " + params.toString());
                 LOG.error("GraphProcedure: " + procedure.toString());
@@ -199,6 +240,13 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
         recycle();
     }
 
+    private void checkCancelled() {
+        if (cancellation != null && cancellation.isCancelled()) {
+            setCompleted();
+            throw cancellation.cause().get();
+        }
+    }
+
     private void initialiseStart() {
         toTraverse.add(procedure.vertex(0));
         direction = Direction.TRAVERSE;
@@ -211,8 +259,9 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
     }
 
     private boolean computeAnswer() {
-        while ((direction == Direction.TRAVERSE && !toTraverse.isEmpty()) ||
-                ((direction == Direction.REVISIT_ALL || direction == Direction.REVISIT_RETRIEVED) && !toRevisit.isEmpty())) {
+        while (!isAborted() && ((direction == Direction.TRAVERSE && !toTraverse.isEmpty()) ||
+                ((direction == Direction.REVISIT_ALL || direction == Direction.REVISIT_RETRIEVED) && !toRevisit.isEmpty()))) {
+            if ((++steps & CANCELLATION_CHECK_MASK) == 0) checkCancelled();
             ProcedureVertex<?, ?> vertex;
             if (direction == Direction.TRAVERSE) {
                 toTraverse.remove(vertex = toTraverse.first());
@@ -225,7 +274,12 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
                 revisitRetrieved(vertex);
             }
         }
-        return direction == Direction.TRAVERSE;
+        return !isAborted() && direction == Direction.TRAVERSE;
+    }
+
+    private boolean isAborted() {
+        // the procedure is abandoned, to be restarted with a plan corrected for the observed fan-outs
+        return monitor != null && monitor.isAborted();
     }
 
     private void traverse(ProcedureVertex<?, ?> procedureVertex) {
@@ -289,14 +343,22 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
         private final Order order;
         private final boolean sortByValue;
         private Forwardable<Vertex<?, ?>, ? extends Order> iterator;
+        private final QueryProfile.Vertex vertexProfile;
         private Vertex<?, ?> vertex;
         private boolean anyAnswerFound;
+        private long scans;
+        private long candidates;
+        private long candidateLimit;
 
         private VertexTraverser(ProcedureVertex<?, ?> procedureVertex) {
             this.procedureVertex = procedureVertex;
             this.localScope = procedureVertex.id().isScoped() ? scopes.get(procedureVertex.id().asScoped().scope()) : null;
             this.implicitDependees = new HashSet<>();
+            this.vertexProfile = profile == null ? null : profile.vertex(procedureVertex.order());
             this.anyAnswerFound = false;
+            this.scans = 0;
+            this.candidates = 0;
+            this.candidateLimit = Long.MAX_VALUE;
             this.lastDependee = procedureVertex.ins().stream().map(ProcedureEdge::from).max(Comparator.comparing(ProcedureVertex::order)).orElse(null);
             Optional<Order> explicitOrder = modifiers.sorting().order(procedureVertex.id());
             if (explicitOrder.isPresent()) {
@@ -314,9 +376,28 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
         }
 
         private boolean findNextVertex() {
+            if (vertexProfile == null) return findNext();
+            long start = System.nanoTime();
+            long previousCandidates = candidates;
+            StorageReads reads = StorageReads.record();
+            boolean found;
+            try {
+                found = findNext();
+            } finally {
+                reads.stop();
+            }
+            vertexProfile.record(candidates - previousCandidates, found, System.nanoTime() - start, reads);
+            return found;
+        }
+
+        private boolean findNext() {
             Forwardable<Vertex<?, ?>, ? extends Order> iterator = getIterator();
-            while (iterator.hasNext()) {
+            while (!isAborted() && iterator.hasNext()) {
                 vertex = getIterator().next();
+                if (++candidates > candidateLimit) {
+                    monitor.trip(procedureVertex, scans, candidates);
+                    candidateLimit = Long.MAX_VALUE;
+                }
                 if (verifyLoops()) {
                     anyAnswerFound = true;
                     return true;
@@ -381,6 +462,10 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
                 if (procedureVertex.equals(procedure.initialVertex())) iterator = createIteratorFromInitial();
                 else if (procedureVertex.isStartVertex()) iterator = createIteratorFromStart();
                 else iterator = createIteratorFromEdges();
+                if (vertexProfile != null) vertexProfile.scanned();
+                if (monitor != null && !procedureVertex.equals(procedure.initialVertex())) {
+                    candidateLimit = monitor.candidateLimit(procedureVertex, ++scans);
+                }
                 // TODO: we may only need to find one valid answer if all dependents are not included in the filter and also find an answer
             }
             return iterator;
@@ -413,11 +498,17 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
             } else {
                 List<Forwardable<Vertex<?, ?>, Order.Asc>> iterators = new ArrayList<>();
                 procedureVertex.ins().forEach(edge -> iterators.add(branch(vertexTraversers.get(edge.from()).vertex(), edge)));
+                procedure.cycleClosures(procedureVertex).forEach(closure -> iterators.add(closeCycle(closure)));
                 if (iterators.size() == 1) return iterators.get(0);
                 else return intersect(iterate(iterators), ASC);
             }
         }
 
+        private Forwardable<Vertex<?, ?>, Order.Asc> closeCycle(GraphProcedure.CycleClosure closure) {
+            Vertex<?, ?> boundVertex = vertexTraversers.get(closure.bound()).vertex();
+            return closure.coPlayers(graphMgr, boundVertex, params);
+        }
+
         private Forwardable<Vertex<?, ?>, Order.Asc> branch(Vertex<?, ?> fromVertex, ProcedureEdge<?, ?> edge) {
             if (procedureVertex.id().isScoped()) {
                 return applyLocalScope((Forwardable<Vertex<?, ?>, Order.Asc>) edge.branch(graphMgr, fromVertex, params));
@@ -34,6 +34,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
@@ -126,6 +127,30 @@ public class Structure {
         }
     }
 
+    /**
+     * @return true if the thing vertices of this structure are connected in a cycle, such as a ring of relations
+     */
+    public boolean isCyclic() {
+        Map<StructureVertex<?>, StructureVertex<?>> parents = new HashMap<>();
+        Set<Set<StructureVertex<?>>> connected = new HashSet<>();
+        for (StructureEdge<?, ?> edge : edges) {
+            if (!edge.from().isThing() || !edge.to().isThing() || edge.from().equals(edge.to())) continue;
+            // parallel edges, such as a player that plays two roles in one relation, do not close a cycle
+            if (!connected.add(set(edge.from(), edge.to()))) continue;
+            StructureVertex<?> fromRoot = root(parents, edge.from());
+            StructureVertex<?> toRoot = root(parents, edge.to());
+            if (fromRoot.equals(toRoot)) return true;
+            parents.put(fromRoot, toRoot);
+        }
+        return false;
+    }
+
+    private static StructureVertex<?> root(Map<StructureVertex<?>, StructureVertex<?>> parents, StructureVertex<?> vertex) {
+        StructureVertex<?> root = vertex;
+        while (parents.containsKey(root)) root = parents.get(root);
+        return root;
+    }
+
     public List<Structure> splitDisjoint() {
         return splitDisjoint(emptyList());
     }